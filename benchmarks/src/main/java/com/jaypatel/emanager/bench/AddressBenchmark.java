@@ -0,0 +1,49 @@
+package com.jaypatel.emanager.bench;
+
+import com.jaypatel.emanager.model.Address;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link Address#displayAddress()}.
+ * <p>Shapes: {@code FULL} all four parts, {@code MISSING_FIELDS} city and province only,
+ * {@code LONG} every part several times its usual length.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AddressBenchmark {
+    @Param({"FULL", "MISSING_FIELDS", "LONG"})
+    public String shape;
+
+    private Address address;
+
+    @Setup
+    public void setUp() {
+        address = switch (shape) {
+            case "MISSING_FIELDS" -> new Address(null, "Saskatoon", "SK", null);
+            case "LONG" -> new Address("1234 Northwest Industrial Park Frontage Road, Building C, Unit 5500",
+                    "Rural Municipality of Corman Park No. 344", "Saskatchewan", "S7K 0A1 (Deliver to rear dock)");
+            default -> new Address("123 Main St", "Saskatoon", "SK", "S7J 4M3");
+        };
+    }
+
+    @Benchmark
+    public String displayAddress() {
+        return address.displayAddress();
+    }
+}
@@ -0,0 +1,102 @@
+package com.jaypatel.emanager.bench;
+
+import com.jaypatel.emanager.model.HourlyEmployee;
+import com.jaypatel.emanager.model.SalaryEmployee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link HourlyEmployee#getEarnings()} and {@link SalaryEmployee#getEarnings()}.
+ * <p>Shapes: {@code TYPICAL} round amounts, {@code FRACTIONAL} amounts that need rounding,
+ * {@code LARGE} amounts too big for BigDecimal's compact {@code long} fast path.</p>
+ * <p>{@code *Earnings} hit the earnings cache and should match {@link #rateField()}, a plain
+ * getter; {@code *EarningsAfterSet} run a setter first, so every call recomputes.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EarningsBenchmark {
+    @Param({"TYPICAL", "FRACTIONAL", "LARGE"})
+    public String shape;
+
+    private HourlyEmployee hourly;
+
+    private SalaryEmployee salaried;
+
+    private BigDecimal hours;
+
+    private BigDecimal annual;
+
+    @Setup
+    public void setUp() {
+        String rate;
+        String hoursText;
+        String annualText;
+        switch (shape) {
+            case "FRACTIONAL" -> {
+                rate = "19.99";
+                hoursText = "173.33";
+                annualText = "1000.05";
+            }
+            case "LARGE" -> {
+                rate = "987654321098765.43";
+                hoursText = "744.00";
+                annualText = "123456789012345678.91";
+            }
+            default -> {
+                rate = "25.50";
+                hoursText = "160.00";
+                annualText = "72000.00";
+            }
+        }
+        hourly = new HourlyEmployee("Patel", "Jay", 'M', "1998-05-12", "306-555-1234", null, 1,
+                "Developer", new BigDecimal(hoursText), new BigDecimal(rate));
+        salaried = new SalaryEmployee("Patel", "Jay", 'M', "1998-05-12", "306-555-1234", null, 2,
+                "Manager", new BigDecimal(annualText));
+        hours = hourly.getMonthlyHours();
+        annual = salaried.getAnnualSalary();
+    }
+
+    @Benchmark
+    public BigDecimal hourlyEarnings() {
+        return hourly.getEarnings();
+    }
+
+    @Benchmark
+    public BigDecimal salaryEarnings() {
+        return salaried.getEarnings();
+    }
+
+    @Benchmark
+    public BigDecimal hourlyEarningsAfterSet() {
+        hourly.setMonthlyHours(hours);
+        return hourly.getEarnings();
+    }
+
+    @Benchmark
+    public BigDecimal salaryEarningsAfterSet() {
+        salaried.setAnnualSalary(annual);
+        return salaried.getEarnings();
+    }
+
+    /** Baseline: a getter that returns a field. */
+    @Benchmark
+    public BigDecimal rateField() {
+        return hourly.getHourlyRate();
+    }
+}
@@ -0,0 +1,93 @@
+package com.jaypatel.emanager.bench;
+
+import com.jaypatel.emanager.metrics.Metrics;
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.model.HourlyEmployee;
+import com.jaypatel.emanager.payroll.PayrollResult;
+import com.jaypatel.emanager.payroll.PayrollRunner;
+import com.jaypatel.emanager.repository.EmployeeRepository;
+import com.jaypatel.emanager.repository.InMemoryEmployeeRepository;
+import com.jaypatel.emanager.repository.MeteredEmployeeRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the {@link Metrics} instrumentation on the instrumented paths.
+ * <p>{@code metrics=OFF} must match a build without instrumentation: compare {@code lookup}
+ * with {@code lookupPlain}, the same lookups on the unwrapped repository. {@code ON} shows
+ * the price of timing each operation.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsBenchmark {
+    @Param({"OFF", "ON"})
+    public String metrics;
+
+    private List<Employee> roster;
+
+    private PayrollRunner runner;
+
+    private EmployeeRepository plain;
+
+    private EmployeeRepository metered;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Metrics.setEnabled("ON".equals(metrics));
+        roster = new ArrayList<>();
+        plain = new InMemoryEmployeeRepository(1024);
+        for (int id = 0; id < 1024; id++) {
+            HourlyEmployee e = new HourlyEmployee("Patel", "Jay", 'M', null, null, null, id, "Developer",
+                    new BigDecimal("160.00"), new BigDecimal("25.50"));
+            roster.add(e);
+            plain.put(e);
+        }
+        metered = new MeteredEmployeeRepository(plain);
+        runner = new PayrollRunner(1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        runner.close();
+        Metrics.setEnabled(false);
+    }
+
+    /** One instrumented run over 1,024 employees. */
+    @Benchmark
+    public PayrollResult payrollRun() {
+        return runner.run(roster);
+    }
+
+    /** Lookups through {@link MeteredEmployeeRepository}. */
+    @Benchmark
+    public Employee lookup() {
+        return metered.get(next++ & 1023);
+    }
+
+    /** Baseline: the same lookups without the wrapper. */
+    @Benchmark
+    public Employee lookupPlain() {
+        return plain.get(next++ & 1023);
+    }
+}
@@ -0,0 +1,65 @@
+package com.jaypatel.emanager.bench;
+
+import com.jaypatel.emanager.model.Address;
+import com.jaypatel.emanager.model.ImmutableAddress;
+import com.jaypatel.emanager.model.Person;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link Person#getDisplayName()}, the defensive copy in {@link Person#getAddress()}
+ * and the zero-copy {@link Person#getAddressValue()}.
+ * <p>Shapes: {@code FULL} every field set, {@code MISSING_FIELDS} last name only and no address,
+ * {@code LONG_NAMES} multi-part names and a long address.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersonBenchmark {
+    @Param({"FULL", "MISSING_FIELDS", "LONG_NAMES"})
+    public String shape;
+
+    private Person person;
+
+    @Setup
+    public void setUp() {
+        person = switch (shape) {
+            case "MISSING_FIELDS" -> new Person("Patel", null, '\0', null, null, null);
+            case "LONG_NAMES" -> new Person("Wolfeschlegelsteinhausenbergerdorff-Montgomery",
+                    "Maria-Guadalupe Alexandrina Josephine", 'Q', "1970-01-01", "+1 (306) 555-0199 ext. 4455",
+                    new Address("1234 Northwest Industrial Park Frontage Road, Building C, Unit 5500",
+                            "Rural Municipality of Corman Park No. 344", "Saskatchewan", "S7K 0A1"));
+            default -> new Person("Patel", "Jay", 'M', "1998-05-12", "306-555-1234",
+                    new Address("123 Main St", "Saskatoon", "SK", "S7J 4M3"));
+        };
+    }
+
+    @Benchmark
+    public String displayName() {
+        return person.getDisplayName();
+    }
+
+    @Benchmark
+    public Address addressCopy() {
+        return person.getAddress();
+    }
+
+    @Benchmark
+    public ImmutableAddress addressValue() {
+        return person.getAddressValue();
+    }
+}
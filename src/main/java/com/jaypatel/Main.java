@@ -1,17 +1,160 @@
 package com.jaypatel;
 
-//TIP To <b>Run</b> code, press <shortcut actionId="Run"/> or
-// click the <icon src="AllIcons.Actions.Execute"/> icon in the gutter.
+import com.jaypatel.emanager.http.EmployeeHttpServer;
+import com.jaypatel.emanager.http.LoadGenerator;
+import com.jaypatel.emanager.http.ServerExecutors;
+import com.jaypatel.emanager.index.NameIndex;
+import com.jaypatel.emanager.io.EmployeeCsvImporter;
+import com.jaypatel.emanager.io.ImportResult;
+import com.jaypatel.emanager.model.Address;
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.model.HourlyEmployee;
+import com.jaypatel.emanager.model.SalaryEmployee;
+import com.jaypatel.emanager.payroll.PayrollAggregates;
+import com.jaypatel.emanager.repository.ConcurrentEmployeeRegistry;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Command-line entry point.
+ * <pre>
+ * serve [--port 8080] [--threads N | --virtual] [--employees N | --csv FILE]
+ *     Serves the HTTP API ({@link EmployeeHttpServer}) until interrupted, over generated demo
+ *     employees (ids 1..N, default 10000) or a CSV export.
+ * load [--url http://localhost:8080] [--employees N] [--clients N] [--seconds N]
+ *     Runs {@link LoadGenerator} against a server started with the same --employees and prints
+ *     requests/second and p50/p99 latency.
+ * </pre>
+ */
 public class Main {
-    public static void main(String[] args) {
-        //TIP Press <shortcut actionId="ShowIntentionActions"/> with your caret at the highlighted text
-        // to see how IntelliJ IDEA suggests fixing it.
-        System.out.printf("Hello and welcome!");
-
-        for (int i = 1; i <= 5; i++) {
-            //TIP Press <shortcut actionId="Debug"/> to start debugging your code. We have set one <icon src="AllIcons.Debugger.Db_set_breakpoint"/> breakpoint
-            // for you, but you can always add more by pressing <shortcut actionId="ToggleLineBreakpoint"/>.
-            System.out.println("i = " + i);
+    private static final String[] LAST_NAMES = {"Patel", "Smith", "Tremblay", "Nguyen", "Wilson",
+            "Gagnon", "Singh", "Roy", "Martin", "Brown", "Lee", "Campbell", "Lévesque", "Chen"};
+
+    private static final String[] FIRST_NAMES = {"Jay", "Olivia", "Liam", "Emma", "Noah", "Zoë",
+            "Lucas", "Amelia", "Ethan", "Maya", "Arjun", "Chloé", "Owen", "Priya"};
+
+    private static final String[] JOB_TITLES = {"Developer", "Analyst", "Manager", "Designer", "Technician"};
+
+    private static final String[] PROVINCES = {"SK", "AB", "BC", "MB", "ON", "QC"};
+
+    private static final String NODELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String command = args.length == 0 ? "serve" : args[0];
+        Map<String, String> options = options(args);
+        switch (command) {
+            case "serve" -> serve(options);
+            case "load" -> load(options);
+            default -> {
+                System.err.println("Usage: serve [--port 8080] [--threads N | --virtual] [--employees N | --csv FILE]");
+                System.err.println("       load [--url http://localhost:8080] [--employees N] [--clients N] [--seconds N]");
+                System.exit(2);
+            }
         }
     }
-}
\ No newline at end of file
+
+    private static void serve(Map<String, String> options) throws IOException, InterruptedException {
+        // See EmployeeHttpServer: without TCP_NODELAY keep-alive responses stall ~40 ms. The
+        // built-in server reads the property once, so it must be set before the server exists.
+        if (System.getProperty(NODELAY_PROPERTY) == null) System.setProperty(NODELAY_PROPERTY, "true");
+        ConcurrentEmployeeRegistry registry = new ConcurrentEmployeeRegistry();
+        NameIndex names = new NameIndex();
+        PayrollAggregates payroll = new PayrollAggregates();
+        List<Employee> employees = new ArrayList<>();
+        if (options.containsKey("csv")) {
+            ImportResult result = EmployeeCsvImporter.csv().importFile(Path.of(options.get("csv")), employees::addAll);
+            System.out.println(result);
+        } else {
+            employees = demoEmployees(intOption(options, "employees", 10_000));
+        }
+        for (Employee e : employees) {
+            registry.put(e);
+            names.add(e);
+            payroll.add(e);
+        }
+
+        ExecutorService executor = options.containsKey("virtual")
+                ? ServerExecutors.virtualThreads()
+                : ServerExecutors.boundedPool(intOption(options, "threads", Runtime.getRuntime().availableProcessors()));
+        EmployeeHttpServer server = new EmployeeHttpServer(
+                new InetSocketAddress(intOption(options, "port", 8080)), executor, registry, names, payroll);
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            stopped.countDown();
+        }));
+        System.out.println("Serving " + employees.size() + " employees on port " + server.getPort()
+                + (options.containsKey("virtual") ? " (virtual threads)" : ""));
+        stopped.await();
+    }
+
+    private static void load(Map<String, String> options) throws InterruptedException {
+        String url = options.getOrDefault("url", "http://localhost:8080");
+        int employees = intOption(options, "employees", 10_000);
+        Random random = new Random(42);
+        List<URI> targets = new ArrayList<>();
+        for (int i = 0; i < 100; i++) targets.add(URI.create(url + "/employees/" + (1 + random.nextInt(employees))));
+        for (String prefix : new String[]{"pat", "tr", "lev", "ch"}) {
+            targets.add(URI.create(url + "/employees?q=" + prefix + "&limit=10"));
+        }
+        targets.add(URI.create(url + "/payroll/total"));
+        targets.add(URI.create(url + "/payroll/total?province=SK"));
+
+        LoadGenerator generator = new LoadGenerator(targets, intOption(options, "clients", 16));
+        generator.run(Duration.ofSeconds(2)); // warm up
+        System.out.println(generator.run(Duration.ofSeconds(intOption(options, "seconds", 10))));
+    }
+
+    // ---- Helpers ------------------------------------------------------------
+
+    private static List<Employee> demoEmployees(int count) {
+        Random random = new Random(1);
+        List<Employee> employees = new ArrayList<>(count);
+        for (int id = 1; id <= count; id++) {
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String title = JOB_TITLES[random.nextInt(JOB_TITLES.length)];
+            Address address = new Address(id + " Main St", "Springfield",
+                    PROVINCES[random.nextInt(PROVINCES.length)], null);
+            if (random.nextBoolean()) {
+                employees.add(new HourlyEmployee(last, first, '\0', null, null, address, id, title,
+                        BigDecimal.valueOf(120 + random.nextInt(60)), BigDecimal.valueOf(1800 + random.nextInt(3000), 2)));
+            } else {
+                employees.add(new SalaryEmployee(last, first, '\0', null, null, address, id, title,
+                        BigDecimal.valueOf(45_000 + random.nextInt(80_000))));
+            }
+        }
+        return employees;
+    }
+
+    /** Parses {@code --name value} pairs after the command; a flag without a value maps to "". */
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 1; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            String name = args[i].substring(2);
+            boolean hasValue = i + 1 < args.length && !args[i + 1].startsWith("--");
+            options.put(name, hasValue ? args[++i] : "");
+        }
+        return options;
+    }
+
+    private static int intOption(Map<String, String> options, String name, int defaultValue) {
+        String value = options.get(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+}
@@ -0,0 +1,42 @@
+package com.jaypatel.emanager.dedupe;
+
+import java.util.Locale;
+
+/**
+ * Two records that probably describe the same person, found by a {@link DuplicateDetector}.
+ * <p>Records are identified by their index in the list given to
+ * {@link DuplicateDetector#run(java.util.List)}; {@link #getFirst()} is the lower one.</p>
+ */
+public final class DuplicateCandidate {
+    private final int first;
+
+    private final int second;
+
+    private final double score;
+
+    DuplicateCandidate(int first, int second, double score) {
+        this.first = first;
+        this.second = second;
+        this.score = score;
+    }
+
+    /** @return index of the earlier record */
+    public int getFirst() {
+        return first;
+    }
+
+    /** @return index of the later record */
+    public int getSecond() {
+        return second;
+    }
+
+    /** @return similarity in {@code [0, 1]}; 1 when every field both records have agrees */
+    public double getScore() {
+        return score;
+    }
+
+    @Override
+    public String toString() {
+        return first + " ~ " + second + " (" + String.format(Locale.ROOT, "%.3f", score) + ")";
+    }
+}
@@ -0,0 +1,526 @@
+package com.jaypatel.emanager.dedupe;
+
+import com.jaypatel.emanager.model.ImmutableAddress;
+import com.jaypatel.emanager.model.Person;
+
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.regex.Pattern;
+
+/**
+ * Finds records that probably describe the same person, e.g. after merging two HR exports in
+ * which one person has two employee ids and slightly different spellings.
+ * <p>
+ * Comparing every pair is quadratic, so records are first grouped into blocks by two hashed
+ * keys, and only records sharing a block are compared:
+ * </p>
+ * <ul>
+ *   <li>normalized last name + birth date, which finds a moved person or a reformatted
+ *       address;</li>
+ *   <li>postal code + first initial, which finds a misspelled name or a mistyped birth date.</li>
+ * </ul>
+ * <p>
+ * A record missing a key's fields is not in that block. Keys are packed with the record index
+ * into one sorted {@code long[]}, so blocking is a sort. Each pair in a block gets a score in
+ * {@code [0, 1]}: a weighted average of name similarity (Jaro-Winkler, after removing case,
+ * accents and punctuation) and agreement of birth date (with part credit for a likely typo),
+ * address and phone number, over the fields both records have. Pairs scoring at least the threshold are reported. With
+ * blocks of bounded size, the work grows with the number of records rather than its square;
+ * blocks larger than {@value #MAX_BLOCK_SIZE} records (a placeholder birth date, a large
+ * building) are skipped and counted in the report.
+ * </p>
+ * <p>Key extraction, sorting and comparison run on a fork-join pool, split as in
+ * {@code PayrollRunner}; the report does not depend on the parallelism.</p>
+ *
+ * <h3>Example</h3>
+ * <pre>{@code
+ * try (DuplicateDetector detector = new DuplicateDetector(0.85, 8)) {
+ *     DuplicateReport report = detector.run(merged);
+ *     for (DuplicateCandidate c : report.getCandidates()) {
+ *         System.out.println(merged.get(c.getFirst()) + " ~ " + merged.get(c.getSecond()) + " " + c.getScore());
+ *     }
+ * }
+ * }</pre>
+ */
+public final class DuplicateDetector implements AutoCloseable {
+    /** Blocks with more records than this are not compared. */
+    public static final int MAX_BLOCK_SIZE = 1000;
+
+    /** Slices at or below this size are computed sequentially. */
+    private static final int MIN_SLICE = 1024;
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    /** Field weights of the score; addresses change when people move, so they count little. */
+    private static final double LAST_NAME = 0.30;
+    private static final double FIRST_NAME = 0.20;
+    private static final double BIRTH_DATE = 0.30;
+    private static final double ADDRESS = 0.10;
+    private static final double PHONE = 0.10;
+
+    /** Credit for birth dates that differ in one part or by swapped digits, i.e. a likely typo. */
+    private static final double BIRTH_DATE_TYPO = 0.7;
+
+    /** Distinguishes the two block keys so equal hashes of different kinds do not meet. */
+    private static final int NAME_BIRTH_TAG = 0x5bd1e995;
+    private static final int POSTAL_INITIAL_TAG = 0x1b873593;
+
+    private final double threshold;
+
+    private final ForkJoinPool pool;
+
+    private final boolean ownsPool;
+
+    /**
+     * Creates a detector on the common fork-join pool.
+     *
+     * @param threshold lowest score reported, in {@code [0, 1]}; {@code 0.85} is a good start
+     * @throws IllegalArgumentException if {@code threshold} is out of range
+     */
+    public DuplicateDetector(double threshold) {
+        this(threshold, ForkJoinPool.commonPool(), false);
+    }
+
+    /**
+     * Creates a detector with a dedicated pool; {@link #close()} shuts it down.
+     *
+     * @param threshold   lowest score reported, in {@code [0, 1]}
+     * @param parallelism number of worker threads (at least 1)
+     * @throws IllegalArgumentException if an argument is out of range
+     */
+    public DuplicateDetector(double threshold, int parallelism) {
+        this(threshold, newPool(parallelism), true);
+    }
+
+    private DuplicateDetector(double threshold, ForkJoinPool pool, boolean ownsPool) {
+        if (!(threshold >= 0 && threshold <= 1)) {
+            throw new IllegalArgumentException("threshold must be in [0, 1]: " + threshold);
+        }
+        this.threshold = threshold;
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+    }
+
+    /**
+     * Finds probable duplicates.
+     *
+     * @param people records to check; elements must be non-null
+     * @return candidate pairs, by their index in {@code people}, with scores
+     */
+    public DuplicateReport run(List<? extends Person> people) {
+        Person[] records = people.toArray(new Person[0]);
+        int n = records.length;
+        int slice = Math.max(MIN_SLICE, n / (pool.getParallelism() * 8));
+        Features[] features = new Features[n];
+        // Two keys per record; records without a key leave unused slots behind.
+        long[] keys = new long[2 * n];
+        pool.invoke(new KeyTask(records, features, keys, 0, n, slice));
+        long[] blocked = pool.invoke(new SortTask(keys));
+        Partial partial = pool.invoke(new CompareTask(this, features, blocked, 0, blocked.length, slice));
+        return new DuplicateReport(n, partial.blocks, partial.skippedBlocks, partial.comparisons,
+                partial.candidates());
+    }
+
+    /** Shuts down the dedicated pool, if this detector created one. */
+    @Override
+    public void close() {
+        if (ownsPool) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Scores two records.
+     *
+     * @param a one record
+     * @param b another record
+     * @return similarity in {@code [0, 1]}, or 0 if the records share no field
+     */
+    public static double score(Person a, Person b) {
+        return score(new Features(a), new Features(b), 0);
+    }
+
+    // ---- Helpers ------------------------------------------------------------
+
+    private static ForkJoinPool newPool(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be >= 1: " + parallelism);
+        }
+        return new ForkJoinPool(parallelism);
+    }
+
+    /** The normalized fields a record is blocked and scored on; {@code null} if absent. */
+    private static final class Features {
+        private final String lastName;
+
+        private final String firstName;
+
+        private final int birthEpochDay;
+
+        private final String postalCode;
+
+        private final String street;
+
+        private final long phoneKey;
+
+        private Features(Person p) {
+            ImmutableAddress address = p.getAddressValue();
+            this.lastName = normalize(p.getLastName());
+            this.firstName = normalize(p.getFirstName());
+            this.birthEpochDay = p.getBirthEpochDay();
+            this.postalCode = address == null ? null : normalize(address.getPostalCode());
+            this.street = address == null ? null : normalize(address.getStreet());
+            this.phoneKey = p.getPhoneKey();
+        }
+    }
+
+    /**
+     * Weighted agreement of the fields both records have. Cheap fields are scored first, and
+     * the name and street comparisons are skipped once the pair cannot reach {@code threshold}.
+     */
+    private static double score(Features a, Features b, double threshold) {
+        boolean last = a.lastName != null && b.lastName != null;
+        boolean first = a.firstName != null && b.firstName != null;
+        boolean birth = a.birthEpochDay != Person.NO_BIRTH_DATE && b.birthEpochDay != Person.NO_BIRTH_DATE;
+        boolean postal = a.postalCode != null && b.postalCode != null;
+        boolean street = a.street != null && b.street != null;
+        boolean phone = a.phoneKey != Person.NO_PHONE_KEY && b.phoneKey != Person.NO_PHONE_KEY;
+        double weight = (last ? LAST_NAME : 0) + (first ? FIRST_NAME : 0) + (birth ? BIRTH_DATE : 0)
+                + (postal || street ? ADDRESS : 0) + (phone ? PHONE : 0);
+        if (weight == 0) return 0;
+        // Score still achievable: the weight of the fields not compared yet.
+        double open = weight;
+        double total = 0;
+        if (birth) {
+            total += BIRTH_DATE * birthDateSimilarity(a.birthEpochDay, b.birthEpochDay);
+            open -= BIRTH_DATE;
+        }
+        if (phone) {
+            total += a.phoneKey == b.phoneKey ? PHONE : 0;
+            open -= PHONE;
+        }
+        boolean samePostal = postal && a.postalCode.equals(b.postalCode);
+        if (samePostal || !street) {
+            total += samePostal ? ADDRESS : 0;
+            open -= postal ? ADDRESS : 0;
+        }
+        if (last) {
+            if (total + open < threshold * weight) return (total + open) / weight;
+            total += LAST_NAME * jaroWinkler(a.lastName, b.lastName);
+            open -= LAST_NAME;
+        }
+        if (first) {
+            if (total + open < threshold * weight) return (total + open) / weight;
+            total += FIRST_NAME * firstNameSimilarity(a.firstName, b.firstName);
+            open -= FIRST_NAME;
+        }
+        if (street && !samePostal) {
+            if (total + open < threshold * weight) return (total + open) / weight;
+            total += ADDRESS * jaroWinkler(a.street, b.street);
+        }
+        return total / weight;
+    }
+
+    /** A lone initial matches any name starting with it, a little below an exact match. */
+    private static double firstNameSimilarity(String a, String b) {
+        if ((a.length() == 1 || b.length() == 1) && a.charAt(0) == b.charAt(0)) return 0.9;
+        return jaroWinkler(a, b);
+    }
+
+    /** 1 if equal; {@link #BIRTH_DATE_TYPO} if one of year, month or day differs, or day and month are swapped. */
+    private static double birthDateSimilarity(int a, int b) {
+        if (a == b) return 1;
+        LocalDate x = LocalDate.ofEpochDay(a);
+        LocalDate y = LocalDate.ofEpochDay(b);
+        int same = (x.getYear() == y.getYear() ? 1 : 0) + (x.getMonthValue() == y.getMonthValue() ? 1 : 0)
+                + (x.getDayOfMonth() == y.getDayOfMonth() ? 1 : 0);
+        boolean swapped = x.getYear() == y.getYear()
+                && x.getMonthValue() == y.getDayOfMonth() && x.getDayOfMonth() == y.getMonthValue();
+        return same == 2 || swapped ? BIRTH_DATE_TYPO : 0;
+    }
+
+    /**
+     * Jaro-Winkler similarity, with the usual 0.1 prefix scale over at most 4 characters. Matched
+     * characters are tracked in bit masks, so strings are compared on their first 64 characters.
+     */
+    static double jaroWinkler(String a, String b) {
+        if (a.equals(b)) return 1;
+        int aLength = Math.min(a.length(), Long.SIZE);
+        int bLength = Math.min(b.length(), Long.SIZE);
+        int window = Math.max(0, Math.max(aLength, bLength) / 2 - 1);
+        long aMatched = 0;
+        long bMatched = 0;
+        int matches = 0;
+        for (int i = 0; i < aLength; i++) {
+            int end = Math.min(bLength, i + window + 1);
+            for (int j = Math.max(0, i - window); j < end; j++) {
+                if ((bMatched & 1L << j) == 0 && a.charAt(i) == b.charAt(j)) {
+                    aMatched |= 1L << i;
+                    bMatched |= 1L << j;
+                    matches++;
+                    break;
+                }
+            }
+        }
+        if (matches == 0) return 0;
+        int transpositions = 0;
+        for (int i = 0, j = 0; i < aLength; i++) {
+            if ((aMatched & 1L << i) == 0) continue;
+            while ((bMatched & 1L << j) == 0) j++;
+            if (a.charAt(i) != b.charAt(j)) transpositions++;
+            j++;
+        }
+        double m = matches;
+        double jaro = (m / aLength + m / bLength + (m - transpositions / 2.0) / m) / 3;
+        int prefix = 0;
+        int maxPrefix = Math.min(4, Math.min(aLength, bLength));
+        while (prefix < maxPrefix && a.charAt(prefix) == b.charAt(prefix)) prefix++;
+        return jaro + prefix * 0.1 * (1 - jaro);
+    }
+
+    /**
+     * Lower-cased letters and digits only, accents removed: {@code "O'Néil-Smith" → "oneilsmith"},
+     * {@code "S7N 1A1" → "s7n1a1"}; {@code null} if nothing is left.
+     */
+    static String normalize(String value) {
+        if (value == null) return null;
+        String text = value;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0x7F) {
+                text = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+                break;
+            }
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) sb.append(c);
+        }
+        return sb.length() == 0 ? null : sb.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /** {@code hash << 32 | index} for one block key of record {@code index}. */
+    private static long key(int tag, String text, int extra, int index) {
+        int h = text.hashCode() * 31 + extra;
+        // Finalizer of MurmurHash3, so that similar keys spread over the sort order.
+        h ^= tag;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return (long) h << 32 | index;
+    }
+
+    /** Sorted block keys with the unused slots removed. */
+    private static long[] compact(long[] keys) {
+        int n = 0;
+        for (long k : keys) {
+            if (k != Long.MIN_VALUE) keys[n++] = k;
+        }
+        return Arrays.copyOf(keys, n);
+    }
+
+    /** Extracts features and block keys of {@code [from, to)}. */
+    private static final class KeyTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Person[] records;
+
+        private final Features[] features;
+
+        private final long[] keys;
+
+        private final int from;
+
+        private final int to;
+
+        private final int slice;
+
+        KeyTask(Person[] records, Features[] features, long[] keys, int from, int to, int slice) {
+            this.records = records;
+            this.features = features;
+            this.keys = keys;
+            this.from = from;
+            this.to = to;
+            this.slice = slice;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= slice) {
+                for (int i = from; i < to; i++) {
+                    Features r = new Features(records[i]);
+                    features[i] = r;
+                    // Long.MIN_VALUE marks an absent key; a real key with that value would need
+                    // hash Integer.MIN_VALUE and index 0, and is dropped at worst.
+                    keys[2 * i] = r.lastName == null || r.birthEpochDay == Person.NO_BIRTH_DATE ? Long.MIN_VALUE
+                            : key(NAME_BIRTH_TAG, r.lastName, r.birthEpochDay, i);
+                    keys[2 * i + 1] = r.postalCode == null || r.firstName == null ? Long.MIN_VALUE
+                            : key(POSTAL_INITIAL_TAG, r.postalCode, r.firstName.charAt(0), i);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new KeyTask(records, features, keys, from, mid, slice),
+                    new KeyTask(records, features, keys, mid, to, slice));
+        }
+    }
+
+    /** Sorts the keys inside the pool, so a dedicated pool also runs the parallel sort. */
+    private static final class SortTask extends RecursiveTask<long[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final long[] keys;
+
+        SortTask(long[] keys) {
+            this.keys = keys;
+        }
+
+        @Override
+        protected long[] compute() {
+            long[] blocked = compact(keys);
+            Arrays.parallelSort(blocked);
+            return blocked;
+        }
+    }
+
+    /** Pairs at or above the threshold, and counters, of one range of blocks. */
+    private static final class Partial {
+        private long[] pairs = new long[16];
+
+        private double[] scores = new double[16];
+
+        private int size;
+
+        private long blocks;
+
+        private long skippedBlocks;
+
+        private long comparisons;
+
+        private void add(int first, int second, double score) {
+            if (size == pairs.length) {
+                pairs = Arrays.copyOf(pairs, size * 2);
+                scores = Arrays.copyOf(scores, size * 2);
+            }
+            pairs[size] = (long) first << 32 | second;
+            scores[size++] = score;
+        }
+
+        private Partial merge(Partial other) {
+            for (int i = 0; i < other.size; i++) {
+                add((int) (other.pairs[i] >>> 32), (int) other.pairs[i], other.scores[i]);
+            }
+            blocks += other.blocks;
+            skippedBlocks += other.skippedBlocks;
+            comparisons += other.comparisons;
+            return this;
+        }
+
+        /** Distinct pairs, highest score first; a pair sharing both blocks was found twice. */
+        private List<DuplicateCandidate> candidates() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) order[i] = i;
+            Arrays.sort(order, (x, y) -> {
+                int c = Double.compare(scores[y], scores[x]);
+                return c != 0 ? c : Long.compare(pairs[x], pairs[y]);
+            });
+            List<DuplicateCandidate> result = new ArrayList<>(size);
+            long previous = -1;
+            for (int i : order) {
+                if (pairs[i] == previous) continue;
+                previous = pairs[i];
+                result.add(new DuplicateCandidate((int) (pairs[i] >>> 32), (int) pairs[i], scores[i]));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Compares within the blocks starting in {@code [from, to)} of the sorted keys, splitting in
+     * halves at block boundaries until a range is at most {@code slice} keys long.
+     */
+    private static final class CompareTask extends RecursiveTask<Partial> {
+        private static final long serialVersionUID = 1L;
+
+        private final DuplicateDetector detector;
+
+        private final Features[] features;
+
+        private final long[] blocked;
+
+        private final int from;
+
+        private final int to;
+
+        private final int slice;
+
+        CompareTask(DuplicateDetector detector, Features[] features, long[] blocked, int from, int to, int slice) {
+            this.detector = detector;
+            this.features = features;
+            this.blocked = blocked;
+            this.from = from;
+            this.to = to;
+            this.slice = slice;
+        }
+
+        @Override
+        protected Partial compute() {
+            int mid = (from + to) >>> 1;
+            while (mid < to && mid > from && hash(blocked[mid]) == hash(blocked[mid - 1])) mid++;
+            if (to - from <= slice || mid >= to) {
+                return compareBlocks();
+            }
+            CompareTask left = new CompareTask(detector, features, blocked, from, mid, slice);
+            CompareTask right = new CompareTask(detector, features, blocked, mid, to, slice);
+            left.fork();
+            Partial rightResult = right.compute();
+            return left.join().merge(rightResult);
+        }
+
+        private Partial compareBlocks() {
+            Partial partial = new Partial();
+            for (int start = from; start < to; ) {
+                int end = start + 1;
+                while (end < to && hash(blocked[end]) == hash(blocked[start])) end++;
+                if (end - start > 1) {
+                    partial.blocks++;
+                    if (end - start > MAX_BLOCK_SIZE) {
+                        partial.skippedBlocks++;
+                    } else {
+                        compareAll(partial, start, end);
+                    }
+                }
+                start = end;
+            }
+            return partial;
+        }
+
+        private void compareAll(Partial partial, int start, int end) {
+            for (int i = start; i < end; i++) {
+                int a = (int) blocked[i];
+                for (int j = i + 1; j < end; j++) {
+                    // Indexes ascend within a block, so a < b.
+                    int b = (int) blocked[j];
+                    // Both keys of one record can hash alike.
+                    if (a == b) continue;
+                    double score = score(features[a], features[b], detector.threshold);
+                    partial.comparisons++;
+                    if (score >= detector.threshold) partial.add(a, b, score);
+                }
+            }
+        }
+
+        private static int hash(long key) {
+            return (int) (key >> 32);
+        }
+    }
+}
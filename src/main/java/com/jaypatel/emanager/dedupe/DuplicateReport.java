@@ -0,0 +1,63 @@
+package com.jaypatel.emanager.dedupe;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a {@link DuplicateDetector} run: the candidate pairs, highest score first, and how
+ * much comparing it took.
+ * <p>{@link #getComparisons()} against {@code n (n - 1) / 2} for {@link #getRecordCount()}
+ * {@code n} shows what blocking saved; {@link #getSkippedBlocks()} counts oversized blocks whose
+ * pairs were not compared.</p>
+ */
+public final class DuplicateReport {
+    private final int recordCount;
+
+    private final long blocks;
+
+    private final long skippedBlocks;
+
+    private final long comparisons;
+
+    private final List<DuplicateCandidate> candidates;
+
+    DuplicateReport(int recordCount, long blocks, long skippedBlocks, long comparisons,
+                    List<DuplicateCandidate> candidates) {
+        this.recordCount = recordCount;
+        this.blocks = blocks;
+        this.skippedBlocks = skippedBlocks;
+        this.comparisons = comparisons;
+        this.candidates = Collections.unmodifiableList(candidates);
+    }
+
+    /** @return number of records checked */
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    /** @return number of blocks with at least two records */
+    public long getBlocks() {
+        return blocks;
+    }
+
+    /** @return number of blocks larger than {@link DuplicateDetector#MAX_BLOCK_SIZE}, not compared */
+    public long getSkippedBlocks() {
+        return skippedBlocks;
+    }
+
+    /** @return number of record pairs scored */
+    public long getComparisons() {
+        return comparisons;
+    }
+
+    /** @return unmodifiable list of pairs scoring at least the threshold, highest score first */
+    public List<DuplicateCandidate> getCandidates() {
+        return candidates;
+    }
+
+    @Override
+    public String toString() {
+        return candidates.size() + " candidate pairs among " + recordCount + " records ("
+                + comparisons + " comparisons in " + blocks + " blocks, " + skippedBlocks + " skipped)";
+    }
+}
@@ -0,0 +1,219 @@
+package com.jaypatel.emanager.http;
+
+import com.jaypatel.emanager.index.NameIndex;
+import com.jaypatel.emanager.payroll.PayrollAggregates;
+import com.jaypatel.emanager.repository.ConcurrentEmployeeRegistry;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Read-only JSON API over the JDK's built-in {@link HttpServer}.
+ * <p>Endpoints (all {@code GET}):</p>
+ * <ul>
+ *   <li>{@code /employees/{id}} — one employee, or 404.</li>
+ *   <li>{@code /employees?q=pat&limit=10} — name search through
+ *       {@link NameIndex#prefixSearch(String, int)}; add {@code &fuzzy=1} (or 2) for
+ *       typo-tolerant {@link NameIndex#fuzzySearch(String, int, int)}. Returns an array.</li>
+ *   <li>{@code /payroll/total} — count, total and average monthly earnings from
+ *       {@link PayrollAggregates}; {@code ?jobTitle=...} or {@code ?province=...} narrows it to
+ *       one group.</li>
+ * </ul>
+ * <p>
+ * Each request is answered from already-maintained, thread-safe structures: employees are read
+ * with {@link ConcurrentEmployeeRegistry#read(int, java.util.function.Function)}, so a handler
+ * never blocks the writers updating them, and totals come from the incremental aggregates rather
+ * than a payroll run. Handlers run on the executor given at construction, typically
+ * {@link ServerExecutors#boundedPool(int)} or {@link ServerExecutors#virtualThreads()}.
+ * </p>
+ * <p>Bad parameters get a 400 and unknown paths a 404, both with an {@code {"error":...}} body.</p>
+ * <p>
+ * Applications should run with {@code -Dsun.net.httpserver.nodelay=true}, or set the property
+ * before the first {@link HttpServer} in the process is created. The built-in server flushes
+ * response headers and body as separate segments, and without TCP_NODELAY Nagle's algorithm holds
+ * the body until the client's delayed ACK arrives, adding about 40 ms to every keep-alive request.
+ * The property is JVM-wide, so this class leaves the choice to the application.
+ * </p>
+ *
+ * <h3>Example</h3>
+ * <pre>{@code
+ * try (EmployeeHttpServer server = new EmployeeHttpServer(new InetSocketAddress(8080),
+ *         ServerExecutors.boundedPool(8), registry, names, aggregates)) {
+ *     // curl localhost:8080/employees/42
+ * }
+ * }</pre>
+ */
+public final class EmployeeHttpServer implements AutoCloseable {
+    /** Search results returned when {@code limit} is not given. */
+    public static final int DEFAULT_SEARCH_LIMIT = 20;
+
+    /** Largest accepted {@code limit}. */
+    public static final int MAX_SEARCH_LIMIT = 1000;
+
+    private static final String EMPLOYEES = "/employees";
+
+    private static final String PAYROLL_TOTAL = "/payroll/total";
+
+    private final HttpServer server;
+
+    private final ExecutorService executor;
+
+    private final ConcurrentEmployeeRegistry registry;
+
+    private final NameIndex names;
+
+    private final PayrollAggregates payroll;
+
+    /**
+     * Binds and starts the server.
+     *
+     * @param address  address to bind; port 0 picks a free port (see {@link #getPort()})
+     * @param executor runs request handlers; shut down by {@link #close()}
+     * @param registry employees served by id and search
+     * @param names    name index over the same employees
+     * @param payroll  aggregates over the same employees
+     * @throws IOException if the address cannot be bound
+     */
+    public EmployeeHttpServer(InetSocketAddress address, ExecutorService executor,
+                              ConcurrentEmployeeRegistry registry, NameIndex names,
+                              PayrollAggregates payroll) throws IOException {
+        this.executor = Objects.requireNonNull(executor, "executor");
+        this.registry = Objects.requireNonNull(registry, "registry");
+        this.names = Objects.requireNonNull(names, "names");
+        this.payroll = Objects.requireNonNull(payroll, "payroll");
+        this.server = HttpServer.create(address, 0);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /** @return the bound port */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /** Stops accepting requests and shuts down the executor. */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    // ---- Helpers ------------------------------------------------------------
+
+    private void handle(HttpExchange exchange) throws IOException {
+        int status;
+        StringBuilder body = new StringBuilder(256);
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                status = 405;
+                Json.error(body, "Only GET is supported");
+            } else {
+                status = route(exchange.getRequestURI().getPath(), query(exchange.getRequestURI().getRawQuery()), body);
+            }
+        } catch (IllegalArgumentException e) {
+            status = 400;
+            body.setLength(0);
+            Json.error(body, e.getMessage());
+        } catch (RuntimeException e) {
+            status = 500;
+            body.setLength(0);
+            Json.error(body, "Internal error");
+        }
+        byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /** Writes the response body for a GET and returns its status. */
+    private int route(String path, Map<String, String> query, StringBuilder body) {
+        if (path.equals(EMPLOYEES) || path.equals(EMPLOYEES + "/")) {
+            search(query, body);
+            return 200;
+        }
+        if (path.startsWith(EMPLOYEES + "/")) {
+            int id = parseInt(path.substring(EMPLOYEES.length() + 1), "employee id");
+            if (!employee(id, body)) {
+                Json.error(body, "No employee " + id);
+                return 404;
+            }
+            return 200;
+        }
+        if (path.equals(PAYROLL_TOTAL)) {
+            String jobTitle = query.get("jobTitle");
+            String province = query.get("province");
+            if (jobTitle != null && province != null) {
+                throw new IllegalArgumentException("Give jobTitle or province, not both");
+            }
+            Json.aggregate(body, jobTitle != null ? payroll.byJobTitle(jobTitle)
+                    : province != null ? payroll.byProvince(province) : payroll.total());
+            return 200;
+        }
+        Json.error(body, "Not found: " + path);
+        return 404;
+    }
+
+    private void search(Map<String, String> query, StringBuilder body) {
+        String q = query.get("q");
+        if (q == null || q.isBlank()) throw new IllegalArgumentException("Missing q");
+        int limit = query.containsKey("limit") ? parseInt(query.get("limit"), "limit") : DEFAULT_SEARCH_LIMIT;
+        if (limit < 0 || limit > MAX_SEARCH_LIMIT) {
+            throw new IllegalArgumentException("limit must be 0.." + MAX_SEARCH_LIMIT + ": " + limit);
+        }
+        int fuzzy = query.containsKey("fuzzy") ? parseInt(query.get("fuzzy"), "fuzzy") : 0;
+        int[] ids = fuzzy == 0 ? names.prefixSearch(q, limit) : names.fuzzySearch(q, fuzzy, limit);
+        body.append('[');
+        boolean first = true;
+        for (int id : ids) {
+            int mark = body.length();
+            if (!first) body.append(',');
+            if (employee(id, body)) {
+                first = false;
+            } else {
+                body.setLength(mark); // removed since the index was searched
+            }
+        }
+        body.append(']');
+    }
+
+    /** Appends the employee's JSON, read consistently from the registry; {@code false} if absent. */
+    private boolean employee(int id, StringBuilder body) {
+        String json = registry.read(id, e -> e == null ? null : Json.employee(new StringBuilder(192), e).toString());
+        if (json == null) return false;
+        body.append(json);
+        return true;
+    }
+
+    private static Map<String, String> query(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) return params;
+        for (String pair : rawQuery.split("&")) {
+            if (pair.isEmpty()) continue;
+            int eq = pair.indexOf('=');
+            String name = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            params.put(name, value);
+        }
+        return params;
+    }
+
+    private static int parseInt(String s, String what) {
+        try {
+            return Integer.parseInt(s);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + what + ": " + s, e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.jaypatel.emanager.http;
+
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.model.HourlyEmployee;
+import com.jaypatel.emanager.model.ImmutableAddress;
+import com.jaypatel.emanager.payroll.PayrollAggregates;
+
+/**
+ * Minimal JSON writer for the HTTP responses; the API has a handful of flat shapes, so a
+ * dependency would be overkill.
+ */
+final class Json {
+    private Json() {
+    }
+
+    /**
+     * Appends an employee object:
+     * <pre>
+     * {"id":1,"type":"HOURLY","displayName":"Patel, Jay M","lastName":"Patel","firstName":"Jay",
+     *  "jobTitle":"Developer","address":"12 Main St, Saskatoon, SK S7N 1A1","earnings":4080.00}
+     * </pre>
+     * {@code null} text fields are written as {@code null}.
+     */
+    static StringBuilder employee(StringBuilder sb, Employee e) {
+        ImmutableAddress address = e.getAddressValue();
+        sb.append("{\"id\":").append(e.getEmployeeId());
+        sb.append(",\"type\":\"").append(e instanceof HourlyEmployee ? "HOURLY" : "SALARY").append('"');
+        sb.append(",\"displayName\":");
+        string(sb, e.getDisplayName());
+        sb.append(",\"lastName\":");
+        string(sb, e.getLastName());
+        sb.append(",\"firstName\":");
+        string(sb, e.getFirstName());
+        sb.append(",\"jobTitle\":");
+        string(sb, e.getJobTitle());
+        sb.append(",\"address\":");
+        string(sb, address == null ? null : address.displayAddress());
+        sb.append(",\"earnings\":").append(e.getEarnings().toPlainString());
+        return sb.append('}');
+    }
+
+    /** Appends {@code {"count":3,"total":12000.00,"average":4000.00}}. */
+    static StringBuilder aggregate(StringBuilder sb, PayrollAggregates.Aggregate aggregate) {
+        return sb.append("{\"count\":").append(aggregate.getCount())
+                .append(",\"total\":").append(aggregate.getTotal().toPlainString())
+                .append(",\"average\":").append(aggregate.getAverage().toPlainString())
+                .append('}');
+    }
+
+    /** Appends {@code {"error":"..."}}. */
+    static StringBuilder error(StringBuilder sb, String message) {
+        sb.append("{\"error\":");
+        string(sb, message);
+        return sb.append('}');
+    }
+
+    /** Appends a quoted, escaped string, or {@code null}. */
+    static StringBuilder string(StringBuilder sb, String s) {
+        if (s == null) return sb.append("null");
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append("\\u00").append(Character.forDigit(c >> 4, 16)).append(Character.forDigit(c & 0xF, 16));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.append('"');
+    }
+}
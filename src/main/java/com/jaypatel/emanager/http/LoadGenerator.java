@@ -0,0 +1,213 @@
+package com.jaypatel.emanager.http;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Closed-loop HTTP load generator for measuring {@link EmployeeHttpServer} locally.
+ * <p>
+ * Each of {@code clients} threads sends one request, waits for the full response, records the
+ * latency and sends the next, cycling through the target URIs (each client starts at a
+ * different one). Latencies are kept in primitive arrays and only sorted at the end, so the
+ * generator itself adds little noise. Requests answered with a status of 400 or above, or
+ * failing with an I/O error, count as errors; their latency is still recorded.
+ * </p>
+ *
+ * <h3>Example</h3>
+ * <pre>{@code
+ * LoadGenerator.Result r = new LoadGenerator(targets, 32).run(Duration.ofSeconds(10));
+ * System.out.println(r);   // 412345 requests (0 errors) in 10.0 s: 41234 req/s, p50 0.61 ms, p99 2.10 ms
+ * }</pre>
+ */
+public final class LoadGenerator {
+    /** Outcome of one run. */
+    public static final class Result {
+        private final long requests;
+
+        private final long errors;
+
+        private final long elapsedNanos;
+
+        /** All latencies in nanoseconds, sorted ascending. */
+        private final long[] latencies;
+
+        Result(long errors, long elapsedNanos, long[] latencies) {
+            this.requests = latencies.length;
+            this.errors = errors;
+            this.elapsedNanos = elapsedNanos;
+            this.latencies = latencies;
+        }
+
+        /** @return requests completed, including errors */
+        public long getRequests() {
+            return requests;
+        }
+
+        /** @return requests that failed or got a 4xx/5xx status */
+        public long getErrors() {
+            return errors;
+        }
+
+        /** @return wall-clock duration of the run */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /** @return completed requests per second */
+        public double getRequestsPerSecond() {
+            return elapsedNanos == 0 ? 0 : requests * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * Returns a latency percentile (nearest-rank).
+         *
+         * @param percentile in (0, 100]
+         * @return latency in microseconds, or 0 if no requests completed
+         * @throws IllegalArgumentException if {@code percentile} is out of range
+         */
+        public double getPercentileMicros(double percentile) {
+            if (!(percentile > 0 && percentile <= 100)) {
+                throw new IllegalArgumentException("percentile must be in (0, 100]: " + percentile);
+            }
+            if (latencies.length == 0) return 0;
+            int rank = (int) Math.ceil(percentile / 100 * latencies.length);
+            return latencies[Math.max(rank, 1) - 1] / 1e3;
+        }
+
+        /** @return median latency in microseconds */
+        public double getP50Micros() {
+            return getPercentileMicros(50);
+        }
+
+        /** @return 99th-percentile latency in microseconds */
+        public double getP99Micros() {
+            return getPercentileMicros(99);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "%d requests (%d errors) in %.1f s: %.0f req/s, p50 %.2f ms, p99 %.2f ms, max %.2f ms",
+                    requests, errors, elapsedNanos / 1e9, getRequestsPerSecond(),
+                    getP50Micros() / 1e3, getP99Micros() / 1e3, getPercentileMicros(100) / 1e3);
+        }
+    }
+
+    private final List<HttpRequest> requests;
+
+    private final int clients;
+
+    private final HttpClient client;
+
+    /**
+     * @param targets URIs to {@code GET}, in rotation (at least one)
+     * @param clients concurrent client threads, i.e. requests in flight (at least 1)
+     * @throws IllegalArgumentException if {@code targets} is empty or {@code clients} is less than 1
+     */
+    public LoadGenerator(List<URI> targets, int clients) {
+        if (targets.isEmpty()) {
+            throw new IllegalArgumentException("No targets");
+        }
+        if (clients < 1) {
+            throw new IllegalArgumentException("clients must be >= 1: " + clients);
+        }
+        List<HttpRequest> built = new ArrayList<>(targets.size());
+        for (URI uri : targets) built.add(HttpRequest.newBuilder(uri).GET().build());
+        this.requests = List.copyOf(built);
+        this.clients = clients;
+        this.client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    /**
+     * Sends requests from every client until {@code duration} has passed.
+     *
+     * @param duration how long to generate load
+     * @return the measurements
+     * @throws InterruptedException if interrupted while waiting for the clients
+     */
+    public Result run(Duration duration) throws InterruptedException {
+        final long deadline = System.nanoTime() + duration.toNanos();
+        Client[] workers = new Client[clients];
+        Thread[] threads = new Thread[clients];
+        long start = System.nanoTime();
+        for (int i = 0; i < clients; i++) {
+            workers[i] = new Client(client, requests, i, deadline);
+            threads[i] = new Thread(workers[i], "load-" + (i + 1));
+            threads[i].start();
+        }
+        for (Thread t : threads) t.join();
+        long elapsed = System.nanoTime() - start;
+
+        int total = 0;
+        long errors = 0;
+        for (Client c : workers) {
+            total += c.count;
+            errors += c.errors;
+        }
+        long[] all = new long[total];
+        int pos = 0;
+        for (Client c : workers) {
+            System.arraycopy(c.latencies, 0, all, pos, c.count);
+            pos += c.count;
+        }
+        Arrays.sort(all);
+        return new Result(errors, elapsed, all);
+    }
+
+    // ---- Helpers ------------------------------------------------------------
+
+    private static final class Client implements Runnable {
+        private final HttpClient client;
+
+        private final List<HttpRequest> requests;
+
+        private final long deadline;
+
+        private int next;
+
+        long[] latencies = new long[1024];
+
+        int count;
+
+        long errors;
+
+        Client(HttpClient client, List<HttpRequest> requests, int first, long deadline) {
+            this.client = client;
+            this.requests = requests;
+            this.next = first % requests.size();
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void run() {
+            while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                HttpRequest request = requests.get(next);
+                if (++next == requests.size()) next = 0;
+                long t0 = System.nanoTime();
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() >= 400) errors++;
+                } catch (IOException e) {
+                    errors++;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                record(System.nanoTime() - t0);
+            }
+        }
+
+        private void record(long nanos) {
+            if (count == latencies.length) latencies = Arrays.copyOf(latencies, count * 2);
+            latencies[count++] = nanos;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.jaypatel.emanager.http;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors for {@link EmployeeHttpServer} request handling.
+ * <p>
+ * Handlers are short and mostly CPU-bound (a map lookup and some JSON), so a pool about the size
+ * of the machine is the safe default: {@link #boundedPool(int)}. On JDK 21 and later,
+ * {@link #virtualThreads()} gives every request its own virtual thread instead, which keeps
+ * latency flat when handlers block (slow clients, a future database call) without sizing a pool.
+ * The project targets Java 17, so the virtual-thread factory is looked up reflectively.
+ * </p>
+ */
+public final class ServerExecutors {
+    private ServerExecutors() {
+    }
+
+    /**
+     * Creates a fixed pool of daemon platform threads named {@code http-N}.
+     *
+     * @param threads number of threads (at least 1)
+     * @return the pool
+     * @throws IllegalArgumentException if {@code threads} is less than 1
+     */
+    public static ExecutorService boundedPool(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be >= 1: " + threads);
+        }
+        return Executors.newFixedThreadPool(threads, new NamedDaemonThreads("http-"));
+    }
+
+    /** @return {@code true} if the running JDK supports virtual threads (JDK 21+) */
+    public static boolean virtualThreadsSupported() {
+        return virtualThreadFactory() != null;
+    }
+
+    /**
+     * Creates an executor that starts a new virtual thread per request.
+     *
+     * @return the executor
+     * @throws UnsupportedOperationException if the running JDK has no virtual threads
+     */
+    public static ExecutorService virtualThreads() {
+        Method factory = virtualThreadFactory();
+        if (factory == null) {
+            throw new UnsupportedOperationException("Virtual threads need JDK 21 or later; running "
+                    + Runtime.version());
+        }
+        try {
+            return (ExecutorService) factory.invoke(null);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Cannot create virtual-thread executor", e);
+        }
+    }
+
+    // ---- Helpers ------------------------------------------------------------
+
+    private static Method virtualThreadFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static final class NamedDaemonThreads implements ThreadFactory {
+        private final String prefix;
+
+        private final AtomicInteger next = new AtomicInteger(1);
+
+        NamedDaemonThreads(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread t = new Thread(task, prefix + next.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.jaypatel.emanager.index;
+
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.model.Person;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Sorted birthdate index for age-range, "turning N" and upcoming-birthday queries.
+ * <p>
+ * Every employee with a parseable birthdate ({@link Person#getBirthEpochDay()}) becomes one
+ * packed {@code long} in two sorted arrays: {@code epochDay << 32 | id} for ranges of birthdates
+ * and ages, and {@code dayOfYear << 32 | id} for birthdays, where the day of the year is counted
+ * in a leap year so that February 29 has its own slot. A query turns its dates into a key range
+ * and binary-searches both ends, so it costs {@code O(log n)} plus the ids it returns, with no
+ * string parsing and no per-employee date objects.
+ * </p>
+ * <p>
+ * Ages follow {@link java.time.Period#between}: a person is {@code N} from their
+ * {@code N}th birthday on, and someone born on February 29 has their birthday on March 1 in
+ * common years. Employees whose birthdate is set but not a valid ISO {@code YYYY-MM-DD} date are
+ * not indexed; they are reported by {@link #getUnparseable()} so the data can be fixed.
+ * </p>
+ * <p>Like {@code EmployeeTable}, the index is a snapshot: it does not follow later changes to
+ * the employees. Instances are immutable and safe to query from several threads.</p>
+ *
+ * <h3>Example</h3>
+ * <pre>{@code
+ * BirthDateIndex births = BirthDateIndex.of(repository);
+ * LocalDate today = LocalDate.now();
+ * int[] retiring = births.turning(65, today, today.plusMonths(3).minusDays(1));
+ * int[] juniors = births.aged(25, 30, today);
+ * int[] cards = births.upcomingBirthdays(today, 7);   // soonest first
+ * }</pre>
+ */
+public final class BirthDateIndex {
+    private static final long ID_MASK = 0xFFFF_FFFFL;
+
+    /** Day-of-year slot of February 29 in the leap-year numbering. */
+    private static final int FEB_29 = 60;
+
+    /** Largest day-of-year slot: December 31. */
+    private static final int DEC_31 = 366;
+
+    /** {@code epochDay << 32 | id}, ascending. */
+    private final long[] byBirthDate;
+
+    /** {@code dayOfYear << 32 | id}, ascending; {@code dayOfYear} in {@code [1, 366]}. */
+    private final long[] byBirthday;
+
+    private final SortedMap<Integer, String> unparseable;
+
+    private BirthDateIndex(long[] byBirthDate, long[] byBirthday, SortedMap<Integer, String> unparseable) {
+        this.byBirthDate = byBirthDate;
+        this.byBirthday = byBirthday;
+        this.unparseable = Collections.unmodifiableSortedMap(unparseable);
+    }
+
+    /**
+     * Builds an index over the current birthdates.
+     *
+     * @param employees employees to index
+     * @return the index
+     */
+    public static BirthDateIndex of(Iterable<? extends Employee> employees) {
+        long[] dates = new long[1024];
+        long[] birthdays = new long[1024];
+        int n = 0;
+        SortedMap<Integer, String> unparseable = new TreeMap<>();
+        for (Employee e : employees) {
+            int epochDay = e.getBirthEpochDay();
+            if (epochDay == Person.NO_BIRTH_DATE) {
+                String text = e.getBirthDate();
+                if (text != null) unparseable.put(e.getEmployeeId(), text);
+                continue;
+            }
+            if (n == dates.length) {
+                dates = Arrays.copyOf(dates, n * 2);
+                birthdays = Arrays.copyOf(birthdays, n * 2);
+            }
+            long id = e.getEmployeeId() & ID_MASK;
+            dates[n] = (long) epochDay << 32 | id;
+            birthdays[n] = (long) dayOfYear(LocalDate.ofEpochDay(epochDay)) << 32 | id;
+            n++;
+        }
+        dates = Arrays.copyOf(dates, n);
+        birthdays = Arrays.copyOf(birthdays, n);
+        Arrays.sort(dates);
+        Arrays.sort(birthdays);
+        return new BirthDateIndex(dates, birthdays, unparseable);
+    }
+
+    /** @return number of indexed employees, i.e. those with a parseable birthdate */
+    public int size() {
+        return byBirthDate.length;
+    }
+
+    /**
+     * Employees whose birthdate is set but could not be parsed.
+     *
+     * @return unmodifiable map from employee id to the birthdate text, by ascending id
+     */
+    public Map<Integer, String> getUnparseable() {
+        return unparseable;
+    }
+
+    /**
+     * @param from first birthdate, inclusive
+     * @param to   last birthdate, inclusive
+     * @return ids of the employees born in {@code [from, to]}, oldest first
+     */
+    public int[] bornBetween(LocalDate from, LocalDate to) {
+        return ids(byBirthDate, from.toEpochDay(), to.toEpochDay());
+    }
+
+    /**
+     * @param from first birthdate, inclusive
+     * @param to   last birthdate, inclusive
+     * @return number of employees born in {@code [from, to]}
+     */
+    public int countBornBetween(LocalDate from, LocalDate to) {
+        long lo = from.toEpochDay();
+        long hi = to.toEpochDay();
+        return lo > hi ? 0 : upperBound(byBirthDate, hi) - lowerBound(byBirthDate, lo);
+    }
+
+    /**
+     * @param minAge youngest age, inclusive
+     * @param maxAge oldest age, inclusive
+     * @param asOf   date the ages are taken on
+     * @return ids of the employees aged {@code minAge} to {@code maxAge} on {@code asOf}, oldest
+     *         first
+     * @throws IllegalArgumentException if {@code minAge} is negative or greater than {@code maxAge}
+     */
+    public int[] aged(int minAge, int maxAge, LocalDate asOf) {
+        if (minAge < 0 || minAge > maxAge) {
+            throw new IllegalArgumentException("Invalid age range: " + minAge + ".." + maxAge);
+        }
+        // Aged at most maxAge: the (maxAge + 1)th birthday is after asOf.
+        return bornBetween(asOf.minusYears(maxAge + 1L).plusDays(1), asOf.minusYears(minAge));
+    }
+
+    /**
+     * Finds the employees who reach an age within a period, e.g. everyone turning 65 this quarter.
+     *
+     * @param age  age reached
+     * @param from first day of the period, inclusive
+     * @param to   last day of the period, inclusive
+     * @return ids of the employees whose {@code age}th birthday falls in {@code [from, to]},
+     *         oldest first
+     * @throws IllegalArgumentException if {@code age} is negative
+     */
+    public int[] turning(int age, LocalDate from, LocalDate to) {
+        if (age < 0) {
+            throw new IllegalArgumentException("age must be >= 0: " + age);
+        }
+        // Aged age on to but not yet on the day before from.
+        return bornBetween(from.minusDays(1).minusYears(age).plusDays(1), to.minusYears(age));
+    }
+
+    /**
+     * Finds the employees whose birthday falls within the next {@code days} days.
+     *
+     * @param from first day, inclusive
+     * @param days length of the window, in {@code [0, 365]}
+     * @return ids ordered by the date of their birthday in the window, soonest first; each
+     *         employee at most once
+     * @throws IllegalArgumentException if {@code days} is out of range
+     */
+    public int[] upcomingBirthdays(LocalDate from, int days) {
+        if (days < 0 || days > 365) {
+            throw new IllegalArgumentException("days must be in [0, 365]: " + days);
+        }
+        if (days == 0) return new int[0];
+        LocalDate to = from.plusDays(days - 1L);
+        int lo = firstSlot(from);
+        if (to.getYear() == from.getYear()) {
+            return ids(byBirthday, lo, lastSlot(to));
+        }
+        // The window wraps into the next year; stop short of the slots already covered.
+        int[] thisYear = ids(byBirthday, lo, DEC_31);
+        int[] nextYear = ids(byBirthday, 1, Math.min(lastSlot(to), lo - 1));
+        int[] result = Arrays.copyOf(thisYear, thisYear.length + nextYear.length);
+        System.arraycopy(nextYear, 0, result, thisYear.length, nextYear.length);
+        return result;
+    }
+
+    // ---- Helpers ------------------------------------------------------------
+
+    /** Day of the year of {@code date}'s month and day in a leap year, in {@code [1, 366]}. */
+    private static int dayOfYear(LocalDate date) {
+        int day = date.getDayOfYear();
+        return !date.isLeapYear() && day > FEB_29 - 1 ? day + 1 : day;
+    }
+
+    /** First slot celebrated on {@code date}: March 1 of a common year also covers February 29. */
+    private static int firstSlot(LocalDate date) {
+        int slot = dayOfYear(date);
+        return slot == FEB_29 + 1 && !date.isLeapYear() ? FEB_29 : slot;
+    }
+
+    /** Last slot celebrated on {@code date}. */
+    private static int lastSlot(LocalDate date) {
+        return dayOfYear(date);
+    }
+
+    /** Ids of the entries whose key is in {@code [lo, hi]}, in key order. */
+    private static int[] ids(long[] sorted, long lo, long hi) {
+        if (lo > hi) return new int[0];
+        int start = lowerBound(sorted, lo);
+        int end = upperBound(sorted, hi);
+        int[] ids = new int[Math.max(0, end - start)];
+        for (int i = 0; i < ids.length; i++) ids[i] = (int) sorted[start + i];
+        return ids;
+    }
+
+    /** Index of the first entry with key {@code >= key}. */
+    private static int lowerBound(long[] sorted, long key) {
+        return firstAtLeast(sorted, clamp(key) << 32);
+    }
+
+    /** Index of the first entry with key {@code > key}. */
+    private static int upperBound(long[] sorted, long key) {
+        return firstAtLeast(sorted, (clamp(key) << 32 | ID_MASK) + 1);
+    }
+
+    /** Keys are {@code int}s; dates beyond that range (years past 5 million) bound nothing. */
+    private static long clamp(long key) {
+        return Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE - 1, key));
+    }
+
+    private static int firstAtLeast(long[] sorted, long value) {
+        int lo = 0;
+        int hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] < value) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+}
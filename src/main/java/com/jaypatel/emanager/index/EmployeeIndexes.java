@@ -0,0 +1,302 @@
+package com.jaypatel.emanager.index;
+
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.model.ImmutableAddress;
+import com.jaypatel.emanager.model.ModelChangeListener;
+import com.jaypatel.emanager.model.ModelProperty;
+import com.jaypatel.emanager.model.Person;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Secondary indexes from job title, province, city and postal-code prefix to employee ids.
+ * <p>
+ * Each field keeps a dictionary that assigns every distinct value a small code, and one
+ * {@link IntBitmap} of employee ids per code. Lookups return bitmaps that combine with
+ * {@link IntBitmap#and}/{@link IntBitmap#or}, so "managers in SK" is one dictionary lookup per
+ * field and a container-wise intersection rather than a scan of every employee.
+ * </p>
+ * <p>
+ * Indexed employees are kept current through a {@link ModelChangeListener}: changing an
+ * employee's job title, address or id moves it to the right postings immediately.
+ * Values are matched case-insensitively after trimming; {@code null} values are not indexed.
+ * The postal prefix is the first three characters of the postal code with spaces removed
+ * (the forward sortation area for Canadian codes, e.g. {@code "S7N"}).
+ * </p>
+ *
+ * <h3>Example</h3>
+ * <pre>{@code
+ * EmployeeIndexes indexes = new EmployeeIndexes();
+ * indexes.addAll(repository);
+ * IntBitmap ids = IntBitmap.and(indexes.jobTitle("Technician"), indexes.postalPrefix("S7N"));
+ * }</pre>
+ *
+ * <p>Instances are safe for concurrent use; queries run in parallel with each other.</p>
+ */
+public final class EmployeeIndexes implements ModelChangeListener {
+    /** Indexed fields. */
+    public enum Field {
+        /** {@link Employee#getJobTitle()}. */
+        JOB_TITLE,
+        /** {@link ImmutableAddress#getProvince()}. */
+        PROVINCE,
+        /** {@link ImmutableAddress#getCity()}. */
+        CITY,
+        /** First three characters of {@link ImmutableAddress#getPostalCode()}, spaces removed. */
+        POSTAL_PREFIX
+    }
+
+    private static final Field[] FIELDS = Field.values();
+
+    private static final int POSTAL_PREFIX_LENGTH = 3;
+
+    /** Dictionary-encoded postings of one field. */
+    private static final class FieldIndex {
+        final Map<String, Integer> codes = new HashMap<>();
+        final List<String> values = new ArrayList<>();
+        final List<IntBitmap> postings = new ArrayList<>();
+
+        IntBitmap posting(String key) {
+            Integer code = codes.get(key);
+            return code == null ? null : postings.get(code);
+        }
+
+        void add(String key, int employeeId) {
+            if (key == null) return;
+            Integer code = codes.get(key);
+            if (code == null) {
+                code = values.size();
+                codes.put(key, code);
+                values.add(key);
+                postings.add(new IntBitmap());
+            }
+            postings.get(code).add(employeeId);
+        }
+
+        void remove(String key, int employeeId) {
+            IntBitmap posting = key == null ? null : posting(key);
+            if (posting != null) posting.remove(employeeId);
+        }
+    }
+
+    private final FieldIndex[] fields = new FieldIndex[FIELDS.length];
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Creates empty indexes. */
+    public EmployeeIndexes() {
+        for (int f = 0; f < fields.length; f++) fields[f] = new FieldIndex();
+    }
+
+    /**
+     * Indexes an employee and starts tracking its changes.
+     *
+     * @param employee employee to index
+     */
+    public void add(Employee employee) {
+        lock.writeLock().lock();
+        try {
+            int id = employee.getEmployeeId();
+            for (Field f : FIELDS) fields[f.ordinal()].add(key(f, employee), id);
+            employee.addChangeListener(this);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes every employee.
+     *
+     * @param employees employees to index
+     */
+    public void addAll(Iterable<? extends Employee> employees) {
+        for (Employee e : employees) add(e);
+    }
+
+    /**
+     * Removes an employee from the indexes and stops tracking it.
+     *
+     * @param employee previously added employee
+     */
+    public void remove(Employee employee) {
+        lock.writeLock().lock();
+        try {
+            employee.removeChangeListener(this);
+            int id = employee.getEmployeeId();
+            for (Field f : FIELDS) fields[f.ordinal()].remove(key(f, employee), id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Looks up the employees with a field value.
+     *
+     * @param field field to search
+     * @param value value to match; case-insensitive, trimmed (postal codes are cut to their prefix)
+     * @return a new bitmap of matching employee ids; empty if none
+     */
+    public IntBitmap lookup(Field field, String value) {
+        String key = field == Field.POSTAL_PREFIX ? postalKey(value) : normalize(value);
+        lock.readLock().lock();
+        try {
+            IntBitmap posting = key == null ? null : fields[field.ordinal()].posting(key);
+            return posting == null ? new IntBitmap() : posting.copy();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the employees with a field value, without copying their ids.
+     *
+     * @param field field to search
+     * @param value value to match, as for {@link #lookup(Field, String)}
+     * @return number of matching employees
+     */
+    public int count(Field field, String value) {
+        String key = field == Field.POSTAL_PREFIX ? postalKey(value) : normalize(value);
+        lock.readLock().lock();
+        try {
+            IntBitmap posting = key == null ? null : fields[field.ordinal()].posting(key);
+            return posting == null ? 0 : posting.getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param jobTitle job title to match
+     * @return ids of employees with that job title
+     */
+    public IntBitmap jobTitle(String jobTitle) {
+        return lookup(Field.JOB_TITLE, jobTitle);
+    }
+
+    /**
+     * @param province province to match
+     * @return ids of employees in that province
+     */
+    public IntBitmap province(String province) {
+        return lookup(Field.PROVINCE, province);
+    }
+
+    /**
+     * @param city city to match
+     * @return ids of employees in that city
+     */
+    public IntBitmap city(String city) {
+        return lookup(Field.CITY, city);
+    }
+
+    /**
+     * @param postalCode postal code or prefix; only the first three characters are used
+     * @return ids of employees whose postal code starts with that prefix
+     */
+    public IntBitmap postalPrefix(String postalCode) {
+        return lookup(Field.POSTAL_PREFIX, postalCode);
+    }
+
+    /**
+     * @param field indexed field
+     * @return the distinct (normalized) values currently held by at least one employee, sorted
+     */
+    public List<String> values(Field field) {
+        lock.readLock().lock();
+        try {
+            FieldIndex index = fields[field.ordinal()];
+            TreeSet<String> present = new TreeSet<>();
+            for (int code = 0; code < index.values.size(); code++) {
+                if (!index.postings.get(code).isEmpty()) present.add(index.values.get(code));
+            }
+            return List.copyOf(present);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** @return approximate heap used by the postings, in bytes */
+    public long sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (FieldIndex index : fields) {
+                for (IntBitmap posting : index.postings) bytes += posting.sizeInBytes();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Moves an indexed employee between postings after a setter. */
+    @Override
+    public void propertyChanged(Person source, ModelProperty property, Object oldValue) {
+        if (!(source instanceof Employee e)) return;
+        lock.writeLock().lock();
+        try {
+            int id = e.getEmployeeId();
+            switch (property) {
+                case JOB_TITLE -> move(Field.JOB_TITLE, normalize((String) oldValue), key(Field.JOB_TITLE, e), id);
+                case ADDRESS -> {
+                    ImmutableAddress old = (ImmutableAddress) oldValue;
+                    ImmutableAddress current = e.getAddressValue();
+                    for (Field f : new Field[]{Field.PROVINCE, Field.CITY, Field.POSTAL_PREFIX}) {
+                        move(f, addressKey(f, old), addressKey(f, current), id);
+                    }
+                }
+                case EMPLOYEE_ID -> {
+                    int oldId = (Integer) oldValue;
+                    for (Field f : FIELDS) {
+                        String key = key(f, e);
+                        fields[f.ordinal()].remove(key, oldId);
+                        fields[f.ordinal()].add(key, id);
+                    }
+                }
+                default -> {
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ---- Helpers ------------------------------------------------------------
+
+    private void move(Field field, String oldKey, String newKey, int id) {
+        if (oldKey == null ? newKey == null : oldKey.equals(newKey)) return;
+        fields[field.ordinal()].remove(oldKey, id);
+        fields[field.ordinal()].add(newKey, id);
+    }
+
+    private static String key(Field field, Employee e) {
+        return field == Field.JOB_TITLE ? normalize(e.getJobTitle()) : addressKey(field, e.getAddressValue());
+    }
+
+    private static String addressKey(Field field, ImmutableAddress address) {
+        if (address == null) return null;
+        return switch (field) {
+            case PROVINCE -> normalize(address.getProvince());
+            case CITY -> normalize(address.getCity());
+            case POSTAL_PREFIX -> postalKey(address.getPostalCode());
+            default -> throw new IllegalArgumentException("Not an address field: " + field);
+        };
+    }
+
+    private static String postalKey(String postalCode) {
+        String key = normalize(postalCode);
+        if (key == null) return null;
+        key = key.replace(" ", "");
+        return key.length() <= POSTAL_PREFIX_LENGTH ? key : key.substring(0, POSTAL_PREFIX_LENGTH);
+    }
+
+    private static String normalize(String value) {
+        return (value == null || value.isBlank()) ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,502 @@
+package com.jaypatel.emanager.index;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * Compressed set of {@code int} values (a "roaring" style bitmap).
+ * <p>
+ * Values are split by their high 16 bits into containers of at most 65,536 values. A container
+ * with up to 4,096 values is a sorted {@code char[]} (2 bytes per value); a denser one is a fixed
+ * 8 KiB bit set. Sparse sets therefore cost about 2 bytes per value and dense sets about one bit,
+ * and {@link #and}, {@link #or} and {@link #andNot} work container by container with merges or
+ * word-wide bit operations instead of value by value.
+ * </p>
+ * <p>Values are ordered as unsigned integers: negative values come after all non-negative ones.
+ * Instances are not thread-safe.</p>
+ *
+ * <h3>Example</h3>
+ * <pre>{@code
+ * IntBitmap managers = indexes.jobTitle("Manager");
+ * IntBitmap inSask = indexes.province("SK");
+ * IntBitmap both = IntBitmap.and(managers, inSask);
+ * both.forEach(id -> System.out.println(repository.get(id)));
+ * }</pre>
+ */
+public final class IntBitmap {
+    /** Largest array container; above this a bitmap container is smaller. */
+    private static final int ARRAY_MAX = 4096;
+
+    private static final int BITMAP_WORDS = 1024;
+
+    /** High 16 bits of each container, ascending. */
+    private char[] keys;
+
+    /** {@code char[]} (sorted low 16 bits) or {@code long[BITMAP_WORDS]} per key. */
+    private Object[] containers;
+
+    /** Values in each container. */
+    private int[] counts;
+
+    private int size;
+
+    private int cardinality;
+
+    /** Creates an empty bitmap. */
+    public IntBitmap() {
+        this.keys = new char[4];
+        this.containers = new Object[4];
+        this.counts = new int[4];
+    }
+
+    /**
+     * @param values values to add
+     * @return a new bitmap holding {@code values}
+     */
+    public static IntBitmap of(int... values) {
+        IntBitmap bitmap = new IntBitmap();
+        for (int v : values) bitmap.add(v);
+        return bitmap;
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @param value value to add
+     * @return {@code true} if it was not already present
+     */
+    public boolean add(int value) {
+        final char hi = (char) (value >>> 16);
+        final char lo = (char) value;
+        int i = Arrays.binarySearch(keys, 0, size, hi);
+        if (i < 0) {
+            i = -i - 1;
+            insertContainer(i, hi, new char[4], 0);
+        }
+        final int n = counts[i];
+        if (containers[i] instanceof long[] bits) {
+            long mask = 1L << lo;
+            if ((bits[lo >>> 6] & mask) != 0) return false;
+            bits[lo >>> 6] |= mask;
+        } else {
+            char[] values = (char[]) containers[i];
+            int j = Arrays.binarySearch(values, 0, n, lo);
+            if (j >= 0) return false;
+            j = -j - 1;
+            if (n == ARRAY_MAX) {
+                long[] bits = toBitmap(values, n);
+                bits[lo >>> 6] |= 1L << lo;
+                containers[i] = bits;
+            } else {
+                if (n == values.length) {
+                    values = Arrays.copyOf(values, Math.min(ARRAY_MAX, n * 2));
+                    containers[i] = values;
+                }
+                System.arraycopy(values, j, values, j + 1, n - j);
+                values[j] = lo;
+            }
+        }
+        counts[i] = n + 1;
+        cardinality++;
+        return true;
+    }
+
+    /**
+     * Removes a value.
+     *
+     * @param value value to remove
+     * @return {@code true} if it was present
+     */
+    public boolean remove(int value) {
+        final char hi = (char) (value >>> 16);
+        final char lo = (char) value;
+        final int i = Arrays.binarySearch(keys, 0, size, hi);
+        if (i < 0) return false;
+        final int n = counts[i];
+        if (containers[i] instanceof long[] bits) {
+            long mask = 1L << lo;
+            if ((bits[lo >>> 6] & mask) == 0) return false;
+            bits[lo >>> 6] &= ~mask;
+            if (n - 1 == ARRAY_MAX) containers[i] = toArray(bits, ARRAY_MAX);
+        } else {
+            char[] values = (char[]) containers[i];
+            int j = Arrays.binarySearch(values, 0, n, lo);
+            if (j < 0) return false;
+            System.arraycopy(values, j + 1, values, j, n - j - 1);
+        }
+        cardinality--;
+        if (n == 1) {
+            removeContainer(i);
+        } else {
+            counts[i] = n - 1;
+        }
+        return true;
+    }
+
+    /**
+     * @param value value to test
+     * @return {@code true} if the bitmap holds {@code value}
+     */
+    public boolean contains(int value) {
+        final char lo = (char) value;
+        final int i = Arrays.binarySearch(keys, 0, size, (char) (value >>> 16));
+        if (i < 0) return false;
+        if (containers[i] instanceof long[] bits) {
+            return (bits[lo >>> 6] & (1L << lo)) != 0;
+        }
+        return Arrays.binarySearch((char[]) containers[i], 0, counts[i], lo) >= 0;
+    }
+
+    /** @return number of values */
+    public int getCardinality() {
+        return cardinality;
+    }
+
+    /** @return {@code true} if the bitmap holds no values */
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    /** Removes all values. */
+    public void clear() {
+        Arrays.fill(containers, 0, size, null);
+        size = 0;
+        cardinality = 0;
+    }
+
+    /**
+     * Visits every value in unsigned order.
+     *
+     * @param action receives each value
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            final int base = keys[i] << 16;
+            if (containers[i] instanceof long[] bits) {
+                for (int w = 0; w < BITMAP_WORDS; w++) {
+                    long word = bits[w];
+                    while (word != 0) {
+                        action.accept(base | (w << 6) | Long.numberOfTrailingZeros(word));
+                        word &= word - 1;
+                    }
+                }
+            } else {
+                char[] values = (char[]) containers[i];
+                for (int k = 0, n = counts[i]; k < n; k++) action.accept(base | values[k]);
+            }
+        }
+    }
+
+    /**
+     * Visits values in unsigned order until {@code action} returns {@code false}.
+     *
+     * @param action receives each value; returns {@code false} to stop
+     * @return {@code true} if every value was visited
+     */
+    public boolean forEachWhile(IntPredicate action) {
+        for (int i = 0; i < size; i++) {
+            final int base = keys[i] << 16;
+            if (containers[i] instanceof long[] bits) {
+                for (int w = 0; w < BITMAP_WORDS; w++) {
+                    long word = bits[w];
+                    while (word != 0) {
+                        if (!action.test(base | (w << 6) | Long.numberOfTrailingZeros(word))) return false;
+                        word &= word - 1;
+                    }
+                }
+            } else {
+                char[] values = (char[]) containers[i];
+                for (int k = 0, n = counts[i]; k < n; k++) {
+                    if (!action.test(base | values[k])) return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /** @return every value in unsigned order */
+    public int[] toArray() {
+        int[] out = new int[cardinality];
+        int[] next = {0};
+        forEach(v -> out[next[0]++] = v);
+        return out;
+    }
+
+    /** @return an independent copy */
+    public IntBitmap copy() {
+        IntBitmap copy = new IntBitmap();
+        copy.keys = Arrays.copyOf(keys, Math.max(size, 1));
+        copy.containers = new Object[copy.keys.length];
+        copy.counts = Arrays.copyOf(counts, copy.keys.length);
+        for (int i = 0; i < size; i++) copy.containers[i] = copyContainer(containers[i], counts[i]);
+        copy.size = size;
+        copy.cardinality = cardinality;
+        return copy;
+    }
+
+    /** @return approximate heap used by the containers, in bytes */
+    public long sizeInBytes() {
+        long bytes = 16L + keys.length * 2L + containers.length * 4L + counts.length * 4L;
+        for (int i = 0; i < size; i++) {
+            bytes += containers[i] instanceof long[] ? 16L + BITMAP_WORDS * 8L : 16L + ((char[]) containers[i]).length * 2L;
+        }
+        return bytes;
+    }
+
+    // ---- Set operations -----------------------------------------------------
+
+    /**
+     * @param a first operand (not modified)
+     * @param b second operand (not modified)
+     * @return a new bitmap with the values in both {@code a} and {@code b}
+     */
+    public static IntBitmap and(IntBitmap a, IntBitmap b) {
+        IntBitmap out = new IntBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                out.append(a.keys[i], andContainers(a.containers[i], a.counts[i], b.containers[j], b.counts[j]));
+                i++;
+                j++;
+            }
+        }
+        return out;
+    }
+
+    /**
+     * @param a first operand (not modified)
+     * @param b second operand (not modified)
+     * @return a new bitmap with the values in {@code a} or {@code b}
+     */
+    public static IntBitmap or(IntBitmap a, IntBitmap b) {
+        IntBitmap out = new IntBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.size || j < b.size) {
+            if (j == b.size || (i < a.size && a.keys[i] < b.keys[j])) {
+                out.append(a.keys[i], copyContainer(a.containers[i], a.counts[i]));
+                i++;
+            } else if (i == a.size || a.keys[i] > b.keys[j]) {
+                out.append(b.keys[j], copyContainer(b.containers[j], b.counts[j]));
+                j++;
+            } else {
+                out.append(a.keys[i], orContainers(a.containers[i], a.counts[i], b.containers[j], b.counts[j]));
+                i++;
+                j++;
+            }
+        }
+        return out;
+    }
+
+    /**
+     * @param a values to keep (not modified)
+     * @param b values to drop (not modified)
+     * @return a new bitmap with the values in {@code a} but not in {@code b}
+     */
+    public static IntBitmap andNot(IntBitmap a, IntBitmap b) {
+        IntBitmap out = new IntBitmap();
+        int j = 0;
+        for (int i = 0; i < a.size; i++) {
+            while (j < b.size && b.keys[j] < a.keys[i]) j++;
+            if (j < b.size && b.keys[j] == a.keys[i]) {
+                out.append(a.keys[i], andNotContainers(a.containers[i], a.counts[i], b.containers[j], b.counts[j]));
+            } else {
+                out.append(a.keys[i], copyContainer(a.containers[i], a.counts[i]));
+            }
+        }
+        return out;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof IntBitmap)) return false;
+        IntBitmap other = (IntBitmap) o;
+        return cardinality == other.cardinality && Arrays.equals(toArray(), other.toArray());
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(toArray());
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("IntBitmap[");
+        int[] values = toArray();
+        for (int k = 0; k < Math.min(values.length, 16); k++) {
+            if (k > 0) sb.append(", ");
+            sb.append(values[k]);
+        }
+        if (values.length > 16) sb.append(", ... (").append(values.length).append(" values)");
+        return sb.append(']').toString();
+    }
+
+    // ---- Helpers ------------------------------------------------------------
+
+    private void insertContainer(int i, char key, Object container, int count) {
+        if (size == keys.length) {
+            int capacity = Math.max(4, size * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+        }
+        System.arraycopy(keys, i, keys, i + 1, size - i);
+        System.arraycopy(containers, i, containers, i + 1, size - i);
+        System.arraycopy(counts, i, counts, i + 1, size - i);
+        keys[i] = key;
+        containers[i] = container;
+        counts[i] = count;
+        size++;
+    }
+
+    private void removeContainer(int i) {
+        System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+        System.arraycopy(containers, i + 1, containers, i, size - i - 1);
+        System.arraycopy(counts, i + 1, counts, i, size - i - 1);
+        containers[--size] = null;
+    }
+
+    /** Appends a container with a key above all existing ones; empty results are dropped. */
+    private void append(char key, Object container) {
+        int count = container instanceof long[] bits ? bitCount(bits) : ((char[]) container).length;
+        if (count == 0) return;
+        insertContainer(size, key, container, count);
+        cardinality += count;
+    }
+
+    /** Array containers produced by set operations are trimmed so their length is their count. */
+    private static Object copyContainer(Object container, int count) {
+        return container instanceof long[] bits ? bits.clone() : Arrays.copyOf((char[]) container, count);
+    }
+
+    private static Object andContainers(Object a, int na, Object b, int nb) {
+        if (a instanceof long[] x && b instanceof long[] y) {
+            long[] bits = new long[BITMAP_WORDS];
+            for (int w = 0; w < BITMAP_WORDS; w++) bits[w] = x[w] & y[w];
+            return shrink(bits);
+        }
+        if (a instanceof long[] x) return filter((char[]) b, nb, x, true);
+        if (b instanceof long[] y) return filter((char[]) a, na, y, true);
+        char[] x = (char[]) a;
+        char[] y = (char[]) b;
+        char[] out = new char[Math.min(na, nb)];
+        int n = 0;
+        for (int i = 0, j = 0; i < na && j < nb; ) {
+            if (x[i] < y[j]) {
+                i++;
+            } else if (x[i] > y[j]) {
+                j++;
+            } else {
+                out[n++] = x[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private static Object orContainers(Object a, int na, Object b, int nb) {
+        if (a instanceof long[] x && b instanceof long[] y) {
+            long[] bits = new long[BITMAP_WORDS];
+            for (int w = 0; w < BITMAP_WORDS; w++) bits[w] = x[w] | y[w];
+            return bits;
+        }
+        if (a instanceof long[] x) return setAll(x.clone(), (char[]) b, nb);
+        if (b instanceof long[] y) return setAll(y.clone(), (char[]) a, na);
+        char[] x = (char[]) a;
+        char[] y = (char[]) b;
+        char[] out = new char[na + nb];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < na && j < nb) {
+            if (x[i] < y[j]) {
+                out[n++] = x[i++];
+            } else if (x[i] > y[j]) {
+                out[n++] = y[j++];
+            } else {
+                out[n++] = x[i++];
+                j++;
+            }
+        }
+        while (i < na) out[n++] = x[i++];
+        while (j < nb) out[n++] = y[j++];
+        return n > ARRAY_MAX ? toBitmap(out, n) : Arrays.copyOf(out, n);
+    }
+
+    private static Object andNotContainers(Object a, int na, Object b, int nb) {
+        if (a instanceof long[] x && b instanceof long[] y) {
+            long[] bits = new long[BITMAP_WORDS];
+            for (int w = 0; w < BITMAP_WORDS; w++) bits[w] = x[w] & ~y[w];
+            return shrink(bits);
+        }
+        if (a instanceof long[] x) {
+            long[] bits = x.clone();
+            char[] y = (char[]) b;
+            for (int k = 0; k < nb; k++) bits[y[k] >>> 6] &= ~(1L << y[k]);
+            return shrink(bits);
+        }
+        if (b instanceof long[] y) return filter((char[]) a, na, y, false);
+        char[] x = (char[]) a;
+        char[] y = (char[]) b;
+        char[] out = new char[na];
+        int n = 0;
+        for (int i = 0, j = 0; i < na; i++) {
+            while (j < nb && y[j] < x[i]) j++;
+            if (j == nb || y[j] != x[i]) out[n++] = x[i];
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    /** Values of {@code values} whose bit in {@code bits} is set ({@code keep}) or clear. */
+    private static char[] filter(char[] values, int n, long[] bits, boolean keep) {
+        char[] out = new char[n];
+        int m = 0;
+        for (int k = 0; k < n; k++) {
+            char v = values[k];
+            if (((bits[v >>> 6] & (1L << v)) != 0) == keep) out[m++] = v;
+        }
+        return Arrays.copyOf(out, m);
+    }
+
+    private static long[] setAll(long[] bits, char[] values, int n) {
+        for (int k = 0; k < n; k++) bits[values[k] >>> 6] |= 1L << values[k];
+        return bits;
+    }
+
+    /** Converts a bitmap result to an array container when that is smaller. */
+    private static Object shrink(long[] bits) {
+        int count = bitCount(bits);
+        return count <= ARRAY_MAX ? toArray(bits, count) : bits;
+    }
+
+    private static long[] toBitmap(char[] values, int n) {
+        return setAll(new long[BITMAP_WORDS], values, n);
+    }
+
+    private static char[] toArray(long[] bits, int count) {
+        char[] values = new char[count];
+        int n = 0;
+        for (int w = 0; w < BITMAP_WORDS; w++) {
+            long word = bits[w];
+            while (word != 0) {
+                values[n++] = (char) ((w << 6) | Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return values;
+    }
+
+    private static int bitCount(long[] bits) {
+        int count = 0;
+        for (long word : bits) count += Long.bitCount(word);
+        return count;
+    }
+}
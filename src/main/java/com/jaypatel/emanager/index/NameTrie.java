@@ -0,0 +1,194 @@
+package com.jaypatel.emanager.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+
+/**
+ * Character trie from normalized name keys to {@link IntBitmap} postings, stored in parallel
+ * primitive arrays (one slot per node) instead of node objects.
+ * <p>Children are kept as a sorted sibling list, so traversals visit keys in lexicographic
+ * order. Not thread-safe; {@link NameIndex} guards it with a lock.</p>
+ */
+final class NameTrie {
+    private static final int NONE = -1;
+
+    private static final int ROOT = 0;
+
+    private char[] labels;
+
+    private int[] firstChild;
+
+    private int[] nextSibling;
+
+    /** Index into {@link #postings}, or {@link #NONE} if no key ends at the node. */
+    private int[] postingOf;
+
+    private int nodeCount;
+
+    private final List<IntBitmap> postings = new ArrayList<>();
+
+    /** Length of the longest key added, which bounds the depth of any traversal. */
+    private int maxDepth;
+
+    NameTrie() {
+        labels = new char[1024];
+        firstChild = new int[1024];
+        nextSibling = new int[1024];
+        postingOf = new int[1024];
+        newNode('\0');
+    }
+
+    /** Adds {@code id} to the posting of {@code key}. */
+    void add(String key, int id) {
+        int node = ROOT;
+        for (int i = 0; i < key.length(); i++) node = child(node, key.charAt(i), true);
+        maxDepth = Math.max(maxDepth, key.length());
+        if (postingOf[node] == NONE) {
+            postingOf[node] = postings.size();
+            postings.add(new IntBitmap());
+        }
+        postings.get(postingOf[node]).add(id);
+    }
+
+    /** Removes {@code id} from the posting of {@code key}; nodes are kept for reuse. */
+    void remove(String key, int id) {
+        IntBitmap posting = posting(find(key));
+        if (posting != null) posting.remove(id);
+    }
+
+    /** @return the node reached by {@code key}, or {@link #NONE} */
+    int find(String key) {
+        int node = ROOT;
+        for (int i = 0; i < key.length() && node != NONE; i++) node = child(node, key.charAt(i), false);
+        return node;
+    }
+
+    /** @return the non-empty posting of {@code node}, or {@code null} */
+    IntBitmap posting(int node) {
+        if (node == NONE || postingOf[node] == NONE) return null;
+        IntBitmap posting = postings.get(postingOf[node]);
+        return posting.isEmpty() ? null : posting;
+    }
+
+    /**
+     * Finds keys starting with {@code prefix}, shortest first (breadth-first), stopping once the
+     * postings found hold at least {@code limit} ids.
+     *
+     * @return {@code depth << 32 | node} for each key, in breadth-first order
+     */
+    long[] completions(String prefix, int limit) {
+        LongStream.Builder out = LongStream.builder();
+        int start = find(prefix);
+        if (start == NONE) return out.build().toArray();
+        int[] level = {start};
+        int depth = prefix.length();
+        long found = 0;
+        while (level.length > 0 && found < limit) {
+            int[] next = new int[0];
+            int n = 0;
+            for (int node : level) {
+                IntBitmap posting = posting(node);
+                if (posting != null) {
+                    out.add(((long) depth << 32) | node);
+                    found += posting.getCardinality();
+                    if (found >= limit) break;
+                }
+                for (int c = firstChild[node]; c != NONE; c = nextSibling[c]) {
+                    if (n == next.length) next = Arrays.copyOf(next, Math.max(8, n * 2));
+                    next[n++] = c;
+                }
+            }
+            level = Arrays.copyOf(next, n);
+            depth++;
+        }
+        return out.build().toArray();
+    }
+
+    /**
+     * Finds keys within {@code maxEdits} Levenshtein edits of {@code query}, walking the trie
+     * with one DP row per depth and pruning subtrees whose row minimum exceeds the bound.
+     * Rows are allocated per call, so concurrent readers are safe.
+     *
+     * @param prefixLength leading characters of {@code query} that must match exactly; each one
+     *                     cuts the searched part of the trie by roughly the alphabet size
+     * @return {@code distance << 32 | node} for each matching key, in lexicographic key order
+     */
+    long[] fuzzy(String query, int maxEdits, int prefixLength) {
+        LongStream.Builder out = LongStream.builder();
+        int[][] rows = new int[maxDepth + 1][query.length() + 1];
+        for (int i = 0; i <= query.length(); i++) rows[0][i] = i;
+        for (int c = firstChild[ROOT]; c != NONE; c = nextSibling[c]) {
+            fuzzy(c, 1, query, maxEdits, prefixLength, rows, out);
+        }
+        return out.build().toArray();
+    }
+
+    /** @return number of trie nodes */
+    int nodeCount() {
+        return nodeCount;
+    }
+
+    // ---- Helpers ------------------------------------------------------------
+
+    private void fuzzy(int node, int depth, String query, int maxEdits, int prefixLength, int[][] rows,
+                       LongStream.Builder out) {
+        final int n = query.length();
+        if (depth <= prefixLength && (depth > n || labels[node] != query.charAt(depth - 1))) return;
+        final int[] prev = rows[depth - 1];
+        final int[] row = rows[depth];
+        final char c = labels[node];
+        row[0] = depth;
+        int min = row[0];
+        for (int i = 1; i <= n; i++) {
+            int cost = query.charAt(i - 1) == c ? 0 : 1;
+            row[i] = Math.min(Math.min(row[i - 1] + 1, prev[i] + 1), prev[i - 1] + cost);
+            min = Math.min(min, row[i]);
+        }
+        if (row[n] <= maxEdits && posting(node) != null) {
+            out.add(((long) row[n] << 32) | node);
+        }
+        if (min <= maxEdits) {
+            for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+                fuzzy(child, depth + 1, query, maxEdits, prefixLength, rows, out);
+            }
+        }
+    }
+
+    /** Finds (or creates) the child of {@code node} labelled {@code c}, keeping siblings sorted. */
+    private int child(int node, char c, boolean create) {
+        int prev = NONE;
+        int cur = firstChild[node];
+        while (cur != NONE && labels[cur] < c) {
+            prev = cur;
+            cur = nextSibling[cur];
+        }
+        if (cur != NONE && labels[cur] == c) return cur;
+        if (!create) return NONE;
+        int created = newNode(c);
+        nextSibling[created] = cur;
+        if (prev == NONE) {
+            firstChild[node] = created;
+        } else {
+            nextSibling[prev] = created;
+        }
+        return created;
+    }
+
+    private int newNode(char label) {
+        if (nodeCount == labels.length) {
+            int capacity = nodeCount * 2;
+            labels = Arrays.copyOf(labels, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+            postingOf = Arrays.copyOf(postingOf, capacity);
+        }
+        int node = nodeCount++;
+        labels[node] = label;
+        firstChild[node] = NONE;
+        nextSibling[node] = NONE;
+        postingOf[node] = NONE;
+        return node;
+    }
+}
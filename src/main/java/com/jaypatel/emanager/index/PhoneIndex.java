@@ -0,0 +1,201 @@
+package com.jaypatel.emanager.index;
+
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.model.ModelChangeListener;
+import com.jaypatel.emanager.model.ModelProperty;
+import com.jaypatel.emanager.model.Person;
+import com.jaypatel.emanager.util.LongIntHashMap;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Reverse lookup from phone number to employee, e.g. for caller ID.
+ * <p>
+ * Employees are keyed by {@link Person#getPhoneKey()}, the E.164 digits computed once when the
+ * number is set, in a {@link LongIntHashMap}; a lookup normalizes only the incoming number and
+ * probes a primitive table, so {@code "+1 306 555 1234"} finds the employee stored as
+ * {@code "(306) 555-1234"} in constant time without boxing. Employees without a recognized
+ * number are not indexed.
+ * </p>
+ * <p>
+ * When several employees share a number (a front desk, a shared line), the first one added
+ * answers {@link #lookup(String)}; all of them are returned by {@link #lookupAll(String)}. Like
+ * {@link EmployeeIndexes}, the index listens for phone-number and id changes on every added
+ * employee. Instances are safe for concurrent use; lookups run in parallel with each other.
+ * </p>
+ *
+ * <h3>Example</h3>
+ * <pre>{@code
+ * PhoneIndex phones = new PhoneIndex();
+ * phones.addAll(repository);
+ * int id = phones.lookup("+1-306-555-1234");   // or PhoneIndex.NOT_FOUND
+ * }</pre>
+ */
+public final class PhoneIndex implements ModelChangeListener {
+    /** Returned by {@link #lookup(String)} when no employee has the number. */
+    public static final int NOT_FOUND = LongIntHashMap.NO_VALUE;
+
+    /** Phone key to the first employee added with it. */
+    private final LongIntHashMap owners = new LongIntHashMap();
+
+    /** Phone key to the other employees sharing it; only for shared numbers. */
+    private final Map<Long, IntBitmap> shared = new HashMap<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int size;
+
+    /**
+     * Indexes an employee's phone number and starts tracking its changes.
+     *
+     * @param employee employee to index
+     * @throws IllegalArgumentException if the employee id is {@link #NOT_FOUND}
+     */
+    public void add(Employee employee) {
+        if (employee.getEmployeeId() == NOT_FOUND) {
+            throw new IllegalArgumentException("employeeId " + NOT_FOUND + " cannot be indexed");
+        }
+        lock.writeLock().lock();
+        try {
+            put(employee.getPhoneKey(), employee.getEmployeeId());
+            employee.addChangeListener(this);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes every employee.
+     *
+     * @param employees employees to index
+     */
+    public void addAll(Iterable<? extends Employee> employees) {
+        for (Employee e : employees) add(e);
+    }
+
+    /**
+     * Removes an employee from the index and stops tracking it.
+     *
+     * @param employee previously added employee
+     */
+    public void remove(Employee employee) {
+        lock.writeLock().lock();
+        try {
+            employee.removeChangeListener(this);
+            delete(employee.getPhoneKey(), employee.getEmployeeId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** @return number of indexed employees, i.e. those with a recognized phone number */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param phoneNumber phone number in any format {@link Person#parsePhoneKey(String)} accepts
+     * @return id of the employee with this number, or {@link #NOT_FOUND}
+     */
+    public int lookup(String phoneNumber) {
+        return lookup(Person.parsePhoneKey(phoneNumber));
+    }
+
+    /**
+     * @param phoneKey normalized number, as returned by {@link Person#getPhoneKey()}
+     * @return id of the employee with this number, or {@link #NOT_FOUND}
+     */
+    public int lookup(long phoneKey) {
+        if (phoneKey == Person.NO_PHONE_KEY) return NOT_FOUND;
+        lock.readLock().lock();
+        try {
+            return owners.get(phoneKey);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param phoneNumber phone number in any format {@link Person#parsePhoneKey(String)} accepts
+     * @return ids of every employee with this number, the one {@link #lookup(String)} returns
+     *         first; empty if none
+     */
+    public int[] lookupAll(String phoneNumber) {
+        long key = Person.parsePhoneKey(phoneNumber);
+        if (key == Person.NO_PHONE_KEY) return new int[0];
+        lock.readLock().lock();
+        try {
+            int owner = owners.get(key);
+            if (owner == NOT_FOUND) return new int[0];
+            IntBitmap others = shared.get(key);
+            int[] rest = others == null ? new int[0] : others.toArray();
+            int[] ids = new int[rest.length + 1];
+            ids[0] = owner;
+            System.arraycopy(rest, 0, ids, 1, rest.length);
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Re-keys an indexed employee after a setter. */
+    @Override
+    public void propertyChanged(Person source, ModelProperty property, Object oldValue) {
+        if (!(source instanceof Employee e)) return;
+        if (property != ModelProperty.PHONE_NUMBER && property != ModelProperty.EMPLOYEE_ID) return;
+        lock.writeLock().lock();
+        try {
+            long key = e.getPhoneKey();
+            if (property == ModelProperty.PHONE_NUMBER) {
+                long oldKey = Person.parsePhoneKey((String) oldValue);
+                if (oldKey == key) return;
+                delete(oldKey, e.getEmployeeId());
+            } else {
+                delete(key, (Integer) oldValue);
+            }
+            put(key, e.getEmployeeId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ---- Helpers ------------------------------------------------------------
+
+    private void put(long key, int id) {
+        if (key == Person.NO_PHONE_KEY) return;
+        int owner = owners.putIfAbsent(key, id);
+        if (owner == LongIntHashMap.NO_VALUE) {
+            size++;
+        } else if (owner != id && shared.computeIfAbsent(key, k -> new IntBitmap()).add(id)) {
+            size++;
+        }
+    }
+
+    private void delete(long key, int id) {
+        if (key == Person.NO_PHONE_KEY) return;
+        int owner = owners.get(key);
+        IntBitmap others = shared.get(key);
+        if (owner == id) {
+            if (others == null) {
+                owners.remove(key);
+            } else {
+                // Promote another holder of the number.
+                int next = others.toArray()[0];
+                others.remove(next);
+                owners.put(key, next);
+                if (others.isEmpty()) shared.remove(key);
+            }
+            size--;
+        } else if (others != null && others.remove(id)) {
+            if (others.isEmpty()) shared.remove(key);
+            size--;
+        }
+    }
+}
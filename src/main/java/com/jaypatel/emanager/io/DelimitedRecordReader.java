@@ -0,0 +1,160 @@
+package com.jaypatel.emanager.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Streams delimiter-separated records (RFC 4180 quoting) from a byte channel.
+ * <p>
+ * Bytes are read into a fixed direct buffer and decoded as UTF-8 into a fixed char buffer, so
+ * memory stays bounded by the buffer sizes plus the longest record, whatever the input size.
+ * Quoted fields may contain delimiters, doubled quotes and line breaks. A leading UTF-8 byte
+ * order mark is skipped. Malformed UTF-8 is replaced with U+FFFD.
+ * </p>
+ */
+final class DelimitedRecordReader {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ReadableByteChannel channel;
+
+    private final char delimiter;
+
+    private final ByteBuffer bytes = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    private final StringBuilder field = new StringBuilder();
+
+    private boolean endOfInput;
+
+    /** Set once the decoder has been flushed; it must not be asked to decode again. */
+    private boolean flushed;
+
+    private boolean firstChar = true;
+
+    /** Physical line the reader is currently on (1-based). */
+    private long line = 1;
+
+    /** Physical line on which the last returned record started. */
+    private long recordLine;
+
+    DelimitedRecordReader(ReadableByteChannel channel, char delimiter) {
+        this.channel = channel;
+        this.delimiter = delimiter;
+        chars.flip(); // start empty, in read mode
+    }
+
+    /** @return the 1-based line number on which the last returned record started */
+    long recordLine() {
+        return recordLine;
+    }
+
+    /**
+     * Reads the next record into {@code out}, replacing its contents.
+     * Blank lines are skipped.
+     *
+     * @param out list receiving the field values
+     * @return {@code false} at end of input
+     * @throws IOException if the channel cannot be read
+     */
+    boolean next(List<String> out) throws IOException {
+        out.clear();
+        field.setLength(0);
+        boolean inQuotes = false;
+        boolean quotedField = false;
+        boolean any = false;
+        recordLine = line;
+
+        while (true) {
+            if (!chars.hasRemaining() && !fill()) {
+                if (!any) return false;
+                out.add(field.toString());
+                return true;
+            }
+            char ch = chars.get();
+            if (firstChar) {
+                firstChar = false;
+                if (ch == '\uFEFF') continue;
+            }
+
+            if (inQuotes) {
+                if (ch == '"') {
+                    if (!chars.hasRemaining()) fill();
+                    if (chars.hasRemaining() && chars.get(chars.position()) == '"') {
+                        chars.get();
+                        field.append('"');
+                    } else {
+                        inQuotes = false;
+                    }
+                } else {
+                    if (ch == '\n') line++;
+                    field.append(ch);
+                }
+                continue;
+            }
+
+            if (ch == '\r') {
+                continue; // CRLF or stray CR: the record ends on '\n'
+            }
+            if (ch == '\n') {
+                line++;
+                if (!any && field.length() == 0) {
+                    recordLine = line; // skip blank line
+                    continue;
+                }
+                out.add(field.toString());
+                return true;
+            }
+            any = true;
+            if (ch == delimiter) {
+                out.add(field.toString());
+                field.setLength(0);
+                quotedField = false;
+            } else if (ch == '"' && field.length() == 0 && !quotedField) {
+                inQuotes = true;
+                quotedField = true;
+            } else {
+                field.append(ch);
+            }
+        }
+    }
+
+    /** Refills the char buffer; returns {@code false} once input is exhausted and fully decoded. */
+    private boolean fill() throws IOException {
+        if (flushed) {
+            return chars.hasRemaining();
+        }
+        chars.compact();
+        try {
+            while (chars.position() == 0) {
+                if (!endOfInput && channel.read(bytes) < 0) {
+                    endOfInput = true;
+                }
+                bytes.flip();
+                CoderResult result = decoder.decode(bytes, chars, endOfInput);
+                if (endOfInput && result.isUnderflow()) {
+                    decoder.flush(chars);
+                    flushed = true;
+                }
+                bytes.compact();
+                if (flushed) {
+                    return chars.position() > 0;
+                }
+            }
+            return true;
+        } finally {
+            chars.flip();
+        }
+    }
+}
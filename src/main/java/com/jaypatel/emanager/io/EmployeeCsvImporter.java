@@ -0,0 +1,269 @@
+package com.jaypatel.emanager.io;
+
+import com.jaypatel.emanager.metrics.Metrics;
+import com.jaypatel.emanager.metrics.Operation;
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.model.HourlyEmployee;
+import com.jaypatel.emanager.model.ImmutableAddress;
+import com.jaypatel.emanager.model.SalaryEmployee;
+import com.jaypatel.emanager.repository.EmployeeRepository;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Streaming importer for CSV/TSV employee exports.
+ * <p>
+ * Records are parsed straight off an NIO channel into {@link HourlyEmployee} and
+ * {@link SalaryEmployee} objects and handed to a consumer in batches, so memory use is bounded
+ * by the batch size no matter how large the file is. Rows that cannot be converted are
+ * collected as {@link ImportError}s and the import continues. Parsing and consuming each batch
+ * is reported to {@link Metrics} as an {@link Operation#IMPORT_BATCH}.
+ * </p>
+ *
+ * <h3>Format</h3>
+ * <p>The first record is a header naming the columns, in any order and case
+ * ({@code employee_id} and {@code Employee Id} both match {@code employeeId}):</p>
+ * <pre>
+ * type,employeeId,lastName,firstName,middleInit,birthDate,phoneNumber,
+ * street,city,province,postalCode,jobTitle,hourlyRate,monthlyHours,annualSalary
+ * </pre>
+ * <p>{@code type} ({@code HOURLY} or {@code SALARY}) and {@code employeeId} are required; other
+ * columns may be omitted and unknown columns are ignored. Text values get the same normalization
+ * as the model setters (trimmed, blank → {@code null}); blank amounts become {@code 0.00}.</p>
+ *
+ * <h3>Example</h3>
+ * <pre>{@code
+ * ImportResult result = EmployeeCsvImporter.csv().importInto(path, repository);
+ * System.out.println(result);   // 1000000 rows read, ... (412345 rows/s)
+ * }</pre>
+ */
+public final class EmployeeCsvImporter {
+    /** Employees per batch handed to the consumer when not specified. */
+    public static final int DEFAULT_BATCH_SIZE = 10_000;
+
+    /** Errors kept in {@link ImportResult#getErrors()} when not specified. */
+    public static final int DEFAULT_MAX_ERRORS = 1_000;
+
+    /** Recognized columns; matched against normalized header names. */
+    private enum Column {
+        TYPE, EMPLOYEE_ID, LAST_NAME, FIRST_NAME, MIDDLE_INIT, BIRTH_DATE, PHONE_NUMBER,
+        STREET, CITY, PROVINCE, POSTAL_CODE, JOB_TITLE, HOURLY_RATE, MONTHLY_HOURS, ANNUAL_SALARY;
+
+        /** Header key, e.g. {@code EMPLOYEE_ID → "employeeid"}. */
+        private final String key = name().replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    private final char delimiter;
+
+    private final int batchSize;
+
+    private final int maxErrors;
+
+    /**
+     * Creates an importer.
+     *
+     * @param delimiter field separator, e.g. {@code ','} or {@code '\t'}
+     * @param batchSize employees per batch handed to the consumer (at least 1)
+     * @param maxErrors rejected rows to keep in the result; further errors are only counted
+     * @throws IllegalArgumentException if {@code delimiter} is a quote or line break, or a size is invalid
+     */
+    public EmployeeCsvImporter(char delimiter, int batchSize, int maxErrors) {
+        if (delimiter == '"' || delimiter == '\n' || delimiter == '\r') {
+            throw new IllegalArgumentException("Invalid delimiter: " + (int) delimiter);
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be >= 1: " + batchSize);
+        }
+        if (maxErrors < 0) {
+            throw new IllegalArgumentException("maxErrors must be >= 0: " + maxErrors);
+        }
+        this.delimiter = delimiter;
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+    }
+
+    /** @return a comma-separated importer with default batch size and error cap */
+    public static EmployeeCsvImporter csv() {
+        return new EmployeeCsvImporter(',', DEFAULT_BATCH_SIZE, DEFAULT_MAX_ERRORS);
+    }
+
+    /** @return a tab-separated importer with default batch size and error cap */
+    public static EmployeeCsvImporter tsv() {
+        return new EmployeeCsvImporter('\t', DEFAULT_BATCH_SIZE, DEFAULT_MAX_ERRORS);
+    }
+
+    /**
+     * Imports a file, handing employees to {@code batchConsumer} in batches of up to
+     * {@code batchSize}. Each batch is a new list the consumer may keep.
+     *
+     * @param file          CSV/TSV file (UTF-8)
+     * @param batchConsumer receives each batch
+     * @return counts, errors and throughput
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the header does not name the required columns
+     */
+    public ImportResult importFile(Path file, Consumer<? super List<Employee>> batchConsumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return importFrom(channel, batchConsumer);
+        }
+    }
+
+    /**
+     * Imports a file straight into a repository.
+     *
+     * @param file       CSV/TSV file (UTF-8)
+     * @param repository destination; rows replace employees with the same id
+     * @return counts, errors and throughput
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the header does not name the required columns
+     */
+    public ImportResult importInto(Path file, EmployeeRepository repository) throws IOException {
+        return importFile(file, batch -> batch.forEach(repository::put));
+    }
+
+    /**
+     * Imports from an open channel. The channel is not closed.
+     *
+     * @param channel       source of UTF-8 encoded records
+     * @param batchConsumer receives each batch
+     * @return counts, errors and throughput
+     * @throws IOException if the channel cannot be read
+     * @throws IllegalArgumentException if the header does not name the required columns
+     */
+    public ImportResult importFrom(ReadableByteChannel channel, Consumer<? super List<Employee>> batchConsumer)
+            throws IOException {
+        final long start = System.nanoTime();
+        DelimitedRecordReader reader = new DelimitedRecordReader(channel, delimiter);
+        List<String> record = new ArrayList<>(Column.values().length);
+        List<ImportError> errors = new ArrayList<>();
+        long rowsRead = 0;
+        long rowsImported = 0;
+        long errorCount = 0;
+
+        if (!reader.next(record)) {
+            return new ImportResult(0, 0, 0, errors, System.nanoTime() - start);
+        }
+        int[] columns = mapHeader(record);
+        int fieldCount = record.size();
+
+        List<Employee> batch = new ArrayList<>(batchSize);
+        Metrics.Span span = Metrics.start(Operation.IMPORT_BATCH);
+        while (reader.next(record)) {
+            rowsRead++;
+            try {
+                if (record.size() != fieldCount) {
+                    throw new IllegalArgumentException("expected " + fieldCount + " fields, found " + record.size());
+                }
+                batch.add(toEmployee(record, columns));
+                rowsImported++;
+            } catch (IllegalArgumentException | ArithmeticException ex) {
+                errorCount++;
+                if (errors.size() < maxErrors) {
+                    errors.add(new ImportError(reader.recordLine(), ex.getMessage()));
+                }
+            }
+            if (batch.size() == batchSize) {
+                batchConsumer.accept(batch);
+                span.end(batch.size());
+                batch = new ArrayList<>(batchSize);
+                span = Metrics.start(Operation.IMPORT_BATCH);
+            }
+        }
+        if (!batch.isEmpty()) {
+            batchConsumer.accept(batch);
+            span.end(batch.size());
+        }
+        return new ImportResult(rowsRead, rowsImported, errorCount, errors, System.nanoTime() - start);
+    }
+
+    // ---- Helpers ------------------------------------------------------------
+
+    /** Maps each {@link Column} ordinal to its field position in the record, or -1 if absent. */
+    private static int[] mapHeader(List<String> header) {
+        int[] positions = new int[Column.values().length];
+        Arrays.fill(positions, -1);
+        for (int i = 0; i < header.size(); i++) {
+            String key = header.get(i).replaceAll("[\\s_\\-]", "").toLowerCase(Locale.ROOT);
+            for (Column c : Column.values()) {
+                if (c.key.equals(key)) positions[c.ordinal()] = i;
+            }
+        }
+        if (positions[Column.TYPE.ordinal()] < 0 || positions[Column.EMPLOYEE_ID.ordinal()] < 0) {
+            throw new IllegalArgumentException("Header must name the 'type' and 'employeeId' columns: " + header);
+        }
+        return positions;
+    }
+
+    private static Employee toEmployee(List<String> record, int[] columns) {
+        String type = text(record, columns, Column.TYPE);
+        String idText = text(record, columns, Column.EMPLOYEE_ID);
+        if (idText == null) {
+            throw new IllegalArgumentException("missing employeeId");
+        }
+        int employeeId;
+        try {
+            employeeId = Integer.parseInt(idText);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("invalid employeeId '" + idText + "'", ex);
+        }
+
+        String lastName = text(record, columns, Column.LAST_NAME);
+        String firstName = text(record, columns, Column.FIRST_NAME);
+        String middle = text(record, columns, Column.MIDDLE_INIT);
+        char middleInit = middle == null ? '\0' : middle.charAt(0);
+        String birthDate = text(record, columns, Column.BIRTH_DATE);
+        String phoneNumber = text(record, columns, Column.PHONE_NUMBER);
+        String jobTitle = text(record, columns, Column.JOB_TITLE);
+
+        Employee employee;
+        if ("HOURLY".equalsIgnoreCase(type)) {
+            employee = new HourlyEmployee(lastName, firstName, middleInit, birthDate, phoneNumber, null,
+                    employeeId, jobTitle,
+                    amount(record, columns, Column.MONTHLY_HOURS),
+                    amount(record, columns, Column.HOURLY_RATE));
+        } else if ("SALARY".equalsIgnoreCase(type) || "SALARIED".equalsIgnoreCase(type)) {
+            employee = new SalaryEmployee(lastName, firstName, middleInit, birthDate, phoneNumber, null,
+                    employeeId, jobTitle,
+                    amount(record, columns, Column.ANNUAL_SALARY));
+        } else {
+            throw new IllegalArgumentException("unknown type '" + type + "' (expected HOURLY or SALARY)");
+        }
+
+        String street = text(record, columns, Column.STREET);
+        String city = text(record, columns, Column.CITY);
+        String province = text(record, columns, Column.PROVINCE);
+        String postalCode = text(record, columns, Column.POSTAL_CODE);
+        if (street != null || city != null || province != null || postalCode != null) {
+            employee.setAddressValue(ImmutableAddress.of(street, city, province, postalCode));
+        }
+        return employee;
+    }
+
+    /** Field value trimmed, blank → {@code null}; absent columns read as {@code null}. */
+    private static String text(List<String> record, int[] columns, Column column) {
+        int position = columns[column.ordinal()];
+        if (position < 0) return null;
+        String value = record.get(position);
+        return (value == null || value.isBlank()) ? null : value.trim();
+    }
+
+    private static BigDecimal amount(List<String> record, int[] columns, Column column) {
+        String value = text(record, columns, column);
+        if (value == null) return null;
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("invalid " + column.key + " '" + value + "'", ex);
+        }
+    }
+}
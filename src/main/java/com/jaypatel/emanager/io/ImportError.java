@@ -0,0 +1,34 @@
+package com.jaypatel.emanager.io;
+
+/**
+ * A row that could not be imported.
+ */
+public final class ImportError {
+    private final long line;
+
+    private final String message;
+
+    /**
+     * @param line    1-based line on which the rejected record starts
+     * @param message why the record was rejected
+     */
+    public ImportError(long line, String message) {
+        this.line = line;
+        this.message = message;
+    }
+
+    /** @return the 1-based line on which the rejected record starts */
+    public long getLine() {
+        return line;
+    }
+
+    /** @return why the record was rejected */
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return "line " + line + ": " + message;
+    }
+}
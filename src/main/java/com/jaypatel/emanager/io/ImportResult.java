@@ -0,0 +1,66 @@
+package com.jaypatel.emanager.io;
+
+import java.util.List;
+
+/**
+ * Summary of one import run: row counts, rejected rows and throughput.
+ */
+public final class ImportResult {
+    private final long rowsRead;
+
+    private final long rowsImported;
+
+    private final long errorCount;
+
+    private final List<ImportError> errors;
+
+    private final long elapsedNanos;
+
+    ImportResult(long rowsRead, long rowsImported, long errorCount, List<ImportError> errors, long elapsedNanos) {
+        this.rowsRead = rowsRead;
+        this.rowsImported = rowsImported;
+        this.errorCount = errorCount;
+        this.errors = List.copyOf(errors);
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /** @return data rows read (the header row is not counted) */
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    /** @return rows turned into employees and handed to the batch consumer */
+    public long getRowsImported() {
+        return rowsImported;
+    }
+
+    /** @return number of rejected rows, including those beyond the error-list cap */
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * Rejected rows in input order, capped at the importer's {@code maxErrors}.
+     *
+     * @return an unmodifiable list of errors
+     */
+    public List<ImportError> getErrors() {
+        return errors;
+    }
+
+    /** @return wall-clock time of the run in nanoseconds */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /** @return data rows read per second of wall-clock time */
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : rowsRead * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d rows read, %d imported, %d rejected in %.1f ms (%.0f rows/s)",
+                rowsRead, rowsImported, errorCount, elapsedNanos / 1_000_000.0, getRowsPerSecond());
+    }
+}
@@ -0,0 +1,322 @@
+package com.jaypatel.emanager.io;
+
+import com.jaypatel.emanager.model.Address;
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.model.ImmutableAddress;
+import com.jaypatel.emanager.model.Person;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Streams one payroll report line per employee to an NIO channel without building strings.
+ * <p>
+ * Each line holds the employee's display name, formatted address, job title and monthly
+ * earnings, separated by a delimiter and ended by {@code '\n'}:
+ * </p>
+ * <pre>
+ * Patel, Jay M&lt;TAB&gt;12 Main St, Saskatoon, SK S7N 1A1&lt;TAB&gt;Developer&lt;TAB&gt;4080.00
+ * </pre>
+ * <p>
+ * The text is exactly what {@link Person#getDisplayName()}, {@link Address#displayAddress()},
+ * {@link Employee#getJobTitle()} and {@link java.math.BigDecimal#toPlainString()} of
+ * {@link Employee#getEarnings()} produce ({@code null} fields are written empty), in UTF-8. But
+ * the fields are formatted straight into one reusable byte buffer, read through getters and
+ * {@link Employee#getEarningsCents()}. No {@code StringBuilder}, address copy or
+ * intermediate {@code String} is created, so a nightly report over millions of employees
+ * allocates close to nothing per row. The buffer is written to the channel whenever it fills.
+ * </p>
+ *
+ * <h3>Example</h3>
+ * <pre>{@code
+ * try (PayrollReportWriter report = PayrollReportWriter.open(Path.of("payroll.tsv"))) {
+ *     report.writeAll(repository);
+ * }
+ * }</pre>
+ *
+ * <p><b>Note:</b> instances are not thread-safe.</p>
+ */
+public final class PayrollReportWriter implements AutoCloseable {
+    /** Buffer size when not specified. */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /** Bytes needed for the longest single write: a 4-byte UTF-8 sequence or a 20-digit amount. */
+    private static final int MIN_BUFFER_SIZE = 32;
+
+    private final WritableByteChannel channel;
+
+    private final ByteBuffer buffer;
+
+    private final char delimiter;
+
+    /** Scratch space for formatting amounts right to left. */
+    private final byte[] digits = new byte[20];
+
+    private long rows;
+
+    private long bytesWritten;
+
+    /**
+     * Creates a writer over an open channel.
+     *
+     * @param channel    destination; closed by {@link #close()}
+     * @param bufferSize bytes buffered between channel writes (at least 32)
+     * @param delimiter  field separator, e.g. {@code '\t'}; must be ASCII and not a line break
+     * @throws IllegalArgumentException if {@code bufferSize} or {@code delimiter} is invalid
+     */
+    public PayrollReportWriter(WritableByteChannel channel, int bufferSize, char delimiter) {
+        if (bufferSize < MIN_BUFFER_SIZE) {
+            throw new IllegalArgumentException("bufferSize must be >= " + MIN_BUFFER_SIZE + ": " + bufferSize);
+        }
+        if (delimiter >= 0x80 || delimiter == '\n' || delimiter == '\r') {
+            throw new IllegalArgumentException("Invalid delimiter: " + (int) delimiter);
+        }
+        this.channel = Objects.requireNonNull(channel, "channel");
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Creates a tab-separated writer with the default buffer size.
+     *
+     * @param channel destination; closed by {@link #close()}
+     */
+    public PayrollReportWriter(WritableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE, '\t');
+    }
+
+    /**
+     * Creates (or truncates) a tab-separated report file.
+     *
+     * @param file report file
+     * @return the writer
+     * @throws IOException if the file cannot be opened
+     */
+    public static PayrollReportWriter open(Path file) throws IOException {
+        return new PayrollReportWriter(FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING));
+    }
+
+    /**
+     * Formats one report line with the existing string methods. This is the reference for what
+     * {@link #write(Employee)} produces, byte for byte once UTF-8 encoded.
+     *
+     * @param employee  employee to format
+     * @param delimiter field separator
+     * @return the line, including its trailing {@code '\n'}
+     */
+    public static String formatLine(Employee employee, char delimiter) {
+        ImmutableAddress address = employee.getAddressValue();
+        String jobTitle = employee.getJobTitle();
+        return employee.getDisplayName() + delimiter
+                + (address == null ? "" : address.displayAddress()) + delimiter
+                + (jobTitle == null ? "" : jobTitle) + delimiter
+                + employee.getEarnings().toPlainString() + '\n';
+    }
+
+    /**
+     * Appends one employee's report line.
+     *
+     * @param employee employee to report
+     * @throws IOException         if the channel write fails
+     * @throws ArithmeticException if the earnings do not fit in {@code long} cents
+     */
+    public void write(Employee employee) throws IOException {
+        writeDisplayName(employee);
+        writeAscii(delimiter);
+        writeAddress(employee.getAddressValue());
+        writeAscii(delimiter);
+        writeText(employee.getJobTitle());
+        writeAscii(delimiter);
+        writeCents(employee.getEarningsCents());
+        writeAscii('\n');
+        rows++;
+    }
+
+    /**
+     * Appends a line for every employee.
+     *
+     * @param employees employees to report
+     * @return number of lines written
+     * @throws IOException if a channel write fails
+     */
+    public long writeAll(Iterable<? extends Employee> employees) throws IOException {
+        long before = rows;
+        for (Employee e : employees) write(e);
+        return rows - before;
+    }
+
+    /** @return lines written so far */
+    public long getRowCount() {
+        return rows;
+    }
+
+    /** @return bytes handed to the channel so far, excluding what is still buffered */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * Writes buffered bytes to the channel.
+     *
+     * @throws IOException if the write fails
+     */
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) bytesWritten += channel.write(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * Flushes and closes the channel.
+     *
+     * @throws IOException if the final write or close fails
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    // ---- Helpers ------------------------------------------------------------
+
+    /** Same rules as {@link Person#getDisplayName()}. */
+    private void writeDisplayName(Employee e) throws IOException {
+        final String ln = e.getLastName();
+        final String fn = e.getFirstName();
+        final boolean hasLn = present(ln);
+        final boolean hasFn = present(fn);
+        if (hasLn) writeText(ln);
+        if (hasFn) {
+            if (hasLn) {
+                writeAscii(',');
+                writeAscii(' ');
+            }
+            writeText(fn);
+            final char mi = e.getMiddleInit();
+            if (mi != '\0') {
+                writeAscii(' ');
+                writeChar(mi, 0, null);
+            }
+        }
+    }
+
+    /** Same rules as {@link Address#displayAddress()}. */
+    private void writeAddress(ImmutableAddress address) throws IOException {
+        if (address == null) return;
+        boolean any = false;
+        String street = address.getStreet();
+        String city = address.getCity();
+        String province = address.getProvince();
+        String postalCode = address.getPostalCode();
+        if (present(street)) {
+            writeText(street);
+            any = true;
+        }
+        if (present(city)) {
+            if (any) writeSeparator();
+            writeText(city);
+            any = true;
+        }
+        if (present(province)) {
+            if (any) writeSeparator();
+            writeText(province);
+            any = true;
+        }
+        if (present(postalCode)) {
+            if (any) writeAscii(' ');
+            writeText(postalCode);
+        }
+    }
+
+    private void writeSeparator() throws IOException {
+        writeAscii(',');
+        writeAscii(' ');
+    }
+
+    /** Writes {@code cents} as {@code [-]units.cc}, matching {@code BigDecimal.toPlainString()} at scale 2. */
+    private void writeCents(long cents) throws IOException {
+        ensure(MIN_BUFFER_SIZE);
+        // Work with the negative magnitude so Long.MIN_VALUE needs no special case.
+        long n = cents < 0 ? cents : -cents;
+        int pos = digits.length;
+        for (int i = 0; i < 2; i++) {
+            digits[--pos] = (byte) ('0' - (int) (n % 10));
+            n /= 10;
+        }
+        digits[--pos] = '.';
+        do {
+            digits[--pos] = (byte) ('0' - (int) (n % 10));
+            n /= 10;
+        } while (n != 0);
+        if (cents < 0) buffer.put((byte) '-');
+        buffer.put(digits, pos, digits.length - pos);
+    }
+
+    /** Writes a possibly-null string as UTF-8; {@code null} writes nothing. */
+    private void writeText(String s) throws IOException {
+        if (s == null) return;
+        final int n = s.length();
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                if (!buffer.hasRemaining()) flush();
+                buffer.put((byte) c);
+            } else {
+                i = writeChar(c, i, s);
+            }
+        }
+    }
+
+    /**
+     * Encodes one non-ASCII char (or surrogate pair) as UTF-8. Unpaired surrogates become
+     * {@code '?'}, as {@link String#getBytes(java.nio.charset.Charset)} does.
+     *
+     * @return index of the last char consumed from {@code s}
+     */
+    private int writeChar(char c, int i, String s) throws IOException {
+        ensure(4);
+        if (c < 0x80) {
+            buffer.put((byte) c);
+        } else if (c < 0x800) {
+            buffer.put((byte) (0xC0 | (c >> 6)));
+            buffer.put((byte) (0x80 | (c & 0x3F)));
+        } else if (!Character.isSurrogate(c)) {
+            buffer.put((byte) (0xE0 | (c >> 12)));
+            buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+            buffer.put((byte) (0x80 | (c & 0x3F)));
+        } else if (Character.isHighSurrogate(c) && s != null && i + 1 < s.length()
+                && Character.isLowSurrogate(s.charAt(i + 1))) {
+            int cp = Character.toCodePoint(c, s.charAt(i + 1));
+            buffer.put((byte) (0xF0 | (cp >> 18)));
+            buffer.put((byte) (0x80 | ((cp >> 12) & 0x3F)));
+            buffer.put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+            buffer.put((byte) (0x80 | (cp & 0x3F)));
+            return i + 1;
+        } else {
+            buffer.put((byte) '?');
+        }
+        return i;
+    }
+
+    private void writeAscii(char c) throws IOException {
+        if (!buffer.hasRemaining()) flush();
+        buffer.put((byte) c);
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) flush();
+    }
+
+    private static boolean present(String s) {
+        return s != null && !s.isBlank();
+    }
+}
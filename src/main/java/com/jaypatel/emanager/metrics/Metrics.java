@@ -0,0 +1,303 @@
+package com.jaypatel.emanager.metrics;
+
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * Process-wide counters and latency histograms for payroll runs, imports and lookups, with
+ * matching Flight Recorder events.
+ * <p>
+ * Instrumented code brackets an operation with {@link #start(Operation)} and
+ * {@link Span#end(long)}. Metrics are off unless the {@code emanager.metrics} system property is
+ * {@code true} or {@link #setEnabled(boolean)} turns them on. When they are off and no
+ * recording has enabled {@link OperationEvent}, {@code start} returns a shared no-op span after
+ * two flag checks: nothing is allocated and the clock is not read. Instrumentation is placed per
+ * run, per batch or in an opt-in repository wrapper, never per employee, so even the enabled
+ * path is one clock read and a few counter updates per batch.
+ * </p>
+ * <p>
+ * Values are visible as a text dump ({@link #dump()}), through JMX after
+ * {@link #registerMBean()} (bean {@value #OBJECT_NAME}), and in Flight Recorder recordings.
+ * </p>
+ *
+ * <h3>Example</h3>
+ * <pre>{@code
+ * Metrics.setEnabled(true);
+ * Metrics.registerMBean();
+ * ...
+ * System.out.print(Metrics.dump());
+ * }</pre>
+ */
+public final class Metrics {
+    /** JMX name of the bean registered by {@link #registerMBean()}. */
+    public static final String OBJECT_NAME = "com.jaypatel.emanager:type=Metrics";
+
+    private static final Map<Operation, Stats> STATS = new EnumMap<>(Operation.class);
+
+    static {
+        for (Operation op : Operation.values()) STATS.put(op, new Stats());
+    }
+
+    private static volatile boolean enabled = Boolean.getBoolean("emanager.metrics");
+
+    /**
+     * {@code enabled} or the event is enabled: the one flag the disabled path reads. Initializing
+     * it loads {@link EventGate}, which registers the listener that keeps it current.
+     */
+    private static volatile boolean active = enabled || EventGate.enabled();
+
+    private Metrics() {
+    }
+
+    /** @return {@code true} if counters and histograms are being updated */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turns counters and histograms on or off. Flight Recorder events are controlled by the
+     * recording's settings, independently of this switch.
+     *
+     * @param on new state
+     */
+    public static void setEnabled(boolean on) {
+        enabled = on;
+        active = on || EventGate.enabled();
+    }
+
+    /**
+     * Starts timing an operation.
+     *
+     * @param operation the operation
+     * @return a span to {@link Span#end(long) end} when the operation completes
+     */
+    public static Span start(Operation operation) {
+        // Kept tiny so it inlines into callers; the rest is out of line.
+        return active ? begin(operation) : Span.NOOP;
+    }
+
+    private static Span begin(Operation operation) {
+        boolean record = enabled;
+        OperationEvent event = null;
+        if (EventGate.enabled()) {
+            event = new OperationEvent();
+            event.begin();
+        }
+        if (!record && event == null) return Span.NOOP;
+        return new Span(record ? STATS.get(operation) : null, operation, event, record ? System.nanoTime() : 0L);
+    }
+
+    /**
+     * @param operation the operation
+     * @return number of completed operations since start or the last {@link #reset()}
+     */
+    public static long getCount(Operation operation) {
+        return STATS.get(operation).latency.getCount();
+    }
+
+    /**
+     * @param operation the operation
+     * @return items reported by completed operations
+     */
+    public static long getItems(Operation operation) {
+        return STATS.get(operation).items.sum();
+    }
+
+    /**
+     * @param operation the operation
+     * @return the live latency histogram of the operation
+     */
+    public static LatencyHistogram getLatency(Operation operation) {
+        return STATS.get(operation).latency;
+    }
+
+    /** Clears every counter and histogram. */
+    public static void reset() {
+        for (Stats s : STATS.values()) {
+            s.items.reset();
+            s.latency.reset();
+        }
+    }
+
+    /**
+     * Renders all metrics as plain text, one line per operation:
+     * <pre>
+     * PAYROLL_RUN employees=12000000 count=12 mean=48211033ns p50=... max=...
+     * </pre>
+     *
+     * @return the dump, ending with a line break
+     */
+    public static String dump() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("metrics enabled=").append(enabled).append('\n');
+        for (Operation op : Operation.values()) {
+            Stats s = STATS.get(op);
+            sb.append(op).append(' ').append(op.getItemName()).append('=').append(s.items.sum())
+                    .append(' ').append(s.latency).append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Registers the {@link MetricsMXBean} with the platform MBean server under
+     * {@value #OBJECT_NAME}. Registering again has no effect.
+     *
+     * @throws IllegalStateException if the bean cannot be registered
+     */
+    public static void registerMBean() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(new MetricsBean(), new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException alreadyRegistered) {
+            // Idempotent.
+        } catch (JMException ex) {
+            throw new IllegalStateException("Cannot register " + OBJECT_NAME, ex);
+        }
+    }
+
+    /** An operation in progress; obtained from {@link Metrics#start(Operation)}. */
+    public static final class Span {
+        static final Span NOOP = new Span(null, null, null, 0L);
+
+        private final Stats stats;
+
+        private final Operation operation;
+
+        private final OperationEvent event;
+
+        private final long startNanos;
+
+        private Span(Stats stats, Operation operation, OperationEvent event, long startNanos) {
+            this.stats = stats;
+            this.operation = operation;
+            this.event = event;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * Records the operation's latency and item count and commits its event.
+         *
+         * @param items employees, rows or hits, as named by {@link Operation#getItemName()}
+         */
+        public void end(long items) {
+            if (this == NOOP) return;
+            if (stats != null) {
+                stats.latency.record(System.nanoTime() - startNanos);
+                stats.items.add(items);
+            }
+            if (event != null) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.operation = operation.name();
+                    event.items = items;
+                    event.commit();
+                }
+            }
+        }
+    }
+
+    // ---- Helpers ------------------------------------------------------------
+
+    /** Counters of one operation. */
+    private static final class Stats {
+        private final LongAdder items = new LongAdder();
+
+        private final LatencyHistogram latency = new LatencyHistogram();
+    }
+
+    /**
+     * Caches whether any recording enables {@link OperationEvent}, so the disabled path reads a
+     * field instead of asking Flight Recorder. Refreshed whenever a recording starts or stops.
+     */
+    private static final class EventGate implements FlightRecorderListener {
+        private static final EventType TYPE = EventType.getEventType(OperationEvent.class);
+
+        private static volatile boolean on;
+
+        static {
+            FlightRecorder.addListener(new EventGate());
+            refresh();
+        }
+
+        static boolean enabled() {
+            return on;
+        }
+
+        @Override
+        public void recordingStateChanged(Recording recording) {
+            refresh();
+        }
+
+        private static void refresh() {
+            on = TYPE.isEnabled();
+            active = enabled || on;
+        }
+    }
+
+    /** JMX view of the metrics. */
+    private static final class MetricsBean implements MetricsMXBean {
+        @Override
+        public boolean isEnabled() {
+            return Metrics.isEnabled();
+        }
+
+        @Override
+        public void setEnabled(boolean enabled) {
+            Metrics.setEnabled(enabled);
+        }
+
+        @Override
+        public Map<String, Long> getCounts() {
+            return perOperation(Metrics::getCount);
+        }
+
+        @Override
+        public Map<String, Long> getItems() {
+            return perOperation(Metrics::getItems);
+        }
+
+        @Override
+        public Map<String, Long> getP50Nanos() {
+            return perOperation(op -> getLatency(op).getPercentile(50));
+        }
+
+        @Override
+        public Map<String, Long> getP99Nanos() {
+            return perOperation(op -> getLatency(op).getPercentile(99));
+        }
+
+        @Override
+        public Map<String, Long> getMaxNanos() {
+            return perOperation(op -> getLatency(op).getMax());
+        }
+
+        @Override
+        public String dump() {
+            return Metrics.dump();
+        }
+
+        @Override
+        public void reset() {
+            Metrics.reset();
+        }
+
+        private static Map<String, Long> perOperation(ToLongFunction<Operation> value) {
+            Map<String, Long> result = new LinkedHashMap<>();
+            for (Operation op : Operation.values()) result.put(op.name(), value.applyAsLong(op));
+            return result;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.jaypatel.emanager.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX interface of {@link Metrics}, registered by {@link Metrics#registerMBean()}. Maps are keyed
+ * by {@link Operation} name and appear as tabular attributes in JConsole or VisualVM.
+ */
+public interface MetricsMXBean {
+    /** @return {@code true} if counters and histograms are being updated */
+    boolean isEnabled();
+
+    /** @param enabled turns counters and histograms on or off */
+    void setEnabled(boolean enabled);
+
+    /** @return completed operations per operation */
+    Map<String, Long> getCounts();
+
+    /** @return reported items (employees, rows, hits) per operation */
+    Map<String, Long> getItems();
+
+    /** @return median latency in nanoseconds per operation */
+    Map<String, Long> getP50Nanos();
+
+    /** @return 99th percentile latency in nanoseconds per operation */
+    Map<String, Long> getP99Nanos();
+
+    /** @return largest latency in nanoseconds per operation */
+    Map<String, Long> getMaxNanos();
+
+    /** @return the text rendering of {@link Metrics#dump()} */
+    String dump();
+
+    /** Clears every counter and histogram. */
+    void reset();
+}
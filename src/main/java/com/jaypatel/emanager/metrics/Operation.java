@@ -0,0 +1,26 @@
+package com.jaypatel.emanager.metrics;
+
+/**
+ * Instrumented operations. Each one has a call counter, an item counter and a latency histogram
+ * in {@link Metrics}, and is reported as a {@code com.jaypatel.emanager.Operation} Flight
+ * Recorder event.
+ */
+public enum Operation {
+    /** One {@code PayrollRunner.run}; items are employees paid. */
+    PAYROLL_RUN("employees"),
+    /** One batch handed on by {@code EmployeeCsvImporter}; items are employees in the batch. */
+    IMPORT_BATCH("rows"),
+    /** One lookup through {@code MeteredEmployeeRepository}; items are hits. */
+    LOOKUP("hits");
+
+    private final String itemName;
+
+    Operation(String itemName) {
+        this.itemName = itemName;
+    }
+
+    /** @return what the item counter counts, e.g. {@code "employees"} */
+    public String getItemName() {
+        return itemName;
+    }
+}
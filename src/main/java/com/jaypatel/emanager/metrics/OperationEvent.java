@@ -0,0 +1,26 @@
+package com.jaypatel.emanager.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one {@link Operation}. Disabled unless a recording enables it, e.g.
+ * {@code jcmd <pid> JFR.start settings=profile} with
+ * {@code com.jaypatel.emanager.Operation#enabled=true}, or any recording that enables all events.
+ */
+@Name("com.jaypatel.emanager.Operation")
+@Label("Employee Manager Operation")
+@Category("Employee Manager")
+@Description("A payroll run, import batch or repository lookup")
+@StackTrace(false)
+final class OperationEvent extends jdk.jfr.Event {
+    @Label("Operation")
+    String operation;
+
+    @Label("Items")
+    @Description("Employees paid, rows imported or lookup hits")
+    long items;
+}
@@ -102,11 +102,14 @@ public class Address {
      * @return display-ready address string (never {@code null})
      */
     public String displayAddress(){
-        final String st = street;
-        final String c  = city;
-        final String pr = province;
-        final String pc = postalCode;
+        return format(street, city, province, postalCode);
+    }
 
+    /**
+     * Shared formatter behind {@link #displayAddress()} and {@link ImmutableAddress#displayAddress()}.
+     * Parts that are {@code null} or blank are skipped.
+     */
+    static String format(String st, String c, String pr, String pc) {
         final boolean hasSt = st != null && !st.isBlank();
         final boolean hasC  = c  != null && !c.isBlank();
         final boolean hasPr = pr != null && !pr.isBlank();
@@ -1,6 +1,7 @@
 package com.jaypatel.emanager.model;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 
 /**
  * Base abstract type for all employees in the system.
@@ -61,7 +62,9 @@ public abstract class Employee extends Person{
      * @param employeeId the employee ID to set
      */
     public void setEmployeeId(int employeeId) {
+        final int old = this.employeeId;
         this.employeeId = employeeId;
+        if (hasChangeListeners()) fireChange(ModelProperty.EMPLOYEE_ID, old);
     }
 
     /**
@@ -79,7 +82,9 @@ public abstract class Employee extends Person{
      * @param jobTitle the job title to set
      */
     public void setJobTitle(String jobTitle) {
+        final String old = this.jobTitle;
         this.jobTitle = jobTitle;
+        if (hasChangeListeners()) fireChange(ModelProperty.JOB_TITLE, old);
     }
 
     /**
@@ -106,4 +111,16 @@ public abstract class Employee extends Person{
      * @return the earnings amount
      */
     public abstract BigDecimal getEarnings();
+
+    /**
+     * Returns {@link #getEarnings()} as a whole number of cents, for callers that format or sum
+     * earnings without allocating.
+     * <p>Subclasses that cache their earnings override this to return the cached value.</p>
+     *
+     * @return the earnings in cents (rounded HALF_UP to 2 decimals)
+     * @throws ArithmeticException if the earnings do not fit in a {@code long} once scaled
+     */
+    public long getEarningsCents() {
+        return getEarnings().setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
 }
@@ -1,6 +1,7 @@
 package com.jaypatel.emanager.model;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.math.RoundingMode;
 
 
@@ -18,6 +19,12 @@ public class HourlyEmployee extends Employee{
     /** Planned/recorded hours for the current month; never negative; scale = 2. */
     private BigDecimal monthlyHours;
 
+    /** Marks cached earnings too large for {@code long} cents. */
+    private static final long NO_CENTS = Long.MIN_VALUE;
+
+    /** Last computed earnings and the inputs they came from; {@code null} until computed or after a setter. */
+    private Earnings earnings;
+
     /** No-arg constructor for frameworks/serialization. */
     public HourlyEmployee() {
     }
@@ -54,7 +61,10 @@ public class HourlyEmployee extends Employee{
      * @param monthlyHours hours value
      */
     public void setMonthlyHours(BigDecimal monthlyHours) {
+        final BigDecimal old = this.monthlyHours;
         this.monthlyHours = validatedNonNegative(monthlyHours);
+        this.earnings = null;
+        if (hasChangeListeners()) fireChange(ModelProperty.MONTHLY_HOURS, old);
     }
 
     /** @return hourly rate (scale 2, never negative). */
@@ -69,22 +79,68 @@ public class HourlyEmployee extends Employee{
      * @param hourlyRate currency amount
      */
     public void setHourlyRate(BigDecimal hourlyRate) {
+        final BigDecimal old = this.hourlyRate;
         this.hourlyRate = validatedNonNegative(hourlyRate);
+        this.earnings = null;
+        if (hasChangeListeners()) fireChange(ModelProperty.HOURLY_RATE, old);
     }
 
     /**
      * Monthly earnings = {@code hourlyRate × monthlyHours}, rounded to 2 decimals (HALF_UP).
      * <p>We multiply first, then apply rounding.</p>
+     * <p>The result is cached until a setter changes the rate or hours, so repeated calls return
+     * the same instance for three field reads and two identity compares. The cache entry holds
+     * the rate and hours objects it was computed from and every hit checks them, so a value
+     * computed by one reader while another thread runs a setter is never served for the new
+     * inputs, whatever order other threads see the plain field writes in.</p>
      *
      * @return monthly earnings (scale 2)
      */
     @Override
     public BigDecimal getEarnings() {
-        return hourlyRate.multiply(monthlyHours).setScale(2,RoundingMode.HALF_UP);
+        return earnings().value;
+    }
+
+    /**
+     * @return monthly earnings in cents, from the same cache as {@link #getEarnings()}
+     * @throws ArithmeticException if the earnings do not fit in a {@code long} once scaled
+     */
+    @Override
+    public long getEarningsCents() {
+        long cents = earnings().cents;
+        if (cents == NO_CENTS) throw new ArithmeticException("Earnings do not fit in long cents: " + getEarnings());
+        return cents;
     }
 
     // ---- Helpers ------------------------------------------------------------
 
+    /** Returns the cached earnings entry, recomputing it if the rate or hours changed. */
+    private Earnings earnings() {
+        final BigDecimal rate = hourlyRate;
+        final BigDecimal hours = monthlyHours;
+        final Earnings cached = earnings;
+        if (cached != null && cached.rate == rate && cached.hours == hours) return cached;
+        Earnings computed = new Earnings(rate, hours, rate.multiply(hours).setScale(2,RoundingMode.HALF_UP));
+        earnings = computed;
+        return computed;
+    }
+
+    /** Immutable cache entry; final fields make it safe to publish through a plain field. */
+    private static final class Earnings {
+        final BigDecimal rate;
+        final BigDecimal hours;
+        final BigDecimal value;
+        final long cents;
+
+        Earnings(BigDecimal rate, BigDecimal hours, BigDecimal value) {
+            this.rate = rate;
+            this.hours = hours;
+            this.value = value;
+            BigInteger unscaled = value.unscaledValue();
+            this.cents = unscaled.bitLength() < Long.SIZE ? unscaled.longValue() : NO_CENTS;
+        }
+    }
+
     /** Ensures non-null, clamps negative to 0. */
     private static BigDecimal validatedNonNegative(BigDecimal value) {
         return value == null ? BigDecimal.ZERO.setScale(2,RoundingMode.HALF_UP) : value.max(BigDecimal.ZERO).setScale(2,RoundingMode.HALF_UP);
@@ -0,0 +1,165 @@
+package com.jaypatel.emanager.model;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+
+/**
+ * Immutable, shareable mailing address (street, city, province, postal code).
+ * <p>
+ * Instances are pooled: {@link #of(String, String, String, String)} and {@link #from(Address)}
+ * return one canonical instance per distinct address, so thousands of employees at the same
+ * office share a single object. The pool holds instances weakly; an address that no longer has
+ * any user is reclaimed by the garbage collector.
+ * </p>
+ * <p>Fields are normalized like {@link Address}: trimmed, blanks stored as {@code null}.</p>
+ *
+ * <h3>Example</h3>
+ * <pre>{@code
+ * ImmutableAddress office = ImmutableAddress.of("123 Main St", "Saskatoon", "SK", "S7J 4M3");
+ * person.setAddressValue(office);
+ * person.getAddressValue() == office;   // true, no copy
+ * }</pre>
+ *
+ * @see Person#getAddressValue()
+ */
+public final class ImmutableAddress {
+    /** Canonical instances, held weakly so unused addresses can be collected. */
+    private static final Map<ImmutableAddress, WeakReference<ImmutableAddress>> POOL = new WeakHashMap<>();
+
+    private final String street;
+
+    private final String city;
+
+    private final String province;
+
+    private final String postalCode;
+
+    private final int hash;
+
+    /** Lazily computed {@link #displayAddress()}; racy but benign since {@code String} is immutable. */
+    private String display;
+
+    private ImmutableAddress(String street, String city, String province, String postalCode) {
+        this.street = normalize(street);
+        this.city = normalize(city);
+        this.province = normalize(province);
+        this.postalCode = normalize(postalCode);
+        this.hash = Objects.hash(this.street, this.city, this.province, this.postalCode);
+    }
+
+    /**
+     * Returns the canonical instance for the given parts.
+     *
+     * @param street     street line; trimmed, blank → {@code null}
+     * @param city       city; trimmed, blank → {@code null}
+     * @param province   province/state; trimmed, blank → {@code null}
+     * @param postalCode postal code/ZIP; trimmed, blank → {@code null}
+     * @return a shared instance equal to the normalized parts
+     */
+    public static ImmutableAddress of(String street, String city, String province, String postalCode) {
+        return intern(new ImmutableAddress(street, city, province, postalCode));
+    }
+
+    /**
+     * Returns the canonical immutable equivalent of a mutable address.
+     *
+     * @param address address to convert; may be {@code null}
+     * @return a shared instance, or {@code null} if {@code address} is null
+     */
+    public static ImmutableAddress from(Address address) {
+        if (address == null) return null;
+        return of(address.getStreet(), address.getCity(), address.getProvince(), address.getPostalCode());
+    }
+
+    /**
+     * @return the street, or {@code null} if not set
+     */
+    public String getStreet() {
+        return street;
+    }
+
+    /**
+     * @return the city, or {@code null} if not set
+     */
+    public String getCity() {
+        return city;
+    }
+
+    /**
+     * @return the province/state, or {@code null} if not set
+     */
+    public String getProvince() {
+        return province;
+    }
+
+    /**
+     * @return the postal/ZIP code, or {@code null} if not set
+     */
+    public String getPostalCode() {
+        return postalCode;
+    }
+
+    /**
+     * Builds a single-line, human-friendly address, formatted exactly like
+     * {@link Address#displayAddress()}. The string is computed once and reused.
+     *
+     * @return display-ready address string (never {@code null})
+     */
+    public String displayAddress() {
+        String s = display;
+        if (s == null) {
+            s = Address.format(street, city, province, postalCode);
+            display = s;
+        }
+        return s;
+    }
+
+    /**
+     * Creates a new mutable copy, for callers that need an {@link Address}.
+     *
+     * @return a new {@code Address} with the same parts
+     */
+    public Address toAddress() {
+        return new Address(street, city, province, postalCode);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ImmutableAddress)) return false;
+        ImmutableAddress other = (ImmutableAddress) o;
+        return hash == other.hash
+                && Objects.equals(street, other.street)
+                && Objects.equals(city, other.city)
+                && Objects.equals(province, other.province)
+                && Objects.equals(postalCode, other.postalCode);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return displayAddress();
+    }
+
+    // ---- Helpers ------------------------------------------------------------
+
+    private static ImmutableAddress intern(ImmutableAddress candidate) {
+        synchronized (POOL) {
+            WeakReference<ImmutableAddress> ref = POOL.get(candidate);
+            ImmutableAddress existing = ref == null ? null : ref.get();
+            if (existing != null) return existing;
+            POOL.put(candidate, new WeakReference<>(candidate));
+            return candidate;
+        }
+    }
+
+    private static String normalize(String value) {
+        return (value == null || value.isBlank()) ? null : value.trim();
+    }
+}
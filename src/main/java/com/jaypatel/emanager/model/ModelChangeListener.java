@@ -0,0 +1,29 @@
+package com.jaypatel.emanager.model;
+
+/**
+ * Receives a callback after a model setter has changed a property.
+ * <p>
+ * Listeners are registered per object with {@link Person#addChangeListener(ModelChangeListener)}
+ * and run synchronously on the thread that called the setter, after the new value is stored.
+ * They are used to keep derived structures, such as secondary indexes, in step with the model.
+ * </p>
+ *
+ * <h3>Example</h3>
+ * <pre>{@code
+ * employee.addChangeListener((source, property, oldValue) ->
+ *         System.out.println(property + " changed from " + oldValue));
+ * employee.setJobTitle("Lead");   // JOB_TITLE changed from Technician
+ * }</pre>
+ */
+@FunctionalInterface
+public interface ModelChangeListener {
+    /**
+     * Called after {@code property} of {@code source} was set.
+     *
+     * @param source   the changed object; its getters already return the new value
+     * @param property the property that was set
+     * @param oldValue the previous value (boxed for primitives), possibly {@code null};
+     *                 see {@link ModelProperty} for its type
+     */
+    void propertyChanged(Person source, ModelProperty property, Object oldValue);
+}
@@ -0,0 +1,50 @@
+package com.jaypatel.emanager.model;
+
+/**
+ * Immutable chain of listeners stored in a single {@link Person} field.
+ * <p>
+ * One listener is stored as-is; more are linked in pairs, so registering the same index listener
+ * on millions of employees costs one reference each rather than one array each.
+ * </p>
+ */
+final class ModelChangeListeners implements ModelChangeListener {
+    private final ModelChangeListener first;
+
+    private final ModelChangeListener second;
+
+    private ModelChangeListeners(ModelChangeListener first, ModelChangeListener second) {
+        this.first = first;
+        this.second = second;
+    }
+
+    /** @return {@code chain} with {@code listener} appended, or {@code chain} if already present */
+    static ModelChangeListener add(ModelChangeListener chain, ModelChangeListener listener) {
+        if (chain == null) return listener;
+        if (contains(chain, listener)) return chain;
+        return new ModelChangeListeners(chain, listener);
+    }
+
+    /** @return {@code chain} without {@code listener}; {@code null} when nothing is left */
+    static ModelChangeListener remove(ModelChangeListener chain, ModelChangeListener listener) {
+        if (chain == listener) return null;
+        if (!(chain instanceof ModelChangeListeners pair)) return chain;
+        ModelChangeListener a = remove(pair.first, listener);
+        ModelChangeListener b = remove(pair.second, listener);
+        if (a == pair.first && b == pair.second) return chain;
+        if (a == null) return b;
+        if (b == null) return a;
+        return new ModelChangeListeners(a, b);
+    }
+
+    private static boolean contains(ModelChangeListener chain, ModelChangeListener listener) {
+        if (chain == listener) return true;
+        return chain instanceof ModelChangeListeners pair
+                && (contains(pair.first, listener) || contains(pair.second, listener));
+    }
+
+    @Override
+    public void propertyChanged(Person source, ModelProperty property, Object oldValue) {
+        first.propertyChanged(source, property, oldValue);
+        second.propertyChanged(source, property, oldValue);
+    }
+}
@@ -0,0 +1,29 @@
+package com.jaypatel.emanager.model;
+
+/**
+ * Identifies the property a setter changed, as reported to {@link ModelChangeListener}s.
+ */
+public enum ModelProperty {
+    /** {@link Person#setLastName(String)}; old value is a {@code String}. */
+    LAST_NAME,
+    /** {@link Person#setFirstName(String)}; old value is a {@code String}. */
+    FIRST_NAME,
+    /** {@link Person#setMiddleInit(char)}; old value is a {@code Character}. */
+    MIDDLE_INIT,
+    /** {@link Person#setBirthDate(String)}; old value is a {@code String}. */
+    BIRTH_DATE,
+    /** {@link Person#setPhoneNumber(String)}; old value is a {@code String}. */
+    PHONE_NUMBER,
+    /** {@link Person#setAddress(Address)} or {@link Person#setAddressValue(ImmutableAddress)}; old value is an {@link ImmutableAddress}. */
+    ADDRESS,
+    /** {@link Employee#setEmployeeId(int)}; old value is an {@code Integer}. */
+    EMPLOYEE_ID,
+    /** {@link Employee#setJobTitle(String)}; old value is a {@code String}. */
+    JOB_TITLE,
+    /** {@link HourlyEmployee#setHourlyRate(java.math.BigDecimal)}; old value is a {@code BigDecimal}. */
+    HOURLY_RATE,
+    /** {@link HourlyEmployee#setMonthlyHours(java.math.BigDecimal)}; old value is a {@code BigDecimal}. */
+    MONTHLY_HOURS,
+    /** {@link SalaryEmployee#setAnnualSalary(java.math.BigDecimal)}; old value is a {@code BigDecimal}. */
+    ANNUAL_SALARY
+}
@@ -1,5 +1,7 @@
 package com.jaypatel.emanager.model;
 
+import java.time.LocalDate;
+import java.util.Objects;
 
 /**
  * Represents a person with basic identity and contact details.
@@ -14,9 +16,28 @@ package com.jaypatel.emanager.model;
  * }</pre>
  *
  * <p><b>Note:</b> {@code birthDate} and {@code phoneNumber} are stored as strings to keep the class minimal;
- * consider using {@link java.time.LocalDate} and a validated phone type if you need stricter typing.</p>
+ * consider using {@link java.time.LocalDate} and a validated phone type if you need stricter typing.
+ * An ISO {@code birthDate} is also parsed once when set and kept as an epoch day
+ * ({@link #getBirthEpochDay()}), and {@code phoneNumber} is normalized to its E.164 digits
+ * ({@link #getPhoneKey()}), so date queries and caller-ID lookups compare primitives instead of
+ * parsing strings.</p>
  */
 public class Person {
+    /** {@link #getBirthEpochDay()} of a person whose birthdate is missing or not ISO-8601. */
+    public static final int NO_BIRTH_DATE = Integer.MIN_VALUE;
+
+    /** {@link #getPhoneKey()} of a person whose phone number is missing or not recognized. */
+    public static final long NO_PHONE_KEY = 0L;
+
+    /** Most digits in an E.164 number, country code included. */
+    private static final int MAX_PHONE_DIGITS = 15;
+
+    /** Fewest digits accepted in an international number, country code included. */
+    private static final int MIN_PHONE_DIGITS = 8;
+
+    /** Days from 0000-01-01 to 1970-01-01, as in {@link LocalDate}. */
+    private static final int DAYS_0000_TO_1970 = 146097 * 5 - (30 * 365 + 7);
+
     /** Surname / family name. */
     private String lastName;
 
@@ -29,10 +50,20 @@ public class Person {
     /** Birthdate as a string (e.g., ISO-8601 "YYYY-MM-DD"). No validation is performed here. */
     private String birthDate;
 
+    /** {@code birthDate} parsed as days since 1970-01-01, or {@link #NO_BIRTH_DATE}. */
+    private int birthEpochDay = NO_BIRTH_DATE;
+
     /** Primary contact number (format not enforced). */
     private String phoneNumber;
 
-    private Address address;
+    /** {@code phoneNumber} as E.164 digits, or {@link #NO_PHONE_KEY}. */
+    private long phoneKey = NO_PHONE_KEY;
+
+    /** Shared, immutable address; handed out without copying by {@link #getAddressValue()}. */
+    private ImmutableAddress address;
+
+    /** Registered listeners: {@code null}, a single listener, or a {@link ModelChangeListeners} chain. */
+    private ModelChangeListener listeners;
 
     /** No-args constructor for frameworks and serialization. */
     public Person() {
@@ -53,7 +84,9 @@ public class Person {
         this.firstName = (firstName == null || firstName.isBlank()) ? null : firstName.trim();
         this.middleInit = middleInit;
         this.birthDate = (birthDate == null || birthDate.isBlank()) ? null : birthDate.trim();
+        this.birthEpochDay = parseEpochDay(this.birthDate);
         this.phoneNumber = (phoneNumber == null || phoneNumber.isBlank()) ? null : phoneNumber.trim();
+        this.phoneKey = parsePhoneKey(this.phoneNumber);
 
         setAddress(address);
     }
@@ -64,7 +97,9 @@ public class Person {
      * @param lastName the last name to set
      */
     public void setLastName(String lastName) {
+        final String old = this.lastName;
         this.lastName = (lastName == null || lastName.isBlank()) ? null : lastName.trim();
+        if (listeners != null) fireChange(ModelProperty.LAST_NAME, old);
     }
 
     /**
@@ -73,7 +108,9 @@ public class Person {
      * @param firstName the first name to set
      */
     public void setFirstName(String firstName) {
+        final String old = this.firstName;
         this.firstName = (firstName == null || firstName.isBlank()) ? null : firstName.trim();
+        if (listeners != null) fireChange(ModelProperty.FIRST_NAME, old);
     }
 
     /**
@@ -82,34 +119,59 @@ public class Person {
      * @param middleInit the middle initial character; use {@code '\0'} if none/unknown
      */
     public void setMiddleInit(char middleInit) {
+        final char old = this.middleInit;
         this.middleInit = middleInit;
+        if (listeners != null) fireChange(ModelProperty.MIDDLE_INIT, old);
     }
 
     /**
      * Sets the birthdate string.
+     * <p>The string is kept as given (trimmed); if it is not a valid ISO {@code YYYY-MM-DD} date,
+     * {@link #getBirthEpochDay()} returns {@link #NO_BIRTH_DATE}.</p>
      *
      * @param birthDate birth date string (e.g., {@code "YYYY-MM-DD"})
      */
     public void setBirthDate(String birthDate) {
+        final String old = this.birthDate;
         this.birthDate = (birthDate == null || birthDate.isBlank()) ? null : birthDate.trim();
+        this.birthEpochDay = parseEpochDay(this.birthDate);
+        if (listeners != null) fireChange(ModelProperty.BIRTH_DATE, old);
     }
 
     /**
      * Sets the phone number string.
+     * <p>The string is kept as given (trimmed) for display; {@link #getPhoneKey()} returns its
+     * normalized digits, or {@link #NO_PHONE_KEY} if it is not recognized.</p>
      *
      * @param phoneNumber phone number string to set
      */
     public void setPhoneNumber(String phoneNumber) {
+        final String old = this.phoneNumber;
         this.phoneNumber = (phoneNumber == null || phoneNumber.isBlank()) ? null : phoneNumber.trim();
+        this.phoneKey = parsePhoneKey(this.phoneNumber);
+        if (listeners != null) fireChange(ModelProperty.PHONE_NUMBER, old);
     }
 
     /**
      * Sets the Address.
+     * <p>The parts are copied into a pooled {@link ImmutableAddress}; later changes to
+     * {@code address} do not affect this person.</p>
      *
      * @param address to set address
      */
     public void setAddress(Address address) {
-        this.address = copy(address);
+        setAddressValue(ImmutableAddress.from(address));
+    }
+
+    /**
+     * Sets the address from an immutable value, without copying.
+     *
+     * @param address shared address value; may be {@code null}
+     */
+    public void setAddressValue(ImmutableAddress address) {
+        final ImmutableAddress old = this.address;
+        this.address = address;
+        if (listeners != null) fireChange(ModelProperty.ADDRESS, old);
     }
 
     /**
@@ -148,6 +210,50 @@ public class Person {
         return birthDate;
     }
 
+    /**
+     * Returns the birthdate parsed when it was set.
+     *
+     * @return days since 1970-01-01, or {@link #NO_BIRTH_DATE} if the birthdate is missing or
+     *         not a valid ISO {@code YYYY-MM-DD} date
+     */
+    public int getBirthEpochDay() {
+        return birthEpochDay;
+    }
+
+    /**
+     * Returns the birthdate as a date.
+     *
+     * @return the parsed birthdate, or {@code null} if it is missing or not a valid ISO date
+     */
+    public LocalDate getBirthLocalDate() {
+        int day = getBirthEpochDay();
+        return day == NO_BIRTH_DATE ? null : LocalDate.ofEpochDay(day);
+    }
+
+    /**
+     * Parses an ISO-8601 calendar date without allocating.
+     *
+     * @param text date of the form {@code YYYY-MM-DD}; may be {@code null}
+     * @return days since 1970-01-01, or {@link #NO_BIRTH_DATE} if {@code text} is {@code null},
+     *         malformed or not a real date (e.g. {@code "2023-02-29"})
+     */
+    public static int parseEpochDay(String text) {
+        if (text == null || text.length() != 10 || text.charAt(4) != '-' || text.charAt(7) != '-') {
+            return NO_BIRTH_DATE;
+        }
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 7);
+        int day = digits(text, 8, 10);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+            return NO_BIRTH_DATE;
+        }
+        // Same arithmetic as LocalDate.toEpochDay(), minus the object.
+        long total = 365L * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400
+                + (367 * month - 362) / 12 + day - 1;
+        if (month > 2) total -= isLeapYear(year) ? 1 : 2;
+        return (int) (total - DAYS_0000_TO_1970);
+    }
+
     /**
      * Returns the phone number string.
      *
@@ -157,12 +263,188 @@ public class Person {
         return phoneNumber;
     }
 
+    /**
+     * Returns the phone number normalized when it was set.
+     *
+     * @return the E.164 digits as a number (e.g. {@code 13065551234} for {@code "(306) 555-1234"}),
+     *         or {@link #NO_PHONE_KEY} if the phone number is missing or not recognized
+     */
+    public long getPhoneKey() {
+        return phoneKey;
+    }
+
+    /**
+     * Normalizes a phone number to its E.164 digits without allocating.
+     * <p>
+     * Spaces, {@code - . / ( )} are ignored, and an extension ({@code x}, {@code ext} or
+     * {@code ext.} and what follows) is dropped. A number starting with {@code +}, {@code 00} or
+     * {@code 011} is international and must carry its country code (8 to 15 digits); any other
+     * number is North American: 10 digits, or 11 starting with {@code 1}, with an area code
+     * starting with 2 to 9.
+     * </p>
+     *
+     * @param text phone number as written; may be {@code null}
+     * @return the digits as a number, country code first, or {@link #NO_PHONE_KEY} if
+     *         {@code text} is {@code null} or not a recognized number
+     */
+    public static long parsePhoneKey(String text) {
+        if (text == null) return NO_PHONE_KEY;
+        long digits = 0;
+        int count = 0;
+        boolean plus = false;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++count > MAX_PHONE_DIGITS + 3) return NO_PHONE_KEY;
+                digits = digits * 10 + (c - '0');
+            } else if (c == '+' && count == 0 && !plus) {
+                plus = true;
+            } else if ((c == 'x' || c == 'X' || c == 'e' || c == 'E') && count > 0) {
+                if (!isExtension(text, i)) return NO_PHONE_KEY;
+                break;
+            } else if (c != ' ' && c != '-' && c != '.' && c != '/' && c != '(' && c != ')') {
+                return NO_PHONE_KEY;
+            }
+        }
+        if (!plus) {
+            if (startsWith(text, "011")) {
+                return international(digits % pow10(count - 3), count - 3);
+            }
+            if (startsWith(text, "00")) {
+                return international(digits % pow10(count - 2), count - 2);
+            }
+            if (count == 10) {
+                digits += 10_000_000_000L;
+            } else if (count != 11 || digits / 10_000_000_000L != 1) {
+                return NO_PHONE_KEY;
+            }
+            // North American area codes start with 2 to 9.
+            return (digits / 1_000_000_000L) % 10 >= 2 ? digits : NO_PHONE_KEY;
+        }
+        return international(digits, count);
+    }
+
     /**
      * Returns the address
+     * <p>Each call returns a new mutable copy; prefer {@link #getAddressValue()} on hot paths.</p>
      * @return the address class
      */
     public Address getAddress() {
-        return copy(this.address); // defensive copy
+        return address == null ? null : address.toAddress(); // defensive copy
+    }
+
+    /**
+     * Returns the address as a shared immutable value. No copy is made.
+     *
+     * @return the address value, or {@code null} if none is set
+     */
+    public ImmutableAddress getAddressValue() {
+        return address;
+    }
+
+    /** Value of the decimal digits in {@code text[from, to)}, or -1 if any is not a digit. */
+    private static int digits(String text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /** {@code true} if {@code text[at]} starts {@code x}, {@code ext} or {@code ext.} followed by digits. */
+    private static boolean isExtension(String text, int at) {
+        int i = at;
+        char c = Character.toLowerCase(text.charAt(i));
+        if (c == 'e') {
+            if (!text.regionMatches(true, i, "ext", 0, 3)) return false;
+            i += 3;
+            if (i < text.length() && text.charAt(i) == '.') i++;
+        } else {
+            i++;
+        }
+        while (i < text.length() && text.charAt(i) == ' ') i++;
+        if (i == text.length()) return false;
+        for (; i < text.length(); i++) {
+            if (text.charAt(i) < '0' || text.charAt(i) > '9') return false;
+        }
+        return true;
+    }
+
+    /** {@code true} if the first digits of {@code text}, ignoring separators, are {@code prefix}. */
+    private static boolean startsWith(String text, String prefix) {
+        int matched = 0;
+        for (int i = 0; i < text.length() && matched < prefix.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (c != prefix.charAt(matched++)) return false;
+            }
+        }
+        return matched == prefix.length();
+    }
+
+    private static long international(long digits, int count) {
+        // A country code never starts with 0, so the digits are the number.
+        if (count < MIN_PHONE_DIGITS || count > MAX_PHONE_DIGITS || digits < pow10(count - 1)) {
+            return NO_PHONE_KEY;
+        }
+        return digits;
+    }
+
+    private static long pow10(int n) {
+        long p = 1;
+        for (int i = 0; i < n; i++) p *= 10;
+        return p;
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> isLeapYear(year) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    /**
+     * Registers a listener to be called after each setter on this object.
+     * Registering the same listener again has no effect.
+     *
+     * @param listener listener to add
+     */
+    public void addChangeListener(ModelChangeListener listener) {
+        listeners = ModelChangeListeners.add(listeners, Objects.requireNonNull(listener, "listener"));
+    }
+
+    /**
+     * Unregisters a listener; does nothing if it is not registered.
+     *
+     * @param listener listener to remove
+     */
+    public void removeChangeListener(ModelChangeListener listener) {
+        listeners = ModelChangeListeners.remove(listeners, listener);
+    }
+
+    /**
+     * Notifies registered listeners that a property was set. Setters check for listeners first,
+     * so objects without any pay nothing beyond a null check.
+     *
+     * @param property the property that was set
+     * @param oldValue its previous value
+     */
+    protected final void fireChange(ModelProperty property, Object oldValue) {
+        ModelChangeListener l = listeners;
+        if (l != null) l.propertyChanged(this, property, oldValue);
+    }
+
+    /** @return {@code true} if at least one listener is registered */
+    protected final boolean hasChangeListeners() {
+        return listeners != null;
     }
 
     /**
@@ -197,8 +479,10 @@ public class Person {
      *           string {@code "null"} in the output.
      */
     public String getDisplayName() {
-        final String ln = lastName;
-        final String fn = firstName;
+        // Read through the getters so subclasses that store fields elsewhere format the same way.
+        final String ln = getLastName();
+        final String fn = getFirstName();
+        final char mi = getMiddleInit();
 
         final boolean hasLn = ln != null && !ln.isBlank();
         final boolean hasFn = fn != null && !fn.isBlank();
@@ -210,18 +494,8 @@ public class Person {
         if (hasFn) {
             if (hasLn) sb.append(", ");
             sb.append(fn);
-            if (middleInit != '\0') sb.append(' ').append(middleInit);
+            if (mi != '\0') sb.append(' ').append(mi);
         }
         return sb.toString();
     }
-
-    private static Address copy(Address src) {
-        if (src == null) return null;
-        Address dst = new Address();                 // uses your null-safe setters
-        dst.setStreet(src.getStreet());
-        dst.setCity(src.getCity());
-        dst.setProvince(src.getProvince());
-        dst.setPostalCode(src.getPostalCode());
-        return dst;
-    }
 }
@@ -1,6 +1,7 @@
 package com.jaypatel.emanager.model;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.math.RoundingMode;
 
 /**
@@ -14,6 +15,12 @@ public class SalaryEmployee extends Employee{
     /** Annual salary in currency units; never negative; scale = 2. */
     private BigDecimal annualSalary;
 
+    /** Marks cached earnings too large for {@code long} cents. */
+    private static final long NO_CENTS = Long.MIN_VALUE;
+
+    /** Last computed earnings and the salary they came from; {@code null} until computed or after a setter. */
+    private Earnings earnings;
+
     /** No-arg constructor for frameworks/serialization. */
     public SalaryEmployee() {
     }
@@ -51,24 +58,64 @@ public class SalaryEmployee extends Employee{
      * @throws NullPointerException if {@code annualSalary} is null
      */
     public void setAnnualSalary(BigDecimal annualSalary) {
+        final BigDecimal old = this.annualSalary;
         // Normalize: non-null, clamp to zero, two decimals.
         this.annualSalary = normalize(annualSalary);
+        this.earnings = null;
+        if (hasChangeListeners()) fireChange(ModelProperty.ANNUAL_SALARY, old);
     }
 
     /**
      * Monthly earnings derived from the annual salary.
      * <p>Rounded to 2 decimals using {@link RoundingMode#HALF_UP}.</p>
+     * <p>Cached until {@link #setAnnualSalary(BigDecimal)} runs, like
+     * {@link HourlyEmployee#getEarnings()}.</p>
      *
      * @return monthly earnings as BigDecimal (scale 2)
      */
     @Override
     public BigDecimal getEarnings() {
-        // Divide by 12; many annual values don't divide evenly -> specify rounding.
-        return annualSalary.divide(BigDecimal.valueOf(12),2,RoundingMode.HALF_UP);
+        return earnings().value;
+    }
+
+    /**
+     * @return monthly earnings in cents, from the same cache as {@link #getEarnings()}
+     * @throws ArithmeticException if the earnings do not fit in a {@code long} once scaled
+     */
+    @Override
+    public long getEarningsCents() {
+        long cents = earnings().cents;
+        if (cents == NO_CENTS) throw new ArithmeticException("Earnings do not fit in long cents: " + getEarnings());
+        return cents;
     }
 
     // ---- Helpers ------------------------------------------------------------
 
+    /** Returns the cached earnings entry, recomputing it if the salary changed. */
+    private Earnings earnings() {
+        final BigDecimal salary = annualSalary;
+        final Earnings cached = earnings;
+        if (cached != null && cached.salary == salary) return cached;
+        // Divide by 12; many annual values don't divide evenly -> specify rounding.
+        Earnings computed = new Earnings(salary, salary.divide(BigDecimal.valueOf(12),2,RoundingMode.HALF_UP));
+        earnings = computed;
+        return computed;
+    }
+
+    /** Immutable cache entry; final fields make it safe to publish through a plain field. */
+    private static final class Earnings {
+        final BigDecimal salary;
+        final BigDecimal value;
+        final long cents;
+
+        Earnings(BigDecimal salary, BigDecimal value) {
+            this.salary = salary;
+            this.value = value;
+            BigInteger unscaled = value.unscaledValue();
+            this.cents = unscaled.bitLength() < Long.SIZE ? unscaled.longValue() : NO_CENTS;
+        }
+    }
+
     /** Ensures non-null, clamps negative to 0, and sets scale=2 with HALF_UP. */
     private static BigDecimal normalize(BigDecimal value) {
         return value == null ? BigDecimal.ZERO.setScale(2,RoundingMode.HALF_UP) : value.max(BigDecimal.ZERO).setScale(2, RoundingMode.HALF_UP);
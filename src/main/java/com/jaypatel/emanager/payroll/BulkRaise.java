@@ -0,0 +1,235 @@
+package com.jaypatel.emanager.payroll;
+
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.model.HourlyEmployee;
+import com.jaypatel.emanager.model.SalaryEmployee;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Applies a set of {@link RaiseRule}s to a roster in one parallel pass.
+ * <p>
+ * Each employee is given to the first rule that matches it. The new amount is computed on
+ * {@code long} cents, and the setter runs only if the amount actually changes, so unchanged
+ * employees see no writes, no earnings-cache invalidation and no listener calls. The roster is
+ * split with fork-join like {@link PayrollRunner}. The changes are returned as one
+ * {@link BulkRaiseResult} in roster order, which callers can persist or announce as a single
+ * batch. {@code DurableEmployeeStore.raise} uses {@link #plan} to log the whole batch with one
+ * fsync.
+ * </p>
+ *
+ * <h3>Example</h3>
+ * <pre>{@code
+ * BulkRaise raise = new BulkRaise(List.of(
+ *         RaiseRule.hourlyRate(new BigDecimal("3")).whereJobTitle("Technician"),
+ *         RaiseRule.annualSalary(new BigDecimal("2.5")).whereProvince("SK")));
+ * BulkRaiseResult result = raise.apply(repository.findAll());
+ * System.out.println(result.size() + " employees changed");
+ * }</pre>
+ *
+ * <p><b>Note:</b> {@link #apply} calls the setters from pool threads. The caller must make sure
+ * nothing else reads or writes the employees during the pass.</p>
+ */
+public final class BulkRaise implements AutoCloseable {
+    /** Slices at or below this size are computed sequentially. */
+    private static final int MIN_SLICE = 1024;
+
+    private final RaiseRule[] rules;
+
+    private final ForkJoinPool pool;
+
+    private final boolean ownsPool;
+
+    /**
+     * Creates a bulk raise on the common fork-join pool.
+     *
+     * @param rules rules in priority order; an employee gets the first one that matches
+     */
+    public BulkRaise(List<RaiseRule> rules) {
+        this.rules = rules.toArray(new RaiseRule[0]);
+        this.pool = ForkJoinPool.commonPool();
+        this.ownsPool = false;
+    }
+
+    /**
+     * Creates a bulk raise with a dedicated pool; {@link #close()} shuts it down.
+     *
+     * @param rules       rules in priority order; an employee gets the first one that matches
+     * @param parallelism number of worker threads (at least 1)
+     * @throws IllegalArgumentException if {@code parallelism} is less than 1
+     */
+    public BulkRaise(List<RaiseRule> rules, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be >= 1: " + parallelism);
+        }
+        this.rules = rules.toArray(new RaiseRule[0]);
+        this.pool = new ForkJoinPool(parallelism);
+        this.ownsPool = true;
+    }
+
+    /**
+     * Computes the changes without applying them.
+     *
+     * @param employees roster to check; elements must be non-null
+     * @return the changes the rules would make, in roster order
+     * @throws ArithmeticException if a raised amount does not fit in {@code long} cents
+     */
+    public BulkRaiseResult plan(Collection<? extends Employee> employees) {
+        return run(employees, false);
+    }
+
+    /**
+     * Computes and applies the changes through the model setters.
+     *
+     * @param employees roster to change; elements must be non-null
+     * @return the changes made, in roster order
+     * @throws ArithmeticException if a raised amount does not fit in {@code long} cents; earlier
+     *                             changes in the pass are kept
+     */
+    public BulkRaiseResult apply(Collection<? extends Employee> employees) {
+        return run(employees, true);
+    }
+
+    /** Shuts down the dedicated pool, if this instance created one. */
+    @Override
+    public void close() {
+        if (ownsPool) {
+            pool.shutdown();
+        }
+    }
+
+    // ---- Helpers ------------------------------------------------------------
+
+    private BulkRaiseResult run(Collection<? extends Employee> employees, boolean apply) {
+        Employee[] roster = employees.toArray(new Employee[0]);
+        int slice = Math.max(MIN_SLICE, roster.length / (pool.getParallelism() * 8));
+        Changes changes = pool.invoke(new RaiseTask(rules, roster, apply, 0, roster.length, slice));
+        // Concatenate the slices once, in roster order, rather than at every merge.
+        int[] employeeIds = new int[changes.count];
+        int[] ruleIndexes = new int[changes.count];
+        long[] oldCents = new long[changes.count];
+        long[] newCents = new long[changes.count];
+        int at = 0;
+        for (Slice s : changes.slices) {
+            System.arraycopy(s.employeeIds, 0, employeeIds, at, s.count);
+            System.arraycopy(s.ruleIndexes, 0, ruleIndexes, at, s.count);
+            System.arraycopy(s.oldCents, 0, oldCents, at, s.count);
+            System.arraycopy(s.newCents, 0, newCents, at, s.count);
+            at += s.count;
+        }
+        return new BulkRaiseResult(rules, changes.matched, changes.count, employeeIds, ruleIndexes, oldCents, newCents);
+    }
+
+    /** Changes of one sequentially computed slice, in roster order. */
+    private static final class Slice {
+        private final int[] employeeIds;
+
+        private final int[] ruleIndexes;
+
+        private final long[] oldCents;
+
+        private final long[] newCents;
+
+        private int count;
+
+        /** Sized for the worst case, every employee of the slice changing, so it never grows. */
+        private Slice(int capacity) {
+            employeeIds = new int[capacity];
+            ruleIndexes = new int[capacity];
+            oldCents = new long[capacity];
+            newCents = new long[capacity];
+        }
+
+        private void add(int employeeId, int rule, long before, long after) {
+            employeeIds[count] = employeeId;
+            ruleIndexes[count] = rule;
+            oldCents[count] = before;
+            newCents[count] = after;
+            count++;
+        }
+    }
+
+    /** Changes of a range of slices: the slices in roster order plus totals. */
+    private static final class Changes {
+        private final List<Slice> slices = new ArrayList<>();
+
+        private int matched;
+
+        private int count;
+
+        private Changes merge(Changes right) {
+            slices.addAll(right.slices);
+            matched += right.matched;
+            count += right.count;
+            return this;
+        }
+    }
+
+    /** Splits {@code [from, to)} in halves until it is at most {@code slice} long. */
+    private static final class RaiseTask extends RecursiveTask<Changes> {
+        private static final long serialVersionUID = 1L;
+
+        private final RaiseRule[] rules;
+
+        private final Employee[] roster;
+
+        private final boolean apply;
+
+        private final int from;
+
+        private final int to;
+
+        private final int slice;
+
+        RaiseTask(RaiseRule[] rules, Employee[] roster, boolean apply, int from, int to, int slice) {
+            this.rules = rules;
+            this.roster = roster;
+            this.apply = apply;
+            this.from = from;
+            this.to = to;
+            this.slice = slice;
+        }
+
+        @Override
+        protected Changes compute() {
+            if (to - from <= slice) {
+                Slice out = new Slice(to - from);
+                int matched = 0;
+                for (int i = from; i < to; i++) {
+                    Employee e = roster[i];
+                    int r = 0;
+                    while (r < rules.length && !rules[r].matches(e)) r++;
+                    if (r == rules.length) continue;
+                    matched++;
+                    RaiseRule rule = rules[r];
+                    long before = rule.currentCents(e);
+                    long after = rule.raisedCents(before);
+                    if (after == before) continue;
+                    if (apply) {
+                        if (rule.getTarget() == RaiseRule.Target.HOURLY_RATE) {
+                            ((HourlyEmployee) e).setHourlyRate(PayrollMath.fromCents(after));
+                        } else {
+                            ((SalaryEmployee) e).setAnnualSalary(PayrollMath.fromCents(after));
+                        }
+                    }
+                    out.add(e.getEmployeeId(), r, before, after);
+                }
+                Changes changes = new Changes();
+                changes.slices.add(out);
+                changes.matched = matched;
+                changes.count = out.count;
+                return changes;
+            }
+            int mid = (from + to) >>> 1;
+            RaiseTask left = new RaiseTask(rules, roster, apply, from, mid, slice);
+            RaiseTask right = new RaiseTask(rules, roster, apply, mid, to, slice);
+            left.fork();
+            Changes rightResult = right.compute();
+            return left.join().merge(rightResult);
+        }
+    }
+}
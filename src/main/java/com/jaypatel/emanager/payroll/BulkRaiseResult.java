@@ -0,0 +1,106 @@
+package com.jaypatel.emanager.payroll;
+
+import java.math.BigDecimal;
+
+/**
+ * Outcome of a {@link BulkRaise}: how many employees matched a rule and, for each one whose amount
+ * changed, the rule and the old and new amounts.
+ * <p>
+ * Changes are in roster order. Amounts are hourly rates or annual salaries, depending on
+ * {@link RaiseRule#getTarget()} of the change's rule.
+ * </p>
+ */
+public final class BulkRaiseResult {
+    private final RaiseRule[] rules;
+
+    private final int matched;
+
+    private final int size;
+
+    private final int[] employeeIds;
+
+    private final int[] ruleIndexes;
+
+    private final long[] oldCents;
+
+    private final long[] newCents;
+
+    BulkRaiseResult(RaiseRule[] rules, int matched, int size, int[] employeeIds, int[] ruleIndexes,
+                    long[] oldCents, long[] newCents) {
+        this.rules = rules;
+        this.matched = matched;
+        this.size = size;
+        this.employeeIds = employeeIds;
+        this.ruleIndexes = ruleIndexes;
+        this.oldCents = oldCents;
+        this.newCents = newCents;
+    }
+
+    /** @return number of employees that changed */
+    public int size() {
+        return size;
+    }
+
+    /** @return number of employees that matched a rule, including those whose amount did not change */
+    public int getMatchedCount() {
+        return matched;
+    }
+
+    /**
+     * @param rule a rule of the raise
+     * @return number of employees that rule changed
+     */
+    public int getChangedCount(RaiseRule rule) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (rules[ruleIndexes[i]] == rule) count++;
+        }
+        return count;
+    }
+
+    /**
+     * @param index change number, {@code 0 <= index < size()}
+     * @return the changed employee's id
+     */
+    public int getEmployeeId(int index) {
+        return employeeIds[checked(index)];
+    }
+
+    /**
+     * @param index change number, {@code 0 <= index < size()}
+     * @return the rule that made the change
+     */
+    public RaiseRule getRule(int index) {
+        return rules[ruleIndexes[checked(index)]];
+    }
+
+    /**
+     * @param index change number, {@code 0 <= index < size()}
+     * @return the amount before the change (scale 2)
+     */
+    public BigDecimal getOldValue(int index) {
+        return PayrollMath.fromCents(oldCents[checked(index)]);
+    }
+
+    /**
+     * @param index change number, {@code 0 <= index < size()}
+     * @return the amount after the change (scale 2)
+     */
+    public BigDecimal getNewValue(int index) {
+        return PayrollMath.fromCents(newCents[checked(index)]);
+    }
+
+    @Override
+    public String toString() {
+        return "BulkRaiseResult{matched=" + matched + ", changed=" + size + '}';
+    }
+
+    // ---- Helpers ------------------------------------------------------------
+
+    private int checked(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Change " + index + " of " + size);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,309 @@
+package com.jaypatel.emanager.payroll;
+
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.model.HourlyEmployee;
+import com.jaypatel.emanager.model.SalaryEmployee;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Column-oriented payroll engine for bulk earnings runs.
+ * <p>
+ * Pay inputs are kept in parallel primitive arrays (one row per employee): hourly rates and
+ * annual salaries in cents, monthly hours in centi-hours. {@link #computeEarnings()} fills the
+ * earnings column for the whole batch in a single loop with no per-row allocation. Results are
+ * identical to calling {@link Employee#getEarnings()} on each source object (see {@link PayrollMath}).
+ * </p>
+ *
+ * <h3>Example</h3>
+ * <pre>{@code
+ * ColumnarPayroll payroll = ColumnarPayroll.of(employees);
+ * long totalCents = payroll.computeEarnings();
+ * BigDecimal first = payroll.getEarnings(0);
+ * }</pre>
+ *
+ * <p><b>Note:</b> instances are not thread-safe.</p>
+ */
+public final class ColumnarPayroll {
+    /** Row kind for {@link HourlyEmployee}. */
+    public static final byte HOURLY = 1;
+
+    /** Row kind for {@link SalaryEmployee}. */
+    public static final byte SALARIED = 2;
+
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private int size;
+
+    /** Number of leading rows whose earnings column is current. */
+    private int computed;
+
+    private int[] employeeIds;
+
+    private byte[] kinds;
+
+    private long[] hourlyRateCents;
+
+    private long[] monthlyHoursCenti;
+
+    private long[] annualSalaryCents;
+
+    private long[] earningsCents;
+
+    /** Creates an empty engine with a default initial capacity. */
+    public ColumnarPayroll() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty engine.
+     *
+     * @param initialCapacity number of rows to reserve up front
+     * @throws IllegalArgumentException if {@code initialCapacity} is negative
+     */
+    public ColumnarPayroll(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity must be >= 0: " + initialCapacity);
+        }
+        employeeIds = new int[initialCapacity];
+        kinds = new byte[initialCapacity];
+        hourlyRateCents = new long[initialCapacity];
+        monthlyHoursCenti = new long[initialCapacity];
+        annualSalaryCents = new long[initialCapacity];
+        earningsCents = new long[initialCapacity];
+    }
+
+    /**
+     * Loads every employee of a collection, in iteration order.
+     *
+     * @param employees hourly and salaried employees
+     * @return a new engine with one row per employee
+     * @throws IllegalArgumentException if an element is not an hourly or salaried employee
+     */
+    public static ColumnarPayroll of(Iterable<? extends Employee> employees) {
+        int capacity = employees instanceof Collection<?> c ? c.size() : DEFAULT_CAPACITY;
+        ColumnarPayroll payroll = new ColumnarPayroll(capacity);
+        for (Employee e : employees) {
+            payroll.add(e);
+        }
+        return payroll;
+    }
+
+    /**
+     * Appends one employee's pay inputs.
+     *
+     * @param employee an {@link HourlyEmployee} or {@link SalaryEmployee}
+     * @return the row index of the employee
+     * @throws IllegalArgumentException if the employee type is not supported
+     * @throws ArithmeticException      if a pay value does not fit in {@code long} cents
+     */
+    public int add(Employee employee) {
+        if (employee instanceof HourlyEmployee he) {
+            return addHourly(he.getEmployeeId(),
+                    PayrollMath.toCents(he.getHourlyRate()),
+                    PayrollMath.toCents(he.getMonthlyHours()));
+        }
+        if (employee instanceof SalaryEmployee se) {
+            return addSalaried(se.getEmployeeId(), PayrollMath.toCents(se.getAnnualSalary()));
+        }
+        throw new IllegalArgumentException("Unsupported employee type: "
+                + (employee == null ? "null" : employee.getClass().getName()));
+    }
+
+    /**
+     * Appends an hourly row from primitive values.
+     *
+     * @param employeeId        employee id
+     * @param hourlyRateCents   hourly rate in cents
+     * @param monthlyHoursCenti monthly hours in centi-hours
+     * @return the row index
+     */
+    public int addHourly(int employeeId, long hourlyRateCents, long monthlyHoursCenti) {
+        int row = nextRow();
+        employeeIds[row] = employeeId;
+        kinds[row] = HOURLY;
+        this.hourlyRateCents[row] = hourlyRateCents;
+        this.monthlyHoursCenti[row] = monthlyHoursCenti;
+        return row;
+    }
+
+    /**
+     * Appends a salaried row from primitive values.
+     *
+     * @param employeeId        employee id
+     * @param annualSalaryCents annual salary in cents
+     * @return the row index
+     */
+    public int addSalaried(int employeeId, long annualSalaryCents) {
+        int row = nextRow();
+        employeeIds[row] = employeeId;
+        kinds[row] = SALARIED;
+        this.annualSalaryCents[row] = annualSalaryCents;
+        return row;
+    }
+
+    /**
+     * Computes the earnings column for every row.
+     *
+     * @return the grand total of all earnings, in cents
+     * @throws ArithmeticException if an earnings value or the total overflows {@code long}
+     */
+    public long computeEarnings() {
+        final int n = size;
+        final byte[] k = kinds;
+        final long[] rate = hourlyRateCents;
+        final long[] hours = monthlyHoursCenti;
+        final long[] salary = annualSalaryCents;
+        final long[] out = earningsCents;
+
+        long total = 0L;
+        for (int i = 0; i < n; i++) {
+            long cents = k[i] == HOURLY
+                    ? PayrollMath.hourlyEarningsCents(rate[i], hours[i])
+                    : PayrollMath.monthlyEarningsCents(salary[i]);
+            out[i] = cents;
+            total = Math.addExact(total, cents);
+        }
+        computed = n;
+        return total;
+    }
+
+    /** @return number of rows loaded */
+    public int size() {
+        return size;
+    }
+
+    /** Removes all rows, keeping the allocated capacity. */
+    public void clear() {
+        size = 0;
+        computed = 0;
+    }
+
+    /**
+     * @param row row index
+     * @return the employee id stored in the row
+     */
+    public int getEmployeeId(int row) {
+        checkRow(row);
+        return employeeIds[row];
+    }
+
+    /**
+     * @param row row index
+     * @return {@link #HOURLY} or {@link #SALARIED}
+     */
+    public byte getKind(int row) {
+        checkRow(row);
+        return kinds[row];
+    }
+
+    /**
+     * @param row row index
+     * @return earnings for the row in cents
+     * @throws IllegalStateException if {@link #computeEarnings()} has not run since the row was added
+     */
+    public long getEarningsCents(int row) {
+        checkRow(row);
+        if (row >= computed) {
+            throw new IllegalStateException("Earnings not computed for row " + row);
+        }
+        return earningsCents[row];
+    }
+
+    /**
+     * @param row row index
+     * @return earnings for the row (scale 2), equal to the source object's {@code getEarnings()}
+     * @throws IllegalStateException if {@link #computeEarnings()} has not run since the row was added
+     */
+    public BigDecimal getEarnings(int row) {
+        return PayrollMath.fromCents(getEarningsCents(row));
+    }
+
+    /**
+     * @param row row index
+     * @return hourly rate (scale 2); {@code 0.00} for salaried rows
+     */
+    public BigDecimal getHourlyRate(int row) {
+        checkRow(row);
+        return PayrollMath.fromCents(hourlyRateCents[row]);
+    }
+
+    /**
+     * @param row row index
+     * @return monthly hours (scale 2); {@code 0.00} for salaried rows
+     */
+    public BigDecimal getMonthlyHours(int row) {
+        checkRow(row);
+        return PayrollMath.fromCents(monthlyHoursCenti[row]);
+    }
+
+    /**
+     * @param row row index
+     * @return annual salary (scale 2); {@code 0.00} for hourly rows
+     */
+    public BigDecimal getAnnualSalary(int row) {
+        checkRow(row);
+        return PayrollMath.fromCents(annualSalaryCents[row]);
+    }
+
+    /**
+     * Writes a row's pay inputs back into a model object of the matching type.
+     *
+     * @param row    row index
+     * @param target employee to update; only pay fields are touched
+     * @throws IllegalArgumentException if the target type does not match the row kind
+     */
+    public void copyTo(int row, Employee target) {
+        checkRow(row);
+        if (kinds[row] == HOURLY && target instanceof HourlyEmployee he) {
+            he.setHourlyRate(PayrollMath.fromCents(hourlyRateCents[row]));
+            he.setMonthlyHours(PayrollMath.fromCents(monthlyHoursCenti[row]));
+        } else if (kinds[row] == SALARIED && target instanceof SalaryEmployee se) {
+            se.setAnnualSalary(PayrollMath.fromCents(annualSalaryCents[row]));
+        } else {
+            throw new IllegalArgumentException("Row " + row + " cannot be copied to "
+                    + (target == null ? "null" : target.getClass().getName()));
+        }
+    }
+
+    /**
+     * Materializes a row as a new model object carrying the employee id and pay inputs.
+     *
+     * @param row row index
+     * @return a new {@link HourlyEmployee} or {@link SalaryEmployee}
+     */
+    public Employee toEmployee(int row) {
+        checkRow(row);
+        Employee e = kinds[row] == HOURLY ? new HourlyEmployee() : new SalaryEmployee();
+        e.setEmployeeId(employeeIds[row]);
+        copyTo(row, e);
+        return e;
+    }
+
+    // ---- Helpers ------------------------------------------------------------
+
+    private int nextRow() {
+        if (size == employeeIds.length) {
+            grow();
+        }
+        return size++;
+    }
+
+    private void grow() {
+        int capacity = Math.max(DEFAULT_CAPACITY, employeeIds.length + (employeeIds.length >> 1));
+        employeeIds = Arrays.copyOf(employeeIds, capacity);
+        kinds = Arrays.copyOf(kinds, capacity);
+        hourlyRateCents = Arrays.copyOf(hourlyRateCents, capacity);
+        monthlyHoursCenti = Arrays.copyOf(monthlyHoursCenti, capacity);
+        annualSalaryCents = Arrays.copyOf(annualSalaryCents, capacity);
+        earningsCents = Arrays.copyOf(earningsCents, capacity);
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("row " + row + " out of bounds for size " + size);
+        }
+    }
+}
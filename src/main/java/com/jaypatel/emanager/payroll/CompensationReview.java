@@ -0,0 +1,177 @@
+package com.jaypatel.emanager.payroll;
+
+import com.jaypatel.emanager.model.Employee;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Computes the top earners and earnings percentiles (overall and per job title) in one parallel
+ * pass over a roster, using the same fork-join splitting as {@link PayrollRunner}.
+ * <p>
+ * Each slice feeds a bounded {@link TopEarners} heap and {@link EarningsSketch}es from
+ * {@link Employee#getEarningsCents()}, and slices are merged on the way back up. Both structures
+ * merge exactly, so the result is identical for any parallelism or split order, and it is never
+ * necessary to sort the roster or compare {@link java.math.BigDecimal}s.
+ * </p>
+ *
+ * <h3>Example</h3>
+ * <pre>{@code
+ * try (CompensationReview review = new CompensationReview(100, 0.01, 8)) {
+ *     CompensationReviewResult result = review.run(employees);
+ *     int[] top100 = result.getTopEarners().employeeIds();
+ *     BigDecimal p90 = result.getSketch("Developer").getQuantile(0.9);
+ * }
+ * }</pre>
+ */
+public final class CompensationReview implements AutoCloseable {
+    /** Slices at or below this size are computed sequentially. */
+    private static final int MIN_SLICE = 1024;
+
+    private final int k;
+
+    private final double relativeAccuracy;
+
+    private final ForkJoinPool pool;
+
+    private final boolean ownsPool;
+
+    /**
+     * Creates a review on the common fork-join pool.
+     *
+     * @param k                number of top earners to keep (at least 1)
+     * @param relativeAccuracy relative accuracy of the percentiles, in {@code (0, 1)}
+     * @throws IllegalArgumentException if an argument is out of range
+     */
+    public CompensationReview(int k, double relativeAccuracy) {
+        this(k, relativeAccuracy, ForkJoinPool.commonPool(), false);
+    }
+
+    /**
+     * Creates a review with a dedicated pool; {@link #close()} shuts it down.
+     *
+     * @param k                number of top earners to keep (at least 1)
+     * @param relativeAccuracy relative accuracy of the percentiles, in {@code (0, 1)}
+     * @param parallelism      number of worker threads (at least 1)
+     * @throws IllegalArgumentException if an argument is out of range
+     */
+    public CompensationReview(int k, double relativeAccuracy, int parallelism) {
+        this(k, relativeAccuracy, newPool(parallelism), true);
+    }
+
+    private CompensationReview(int k, double relativeAccuracy, ForkJoinPool pool, boolean ownsPool) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be >= 1: " + k);
+        }
+        if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+            throw new IllegalArgumentException("relativeAccuracy must be in (0, 1): " + relativeAccuracy);
+        }
+        this.k = k;
+        this.relativeAccuracy = relativeAccuracy;
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+    }
+
+    /**
+     * Ranks and sketches the earnings of every employee.
+     *
+     * @param employees roster to review; elements must be non-null
+     * @return top earners and percentile sketches
+     * @throws ArithmeticException if some earnings do not fit in {@code long} cents
+     */
+    public CompensationReviewResult run(Collection<? extends Employee> employees) {
+        Employee[] roster = employees.toArray(new Employee[0]);
+        int slice = Math.max(MIN_SLICE, roster.length / (pool.getParallelism() * 8));
+        Partial partial = pool.invoke(new ReviewTask(this, roster, 0, roster.length, slice));
+        return new CompensationReviewResult(partial.top, partial.overall, partial.byJobTitle);
+    }
+
+    /** Shuts down the dedicated pool, if this review created one. */
+    @Override
+    public void close() {
+        if (ownsPool) {
+            pool.shutdown();
+        }
+    }
+
+    // ---- Helpers ------------------------------------------------------------
+
+    private static ForkJoinPool newPool(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be >= 1: " + parallelism);
+        }
+        return new ForkJoinPool(parallelism);
+    }
+
+    /** Top earners and sketches of one slice. */
+    private static final class Partial {
+        private final TopEarners top;
+
+        private final EarningsSketch overall;
+
+        private final Map<String, EarningsSketch> byJobTitle = new HashMap<>();
+
+        private final double relativeAccuracy;
+
+        private Partial(int k, double relativeAccuracy) {
+            this.top = new TopEarners(k);
+            this.overall = new EarningsSketch(relativeAccuracy);
+            this.relativeAccuracy = relativeAccuracy;
+        }
+
+        private void add(Employee e) {
+            long cents = e.getEarningsCents();
+            top.offer(e.getEmployeeId(), cents);
+            overall.add(cents);
+            byJobTitle.computeIfAbsent(e.getJobTitle(), t -> new EarningsSketch(relativeAccuracy)).add(cents);
+        }
+
+        private Partial merge(Partial other) {
+            top.merge(other.top);
+            overall.merge(other.overall);
+            other.byJobTitle.forEach((title, sketch) -> byJobTitle.merge(title, sketch, EarningsSketch::merge));
+            return this;
+        }
+    }
+
+    /** Splits {@code [from, to)} in halves until it is at most {@code slice} long. */
+    private static final class ReviewTask extends RecursiveTask<Partial> {
+        private static final long serialVersionUID = 1L;
+
+        private final CompensationReview review;
+
+        private final Employee[] roster;
+
+        private final int from;
+
+        private final int to;
+
+        private final int slice;
+
+        ReviewTask(CompensationReview review, Employee[] roster, int from, int to, int slice) {
+            this.review = review;
+            this.roster = roster;
+            this.from = from;
+            this.to = to;
+            this.slice = slice;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (to - from <= slice) {
+                Partial partial = new Partial(review.k, review.relativeAccuracy);
+                for (int i = from; i < to; i++) partial.add(roster[i]);
+                return partial;
+            }
+            int mid = (from + to) >>> 1;
+            ReviewTask left = new ReviewTask(review, roster, from, mid, slice);
+            ReviewTask right = new ReviewTask(review, roster, mid, to, slice);
+            left.fork();
+            Partial rightResult = right.compute();
+            return left.join().merge(rightResult);
+        }
+    }
+}
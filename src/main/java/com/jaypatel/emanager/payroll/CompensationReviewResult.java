@@ -0,0 +1,60 @@
+package com.jaypatel.emanager.payroll;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeMap;
+
+/**
+ * Outcome of a {@link CompensationReview} run: the top earners, an earnings sketch over the
+ * whole roster and one sketch per job title.
+ * <p>
+ * Getters return copies, so callers may merge results of several partitions into them, e.g.
+ * {@code a.getOverall().merge(b.getOverall())}.
+ * </p>
+ */
+public final class CompensationReviewResult {
+    private final TopEarners topEarners;
+
+    private final EarningsSketch overall;
+
+    private final TreeMap<String, EarningsSketch> sketchesByJobTitle;
+
+    CompensationReviewResult(TopEarners topEarners, EarningsSketch overall, Map<String, EarningsSketch> byJobTitle) {
+        this.topEarners = topEarners;
+        this.overall = overall;
+        TreeMap<String, EarningsSketch> sorted = new TreeMap<>(Comparator.nullsFirst(Comparator.naturalOrder()));
+        sorted.putAll(byJobTitle);
+        this.sketchesByJobTitle = sorted;
+    }
+
+    /** @return the highest earners of the run */
+    public TopEarners getTopEarners() {
+        return new TopEarners(topEarners);
+    }
+
+    /** @return the earnings sketch over every employee */
+    public EarningsSketch getOverall() {
+        return new EarningsSketch(overall);
+    }
+
+    /**
+     * Job titles seen in the run, sorted; employees without a title are grouped under
+     * {@code null}, which sorts first.
+     *
+     * @return an unmodifiable view of the titles
+     */
+    public SortedSet<String> getJobTitles() {
+        return Collections.unmodifiableSortedSet(sketchesByJobTitle.navigableKeySet());
+    }
+
+    /**
+     * @param jobTitle job title, or {@code null} for employees without one
+     * @return the earnings sketch of that title, or {@code null} if no employee has it
+     */
+    public EarningsSketch getSketch(String jobTitle) {
+        EarningsSketch sketch = sketchesByJobTitle.get(jobTitle);
+        return sketch == null ? null : new EarningsSketch(sketch);
+    }
+}
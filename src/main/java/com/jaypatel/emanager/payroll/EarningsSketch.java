@@ -0,0 +1,251 @@
+package com.jaypatel.emanager.payroll;
+
+import com.jaypatel.emanager.model.Employee;
+
+import java.math.BigDecimal;
+
+/**
+ * Mergeable quantile sketch of earnings with a guaranteed relative error.
+ * <p>
+ * Values (in cents) are counted in logarithmic buckets: with relative accuracy {@code a}, bucket
+ * {@code i} holds the values in {@code (g^(i-1), g^i]} for {@code g = (1 + a) / (1 - a)}, and a
+ * quantile is answered with the bucket's midpoint {@code 2 g^i / (g + 1)}, which is within
+ * {@code a} of every value in it. At 1% accuracy, earnings from one cent to a billion dollars
+ * fit in about 1,600 {@code long} counters, whatever the number of employees, and adding a value
+ * is one logarithm and one increment.
+ * </p>
+ * <p>
+ * Sketches with the same accuracy merge by adding counters, so partitions can be sketched
+ * independently (in parallel or on separate machines) and combined; the merged sketch is exactly
+ * the one a single pass would have built. The minimum and maximum are kept exactly and bound
+ * every answer. Zero and negative earnings (e.g. corrections) are counted as well.
+ * </p>
+ *
+ * <h3>Example</h3>
+ * <pre>{@code
+ * EarningsSketch sketch = new EarningsSketch(0.01);
+ * for (Employee e : roster) sketch.add(e);
+ * BigDecimal p99 = sketch.getQuantile(0.99);   // within 1% of the true p99
+ * }</pre>
+ *
+ * <p><b>Note:</b> instances are not thread-safe.</p>
+ */
+public final class EarningsSketch {
+    private final double relativeAccuracy;
+
+    private final double gamma;
+
+    /** {@code 1 / ln(gamma)}. */
+    private final double indexMultiplier;
+
+    /** Buckets of positive values. */
+    private final Store positive = new Store();
+
+    /** Buckets of negated negative values. */
+    private final Store negative = new Store();
+
+    private long zeroCount;
+
+    private long count;
+
+    private long min = Long.MAX_VALUE;
+
+    private long max = Long.MIN_VALUE;
+
+    /**
+     * @param relativeAccuracy maximum relative error of a quantile, in {@code (0, 1)}; e.g.
+     *                         {@code 0.01} for 1%
+     * @throws IllegalArgumentException if the accuracy is out of range
+     */
+    public EarningsSketch(double relativeAccuracy) {
+        if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+            throw new IllegalArgumentException("relativeAccuracy must be in (0, 1): " + relativeAccuracy);
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.indexMultiplier = 1 / Math.log(gamma);
+    }
+
+    /**
+     * Creates a copy of another sketch.
+     *
+     * @param other sketch to copy
+     */
+    public EarningsSketch(EarningsSketch other) {
+        this(other.relativeAccuracy);
+        merge(other);
+    }
+
+    /**
+     * Adds an employee's earnings.
+     *
+     * @param employee employee to count
+     * @throws ArithmeticException if the earnings do not fit in {@code long} cents
+     */
+    public void add(Employee employee) {
+        add(employee.getEarningsCents());
+    }
+
+    /**
+     * Adds one value.
+     *
+     * @param cents earnings in cents
+     */
+    public void add(long cents) {
+        if (cents > 0) {
+            positive.add(index(cents), 1);
+        } else if (cents < 0) {
+            // -Long.MIN_VALUE overflows; its bucket is the same as Long.MAX_VALUE's.
+            negative.add(index(cents == Long.MIN_VALUE ? Long.MAX_VALUE : -cents), 1);
+        } else {
+            zeroCount++;
+        }
+        count++;
+        min = Math.min(min, cents);
+        max = Math.max(max, cents);
+    }
+
+    /**
+     * Adds every value counted by another sketch, e.g. one built over a different partition.
+     *
+     * @param other sketch with the same relative accuracy; unchanged
+     * @return this sketch
+     * @throws IllegalArgumentException if the accuracies differ
+     */
+    public EarningsSketch merge(EarningsSketch other) {
+        if (Double.compare(relativeAccuracy, other.relativeAccuracy) != 0) {
+            throw new IllegalArgumentException("Cannot merge sketches with accuracy "
+                    + relativeAccuracy + " and " + other.relativeAccuracy);
+        }
+        positive.merge(other.positive);
+        negative.merge(other.negative);
+        zeroCount += other.zeroCount;
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+
+    /** @return the relative accuracy given at construction */
+    public double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    /** @return number of values added */
+    public long getCount() {
+        return count;
+    }
+
+    /** @return the smallest value added (scale 2), or {@code null} if the sketch is empty */
+    public BigDecimal getMin() {
+        return count == 0 ? null : PayrollMath.fromCents(min);
+    }
+
+    /** @return the largest value added (scale 2), or {@code null} if the sketch is empty */
+    public BigDecimal getMax() {
+        return count == 0 ? null : PayrollMath.fromCents(max);
+    }
+
+    /**
+     * Estimates a quantile: the value at rank {@code q * (count - 1)} of the sorted values,
+     * within the relative accuracy.
+     *
+     * @param q quantile in {@code [0, 1]}, e.g. {@code 0.5} for the median
+     * @return the estimate (scale 2), or {@code null} if the sketch is empty
+     * @throws IllegalArgumentException if {@code q} is out of range
+     */
+    public BigDecimal getQuantile(double q) {
+        if (!(q >= 0 && q <= 1)) {
+            throw new IllegalArgumentException("q must be in [0, 1]: " + q);
+        }
+        return count == 0 ? null : PayrollMath.fromCents(quantileCents(q));
+    }
+
+    @Override
+    public String toString() {
+        return "EarningsSketch{count=" + count + ", p50=" + getQuantile(0.5) + ", p90=" + getQuantile(0.9)
+                + ", p99=" + getQuantile(0.99) + '}';
+    }
+
+    // ---- Helpers ------------------------------------------------------------
+
+    private int index(long value) {
+        return (int) Math.ceil(Math.log(value) * indexMultiplier);
+    }
+
+    /** Midpoint of bucket {@code index}, within the relative accuracy of its values. */
+    private double value(int index) {
+        return 2 * Math.pow(gamma, index) / (gamma + 1);
+    }
+
+    private long quantileCents(double q) {
+        long rank = (long) (q * (count - 1));
+        if (rank == 0) return min;
+        if (rank == count - 1) return max;
+        double estimate;
+        long seen = negative.total;
+        if (rank < seen) {
+            // Negative values in ascending order: largest magnitude first.
+            estimate = -value(negative.indexAtRank(seen - 1 - rank));
+        } else if (rank < seen + zeroCount) {
+            return 0;
+        } else {
+            estimate = value(positive.indexAtRank(rank - seen - zeroCount));
+        }
+        return Math.max(min, Math.min(max, Math.round(estimate)));
+    }
+
+    /** Dense counters for a contiguous range of bucket indexes, grown on demand. */
+    private static final class Store {
+        private long[] counts = new long[0];
+
+        /** Bucket index of {@code counts[0]}. */
+        private int offset;
+
+        private long total;
+
+        private void add(int index, long n) {
+            if (counts.length == 0) {
+                counts = new long[64];
+                offset = index - 32;
+            } else if (index < offset || index >= offset + counts.length) {
+                grow(Math.min(index, offset), Math.max(index, offset + counts.length - 1));
+            }
+            counts[index - offset] += n;
+            total += n;
+        }
+
+        private void merge(Store other) {
+            if (other.total == 0) return;
+            int lo = other.offset;
+            int hi = other.offset + other.counts.length - 1;
+            while (lo <= hi && other.counts[lo - other.offset] == 0) lo++;
+            while (other.counts[hi - other.offset] == 0) hi--;
+            add(lo, 0);
+            add(hi, 0);
+            for (int i = lo; i <= hi; i++) counts[i - offset] += other.counts[i - other.offset];
+            total += other.total;
+        }
+
+        /** Resizes to cover {@code [lo, hi]} with some headroom on both sides. */
+        private void grow(int lo, int hi) {
+            int span = hi - lo + 1;
+            int newLength = Math.max(counts.length * 2, span + 64);
+            int newOffset = lo - (newLength - span) / 2;
+            long[] grown = new long[newLength];
+            System.arraycopy(counts, 0, grown, offset - newOffset, counts.length);
+            counts = grown;
+            offset = newOffset;
+        }
+
+        /** Index of the bucket holding the value at {@code rank} (0-based, ascending). */
+        private int indexAtRank(long rank) {
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen > rank) return i + offset;
+            }
+            throw new IllegalStateException("rank " + rank + " >= " + total);
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package com.jaypatel.emanager.payroll;
+
+import com.jaypatel.emanager.model.HourlyEmployee;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.YearMonth;
+import java.util.Arrays;
+
+/**
+ * One employee's monthly hours and hourly rate over time, for audits and year-to-date earnings.
+ * <p>
+ * Months are appended in order. Each entry is three zigzag varints in one {@code byte[]}: the
+ * month, the hours (centi-hours) and the rate (cents), each as the difference from the previous
+ * entry. Consecutive months with steady hours and an unchanged rate therefore take 3 to 5 bytes,
+ * so ten years of history fit in a few hundred bytes rather than a list of {@link BigDecimal}s.
+ * Every {@value #CHECKPOINT}th entry is also kept decoded, so a range query starts decoding at
+ * most {@value #CHECKPOINT} entries before its first month.
+ * </p>
+ * <p>
+ * Earnings are computed per month with {@link PayrollMath#hourlyEarningsCents(long, long)}, i.e.
+ * exactly as {@link HourlyEmployee#getEarnings()} rounds them for that month's rate and hours, and
+ * summed in cents. Months without an entry earn nothing. Inputs are normalized as the
+ * {@link HourlyEmployee} setters do: {@code null} or negative becomes {@code 0.00}, and values are
+ * rounded to 2 decimals with HALF_UP.
+ * </p>
+ *
+ * <h3>Example</h3>
+ * <pre>{@code
+ * HoursHistory history = new HoursHistory();
+ * history.record(YearMonth.of(2025, 1), new BigDecimal("160"), new BigDecimal("25.50"));
+ * history.record(YearMonth.of(2025, 2), new BigDecimal("152.5"), new BigDecimal("26.00"));
+ * BigDecimal ytd = history.getYearToDateEarnings(YearMonth.of(2025, 2));   // 4080.00 + 3965.00
+ * }</pre>
+ *
+ * <p><b>Note:</b> instances are not thread-safe.</p>
+ */
+public final class HoursHistory {
+    /** Entries between decoded checkpoints. */
+    private static final int CHECKPOINT = 16;
+
+    private byte[] data = new byte[32];
+
+    private int length;
+
+    private int size;
+
+    /** Month index ({@code year * 12 + month - 1}), hours and rate of the last entry. */
+    private int lastMonth;
+
+    private long lastHours;
+
+    private long lastRate;
+
+    /** The same values before the last entry, and where it starts, so it can be replaced. */
+    private int previousMonth;
+
+    private long previousHours;
+
+    private long previousRate;
+
+    private int lastOffset;
+
+    /** Checkpoint {@code k}: values of entry {@code k * CHECKPOINT} and the offset after it. */
+    private int[] checkpointMonths = new int[4];
+
+    private long[] checkpointHours = new long[4];
+
+    private long[] checkpointRates = new long[4];
+
+    private int[] checkpointOffsets = new int[4];
+
+    /**
+     * Records a month's hours and rate.
+     * <p>Recording the last recorded month again replaces it, e.g. to correct the current month.</p>
+     *
+     * @param month        month worked; not before the last recorded month
+     * @param monthlyHours hours worked that month
+     * @param hourlyRate   hourly rate that month
+     * @throws IllegalArgumentException if {@code month} is before the last recorded month
+     * @throws ArithmeticException      if a value does not fit in {@code long} hundredths
+     */
+    public void record(YearMonth month, BigDecimal monthlyHours, BigDecimal hourlyRate) {
+        record(monthIndex(month), PayrollMath.toCents(nonNegative(monthlyHours)),
+                PayrollMath.toCents(nonNegative(hourlyRate)));
+    }
+
+    /**
+     * Records an employee's current hours and rate for a month, e.g. at month-end close.
+     *
+     * @param month    month worked; not before the last recorded month
+     * @param employee employee whose {@link HourlyEmployee#getMonthlyHours()} and
+     *                 {@link HourlyEmployee#getHourlyRate()} are recorded
+     * @throws IllegalArgumentException if {@code month} is before the last recorded month
+     */
+    public void record(YearMonth month, HourlyEmployee employee) {
+        // The model already holds normalized scale-2 values.
+        record(monthIndex(month), employee.getMonthlyHours().scaleByPowerOfTen(2).longValueExact(),
+                employee.getHourlyRate().scaleByPowerOfTen(2).longValueExact());
+    }
+
+    /** @return number of recorded months */
+    public int size() {
+        return size;
+    }
+
+    /** @return first recorded month, or {@code null} if none */
+    public YearMonth getFirstMonth() {
+        return size == 0 ? null : yearMonth(checkpointMonths[0]);
+    }
+
+    /** @return last recorded month, or {@code null} if none */
+    public YearMonth getLastMonth() {
+        return size == 0 ? null : yearMonth(lastMonth);
+    }
+
+    /**
+     * @param month month to look up
+     * @return hours recorded for {@code month} (scale 2), or {@code null} if none
+     */
+    public BigDecimal getHours(YearMonth month) {
+        long hours = find(monthIndex(month), false);
+        return hours < 0 ? null : PayrollMath.fromCents(hours);
+    }
+
+    /**
+     * @param month month to look up
+     * @return hourly rate recorded for {@code month} (scale 2), or {@code null} if none
+     */
+    public BigDecimal getHourlyRate(YearMonth month) {
+        long rate = find(monthIndex(month), true);
+        return rate < 0 ? null : PayrollMath.fromCents(rate);
+    }
+
+    /**
+     * @param month month to look up
+     * @return earnings for {@code month} (scale 2), {@code 0.00} if none recorded
+     */
+    public BigDecimal getEarnings(YearMonth month) {
+        return getEarnings(month, month);
+    }
+
+    /**
+     * @param from first month, inclusive
+     * @param to   last month, inclusive
+     * @return sum of the monthly earnings in {@code [from, to]} (scale 2)
+     * @throws ArithmeticException if the sum does not fit in {@code long} cents
+     */
+    public BigDecimal getEarnings(YearMonth from, YearMonth to) {
+        return PayrollMath.fromCents(getEarningsCents(from, to));
+    }
+
+    /**
+     * @param from first month, inclusive
+     * @param to   last month, inclusive
+     * @return sum of the monthly earnings in {@code [from, to]}, in cents
+     * @throws ArithmeticException if the sum does not fit in {@code long} cents
+     */
+    public long getEarningsCents(YearMonth from, YearMonth to) {
+        return sum(monthIndex(from), monthIndex(to), true);
+    }
+
+    /**
+     * @param month last month, inclusive
+     * @return earnings from January of {@code month}'s year through {@code month} (scale 2)
+     * @throws ArithmeticException if the sum does not fit in {@code long} cents
+     */
+    public BigDecimal getYearToDateEarnings(YearMonth month) {
+        return getEarnings(YearMonth.of(month.getYear(), 1), month);
+    }
+
+    /**
+     * @param from first month, inclusive
+     * @param to   last month, inclusive
+     * @return hours recorded in {@code [from, to]} (scale 2)
+     */
+    public BigDecimal getTotalHours(YearMonth from, YearMonth to) {
+        return PayrollMath.fromCents(sum(monthIndex(from), monthIndex(to), false));
+    }
+
+    /** @return bytes used by the encoded entries */
+    public int sizeInBytes() {
+        return length;
+    }
+
+    @Override
+    public String toString() {
+        return "HoursHistory{" + size + " months" + (size == 0 ? "" : ", " + getFirstMonth() + ".." + getLastMonth())
+                + ", " + length + " bytes}";
+    }
+
+    // ---- Helpers ------------------------------------------------------------
+
+    private void record(int month, long hours, long rate) {
+        if (size > 0 && month < lastMonth) {
+            throw new IllegalArgumentException("Month " + yearMonth(month) + " is before the last recorded month "
+                    + yearMonth(lastMonth));
+        }
+        if (size > 0 && month == lastMonth) {
+            // Drop the last entry; its checkpoint, if any, is rewritten below.
+            length = lastOffset;
+            size--;
+            lastMonth = previousMonth;
+            lastHours = previousHours;
+            lastRate = previousRate;
+        }
+        if (data.length - length < 3 * 10) data = Arrays.copyOf(data, Math.max(data.length * 2, length + 3 * 10));
+        previousMonth = lastMonth;
+        previousHours = lastHours;
+        previousRate = lastRate;
+        lastOffset = length;
+        writeVarLong(month - (long) lastMonth);
+        writeVarLong(hours - lastHours);
+        writeVarLong(rate - lastRate);
+        lastMonth = month;
+        lastHours = hours;
+        lastRate = rate;
+        if (size % CHECKPOINT == 0) {
+            int k = size / CHECKPOINT;
+            if (k == checkpointMonths.length) {
+                checkpointMonths = Arrays.copyOf(checkpointMonths, k * 2);
+                checkpointHours = Arrays.copyOf(checkpointHours, k * 2);
+                checkpointRates = Arrays.copyOf(checkpointRates, k * 2);
+                checkpointOffsets = Arrays.copyOf(checkpointOffsets, k * 2);
+            }
+            checkpointMonths[k] = month;
+            checkpointHours[k] = hours;
+            checkpointRates[k] = rate;
+            checkpointOffsets[k] = length;
+        }
+        size++;
+    }
+
+    /**
+     * Sums earnings (cents) or hours (centi-hours) over the entries with month in
+     * {@code [from, to]}, decoding from the last checkpoint at or before {@code from}.
+     */
+    private long sum(int from, int to, boolean earnings) {
+        if (size == 0 || from > to) return 0;
+        int k = checkpointAtOrBefore(from);
+        int month = checkpointMonths[k];
+        long hours = checkpointHours[k];
+        long rate = checkpointRates[k];
+        Cursor in = new Cursor(data, checkpointOffsets[k]);
+        int remaining = size - k * CHECKPOINT - 1;
+        long total = 0;
+        while (month <= to) {
+            if (month >= from) {
+                total = Math.addExact(total, earnings ? PayrollMath.hourlyEarningsCents(rate, hours) : hours);
+            }
+            if (remaining-- == 0) break;
+            month += (int) in.next();
+            hours += in.next();
+            rate += in.next();
+        }
+        return total;
+    }
+
+    /** Rate or hours of the entry for {@code month}, or -1; recorded values are never negative. */
+    private long find(int month, boolean rateWanted) {
+        if (size == 0) return -1;
+        int k = checkpointAtOrBefore(month);
+        int m = checkpointMonths[k];
+        long hours = checkpointHours[k];
+        long rate = checkpointRates[k];
+        Cursor in = new Cursor(data, checkpointOffsets[k]);
+        int remaining = size - k * CHECKPOINT - 1;
+        while (m < month && remaining-- > 0) {
+            m += (int) in.next();
+            hours += in.next();
+            rate += in.next();
+        }
+        if (m != month) return -1;
+        return rateWanted ? rate : hours;
+    }
+
+    /** Last checkpoint whose month is at or before {@code month}, or 0. */
+    private int checkpointAtOrBefore(int month) {
+        int lo = 0;
+        int hi = (size - 1) / CHECKPOINT;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (checkpointMonths[mid] <= month) lo = mid;
+            else hi = mid - 1;
+        }
+        return lo;
+    }
+
+    private void writeVarLong(long value) {
+        long v = (value << 1) ^ (value >> 63);
+        while ((v & ~0x7FL) != 0) {
+            data[length++] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        data[length++] = (byte) v;
+    }
+
+    /** Reads the zigzag varints written by {@link #writeVarLong(long)}. */
+    private static final class Cursor {
+        private final byte[] data;
+
+        private int offset;
+
+        private Cursor(byte[] data, int offset) {
+            this.data = data;
+            this.offset = offset;
+        }
+
+        private long next() {
+            long v = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[offset++];
+                v |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return (v >>> 1) ^ -(v & 1);
+        }
+    }
+
+    private static int monthIndex(YearMonth month) {
+        return Math.toIntExact(month.getYear() * 12L + month.getMonthValue() - 1);
+    }
+
+    private static YearMonth yearMonth(int index) {
+        return YearMonth.of(Math.floorDiv(index, 12), Math.floorMod(index, 12) + 1);
+    }
+
+    private static BigDecimal nonNegative(BigDecimal value) {
+        return value == null ? BigDecimal.ZERO : value.max(BigDecimal.ZERO).setScale(2, RoundingMode.HALF_UP);
+    }
+}
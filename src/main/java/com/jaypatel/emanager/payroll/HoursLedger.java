@@ -0,0 +1,99 @@
+package com.jaypatel.emanager.payroll;
+
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.model.HourlyEmployee;
+import com.jaypatel.emanager.util.IntObjectHashMap;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/**
+ * {@link HoursHistory} of every hourly employee, keyed by employee id.
+ * <p>
+ * {@link #closeMonth(YearMonth, Iterable)} appends each hourly employee's current
+ * {@link HourlyEmployee#getMonthlyHours() hours} and {@link HourlyEmployee#getHourlyRate() rate}
+ * to their history, so calling it once per month-end builds the series the audit and
+ * year-to-date queries read. Histories live in an {@link IntObjectHashMap}, so ids are never
+ * boxed.
+ * </p>
+ *
+ * <h3>Example</h3>
+ * <pre>{@code
+ * HoursLedger ledger = new HoursLedger();
+ * ledger.closeMonth(YearMonth.of(2025, 1), repository);
+ * // ... a month later, after new hours are entered
+ * ledger.closeMonth(YearMonth.of(2025, 2), repository);
+ * BigDecimal ytd = ledger.getYearToDateEarnings(42, YearMonth.of(2025, 2));
+ * }</pre>
+ *
+ * <p><b>Note:</b> instances are not thread-safe.</p>
+ */
+public final class HoursLedger {
+    private final IntObjectHashMap<HoursHistory> histories = new IntObjectHashMap<>();
+
+    /**
+     * Records the current hours and rate of every hourly employee for a month. Salaried
+     * employees are skipped. Closing the last closed month again replaces its entries.
+     *
+     * @param month     month being closed
+     * @param employees roster; elements must be non-null
+     * @return number of hourly employees recorded
+     * @throws IllegalArgumentException if {@code month} is before an employee's last recorded month
+     */
+    public int closeMonth(YearMonth month, Iterable<? extends Employee> employees) {
+        int recorded = 0;
+        for (Employee e : employees) {
+            if (e instanceof HourlyEmployee h) {
+                HoursHistory history = histories.get(h.getEmployeeId());
+                if (history == null) {
+                    history = new HoursHistory();
+                    histories.put(h.getEmployeeId(), history);
+                }
+                history.record(month, h);
+                recorded++;
+            }
+        }
+        return recorded;
+    }
+
+    /**
+     * @param employeeId employee id
+     * @return the employee's history, or {@code null} if none was recorded; changes to it
+     *         change the ledger
+     */
+    public HoursHistory get(int employeeId) {
+        return histories.get(employeeId);
+    }
+
+    /** @return number of employees with a history */
+    public int size() {
+        return histories.size();
+    }
+
+    /**
+     * @param employeeId employee id
+     * @param from       first month, inclusive
+     * @param to         last month, inclusive
+     * @return the employee's earnings in {@code [from, to]} (scale 2), {@code 0.00} if none recorded
+     */
+    public BigDecimal getEarnings(int employeeId, YearMonth from, YearMonth to) {
+        HoursHistory history = histories.get(employeeId);
+        return PayrollMath.fromCents(history == null ? 0 : history.getEarningsCents(from, to));
+    }
+
+    /**
+     * @param employeeId employee id
+     * @param month      last month, inclusive
+     * @return the employee's earnings from January through {@code month} (scale 2)
+     */
+    public BigDecimal getYearToDateEarnings(int employeeId, YearMonth month) {
+        return getEarnings(employeeId, YearMonth.of(month.getYear(), 1), month);
+    }
+
+    /** @return bytes used by the encoded entries of every history */
+    public long sizeInBytes() {
+        long bytes = 0;
+        for (HoursHistory h : histories) bytes += h.sizeInBytes();
+        return bytes;
+    }
+}
@@ -0,0 +1,301 @@
+package com.jaypatel.emanager.payroll;
+
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.model.HourlyEmployee;
+import com.jaypatel.emanager.model.ImmutableAddress;
+import com.jaypatel.emanager.model.ModelChangeListener;
+import com.jaypatel.emanager.model.ModelProperty;
+import com.jaypatel.emanager.model.Person;
+import com.jaypatel.emanager.model.SalaryEmployee;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Live earnings totals, counts and averages per job title and per province, kept current as
+ * employees change instead of re-running the payroll.
+ * <p>
+ * Each added employee is tracked through a {@link ModelChangeListener}. A pay setter
+ * ({@link ModelProperty#HOURLY_RATE}, {@link ModelProperty#MONTHLY_HOURS},
+ * {@link ModelProperty#ANNUAL_SALARY}) applies the earnings delta, computed from the old value the
+ * event carries, to the employee's two groups; a job title or address change moves its earnings
+ * from the old group to the new one. Every update is O(1); the only per-employee state is an
+ * identity set of added employees, which makes adding or removing one twice a no-op.
+ * Earnings use the model's rounding (via {@link PayrollMath}), so totals always equal what a
+ * full {@link PayrollRunner} run over the same employees would report.
+ * </p>
+ * <p>
+ * Groups are keyed by the exact job title or province, like
+ * {@link PayrollResult#getSubtotalsByJobTitle()}; employees without one are grouped under
+ * {@code null}. Updates hold a {@link StampedLock} write lock for a few additions. Readers use
+ * optimistic reads, so dashboards polling {@link #byJobTitle(String)} never block writers and
+ * still see a count and total from the same moment.
+ * </p>
+ *
+ * <h3>Example</h3>
+ * <pre>{@code
+ * PayrollAggregates aggregates = new PayrollAggregates();
+ * aggregates.addAll(repository);
+ * employee.setHourlyRate(new BigDecimal("31.00"));
+ * BigDecimal average = aggregates.byProvince("SK").getAverage();   // already updated
+ * }</pre>
+ */
+public final class PayrollAggregates implements ModelChangeListener {
+    /** Count and earnings total of one group at one moment. */
+    public static final class Aggregate {
+        private static final Aggregate EMPTY = new Aggregate(0, 0);
+
+        private final long count;
+
+        private final long totalCents;
+
+        Aggregate(long count, long totalCents) {
+            this.count = count;
+            this.totalCents = totalCents;
+        }
+
+        /** @return number of employees in the group */
+        public long getCount() {
+            return count;
+        }
+
+        /** @return sum of the group's monthly earnings, in cents */
+        public long getTotalCents() {
+            return totalCents;
+        }
+
+        /** @return sum of the group's monthly earnings (scale 2) */
+        public BigDecimal getTotal() {
+            return PayrollMath.fromCents(totalCents);
+        }
+
+        /** @return mean monthly earnings, rounded HALF_UP to cents; {@code 0.00} for an empty group */
+        public BigDecimal getAverage() {
+            if (count == 0) return PayrollMath.fromCents(0);
+            return getTotal().divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+        }
+
+        @Override
+        public String toString() {
+            return "Aggregate{count=" + count + ", total=" + getTotal() + "}";
+        }
+    }
+
+    /** Mutable counters of one group; written under the write lock, read optimistically. */
+    private static final class Group {
+        long count;
+        long totalCents;
+    }
+
+    /** Stands in for a {@code null} key, which {@link ConcurrentHashMap} cannot hold. */
+    private static final Object NONE = new Object();
+
+    private final StampedLock lock = new StampedLock();
+
+    private final Group total = new Group();
+
+    private final Map<Object, Group> jobTitles = new ConcurrentHashMap<>();
+
+    private final Map<Object, Group> provinces = new ConcurrentHashMap<>();
+
+    /** Employees currently counted; guarded by the write lock. */
+    private final Set<Employee> members = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Counts an employee and starts tracking its changes. Adding an employee that is already
+     * counted has no effect.
+     *
+     * @param employee an hourly or salaried employee
+     */
+    public void add(Employee employee) {
+        long stamp = lock.writeLock();
+        try {
+            if (!members.add(employee)) return;
+            apply(employee.getJobTitle(), province(employee.getAddressValue()), 1, earningsCents(employee));
+            employee.addChangeListener(this);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Counts every employee.
+     *
+     * @param employees employees to add
+     */
+    public void addAll(Iterable<? extends Employee> employees) {
+        for (Employee e : employees) add(e);
+    }
+
+    /**
+     * Stops counting an employee and tracking its changes. Removing an employee that is not
+     * counted has no effect.
+     *
+     * @param employee previously added employee
+     */
+    public void remove(Employee employee) {
+        long stamp = lock.writeLock();
+        try {
+            if (!members.remove(employee)) return;
+            employee.removeChangeListener(this);
+            apply(employee.getJobTitle(), province(employee.getAddressValue()), -1, -earningsCents(employee));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** @return count and total over every added employee */
+    public Aggregate total() {
+        return read(total);
+    }
+
+    /**
+     * @param jobTitle exact job title, or {@code null} for employees without one
+     * @return count and total of that job title; empty if nobody has it
+     */
+    public Aggregate byJobTitle(String jobTitle) {
+        return read(jobTitles.get(key(jobTitle)));
+    }
+
+    /**
+     * @param province exact province, or {@code null} for employees without an address or province
+     * @return count and total of that province; empty if nobody lives there
+     */
+    public Aggregate byProvince(String province) {
+        return read(provinces.get(key(province)));
+    }
+
+    /**
+     * @return non-empty job title groups sorted by title, {@code null} first
+     */
+    public SortedMap<String, Aggregate> jobTitles() {
+        return snapshot(jobTitles);
+    }
+
+    /**
+     * @return non-empty province groups sorted by province, {@code null} first
+     */
+    public SortedMap<String, Aggregate> provinces() {
+        return snapshot(provinces);
+    }
+
+    /** Applies an earnings delta or moves an employee between groups after a setter. */
+    @Override
+    public void propertyChanged(Person source, ModelProperty property, Object oldValue) {
+        if (!(source instanceof Employee e)) return;
+        switch (property) {
+            case HOURLY_RATE, MONTHLY_HOURS, ANNUAL_SALARY -> {
+                long delta = earningsCents(e) - earningsBefore(e, property, (BigDecimal) oldValue);
+                if (delta == 0) return;
+                long stamp = lock.writeLock();
+                try {
+                    apply(e.getJobTitle(), province(e.getAddressValue()), 0, delta);
+                } finally {
+                    lock.unlockWrite(stamp);
+                }
+            }
+            case JOB_TITLE -> move(jobTitles, oldValue, e.getJobTitle(), earningsCents(e));
+            case ADDRESS -> move(provinces, province((ImmutableAddress) oldValue),
+                    province(e.getAddressValue()), earningsCents(e));
+            default -> {
+            }
+        }
+    }
+
+    // ---- Helpers ------------------------------------------------------------
+
+    /** Adds to the total and both groups of an employee; caller holds the write lock. */
+    private void apply(String jobTitle, String province, int count, long cents) {
+        add(total, count, cents);
+        add(jobTitles.computeIfAbsent(key(jobTitle), k -> new Group()), count, cents);
+        add(provinces.computeIfAbsent(key(province), k -> new Group()), count, cents);
+    }
+
+    private void move(Map<Object, Group> groups, Object oldKey, Object newKey, long cents) {
+        Object from = key(oldKey);
+        Object to = key(newKey);
+        if (from.equals(to)) return;
+        long stamp = lock.writeLock();
+        try {
+            add(groups.computeIfAbsent(from, k -> new Group()), -1, -cents);
+            add(groups.computeIfAbsent(to, k -> new Group()), 1, cents);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private static void add(Group group, int count, long cents) {
+        group.count += count;
+        group.totalCents += cents;
+    }
+
+    private Aggregate read(Group group) {
+        if (group == null) return Aggregate.EMPTY;
+        long stamp = lock.tryOptimisticRead();
+        long count = group.count;
+        long cents = group.totalCents;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                count = group.count;
+                cents = group.totalCents;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return new Aggregate(count, cents);
+    }
+
+    private SortedMap<String, Aggregate> snapshot(Map<Object, Group> groups) {
+        TreeMap<String, Aggregate> out = new TreeMap<>(Comparator.nullsFirst(Comparator.naturalOrder()));
+        long stamp = lock.readLock();
+        try {
+            groups.forEach((k, g) -> {
+                if (g.count != 0) out.put(k == NONE ? null : (String) k, new Aggregate(g.count, g.totalCents));
+            });
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        return Collections.unmodifiableSortedMap(out);
+    }
+
+    private static Object key(Object value) {
+        return value == null ? NONE : value;
+    }
+
+    private static String province(ImmutableAddress address) {
+        return address == null ? null : address.getProvince();
+    }
+
+    /** Earnings in cents from the current pay fields; unset fields count as zero. */
+    private static long earningsCents(Employee e) {
+        if (e instanceof HourlyEmployee he) {
+            return PayrollMath.hourlyEarningsCents(PayrollMath.toCents(he.getHourlyRate()),
+                    PayrollMath.toCents(he.getMonthlyHours()));
+        }
+        if (e instanceof SalaryEmployee se) {
+            return PayrollMath.monthlyEarningsCents(PayrollMath.toCents(se.getAnnualSalary()));
+        }
+        return PayrollMath.toCents(e.getEarnings());
+    }
+
+    /** Earnings in cents before {@code property} changed from {@code old}. */
+    private static long earningsBefore(Employee e, ModelProperty property, BigDecimal old) {
+        return switch (property) {
+            case HOURLY_RATE -> PayrollMath.hourlyEarningsCents(PayrollMath.toCents(old),
+                    PayrollMath.toCents(((HourlyEmployee) e).getMonthlyHours()));
+            case MONTHLY_HOURS -> PayrollMath.hourlyEarningsCents(
+                    PayrollMath.toCents(((HourlyEmployee) e).getHourlyRate()), PayrollMath.toCents(old));
+            default -> PayrollMath.monthlyEarningsCents(PayrollMath.toCents(old));
+        };
+    }
+}
@@ -0,0 +1,89 @@
+package com.jaypatel.emanager.payroll;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Primitive {@code long} arithmetic that reproduces the earnings rules of the model classes.
+ * <p>
+ * Money is held as cents and hours as centi-hours (both scale 2). Every method here returns
+ * exactly what the corresponding {@link BigDecimal} expression in
+ * {@link com.jaypatel.emanager.model.HourlyEmployee#getEarnings()} or
+ * {@link com.jaypatel.emanager.model.SalaryEmployee#getEarnings()} returns, expressed in cents,
+ * without allocating.
+ * </p>
+ */
+public final class PayrollMath {
+
+    private PayrollMath() {
+    }
+
+    /**
+     * Converts a monetary or hours value to its scale-2 {@code long} form.
+     * <p>The value is rounded to 2 decimals with HALF_UP, the same way the model setters do.</p>
+     *
+     * @param value amount; {@code null} is treated as zero
+     * @return the value in hundredths (cents or centi-hours)
+     * @throws ArithmeticException if the value does not fit in a {@code long} once scaled
+     */
+    public static long toCents(BigDecimal value) {
+        if (value == null) return 0L;
+        return value.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Converts a scale-2 {@code long} back to a {@link BigDecimal} with scale 2.
+     *
+     * @param cents value in hundredths
+     * @return the equivalent {@code BigDecimal} (scale 2)
+     */
+    public static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    /**
+     * Hourly earnings: {@code rate × hours}, rounded to cents with HALF_UP.
+     * <p>The product of two scale-2 values has scale 4; it is divided by 100 with HALF_UP rounding.
+     * Products that overflow 64 bits fall back to {@link BigDecimal} (rare, slow path).</p>
+     *
+     * @param hourlyRateCents   hourly rate in cents
+     * @param monthlyHoursCenti hours in centi-hours
+     * @return earnings in cents
+     * @throws ArithmeticException if the rounded earnings do not fit in a {@code long}
+     */
+    public static long hourlyEarningsCents(long hourlyRateCents, long monthlyHoursCenti) {
+        long high = Math.multiplyHigh(hourlyRateCents, monthlyHoursCenti);
+        long low = hourlyRateCents * monthlyHoursCenti;
+        // The 128-bit product fits in a long only if the high word is the sign extension of the low word.
+        if (high != (low >> 63)) {
+            return BigDecimal.valueOf(hourlyRateCents, 2)
+                    .multiply(BigDecimal.valueOf(monthlyHoursCenti, 2))
+                    .setScale(2, RoundingMode.HALF_UP)
+                    .unscaledValue()
+                    .longValueExact();
+        }
+        return divideHalfUp(low, 100L);
+    }
+
+    /**
+     * Salaried monthly earnings: {@code annualSalary / 12}, rounded to cents with HALF_UP.
+     *
+     * @param annualSalaryCents annual salary in cents
+     * @return monthly earnings in cents
+     */
+    public static long monthlyEarningsCents(long annualSalaryCents) {
+        return divideHalfUp(annualSalaryCents, 12L);
+    }
+
+    // ---- Helpers ------------------------------------------------------------
+
+    /** Integer division rounding half away from zero, i.e. {@link RoundingMode#HALF_UP}. */
+    private static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (Math.abs(remainder) * 2 >= divisor) {
+            quotient += Long.signum(dividend);
+        }
+        return quotient;
+    }
+}
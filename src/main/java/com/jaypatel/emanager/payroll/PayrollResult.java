@@ -0,0 +1,71 @@
+package com.jaypatel.emanager.payroll;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Outcome of a {@link PayrollRunner} run: per-employee earnings, the grand total and the
+ * subtotal per job title.
+ * <p>
+ * All sums are exact {@link BigDecimal} additions of scale-2 amounts, so they do not depend on
+ * the order in which partial results were combined.
+ * </p>
+ */
+public final class PayrollResult {
+    private final int[] employeeIds;
+
+    private final BigDecimal[] earnings;
+
+    private final BigDecimal total;
+
+    private final SortedMap<String, BigDecimal> subtotalsByJobTitle;
+
+    PayrollResult(int[] employeeIds, BigDecimal[] earnings, BigDecimal total, Map<String, BigDecimal> subtotals) {
+        this.employeeIds = employeeIds;
+        this.earnings = earnings;
+        this.total = total;
+        TreeMap<String, BigDecimal> sorted = new TreeMap<>(Comparator.nullsFirst(Comparator.naturalOrder()));
+        sorted.putAll(subtotals);
+        this.subtotalsByJobTitle = Collections.unmodifiableSortedMap(sorted);
+    }
+
+    /** @return number of employees in the run */
+    public int size() {
+        return earnings.length;
+    }
+
+    /**
+     * @param index position of the employee in the input list
+     * @return the employee id at that position
+     */
+    public int getEmployeeId(int index) {
+        return employeeIds[index];
+    }
+
+    /**
+     * @param index position of the employee in the input list
+     * @return that employee's earnings (scale 2)
+     */
+    public BigDecimal getEarnings(int index) {
+        return earnings[index];
+    }
+
+    /** @return the sum of all earnings (scale 2) */
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    /**
+     * Subtotals keyed by job title, sorted by title; employees without a title are grouped
+     * under the {@code null} key, which sorts first.
+     *
+     * @return an unmodifiable view of the subtotals
+     */
+    public SortedMap<String, BigDecimal> getSubtotalsByJobTitle() {
+        return subtotalsByJobTitle;
+    }
+}
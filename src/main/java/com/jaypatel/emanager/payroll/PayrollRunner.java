@@ -0,0 +1,154 @@
+package com.jaypatel.emanager.payroll;
+
+import com.jaypatel.emanager.metrics.Metrics;
+import com.jaypatel.emanager.metrics.Operation;
+import com.jaypatel.emanager.model.Employee;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Runs {@link Employee#getEarnings()} over a roster in parallel using fork-join work splitting.
+ * <p>
+ * The roster is split in halves until slices are small enough, each slice is computed
+ * sequentially, and partial totals are merged on the way back up. Because the partials are
+ * exact {@link BigDecimal} sums, the result is identical for any parallelism or split order.
+ * </p>
+ * <p>Each run is reported to {@link Metrics} as an {@link Operation#PAYROLL_RUN}.</p>
+ *
+ * <h3>Example</h3>
+ * <pre>{@code
+ * try (PayrollRunner runner = new PayrollRunner(32)) {
+ *     PayrollResult result = runner.run(employees);
+ *     System.out.println(result.getTotal());
+ * }
+ * }</pre>
+ */
+public final class PayrollRunner implements AutoCloseable {
+    /** Slices at or below this size are computed sequentially. */
+    private static final int MIN_SLICE = 1024;
+
+    private static final BigDecimal ZERO = BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP);
+
+    private final ForkJoinPool pool;
+
+    private final boolean ownsPool;
+
+    /** Creates a runner on the common fork-join pool. */
+    public PayrollRunner() {
+        this.pool = ForkJoinPool.commonPool();
+        this.ownsPool = false;
+    }
+
+    /**
+     * Creates a runner with a dedicated pool; {@link #close()} shuts it down.
+     *
+     * @param parallelism number of worker threads (at least 1)
+     * @throws IllegalArgumentException if {@code parallelism} is less than 1
+     */
+    public PayrollRunner(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be >= 1: " + parallelism);
+        }
+        this.pool = new ForkJoinPool(parallelism);
+        this.ownsPool = true;
+    }
+
+    /**
+     * Computes earnings, the grand total and per-job-title subtotals for every employee.
+     *
+     * @param employees roster to pay; elements must be non-null
+     * @return the run result, with per-employee values in input order
+     */
+    public PayrollResult run(Collection<? extends Employee> employees) {
+        Metrics.Span span = Metrics.start(Operation.PAYROLL_RUN);
+        Employee[] roster = employees.toArray(new Employee[0]);
+        int[] ids = new int[roster.length];
+        BigDecimal[] earnings = new BigDecimal[roster.length];
+        int slice = Math.max(MIN_SLICE, roster.length / (pool.getParallelism() * 8));
+
+        Partial partial = pool.invoke(new SliceTask(roster, ids, earnings, 0, roster.length, slice));
+        span.end(roster.length);
+        return new PayrollResult(ids, earnings, partial.total, partial.subtotals);
+    }
+
+    /** Shuts down the dedicated pool, if this runner created one. */
+    @Override
+    public void close() {
+        if (ownsPool) {
+            pool.shutdown();
+        }
+    }
+
+    // ---- Helpers ------------------------------------------------------------
+
+    /** Sum of one slice: grand total plus subtotals by job title. */
+    private static final class Partial {
+        private BigDecimal total = ZERO;
+
+        private final Map<String, BigDecimal> subtotals = new HashMap<>();
+
+        private void add(String jobTitle, BigDecimal amount) {
+            total = total.add(amount);
+            subtotals.merge(jobTitle, amount, BigDecimal::add);
+        }
+
+        private Partial merge(Partial other) {
+            total = total.add(other.total);
+            other.subtotals.forEach((title, amount) -> subtotals.merge(title, amount, BigDecimal::add));
+            return this;
+        }
+    }
+
+    /** Splits {@code [from, to)} in halves until it is at most {@code slice} long. */
+    private static final class SliceTask extends RecursiveTask<Partial> {
+        private static final long serialVersionUID = 1L;
+
+        private final Employee[] roster;
+
+        private final int[] ids;
+
+        private final BigDecimal[] earnings;
+
+        private final int from;
+
+        private final int to;
+
+        private final int slice;
+
+        SliceTask(Employee[] roster, int[] ids, BigDecimal[] earnings, int from, int to, int slice) {
+            this.roster = roster;
+            this.ids = ids;
+            this.earnings = earnings;
+            this.from = from;
+            this.to = to;
+            this.slice = slice;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (to - from <= slice) {
+                Partial partial = new Partial();
+                for (int i = from; i < to; i++) {
+                    Employee e = roster[i];
+                    BigDecimal amount = e.getEarnings();
+                    ids[i] = e.getEmployeeId();
+                    earnings[i] = amount;
+                    partial.add(e.getJobTitle(), amount);
+                }
+                return partial;
+            }
+            int mid = (from + to) >>> 1;
+            SliceTask left = new SliceTask(roster, ids, earnings, from, mid, slice);
+            SliceTask right = new SliceTask(roster, ids, earnings, mid, to, slice);
+            left.fork();
+            Partial rightResult = right.compute();
+            return left.join().merge(rightResult);
+        }
+    }
+}
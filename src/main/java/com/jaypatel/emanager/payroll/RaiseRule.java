@@ -0,0 +1,180 @@
+package com.jaypatel.emanager.payroll;
+
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.model.HourlyEmployee;
+import com.jaypatel.emanager.model.ImmutableAddress;
+import com.jaypatel.emanager.model.SalaryEmployee;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+/**
+ * One line of a raise: "increase {@code hourlyRate} by 3% for hourly employees titled X" or
+ * "increase {@code annualSalary} by 2.5% for salaried employees in province Y".
+ * <p>
+ * Rules are immutable; the {@code where...} methods return narrowed copies. A rule with no
+ * conditions matches every employee of its type. The new amount is the old one times
+ * {@code 1 + percent / 100}, rounded to cents with HALF_UP, as the setters would round it, but it
+ * is computed with {@code long} arithmetic on cents.
+ * </p>
+ *
+ * <h3>Example</h3>
+ * <pre>{@code
+ * List<RaiseRule> rules = List.of(
+ *         RaiseRule.hourlyRate(new BigDecimal("3")).whereJobTitle("Technician"),
+ *         RaiseRule.annualSalary(new BigDecimal("2.5")).whereProvince("SK"));
+ * }</pre>
+ */
+public final class RaiseRule {
+    /** The amount a rule changes. */
+    public enum Target {
+        /** {@link HourlyEmployee#setHourlyRate(BigDecimal)}. */
+        HOURLY_RATE,
+        /** {@link SalaryEmployee#setAnnualSalary(BigDecimal)}. */
+        ANNUAL_SALARY
+    }
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final Target target;
+
+    private final BigDecimal percent;
+
+    private final String jobTitle;
+
+    private final String province;
+
+    /** {@code 1 + percent / 100} as {@code factorUnscaled / factorDivisor}. */
+    private final BigDecimal factor;
+
+    private final long factorUnscaled;
+
+    /** Power of ten, or 0 if the factor has no exact {@code long} form and BigDecimal is used. */
+    private final long factorDivisor;
+
+    private RaiseRule(Target target, BigDecimal percent, String jobTitle, String province) {
+        this.target = target;
+        this.percent = percent;
+        this.jobTitle = jobTitle;
+        this.province = province;
+        BigDecimal f = BigDecimal.ONE.add(percent.movePointLeft(2)).stripTrailingZeros();
+        this.factor = f.scale() < 0 ? f.setScale(0) : f;
+        if (factor.scale() <= 18 && factor.unscaledValue().bitLength() < Long.SIZE) {
+            this.factorUnscaled = factor.unscaledValue().longValue();
+            this.factorDivisor = BigDecimal.ONE.movePointRight(factor.scale()).longValueExact();
+        } else {
+            this.factorUnscaled = 0L;
+            this.factorDivisor = 0L;
+        }
+    }
+
+    /**
+     * @param percent raise in percent, e.g. {@code 3} or {@code 2.5}; negative for a cut, at
+     *                least {@code -100}
+     * @return a rule raising the hourly rate of every hourly employee
+     * @throws IllegalArgumentException if {@code percent} is below {@code -100}
+     */
+    public static RaiseRule hourlyRate(BigDecimal percent) {
+        return new RaiseRule(Target.HOURLY_RATE, checkedPercent(percent), null, null);
+    }
+
+    /**
+     * @param percent raise in percent, e.g. {@code 3} or {@code 2.5}; negative for a cut, at
+     *                least {@code -100}
+     * @return a rule raising the annual salary of every salaried employee
+     * @throws IllegalArgumentException if {@code percent} is below {@code -100}
+     */
+    public static RaiseRule annualSalary(BigDecimal percent) {
+        return new RaiseRule(Target.ANNUAL_SALARY, checkedPercent(percent), null, null);
+    }
+
+    /**
+     * @param jobTitle exact job title to match
+     * @return a copy of this rule that also requires this job title
+     */
+    public RaiseRule whereJobTitle(String jobTitle) {
+        return new RaiseRule(target, percent, Objects.requireNonNull(jobTitle, "jobTitle"), province);
+    }
+
+    /**
+     * @param province exact province of the employee's address to match
+     * @return a copy of this rule that also requires this province
+     */
+    public RaiseRule whereProvince(String province) {
+        return new RaiseRule(target, percent, jobTitle, Objects.requireNonNull(province, "province"));
+    }
+
+    /** @return the amount this rule changes */
+    public Target getTarget() {
+        return target;
+    }
+
+    /** @return the raise in percent */
+    public BigDecimal getPercent() {
+        return percent;
+    }
+
+    /**
+     * @param employee employee to test
+     * @return {@code true} if the employee has the rule's type, job title and province
+     */
+    public boolean matches(Employee employee) {
+        boolean type = target == Target.HOURLY_RATE
+                ? employee instanceof HourlyEmployee
+                : employee instanceof SalaryEmployee;
+        if (!type) return false;
+        if (jobTitle != null && !jobTitle.equals(employee.getJobTitle())) return false;
+        if (province == null) return true;
+        ImmutableAddress address = employee.getAddressValue();
+        return address != null && province.equals(address.getProvince());
+    }
+
+    /**
+     * @param employee an employee this rule {@link #matches(Employee) matches}
+     * @return the current amount the rule changes, in cents
+     */
+    long currentCents(Employee employee) {
+        BigDecimal amount = target == Target.HOURLY_RATE
+                ? ((HourlyEmployee) employee).getHourlyRate()
+                : ((SalaryEmployee) employee).getAnnualSalary();
+        // Model amounts always have scale 2, so this is exact and avoids a BigInteger.
+        return amount.scaleByPowerOfTen(2).longValueExact();
+    }
+
+    /**
+     * Applies the raise to a non-negative amount.
+     *
+     * @param cents current amount in cents
+     * @return {@code cents × (1 + percent / 100)}, rounded to cents with HALF_UP
+     * @throws ArithmeticException if the result does not fit in a {@code long}
+     */
+    long raisedCents(long cents) {
+        if (factorDivisor != 0) {
+            long high = Math.multiplyHigh(cents, factorUnscaled);
+            long low = cents * factorUnscaled;
+            // Both operands are non-negative, so the product fits if the high word is zero and the sign bit clear.
+            if (high == 0 && low >= 0) {
+                long quotient = low / factorDivisor;
+                return (low % factorDivisor) * 2 >= factorDivisor ? quotient + 1 : quotient;
+            }
+        }
+        return BigDecimal.valueOf(cents).multiply(factor).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    @Override
+    public String toString() {
+        return target + (percent.signum() < 0 ? " " : " +") + percent.toPlainString() + "%"
+                + (jobTitle == null ? "" : " where jobTitle = '" + jobTitle + "'")
+                + (province == null ? "" : " where province = '" + province + "'");
+    }
+
+    // ---- Helpers ------------------------------------------------------------
+
+    private static BigDecimal checkedPercent(BigDecimal percent) {
+        if (percent.compareTo(HUNDRED.negate()) < 0) {
+            throw new IllegalArgumentException("percent must be >= -100: " + percent);
+        }
+        return percent;
+    }
+}
@@ -0,0 +1,186 @@
+package com.jaypatel.emanager.payroll;
+
+import com.jaypatel.emanager.model.Employee;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * The {@code k} highest earners seen so far, kept in a bounded min-heap.
+ * <p>
+ * Each offer is compared with the heap's root, the lowest-ranked entry kept; most employees
+ * fail that single {@code long} comparison, so selecting the top 100 of a million is close to
+ * one pass of reads rather than an {@code O(n log n)} sort of {@link BigDecimal}s. Entries are
+ * parallel {@code int}/{@code long} arrays, with earnings in cents via
+ * {@link Employee#getEarningsCents()}. Instances built over separate partitions combine with
+ * {@link #merge(TopEarners)}.
+ * </p>
+ * <p>Ranking is by earnings, highest first, and ties go to the lower employee id, so the
+ * result does not depend on the order of offers or merges.</p>
+ *
+ * <h3>Example</h3>
+ * <pre>{@code
+ * TopEarners top = new TopEarners(100);
+ * for (Employee e : roster) top.add(e);
+ * int[] ids = top.employeeIds();   // highest earner first
+ * }</pre>
+ *
+ * <p><b>Note:</b> instances are not thread-safe.</p>
+ */
+public final class TopEarners {
+    private final int k;
+
+    private final int[] ids;
+
+    private final long[] cents;
+
+    private int size;
+
+    /**
+     * @param k number of earners to keep (at least 1)
+     * @throws IllegalArgumentException if {@code k} is less than 1
+     */
+    public TopEarners(int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be >= 1: " + k);
+        }
+        this.k = k;
+        this.ids = new int[k];
+        this.cents = new long[k];
+    }
+
+    /**
+     * Creates a copy of another instance.
+     *
+     * @param other instance to copy
+     */
+    public TopEarners(TopEarners other) {
+        this.k = other.k;
+        this.ids = other.ids.clone();
+        this.cents = other.cents.clone();
+        this.size = other.size;
+    }
+
+    /**
+     * Offers an employee.
+     *
+     * @param employee employee to rank
+     * @throws ArithmeticException if the earnings do not fit in {@code long} cents
+     */
+    public void add(Employee employee) {
+        offer(employee.getEmployeeId(), employee.getEarningsCents());
+    }
+
+    /**
+     * Offers one earnings value.
+     *
+     * @param employeeId    employee id
+     * @param earningsCents earnings in cents
+     */
+    public void offer(int employeeId, long earningsCents) {
+        if (size < k) {
+            ids[size] = employeeId;
+            cents[size] = earningsCents;
+            siftUp(size++);
+        } else if (outranks(employeeId, earningsCents, ids[0], cents[0])) {
+            ids[0] = employeeId;
+            cents[0] = earningsCents;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Adds every entry of another instance, e.g. one built over a different partition.
+     *
+     * @param other entries to add; unchanged
+     * @return this instance
+     */
+    public TopEarners merge(TopEarners other) {
+        for (int i = 0; i < other.size; i++) offer(other.ids[i], other.cents[i]);
+        return this;
+    }
+
+    /** @return number of entries kept, at most {@link #getK()} */
+    public int size() {
+        return size;
+    }
+
+    /** @return capacity given at construction */
+    public int getK() {
+        return k;
+    }
+
+    /** @return ids of the kept earners, highest earner first */
+    public int[] employeeIds() {
+        int[] order = ranking();
+        int[] result = new int[size];
+        for (int i = 0; i < size; i++) result[i] = ids[order[i]];
+        return result;
+    }
+
+    /** @return earnings of the kept earners in cents, in the order of {@link #employeeIds()} */
+    public long[] earningsCents() {
+        int[] order = ranking();
+        long[] result = new long[size];
+        for (int i = 0; i < size; i++) result[i] = cents[order[i]];
+        return result;
+    }
+
+    /** @return earnings of the kept earners (scale 2), in the order of {@link #employeeIds()} */
+    public BigDecimal[] earnings() {
+        long[] c = earningsCents();
+        BigDecimal[] result = new BigDecimal[c.length];
+        for (int i = 0; i < c.length; i++) result[i] = PayrollMath.fromCents(c[i]);
+        return result;
+    }
+
+    // ---- Helpers ------------------------------------------------------------
+
+    /** Heap slots sorted from best to worst; sorts a k-sized index, not the heap. */
+    private int[] ranking() {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> outranks(ids[a], cents[a], ids[b], cents[b]) ? -1
+                : outranks(ids[b], cents[b], ids[a], cents[a]) ? 1 : 0);
+        int[] result = new int[size];
+        for (int i = 0; i < size; i++) result[i] = order[i];
+        return result;
+    }
+
+    /** Higher earnings first; on a tie, the lower id. */
+    private static boolean outranks(int id, long c, int otherId, long otherCents) {
+        return c != otherCents ? c > otherCents : id < otherId;
+    }
+
+    /** Restores the min-heap (worst entry at the root) upwards from {@code i}. */
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!outranks(ids[parent], cents[parent], ids[i], cents[i])) break;
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) break;
+            int worst = left;
+            int right = left + 1;
+            if (right < size && outranks(ids[worst], cents[worst], ids[right], cents[right])) worst = right;
+            if (!outranks(ids[i], cents[i], ids[worst], cents[worst])) break;
+            swap(i, worst);
+            i = worst;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        long c = cents[a];
+        cents[a] = cents[b];
+        cents[b] = c;
+    }
+}
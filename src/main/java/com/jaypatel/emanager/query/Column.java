@@ -0,0 +1,92 @@
+package com.jaypatel.emanager.query;
+
+import com.jaypatel.emanager.index.EmployeeIndexes;
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.model.HourlyEmployee;
+import com.jaypatel.emanager.model.ImmutableAddress;
+import com.jaypatel.emanager.model.SalaryEmployee;
+
+import java.util.Locale;
+
+/**
+ * Queryable employee fields and how {@link EmployeeTable} stores them.
+ * <p>
+ * Text columns are dictionary-encoded; numeric columns are {@code long}s at a fixed decimal
+ * scale (money in cents, hours in centi-hours). Pay inputs that do not apply to an employee's
+ * type (the hourly rate of a salaried employee) are null.
+ * </p>
+ */
+public enum Column {
+    /** {@link Employee#getEmployeeId()}. */
+    EMPLOYEE_ID(0),
+    /** {@code "HOURLY"} or {@code "SALARY"}. */
+    TYPE(-1),
+    /** {@link Employee#getLastName()}. */
+    LAST_NAME(-1),
+    /** {@link Employee#getFirstName()}. */
+    FIRST_NAME(-1),
+    /** {@link Employee#getJobTitle()}. */
+    JOB_TITLE(-1),
+    /** {@link ImmutableAddress#getCity()}. */
+    CITY(-1),
+    /** {@link ImmutableAddress#getProvince()}. */
+    PROVINCE(-1),
+    /** {@link ImmutableAddress#getPostalCode()}. */
+    POSTAL_CODE(-1),
+    /** {@link Employee#getEarnings()}. */
+    EARNINGS(2),
+    /** {@link HourlyEmployee#getHourlyRate()}; null for salaried employees. */
+    HOURLY_RATE(2),
+    /** {@link HourlyEmployee#getMonthlyHours()}; null for salaried employees. */
+    MONTHLY_HOURS(2),
+    /** {@link SalaryEmployee#getAnnualSalary()}; null for hourly employees. */
+    ANNUAL_SALARY(2);
+
+    private static final Column[] VALUES = values();
+
+    /** Decimal places of a numeric column, or -1 for text. */
+    private final int scale;
+
+    /** Query name, e.g. {@code JOB_TITLE → "jobtitle"}; matched case-insensitively. */
+    private final String key = name().replace("_", "").toLowerCase(Locale.ROOT);
+
+    Column(int scale) {
+        this.scale = scale;
+    }
+
+    /** @return {@code true} for dictionary-encoded text columns */
+    public boolean isText() {
+        return scale < 0;
+    }
+
+    /** @return decimal places of a numeric column; -1 for text */
+    public int getScale() {
+        return scale;
+    }
+
+    /**
+     * Resolves a field name as written in a query: {@code jobTitle}, {@code job_title} and
+     * {@code JOBTITLE} all name {@link #JOB_TITLE}.
+     *
+     * @param name field name
+     * @return the column
+     * @throws IllegalArgumentException if no column has that name
+     */
+    public static Column byName(String name) {
+        String key = name.replace("_", "").toLowerCase(Locale.ROOT);
+        for (Column c : VALUES) {
+            if (c.key.equals(key)) return c;
+        }
+        throw new IllegalArgumentException("Unknown field: " + name);
+    }
+
+    /** @return the {@link EmployeeIndexes} field holding this column's values, or {@code null} */
+    EmployeeIndexes.Field indexField() {
+        return switch (this) {
+            case JOB_TITLE -> EmployeeIndexes.Field.JOB_TITLE;
+            case PROVINCE -> EmployeeIndexes.Field.PROVINCE;
+            case CITY -> EmployeeIndexes.Field.CITY;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,389 @@
+package com.jaypatel.emanager.query;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Compiled predicate node. Nodes work on a <em>selection vector</em>: an ascending array of row
+ * indexes of at most {@link #BATCH} rows. {@link #filter} keeps the rows that match, compacting
+ * the array in place, so a conjunction is just its parts applied one after another, each seeing
+ * only the survivors of the previous one. Leaves loop over the batch with an array read and a
+ * branch-free compare per row; the only virtual call is one per node per batch.
+ */
+abstract class Condition {
+    /** Rows per selection vector. */
+    static final int BATCH = 1024;
+
+    /** Comparison operators. */
+    enum Op {
+        EQ, NE, LT, LE, GT, GE
+    }
+
+    /**
+     * Keeps the rows of {@code sel[0..n)} that match.
+     *
+     * @param ev  per-run state
+     * @param sel ascending row indexes; compacted in place
+     * @param n   number of rows in {@code sel}
+     * @return number of matching rows, now in {@code sel[0..result)}, still ascending
+     */
+    abstract int filter(Evaluation ev, int[] sel, int n);
+
+    /** Per-run state: the table, dictionary match vectors and scratch selection vectors. */
+    static final class Evaluation {
+        final EmployeeTable table;
+
+        private final Map<TextMatch, byte[]> matches = new IdentityHashMap<>();
+
+        private final List<int[]> buffers = new ArrayList<>();
+
+        private int used;
+
+        Evaluation(EmployeeTable table) {
+            this.table = table;
+        }
+
+        /** Per dictionary code: 1 if the value matches, else 0; computed once per run. */
+        byte[] match(TextMatch node) {
+            return matches.computeIfAbsent(node, m -> m.evaluate(table.dictionary(m.column)));
+        }
+
+        int[] acquire() {
+            if (used == buffers.size()) buffers.add(new int[BATCH]);
+            return buffers.get(used++);
+        }
+
+        void release(int count) {
+            used -= count;
+        }
+    }
+
+    // ---- Leaves ---------------------------------------------------------------
+
+    /** Matches every row, or none. */
+    static final class Constant extends Condition {
+        static final Constant TRUE = new Constant(true);
+        static final Constant FALSE = new Constant(false);
+
+        private final boolean value;
+
+        private Constant(boolean value) {
+            this.value = value;
+        }
+
+        @Override
+        int filter(Evaluation ev, int[] sel, int n) {
+            return value ? n : 0;
+        }
+    }
+
+    /**
+     * Text predicate, evaluated once per distinct value of the column's dictionary; rows are then
+     * matched by looking up their code.
+     */
+    static final class TextMatch extends Condition {
+        final Column column;
+
+        /** The literal of an {@code =} comparison, which an index can answer; otherwise {@code null}. */
+        final String equalTo;
+
+        private final Predicate<String> test;
+
+        TextMatch(Column column, String equalTo, Predicate<String> test) {
+            this.column = column;
+            this.equalTo = equalTo;
+            this.test = test;
+        }
+
+        byte[] evaluate(String[] dictionary) {
+            byte[] match = new byte[dictionary.length];
+            for (int code = 0; code < dictionary.length; code++) match[code] = (byte) (test.test(dictionary[code]) ? 1 : 0);
+            return match;
+        }
+
+        @Override
+        int filter(Evaluation ev, int[] sel, int n) {
+            final byte[] match = ev.match(this);
+            final int[] codes = ev.table.codes(column);
+            int m = 0;
+            for (int i = 0; i < n; i++) {
+                int r = sel[i];
+                sel[m] = r;
+                m += match[codes[r]];
+            }
+            return m;
+        }
+    }
+
+    /** {@code column op value} over a numeric column; null values never match. */
+    static final class NumberCompare extends Condition {
+        private final Column column;
+
+        private final Op op;
+
+        private final long value;
+
+        private NumberCompare(Column column, Op op, long value) {
+            this.column = column;
+            this.op = op;
+            this.value = value;
+        }
+
+        /**
+         * Compiles a comparison against a decimal literal into one exact {@code long} comparison
+         * at the column's scale: {@code earnings > 6000.005} becomes {@code cents >= 600001}.
+         */
+        static Condition of(Column column, Op op, BigDecimal literal) {
+            BigDecimal scaled = literal.movePointRight(column.getScale());
+            BigDecimal floor = scaled.setScale(0, RoundingMode.FLOOR);
+            BigDecimal ceiling = scaled.setScale(0, RoundingMode.CEILING);
+            boolean exact = floor.compareTo(ceiling) == 0;
+            Condition notNull = new NumberIsNull(column, false);
+            switch (op) {
+                case EQ:
+                    return exact && inRange(floor) ? new NumberCompare(column, op, floor.longValue()) : Constant.FALSE;
+                case NE:
+                    return exact && inRange(floor) ? new NumberCompare(column, op, floor.longValue()) : notNull;
+                case GT:
+                case GE: {
+                    // x > v  <=>  x >= ceil(v) when v has a fraction; x > v stays as is otherwise.
+                    Op effective = exact ? op : Op.GE;
+                    if (ceiling.compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) > 0) return Constant.FALSE;
+                    if (!inRange(ceiling)) return notNull;
+                    return new NumberCompare(column, effective, ceiling.longValue());
+                }
+                default: {
+                    // x < v  <=>  x <= floor(v) when v has a fraction.
+                    Op effective = exact ? op : Op.LE;
+                    if (floor.compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) > 0) return notNull;
+                    if (!inRange(floor)) return Constant.FALSE;
+                    return new NumberCompare(column, effective, floor.longValue());
+                }
+            }
+        }
+
+        /** Within the values a column can hold, i.e. excluding the {@link EmployeeTable#NULL} sentinel. */
+        private static boolean inRange(BigDecimal v) {
+            return v.compareTo(BigDecimal.valueOf(Long.MIN_VALUE + 1)) >= 0
+                    && v.compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) <= 0;
+        }
+
+        @Override
+        int filter(Evaluation ev, int[] sel, int n) {
+            final long[] col = ev.table.numbers(column);
+            final long v = value;
+            final long nul = EmployeeTable.NULL;
+            int m = 0;
+            // One loop per operator keeps the operator test out of the per-row path. Since v is
+            // never the NULL sentinel, =, > and >= reject nulls on their own.
+            switch (op) {
+                case EQ:
+                    for (int i = 0; i < n; i++) {
+                        int r = sel[i];
+                        sel[m] = r;
+                        m += col[r] == v ? 1 : 0;
+                    }
+                    break;
+                case NE:
+                    for (int i = 0; i < n; i++) {
+                        int r = sel[i];
+                        long x = col[r];
+                        sel[m] = r;
+                        m += x != v & x != nul ? 1 : 0;
+                    }
+                    break;
+                case LT:
+                    for (int i = 0; i < n; i++) {
+                        int r = sel[i];
+                        long x = col[r];
+                        sel[m] = r;
+                        m += x < v & x != nul ? 1 : 0;
+                    }
+                    break;
+                case LE:
+                    for (int i = 0; i < n; i++) {
+                        int r = sel[i];
+                        long x = col[r];
+                        sel[m] = r;
+                        m += x <= v & x != nul ? 1 : 0;
+                    }
+                    break;
+                case GT:
+                    for (int i = 0; i < n; i++) {
+                        int r = sel[i];
+                        sel[m] = r;
+                        m += col[r] > v ? 1 : 0;
+                    }
+                    break;
+                default:
+                    for (int i = 0; i < n; i++) {
+                        int r = sel[i];
+                        sel[m] = r;
+                        m += col[r] >= v ? 1 : 0;
+                    }
+                    break;
+            }
+            return m;
+        }
+    }
+
+    /** {@code column IN (v1, v2, ...)} over a numeric column. */
+    static final class NumberIn extends Condition {
+        private final Column column;
+
+        /** Sorted, exact values at the column's scale; literals with extra decimals are dropped. */
+        private final long[] values;
+
+        NumberIn(Column column, List<BigDecimal> literals) {
+            this.column = column;
+            long[] scaled = new long[literals.size()];
+            int count = 0;
+            for (BigDecimal literal : literals) {
+                BigDecimal s = literal.movePointRight(column.getScale()).stripTrailingZeros();
+                if (s.scale() <= 0 && NumberCompare.inRange(s)) scaled[count++] = s.longValueExact();
+            }
+            this.values = Arrays.copyOf(scaled, count);
+            Arrays.sort(values);
+        }
+
+        @Override
+        int filter(Evaluation ev, int[] sel, int n) {
+            final long[] col = ev.table.numbers(column);
+            final long[] in = values;
+            int m = 0;
+            for (int i = 0; i < n; i++) {
+                int r = sel[i];
+                sel[m] = r;
+                m += Arrays.binarySearch(in, col[r]) >= 0 ? 1 : 0;
+            }
+            return m;
+        }
+    }
+
+    /** {@code column IS [NOT] NULL} over a numeric column. */
+    static final class NumberIsNull extends Condition {
+        private final Column column;
+
+        private final boolean isNull;
+
+        NumberIsNull(Column column, boolean isNull) {
+            this.column = column;
+            this.isNull = isNull;
+        }
+
+        @Override
+        int filter(Evaluation ev, int[] sel, int n) {
+            final long[] col = ev.table.numbers(column);
+            final boolean want = isNull;
+            int m = 0;
+            for (int i = 0; i < n; i++) {
+                int r = sel[i];
+                sel[m] = r;
+                m += (col[r] == EmployeeTable.NULL) == want ? 1 : 0;
+            }
+            return m;
+        }
+    }
+
+    // ---- Combinators ----------------------------------------------------------
+
+    /** All parts match; each part filters the survivors of the previous one. */
+    static final class And extends Condition {
+        final List<Condition> parts;
+
+        And(List<Condition> parts) {
+            this.parts = List.copyOf(parts);
+        }
+
+        @Override
+        int filter(Evaluation ev, int[] sel, int n) {
+            for (Condition part : parts) {
+                if (n == 0) break;
+                n = part.filter(ev, sel, n);
+            }
+            return n;
+        }
+    }
+
+    /**
+     * Either side matches. The right side only sees the rows the left side rejected, and the two
+     * disjoint results are merged back in row order.
+     */
+    static final class Or extends Condition {
+        private final Condition left;
+
+        private final Condition right;
+
+        Or(Condition left, Condition right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        int filter(Evaluation ev, int[] sel, int n) {
+            int[] matched = ev.acquire();
+            int[] rest = ev.acquire();
+            try {
+                System.arraycopy(sel, 0, matched, 0, n);
+                int nl = left.filter(ev, matched, n);
+                int nr = difference(sel, n, matched, nl, rest);
+                nr = right.filter(ev, rest, nr);
+                // Merge two ascending, disjoint selections into sel.
+                int i = 0;
+                int j = 0;
+                int m = 0;
+                while (i < nl && j < nr) sel[m++] = matched[i] < rest[j] ? matched[i++] : rest[j++];
+                while (i < nl) sel[m++] = matched[i++];
+                while (j < nr) sel[m++] = rest[j++];
+                return m;
+            } finally {
+                ev.release(2);
+            }
+        }
+    }
+
+    /** The child does not match. Unlike SQL, a null field makes the child false, so NOT is true. */
+    static final class Not extends Condition {
+        private final Condition child;
+
+        Not(Condition child) {
+            this.child = child;
+        }
+
+        @Override
+        int filter(Evaluation ev, int[] sel, int n) {
+            int[] matched = ev.acquire();
+            try {
+                System.arraycopy(sel, 0, matched, 0, n);
+                int nm = child.filter(ev, matched, n);
+                return difference(sel, n, matched, nm, sel);
+            } finally {
+                ev.release(1);
+            }
+        }
+    }
+
+    /**
+     * Writes the rows of {@code all} that are not in {@code subset} (both ascending, subset of all)
+     * to {@code out}, which may be {@code all} itself.
+     */
+    static int difference(int[] all, int n, int[] subset, int ns, int[] out) {
+        int j = 0;
+        int m = 0;
+        for (int i = 0; i < n; i++) {
+            int r = all[i];
+            if (j < ns && subset[j] == r) {
+                j++;
+            } else {
+                out[m++] = r;
+            }
+        }
+        return m;
+    }
+}
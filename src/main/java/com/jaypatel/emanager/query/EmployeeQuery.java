@@ -0,0 +1,210 @@
+package com.jaypatel.emanager.query;
+
+import com.jaypatel.emanager.index.EmployeeIndexes;
+import com.jaypatel.emanager.index.IntBitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compiled filter over an {@link EmployeeTable}, written in a small SQL-like language:
+ * <pre>
+ * province = 'SK' AND earnings &gt; 6000 AND jobTitle LIKE 'Eng%'
+ * type = 'HOURLY' AND (hourlyRate &gt;= 30 OR monthlyHours &gt; 170.5)
+ * lastName IN ('Patel', 'Singh') AND NOT city = 'Regina'
+ * postalCode IS NULL OR employeeId &lt; 1000
+ * </pre>
+ * <p>
+ * Fields are the {@link Column}s ({@code jobTitle}, {@code job_title} and {@code JOBTITLE} all
+ * work). Text fields support {@code = != <> < <= > >=}, {@code [NOT] LIKE} with {@code %} and
+ * {@code _}, {@code [NOT] IN} and {@code IS [NOT] NULL}; numeric fields the same except LIKE.
+ * Comparisons are exact and case-sensitive, and any comparison with a null field is false.
+ * </p>
+ * <p>
+ * Evaluation is vectorized rather than object-at-a-time: the table is processed in batches of
+ * row indexes (selection vectors), and each predicate runs as one tight loop over a primitive
+ * column for the whole batch, so a conjunction only touches the rows its earlier parts kept.
+ * Text predicates, LIKE included, are evaluated once per distinct value, not once per row.
+ * Numeric literals are converted once to the column's integer scale, so
+ * {@code earnings > 6000} compares {@code long} cents.
+ * </p>
+ * <p>
+ * Given {@link EmployeeIndexes}, the engine first intersects the postings of every top-level
+ * {@code jobTitle}, {@code province} or {@code city} equality and, if that leaves a small share
+ * of the table, evaluates the query only on those rows. Every predicate is still checked against
+ * the table, so an index that is newer than the table can drop rows that changed since, but never
+ * adds wrong ones; build both from the same roster for exact results.
+ * </p>
+ * <p>Compiled queries are immutable and may be run from several threads at once.</p>
+ *
+ * <h3>Example</h3>
+ * <pre>{@code
+ * EmployeeTable table = EmployeeTable.of(repository);
+ * EmployeeQuery query = EmployeeQuery.compile("province = 'SK' AND earnings > 6000");
+ * int[] ids = query.employeeIds(table, indexes);
+ * List<Object[]> rows = query.project(table, null, Column.LAST_NAME, Column.EARNINGS);
+ * }</pre>
+ */
+public final class EmployeeQuery {
+    /**
+     * Candidates from the indexes are used only if at most 1/n of the table is left. The scan
+     * costs about 1.5 ns per row, so over 1M employees the postings only pay off below about
+     * 2% of the rows.
+     */
+    private static final int INDEX_SELECTIVITY = 64;
+
+    private final String text;
+
+    private final Condition condition;
+
+    /** Top-level {@code field = 'value'} parts an index can answer. */
+    private final List<Condition.TextMatch> indexable = new ArrayList<>();
+
+    private EmployeeQuery(String text, Condition condition) {
+        this.text = text;
+        this.condition = condition;
+        List<Condition> conjuncts = condition instanceof Condition.And and ? and.parts : List.of(condition);
+        for (Condition c : conjuncts) {
+            if (c instanceof Condition.TextMatch m && m.equalTo != null && m.column.indexField() != null) {
+                indexable.add(m);
+            }
+        }
+    }
+
+    /**
+     * Parses and compiles a query.
+     *
+     * @param query query text
+     * @return the compiled query
+     * @throws IllegalArgumentException if the query is malformed, names an unknown field or
+     *                                  compares a field with the wrong kind of literal
+     */
+    public static EmployeeQuery compile(String query) {
+        return new EmployeeQuery(query, QueryParser.parse(query));
+    }
+
+    /**
+     * @param table table to search
+     * @return ids of the matching employees, ascending
+     */
+    public int[] employeeIds(EmployeeTable table) {
+        return employeeIds(table, null);
+    }
+
+    /**
+     * @param table   table to search
+     * @param indexes indexes over the same roster, or {@code null} to scan the table
+     * @return ids of the matching employees, ascending
+     */
+    public int[] employeeIds(EmployeeTable table, EmployeeIndexes indexes) {
+        int[] rows = rows(table, indexes);
+        int[] ids = new int[rows.length];
+        for (int i = 0; i < rows.length; i++) ids[i] = table.getEmployeeId(rows[i]);
+        return ids;
+    }
+
+    /**
+     * @param table   table to search
+     * @param indexes indexes over the same roster, or {@code null} to scan the table
+     * @return number of matching rows
+     */
+    public int count(EmployeeTable table, EmployeeIndexes indexes) {
+        return rows(table, indexes).length;
+    }
+
+    /**
+     * Returns selected fields of the matching employees.
+     *
+     * @param table   table to search
+     * @param indexes indexes over the same roster, or {@code null} to scan the table
+     * @param columns fields to return, in order
+     * @return one array per matching employee (ascending id), holding the values of
+     *         {@code columns} as returned by {@link EmployeeTable#getValue(int, Column)}
+     */
+    public List<Object[]> project(EmployeeTable table, EmployeeIndexes indexes, Column... columns) {
+        int[] rows = rows(table, indexes);
+        List<Object[]> result = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            Object[] values = new Object[columns.length];
+            for (int c = 0; c < columns.length; c++) values[c] = table.getValue(row, columns[c]);
+            result.add(values);
+        }
+        return result;
+    }
+
+    /** @return the query text */
+    @Override
+    public String toString() {
+        return text;
+    }
+
+    // ---- Helpers ------------------------------------------------------------
+
+    /** Runs the query and returns the matching row indexes, ascending. */
+    private int[] rows(EmployeeTable table, EmployeeIndexes indexes) {
+        Condition.Evaluation ev = new Condition.Evaluation(table);
+        IntBitmap ids = indexes == null || indexable.isEmpty() ? null : candidateIds(table, indexes);
+        int[] candidates = ids == null ? null : rowsOf(table, ids);
+        int total = candidates == null ? table.size() : candidates.length;
+        int[] sel = new int[Condition.BATCH];
+        int[] out = new int[Math.min(total, 1024)];
+        int found = 0;
+        for (int start = 0; start < total; start += Condition.BATCH) {
+            int n = Math.min(Condition.BATCH, total - start);
+            if (candidates == null) {
+                for (int i = 0; i < n; i++) sel[i] = start + i;
+            } else {
+                System.arraycopy(candidates, start, sel, 0, n);
+            }
+            n = condition.filter(ev, sel, n);
+            if (found + n > out.length) out = Arrays.copyOf(out, Math.max(found + n, out.length * 2));
+            System.arraycopy(sel, 0, out, found, n);
+            found += n;
+        }
+        return Arrays.copyOf(out, found);
+    }
+
+    /**
+     * Ids in every indexable part's posting, or {@code null} if the postings are not selective
+     * enough to beat a scan.
+     */
+    private IntBitmap candidateIds(EmployeeTable table, EmployeeIndexes indexes) {
+        // Estimate the intersection from the posting sizes, assuming independent fields, before
+        // copying any posting.
+        double estimate = table.size();
+        for (Condition.TextMatch m : indexable) {
+            estimate *= Math.min(1.0, indexes.count(m.column.indexField(), m.equalTo) / (double) Math.max(1, table.size()));
+        }
+        if (estimate * INDEX_SELECTIVITY > table.size()) return null;
+        IntBitmap ids = null;
+        for (Condition.TextMatch m : indexable) {
+            IntBitmap posting = indexes.lookup(m.column.indexField(), m.equalTo);
+            ids = ids == null ? posting : IntBitmap.and(ids, posting);
+            if (ids.isEmpty()) return ids;
+        }
+        return (long) ids.getCardinality() * INDEX_SELECTIVITY > table.size() ? null : ids;
+    }
+
+    /** Table rows holding the given ids, ascending. */
+    private static int[] rowsOf(EmployeeTable table, IntBitmap ids) {
+        // Postings are ordered as unsigned ids: non-negative ids first, then negative ones.
+        // Visiting the negative run first gives signed order, matching the table's rows.
+        int[] sorted = ids.toArray();
+        int firstNegative = 0;
+        while (firstNegative < sorted.length && sorted[firstNegative] >= 0) firstNegative++;
+        int[] rows = new int[sorted.length];
+        int count = 0;
+        int row = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            int id = sorted[(firstNegative + i) % sorted.length];
+            row = table.lowerBound(id, row);
+            // Ids missing from the table were added after the snapshot; repeated ids fill several rows.
+            for (; table.hasId(row, id); row++) {
+                if (count == rows.length) rows = Arrays.copyOf(rows, rows.length * 2);
+                rows[count++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+}
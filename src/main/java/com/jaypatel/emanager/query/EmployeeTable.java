@@ -0,0 +1,229 @@
+package com.jaypatel.emanager.query;
+
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.model.HourlyEmployee;
+import com.jaypatel.emanager.model.ImmutableAddress;
+import com.jaypatel.emanager.model.SalaryEmployee;
+import com.jaypatel.emanager.payroll.PayrollMath;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column-oriented snapshot of a roster, the input of {@link EmployeeQuery}.
+ * <p>
+ * Rows are sorted by employee id. Every {@link Column} is one primitive array: text columns hold
+ * an {@code int} code per row into a per-column dictionary of distinct values (code 0 is
+ * {@code null}), numeric columns a {@code long} per row at the column's scale, with
+ * {@link #NULL} for values that do not apply. A predicate over a text column is therefore
+ * evaluated once per distinct value, and the per-row work of any predicate is an array read and
+ * a compare.
+ * </p>
+ * <p>The table does not follow later changes to the employees; rebuild it to query new state.
+ * Instances are immutable and safe to query from several threads.</p>
+ *
+ * <h3>Example</h3>
+ * <pre>{@code
+ * EmployeeTable table = EmployeeTable.of(repository);
+ * int[] ids = EmployeeQuery.compile("province = 'SK' AND earnings > 6000").employeeIds(table);
+ * }</pre>
+ */
+public final class EmployeeTable {
+    /** Stored in numeric columns for values that do not apply. */
+    static final long NULL = Long.MIN_VALUE;
+
+    private static final Column[] COLUMNS = Column.values();
+
+    private final int size;
+
+    private final int[] employeeIds;
+
+    /** Per column ordinal: row values of numeric columns, {@code null} for text columns. */
+    private final long[][] numbers = new long[COLUMNS.length][];
+
+    /** Per column ordinal: dictionary codes of text columns. */
+    private final int[][] codes = new int[COLUMNS.length][];
+
+    /** Per column ordinal: distinct values of text columns; index 0 is {@code null}. */
+    private final String[][] dictionaries = new String[COLUMNS.length][];
+
+    private EmployeeTable(List<Employee> rows) {
+        size = rows.size();
+        employeeIds = new int[size];
+        List<Map<String, Integer>> encoders = new ArrayList<>();
+        List<List<String>> values = new ArrayList<>();
+        for (Column c : COLUMNS) {
+            if (c.isText()) {
+                codes[c.ordinal()] = new int[size];
+                List<String> dictionary = new ArrayList<>();
+                dictionary.add(null);
+                values.add(dictionary);
+                encoders.add(new HashMap<>());
+            } else {
+                numbers[c.ordinal()] = new long[size];
+                values.add(null);
+                encoders.add(null);
+            }
+        }
+        for (int row = 0; row < size; row++) {
+            Employee e = rows.get(row);
+            employeeIds[row] = e.getEmployeeId();
+            ImmutableAddress address = e.getAddressValue();
+            for (Column c : COLUMNS) {
+                int col = c.ordinal();
+                if (c.isText()) {
+                    codes[col][row] = encode(encoders.get(col), values.get(col), text(c, e, address));
+                } else {
+                    numbers[col][row] = number(c, e);
+                }
+            }
+        }
+        for (Column c : COLUMNS) {
+            if (c.isText()) dictionaries[c.ordinal()] = values.get(c.ordinal()).toArray(new String[0]);
+        }
+    }
+
+    /**
+     * Builds a table from a roster.
+     *
+     * @param employees hourly and salaried employees
+     * @return the table, one row per employee, sorted by id
+     * @throws IllegalArgumentException if an element is not an hourly or salaried employee
+     * @throws ArithmeticException      if a pay value does not fit in {@code long} cents
+     */
+    public static EmployeeTable of(Iterable<? extends Employee> employees) {
+        List<Employee> rows = new ArrayList<>();
+        for (Employee e : employees) {
+            if (!(e instanceof HourlyEmployee) && !(e instanceof SalaryEmployee)) {
+                throw new IllegalArgumentException("Unsupported employee type: "
+                        + (e == null ? "null" : e.getClass().getName()));
+            }
+            rows.add(e);
+        }
+        rows.sort(Comparator.comparingInt(Employee::getEmployeeId));
+        return new EmployeeTable(rows);
+    }
+
+    /** @return number of rows */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param row row index
+     * @return the employee id of the row
+     */
+    public int getEmployeeId(int row) {
+        checkRow(row);
+        return employeeIds[row];
+    }
+
+    /**
+     * Returns a row's value in its natural type.
+     *
+     * @param row    row index
+     * @param column column to read
+     * @return a {@code String} for text columns, an {@code Integer} for {@link Column#EMPLOYEE_ID},
+     *         a {@link BigDecimal} for the other numeric columns; {@code null} if the value is null
+     */
+    public Object getValue(int row, Column column) {
+        checkRow(row);
+        if (column.isText()) return dictionaries[column.ordinal()][codes[column.ordinal()][row]];
+        long v = numbers[column.ordinal()][row];
+        if (v == NULL) return null;
+        return column == Column.EMPLOYEE_ID ? Integer.valueOf((int) v) : BigDecimal.valueOf(v, column.getScale());
+    }
+
+    // ---- Package-private column access for the evaluator -------------------
+
+    long[] numbers(Column column) {
+        return numbers[column.ordinal()];
+    }
+
+    int[] codes(Column column) {
+        return codes[column.ordinal()];
+    }
+
+    String[] dictionary(Column column) {
+        return dictionaries[column.ordinal()];
+    }
+
+    /**
+     * First row at or after {@code fromRow} whose id is at least {@code employeeId}, or
+     * {@link #size()}. Gallops forward from {@code fromRow}, so a sweep over ascending ids costs
+     * O(k log(n/k)) rather than a full binary search per id.
+     */
+    int lowerBound(int employeeId, int fromRow) {
+        int lo = fromRow;
+        int step = 1;
+        int hi = fromRow;
+        while (hi < size && employeeIds[hi] < employeeId) {
+            lo = hi + 1;
+            hi = fromRow + step;
+            step <<= 1;
+        }
+        hi = Math.min(hi, size);
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (employeeIds[mid] < employeeId) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /** @return {@code true} if {@code row} holds the given id */
+    boolean hasId(int row, int employeeId) {
+        return row < size && employeeIds[row] == employeeId;
+    }
+
+    // ---- Helpers ------------------------------------------------------------
+
+    private static int encode(Map<String, Integer> encoder, List<String> dictionary, String value) {
+        if (value == null) return 0;
+        Integer code = encoder.get(value);
+        if (code == null) {
+            code = dictionary.size();
+            encoder.put(value, code);
+            dictionary.add(value);
+        }
+        return code;
+    }
+
+    private static String text(Column c, Employee e, ImmutableAddress address) {
+        return switch (c) {
+            case TYPE -> e instanceof HourlyEmployee ? "HOURLY" : "SALARY";
+            case LAST_NAME -> e.getLastName();
+            case FIRST_NAME -> e.getFirstName();
+            case JOB_TITLE -> e.getJobTitle();
+            case CITY -> address == null ? null : address.getCity();
+            case PROVINCE -> address == null ? null : address.getProvince();
+            case POSTAL_CODE -> address == null ? null : address.getPostalCode();
+            default -> throw new AssertionError(c);
+        };
+    }
+
+    private static long number(Column c, Employee e) {
+        return switch (c) {
+            case EMPLOYEE_ID -> e.getEmployeeId();
+            case EARNINGS -> e.getEarningsCents();
+            case HOURLY_RATE -> e instanceof HourlyEmployee he ? PayrollMath.toCents(he.getHourlyRate()) : NULL;
+            case MONTHLY_HOURS -> e instanceof HourlyEmployee he ? PayrollMath.toCents(he.getMonthlyHours()) : NULL;
+            case ANNUAL_SALARY -> e instanceof SalaryEmployee se ? PayrollMath.toCents(se.getAnnualSalary()) : NULL;
+            default -> throw new AssertionError(c);
+        };
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("row " + row + " out of range [0, " + size + ")");
+        }
+    }
+}
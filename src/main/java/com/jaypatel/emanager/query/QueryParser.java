@@ -0,0 +1,256 @@
+package com.jaypatel.emanager.query;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Recursive-descent parser from query text to a {@link Condition} tree.
+ * <pre>
+ * query     := or
+ * or        := and ( OR and )*
+ * and       := unary ( AND unary )*
+ * unary     := NOT unary | '(' or ')' | predicate
+ * predicate := field ( op literal
+ *                    | [NOT] LIKE 'pattern'
+ *                    | [NOT] IN '(' literal ( ',' literal )* ')'
+ *                    | IS [NOT] NULL )
+ * op        := = | != | &lt;&gt; | &lt; | &lt;= | &gt; | &gt;=
+ * literal   := 'text' | number
+ * </pre>
+ * Keywords are case-insensitive; a quote inside a text literal is doubled ({@code 'O''Brien'}).
+ * Text columns take text literals and numeric columns numbers.
+ */
+final class QueryParser {
+    private final String text;
+
+    private int pos;
+
+    private QueryParser(String text) {
+        this.text = text;
+    }
+
+    /**
+     * @param text query text
+     * @return the compiled condition
+     * @throws IllegalArgumentException if the text is not a valid query
+     */
+    static Condition parse(String text) {
+        QueryParser parser = new QueryParser(Objects.requireNonNull(text, "query"));
+        Condition condition = parser.or();
+        parser.skipSpace();
+        if (parser.pos < text.length()) throw parser.error("Unexpected '" + text.charAt(parser.pos) + "'");
+        return condition;
+    }
+
+    // ---- Grammar ------------------------------------------------------------
+
+    private Condition or() {
+        Condition left = and();
+        while (keyword("OR")) left = new Condition.Or(left, and());
+        return left;
+    }
+
+    private Condition and() {
+        List<Condition> parts = new ArrayList<>();
+        do {
+            Condition part = unary();
+            if (part instanceof Condition.And and) {
+                parts.addAll(and.parts);
+            } else {
+                parts.add(part);
+            }
+        } while (keyword("AND"));
+        return parts.size() == 1 ? parts.get(0) : new Condition.And(parts);
+    }
+
+    private Condition unary() {
+        if (keyword("NOT")) return new Condition.Not(unary());
+        if (symbol("(")) {
+            Condition inner = or();
+            expect(")");
+            return inner;
+        }
+        return predicate();
+    }
+
+    private Condition predicate() {
+        int start = skipSpace();
+        String name = identifier();
+        if (name == null) throw error("Expected a field name");
+        Column column;
+        try {
+            column = Column.byName(name);
+        } catch (IllegalArgumentException e) {
+            pos = start;
+            throw error(e.getMessage());
+        }
+        if (keyword("IS")) {
+            boolean not = keyword("NOT");
+            if (!keyword("NULL")) throw error("Expected NULL");
+            return column.isText()
+                    ? new Condition.TextMatch(column, null, not ? Objects::nonNull : Objects::isNull)
+                    : new Condition.NumberIsNull(column, !not);
+        }
+        boolean not = keyword("NOT");
+        if (keyword("LIKE")) {
+            if (!column.isText()) throw error("LIKE needs a text field: " + name);
+            Pattern pattern = likePattern(string());
+            return new Condition.TextMatch(column, null,
+                    v -> v != null && pattern.matcher(v).matches() != not);
+        }
+        if (keyword("IN")) return in(column, not);
+        if (not) throw error("Expected LIKE or IN after NOT");
+        return compare(column, operator());
+    }
+
+    private Condition compare(Column column, Condition.Op op) {
+        if (!column.isText()) return Condition.NumberCompare.of(column, op, number());
+        String literal = string();
+        if (op == Condition.Op.EQ) return new Condition.TextMatch(column, literal, literal::equals);
+        return new Condition.TextMatch(column, null, v -> {
+            if (v == null) return false;
+            int c = v.compareTo(literal);
+            return switch (op) {
+                case NE -> c != 0;
+                case LT -> c < 0;
+                case LE -> c <= 0;
+                case GT -> c > 0;
+                default -> c >= 0;
+            };
+        });
+    }
+
+    private Condition in(Column column, boolean not) {
+        expect("(");
+        List<String> strings = new ArrayList<>();
+        List<BigDecimal> numbers = new ArrayList<>();
+        do {
+            if (column.isText()) {
+                strings.add(string());
+            } else {
+                numbers.add(number());
+            }
+        } while (symbol(","));
+        expect(")");
+        if (column.isText()) {
+            Set<String> set = Set.copyOf(strings);
+            return new Condition.TextMatch(column, null, v -> v != null && set.contains(v) != not);
+        }
+        Condition in = new Condition.NumberIn(column, numbers);
+        return not ? new Condition.And(List.of(new Condition.NumberIsNull(column, false), new Condition.Not(in))) : in;
+    }
+
+    // ---- Tokens -------------------------------------------------------------
+
+    private Condition.Op operator() {
+        skipSpace();
+        // Two-character operators first so "<=" is not read as "<".
+        if (symbol("<=")) return Condition.Op.LE;
+        if (symbol(">=")) return Condition.Op.GE;
+        if (symbol("!=") || symbol("<>")) return Condition.Op.NE;
+        if (symbol("=")) return Condition.Op.EQ;
+        if (symbol("<")) return Condition.Op.LT;
+        if (symbol(">")) return Condition.Op.GT;
+        throw error("Expected a comparison operator");
+    }
+
+    private String string() {
+        skipSpace();
+        if (pos >= text.length() || text.charAt(pos) != '\'') throw error("Expected a quoted text value");
+        StringBuilder sb = new StringBuilder();
+        int i = pos + 1;
+        while (true) {
+            if (i >= text.length()) throw error("Unterminated text value");
+            char c = text.charAt(i++);
+            if (c == '\'') {
+                if (i < text.length() && text.charAt(i) == '\'') {
+                    sb.append('\'');
+                    i++;
+                } else {
+                    break;
+                }
+            } else {
+                sb.append(c);
+            }
+        }
+        pos = i;
+        return sb.toString();
+    }
+
+    private BigDecimal number() {
+        int start = skipSpace();
+        int i = pos;
+        if (i < text.length() && (text.charAt(i) == '-' || text.charAt(i) == '+')) i++;
+        while (i < text.length() && (Character.isDigit(text.charAt(i)) || text.charAt(i) == '.')) i++;
+        try {
+            BigDecimal value = new BigDecimal(text.substring(start, i));
+            pos = i;
+            return value;
+        } catch (NumberFormatException e) {
+            throw error("Expected a number");
+        }
+    }
+
+    private String identifier() {
+        int start = skipSpace();
+        int i = start;
+        while (i < text.length() && (Character.isLetterOrDigit(text.charAt(i)) || text.charAt(i) == '_')) i++;
+        if (i == start || !Character.isLetter(text.charAt(start))) return null;
+        pos = i;
+        return text.substring(start, i);
+    }
+
+    /** Consumes {@code word} if it is the next whole word, ignoring case. */
+    private boolean keyword(String word) {
+        int start = skipSpace();
+        int end = start + word.length();
+        if (end > text.length() || !text.regionMatches(true, start, word, 0, word.length())) return false;
+        if (end < text.length() && (Character.isLetterOrDigit(text.charAt(end)) || text.charAt(end) == '_')) return false;
+        pos = end;
+        return true;
+    }
+
+    private boolean symbol(String s) {
+        skipSpace();
+        if (!text.startsWith(s, pos)) return false;
+        pos += s.length();
+        return true;
+    }
+
+    private void expect(String s) {
+        if (!symbol(s)) throw error("Expected '" + s + "'");
+    }
+
+    private int skipSpace() {
+        while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) pos++;
+        return pos;
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + pos + " in query: " + text);
+    }
+
+    /** Translates SQL LIKE ({@code %} any run, {@code _} one char) to an anchored regex. */
+    private static Pattern likePattern(String like) {
+        StringBuilder regex = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+        for (int i = 0; i < like.length(); i++) {
+            char c = like.charAt(i);
+            if (c == '%' || c == '_') {
+                if (literal.length() > 0) {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                regex.append(c == '%' ? ".*" : ".");
+            } else {
+                literal.append(c);
+            }
+        }
+        if (literal.length() > 0) regex.append(Pattern.quote(literal.toString()));
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+}
@@ -0,0 +1,244 @@
+package com.jaypatel.emanager.repository;
+
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.util.IntObjectHashMap;
+
+import java.util.Objects;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Thread-safe registry of mutable {@link Employee} objects, for services that update employees
+ * from several threads (time-clock feeds, raises) while others read them (reports, lookups).
+ * <p>
+ * Ids are spread over lock stripes. Each stripe is an {@link IntObjectHashMap} guarded by a
+ * {@link StampedLock}. All access goes through callbacks so the employee objects never escape
+ * unguarded:
+ * </p>
+ * <ul>
+ *   <li>{@link #update(int, Consumer)} runs setters under the stripe's write lock, so a
+ *       multi-field change (rate and hours together) is atomic. Writers to different stripes
+ *       never contend.</li>
+ *   <li>{@link #read(int, Function)} first runs the reader under an optimistic stamp, without
+ *       taking any lock, and keeps the result only if no writer touched the stripe meanwhile;
+ *       otherwise it retries once under the read lock. Readers therefore never block writers and
+ *       never see half of an update, e.g. a new rate with the old hours.</li>
+ * </ul>
+ * <p>
+ * Because the optimistic pass may run against state that a writer is changing, a reader
+ * function must only call getters and build its result. It may run twice: an exception from the
+ * optimistic pass is discarded and the function is run again under the read lock. A getter that
+ * memoizes, such as {@link Employee#getEarnings()}, writes even when its stamp later fails to
+ * validate, and that write is kept; it must therefore be safe to publish without a lock, e.g. an
+ * immutable cache entry that records its inputs and is checked against them on every hit, as the
+ * hourly and salaried earnings caches do.
+ * </p>
+ *
+ * <h3>Example</h3>
+ * <pre>{@code
+ * ConcurrentEmployeeRegistry registry = new ConcurrentEmployeeRegistry();
+ * registry.put(employee);
+ * // time-clock thread
+ * registry.update(42, e -> ((HourlyEmployee) e).setMonthlyHours(hours));
+ * // report thread
+ * BigDecimal pay = registry.read(42, Employee::getEarnings);
+ * }</pre>
+ *
+ * <p>Do not keep references to the employees passed to callbacks, and do not mutate them
+ * outside {@link #update(int, Consumer)}; nothing else is synchronized.</p>
+ */
+public final class ConcurrentEmployeeRegistry {
+    /** Stripe count when not specified. */
+    public static final int DEFAULT_STRIPES = 64;
+
+    private static final class Stripe {
+        final StampedLock lock = new StampedLock();
+        final IntObjectHashMap<Employee> byId = new IntObjectHashMap<>();
+    }
+
+    private final Stripe[] stripes;
+
+    /** Creates a registry with {@link #DEFAULT_STRIPES} stripes. */
+    public ConcurrentEmployeeRegistry() {
+        this(DEFAULT_STRIPES);
+    }
+
+    /**
+     * Creates a registry. More stripes mean less write contention and slightly more memory.
+     *
+     * @param stripes number of lock stripes (at least 1)
+     * @throws IllegalArgumentException if {@code stripes} is less than 1
+     */
+    public ConcurrentEmployeeRegistry(int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("stripes must be >= 1: " + stripes);
+        }
+        this.stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) this.stripes[i] = new Stripe();
+    }
+
+    /**
+     * Registers an employee under its current id, replacing any employee with the same id.
+     * The registry takes ownership: from now on, change the employee only through
+     * {@link #update(int, Consumer)}.
+     *
+     * @param employee employee to register (non-null)
+     * @return {@code true} if an employee with the same id was replaced
+     * @throws NullPointerException if {@code employee} is null
+     */
+    public boolean put(Employee employee) {
+        Objects.requireNonNull(employee, "employee");
+        Stripe s = stripe(employee.getEmployeeId());
+        long stamp = s.lock.writeLock();
+        try {
+            return s.byId.put(employee.getEmployeeId(), employee) != null;
+        } finally {
+            s.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Registers an employee unless its id is already taken, e.g. to detect two writers assigning
+     * the same id. On success the registry takes ownership as with {@link #put(Employee)}.
+     *
+     * @param employee employee to register (non-null)
+     * @return {@code true} if registered, {@code false} if another employee has the same id
+     *         (the registry is unchanged)
+     * @throws NullPointerException if {@code employee} is null
+     */
+    public boolean putIfAbsent(Employee employee) {
+        Objects.requireNonNull(employee, "employee");
+        Stripe s = stripe(employee.getEmployeeId());
+        long stamp = s.lock.writeLock();
+        try {
+            if (s.byId.get(employee.getEmployeeId()) != null) return false;
+            s.byId.put(employee.getEmployeeId(), employee);
+            return true;
+        } finally {
+            s.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Unregisters an employee. The caller owns the returned object again.
+     *
+     * @param employeeId employee id
+     * @return the removed employee, or {@code null} if none was registered under that id
+     */
+    public Employee remove(int employeeId) {
+        Stripe s = stripe(employeeId);
+        long stamp = s.lock.writeLock();
+        try {
+            return s.byId.remove(employeeId);
+        } finally {
+            s.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * @param employeeId employee id
+     * @return {@code true} if an employee is registered under that id
+     */
+    public boolean contains(int employeeId) {
+        return read(employeeId, Objects::nonNull);
+    }
+
+    /** @return number of registered employees; a moment-in-time sum over the stripes */
+    public int size() {
+        int size = 0;
+        for (Stripe s : stripes) {
+            long stamp = s.lock.readLock();
+            try {
+                size += s.byId.size();
+            } finally {
+                s.lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Applies setters to a registered employee atomically with respect to readers and other
+     * writers of the same stripe. The id must not be changed.
+     *
+     * @param employeeId employee id
+     * @param writer     receives the employee; may call any setter except
+     *                   {@link Employee#setEmployeeId(int)}
+     * @return {@code true} if the employee exists and {@code writer} ran
+     * @throws IllegalStateException if {@code writer} changed the employee's id (the id is
+     *                               restored; other changes it made are kept)
+     */
+    public boolean update(int employeeId, Consumer<? super Employee> writer) {
+        Stripe s = stripe(employeeId);
+        long stamp = s.lock.writeLock();
+        try {
+            Employee e = s.byId.get(employeeId);
+            if (e == null) return false;
+            writer.accept(e);
+            final int changed = e.getEmployeeId();
+            if (changed != employeeId) {
+                e.setEmployeeId(employeeId); // keep the map key and the employee in agreement
+                throw new IllegalStateException("update changed employee id " + employeeId + " to " + changed);
+            }
+            return true;
+        } finally {
+            s.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Reads from a registered employee, seeing the state after some complete update and never a
+     * mix of two. Runs lock-free unless a writer of the same stripe interferes.
+     *
+     * @param employeeId employee id
+     * @param reader     side-effect-free function of the employee, or of {@code null} if the id
+     *                   is not registered; it must not return the employee itself, and any
+     *                   memoizing getter it calls must be safe to publish without a lock
+     * @param <R>        result type
+     * @return the reader's result
+     */
+    public <R> R read(int employeeId, Function<? super Employee, ? extends R> reader) {
+        Stripe s = stripe(employeeId);
+        long stamp = s.lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                R result = reader.apply(s.byId.get(employeeId));
+                if (s.lock.validate(stamp)) return result;
+            } catch (RuntimeException inconsistent) {
+                // A writer may have left the map or employee mid-change; a real failure recurs below.
+            }
+        }
+        stamp = s.lock.readLock();
+        try {
+            return reader.apply(s.byId.get(employeeId));
+        } finally {
+            s.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Visits every employee, one stripe at a time under that stripe's read lock, so each
+     * employee is seen in a consistent state. Writers to the stripe being visited wait.
+     *
+     * @param action side-effect-free with respect to the employee; must not keep it
+     */
+    public void forEach(Consumer<? super Employee> action) {
+        for (Stripe s : stripes) {
+            long stamp = s.lock.readLock();
+            try {
+                for (Employee e : s.byId) action.accept(e);
+            } finally {
+                s.lock.unlockRead(stamp);
+            }
+        }
+    }
+
+    // ---- Helpers ------------------------------------------------------------
+
+    /** Picks a stripe from the high bits of a Fibonacci hash; the stripe's map uses the low bits. */
+    private Stripe stripe(int employeeId) {
+        final long h = Integer.toUnsignedLong(employeeId * 0x9E3779B9);
+        return stripes[(int) ((h * stripes.length) >>> 32)];
+    }
+}
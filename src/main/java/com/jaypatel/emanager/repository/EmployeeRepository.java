@@ -0,0 +1,49 @@
+package com.jaypatel.emanager.repository;
+
+import com.jaypatel.emanager.model.Employee;
+
+/**
+ * Store of employees keyed by {@link Employee#getEmployeeId()}.
+ * <p>
+ * Implementations key each employee by the id it has when it is stored. Changing an employee's
+ * id with {@link Employee#setEmployeeId(int)} while it is stored is not tracked; remove it and
+ * put it again instead.
+ * </p>
+ *
+ * @see InMemoryEmployeeRepository
+ */
+public interface EmployeeRepository extends Iterable<Employee> {
+    /**
+     * Stores an employee under its current id, replacing any employee with the same id.
+     *
+     * @param employee employee to store (non-null)
+     * @return the replaced employee, or {@code null} if the id was not present
+     * @throws NullPointerException if {@code employee} is null
+     */
+    Employee put(Employee employee);
+
+    /**
+     * Looks up an employee by id.
+     *
+     * @param employeeId employee id
+     * @return the employee, or {@code null} if none is stored under that id
+     */
+    Employee get(int employeeId);
+
+    /**
+     * Removes an employee by id.
+     *
+     * @param employeeId employee id
+     * @return the removed employee, or {@code null} if none was stored under that id
+     */
+    Employee remove(int employeeId);
+
+    /**
+     * @param employeeId employee id
+     * @return {@code true} if an employee is stored under that id
+     */
+    boolean contains(int employeeId);
+
+    /** @return number of stored employees */
+    int size();
+}
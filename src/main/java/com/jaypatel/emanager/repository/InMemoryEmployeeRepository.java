@@ -0,0 +1,87 @@
+package com.jaypatel.emanager.repository;
+
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.util.IntObjectConsumer;
+import com.jaypatel.emanager.util.IntObjectHashMap;
+
+import java.util.Iterator;
+import java.util.Objects;
+
+/**
+ * Heap-resident {@link EmployeeRepository} backed by an {@link IntObjectHashMap}.
+ * <p>
+ * Ids are never boxed: lookups hash the primitive id straight into an open-addressing table.
+ * See {@link IntObjectHashMap} for per-entry memory and lookup cost; pass the expected
+ * head-count to {@link #InMemoryEmployeeRepository(int)} when loading millions of employees.
+ * </p>
+ *
+ * <p><b>Note:</b> instances are not thread-safe.</p>
+ */
+public class InMemoryEmployeeRepository implements EmployeeRepository {
+    private final IntObjectHashMap<Employee> byId;
+
+    /** Creates an empty repository. */
+    public InMemoryEmployeeRepository() {
+        this.byId = new IntObjectHashMap<>();
+    }
+
+    /**
+     * Creates an empty repository sized for {@code expectedSize} employees.
+     *
+     * @param expectedSize anticipated number of employees
+     */
+    public InMemoryEmployeeRepository(int expectedSize) {
+        this.byId = new IntObjectHashMap<>(expectedSize);
+    }
+
+    @Override
+    public Employee put(Employee employee) {
+        Objects.requireNonNull(employee, "employee");
+        return byId.put(employee.getEmployeeId(), employee);
+    }
+
+    @Override
+    public Employee get(int employeeId) {
+        return byId.get(employeeId);
+    }
+
+    @Override
+    public Employee remove(int employeeId) {
+        return byId.remove(employeeId);
+    }
+
+    @Override
+    public boolean contains(int employeeId) {
+        return byId.containsKey(employeeId);
+    }
+
+    @Override
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * Visits every employee with its id, without boxing the id.
+     *
+     * @param action callback receiving each id and employee
+     */
+    public void forEachEntry(IntObjectConsumer<? super Employee> action) {
+        byId.forEachEntry(action);
+    }
+
+    /** @return a copy of all stored ids, in no particular order */
+    public int[] ids() {
+        return byId.keys();
+    }
+
+    /**
+     * Iterates over stored employees in no particular order.
+     * The repository must not be modified during iteration.
+     *
+     * @return an employee iterator
+     */
+    @Override
+    public Iterator<Employee> iterator() {
+        return byId.iterator();
+    }
+}
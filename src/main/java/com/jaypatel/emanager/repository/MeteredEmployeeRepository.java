@@ -0,0 +1,69 @@
+package com.jaypatel.emanager.repository;
+
+import com.jaypatel.emanager.metrics.Metrics;
+import com.jaypatel.emanager.metrics.Operation;
+import com.jaypatel.emanager.model.Employee;
+
+import java.util.Iterator;
+import java.util.Objects;
+
+/**
+ * {@link EmployeeRepository} wrapper that reports each {@link #get(int)} as an
+ * {@link Operation#LOOKUP} to {@link Metrics}.
+ * <p>
+ * A lookup takes a few nanoseconds, so timing every one is only worth it while investigating.
+ * Instrumentation is therefore opt-in by wrapping, and code that uses the repository directly
+ * pays nothing. While {@link Metrics} and the Flight Recorder event are both off, the wrapper
+ * adds two flag checks per lookup. Writes and iteration are delegated without instrumentation.
+ * </p>
+ *
+ * <h3>Example</h3>
+ * <pre>{@code
+ * EmployeeRepository repository = new MeteredEmployeeRepository(new InMemoryEmployeeRepository());
+ * }</pre>
+ *
+ * <p>Thread safety is that of the wrapped repository.</p>
+ */
+public final class MeteredEmployeeRepository implements EmployeeRepository {
+    private final EmployeeRepository delegate;
+
+    /**
+     * @param delegate repository to wrap
+     */
+    public MeteredEmployeeRepository(EmployeeRepository delegate) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+    }
+
+    @Override
+    public Employee put(Employee employee) {
+        return delegate.put(employee);
+    }
+
+    @Override
+    public Employee get(int employeeId) {
+        Metrics.Span span = Metrics.start(Operation.LOOKUP);
+        Employee employee = delegate.get(employeeId);
+        span.end(employee == null ? 0 : 1);
+        return employee;
+    }
+
+    @Override
+    public Employee remove(int employeeId) {
+        return delegate.remove(employeeId);
+    }
+
+    @Override
+    public boolean contains(int employeeId) {
+        return delegate.contains(employeeId);
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public Iterator<Employee> iterator() {
+        return delegate.iterator();
+    }
+}
@@ -0,0 +1,38 @@
+package com.jaypatel.emanager.storage;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+/**
+ * Directory durability helper shared by the storage classes.
+ * <p>
+ * Forcing a file makes its contents durable but not its directory entry: a file created or
+ * renamed just before a power failure may be missing, or still have its old name, after a
+ * restart. Callers force the directory after such a change and before deleting anything the
+ * change makes redundant.
+ * </p>
+ */
+final class Directories {
+    /** Windows cannot open a directory as a channel; NTFS journals the entry itself. */
+    private static final boolean SYNC_SUPPORTED =
+            !System.getProperty("os.name", "").toLowerCase(Locale.ROOT).startsWith("windows");
+
+    private Directories() {
+    }
+
+    /**
+     * Makes file creations, renames and deletions in a directory durable.
+     *
+     * @param directory directory whose entries changed
+     * @throws IOException if the directory cannot be opened or forced
+     */
+    static void sync(Path directory) throws IOException {
+        if (!SYNC_SUPPORTED) return;
+        try (FileChannel ch = FileChannel.open(directory, StandardOpenOption.READ)) {
+            ch.force(true);
+        }
+    }
+}
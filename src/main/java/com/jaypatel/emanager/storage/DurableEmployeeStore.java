@@ -0,0 +1,487 @@
+package com.jaypatel.emanager.storage;
+
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.payroll.BulkRaise;
+import com.jaypatel.emanager.payroll.BulkRaiseResult;
+import com.jaypatel.emanager.payroll.RaiseRule;
+import com.jaypatel.emanager.repository.InMemoryEmployeeRepository;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Employee roster whose mutations survive crashes: every change is recorded in a
+ * {@link WriteAheadLog} before it is acknowledged, and periodic snapshots bound recovery time.
+ * <p>
+ * Mutations go through this class ({@link #setHourlyRate}, {@link #setJobTitle}, ...) rather than
+ * the model setters. Each one is validated, appended to the log and applied to the in-memory
+ * roster, then the caller waits for a group-committed fsync. Concurrent writers share fsyncs, so
+ * durable throughput scales with the number of writer threads rather than being capped at one
+ * update per disk flush. Batches ({@link #applyAll}, {@link #raise}) are appended together and
+ * share a single fsync.
+ * </p>
+ * <p>
+ * {@link #snapshot()} writes the roster as a {@link MappedEmployeeStore} file named after the
+ * last LSN it covers and deletes log segments that the snapshot makes redundant. Writers are only
+ * paused while the employee references are copied; encoding runs concurrently with new updates.
+ * That is safe because every {@link EmployeeMutation} sets absolute values: replaying the log
+ * tail over a snapshot that already reflects some of it gives the same result.
+ * {@link #open(Path)} loads the newest snapshot and replays only the log after it.
+ * </p>
+ *
+ * <h3>Example</h3>
+ * <pre>{@code
+ * try (DurableEmployeeStore store = DurableEmployeeStore.open(dir)) {
+ *     store.scheduleSnapshots(5, TimeUnit.MINUTES);
+ *     store.put(employee);
+ *     store.setHourlyRate(42, new BigDecimal("27.50"));   // durable when this returns
+ * }
+ * }</pre>
+ *
+ * <p>Instances are safe for concurrent use. Employees returned by {@link #get(int)} are the live
+ * instances; treat them as read-only, since changes made through their setters are not logged.</p>
+ */
+public final class DurableEmployeeStore implements AutoCloseable {
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+
+    private static final String SNAPSHOT_SUFFIX = ".emps";
+
+    private static final String PARTIAL_SUFFIX = ".partial";
+
+    private final Path directory;
+
+    private final InMemoryEmployeeRepository employees;
+
+    private final WriteAheadLog log;
+
+    /** Read lock for setters (which lock the target employee), write lock for put/remove/snapshot capture. */
+    private final ReentrantReadWriteLock structure = new ReentrantReadWriteLock();
+
+    /** Serializes snapshots. */
+    private final Object snapshotLock = new Object();
+
+    private volatile long snapshotLsn;
+
+    private volatile IOException lastSnapshotFailure;
+
+    private ScheduledExecutorService snapshotter;
+
+    private DurableEmployeeStore(Path directory, InMemoryEmployeeRepository employees, WriteAheadLog log,
+                                 long snapshotLsn) {
+        this.directory = directory;
+        this.employees = employees;
+        this.log = log;
+        this.snapshotLsn = snapshotLsn;
+    }
+
+    /**
+     * Opens (or creates) a store, recovering from the newest snapshot plus the log after it.
+     *
+     * @param directory directory holding snapshots and log segments; created if missing
+     * @return the recovered store
+     * @throws IOException if the snapshot or log cannot be read
+     */
+    public static DurableEmployeeStore open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        deleteLeftovers(directory);
+        long[] snapshots = snapshotLsns(directory);
+        long snapshotLsn = snapshots.length == 0 ? 0L : snapshots[snapshots.length - 1];
+        InMemoryEmployeeRepository employees;
+        if (snapshotLsn > 0) {
+            try (MappedEmployeeStore snapshot = MappedEmployeeStore.open(snapshotPath(directory, snapshotLsn))) {
+                employees = new InMemoryEmployeeRepository(snapshot.size());
+                snapshot.forEach(employees::put);
+            }
+        } else {
+            employees = new InMemoryEmployeeRepository();
+        }
+        WriteAheadLog log = WriteAheadLog.open(directory, snapshotLsn, m -> m.applyTo(employees));
+        return new DurableEmployeeStore(directory, employees, log, snapshotLsn);
+    }
+
+    // ---- Reads --------------------------------------------------------------
+
+    /**
+     * @param employeeId employee id
+     * @return the live employee (read-only by contract), or {@code null} if absent
+     */
+    public Employee get(int employeeId) {
+        structure.readLock().lock();
+        try {
+            return employees.get(employeeId);
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param employeeId employee id
+     * @return {@code true} if the store holds that id
+     */
+    public boolean contains(int employeeId) {
+        return get(employeeId) != null;
+    }
+
+    /** @return number of employees */
+    public int size() {
+        structure.readLock().lock();
+        try {
+            return employees.size();
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+
+    // ---- Mutations ----------------------------------------------------------
+
+    /**
+     * Durably inserts or replaces an employee. The store keeps its own copy, so later changes
+     * to {@code employee} do not affect it.
+     *
+     * @param employee an hourly or salaried employee
+     * @return the LSN of the logged change
+     * @throws IOException if the log cannot be written
+     */
+    public long put(Employee employee) throws IOException {
+        return apply(EmployeeMutation.put(employee));
+    }
+
+    /**
+     * Durably removes an employee; a missing id is logged and ignored.
+     *
+     * @param employeeId employee id
+     * @return the LSN of the logged change
+     * @throws IOException if the log cannot be written
+     */
+    public long remove(int employeeId) throws IOException {
+        return apply(EmployeeMutation.remove(employeeId));
+    }
+
+    /**
+     * @param employeeId an hourly employee's id
+     * @param hourlyRate new rate
+     * @return the LSN of the logged change
+     * @throws IOException              if the log cannot be written
+     * @throws IllegalArgumentException if there is no hourly employee with that id
+     */
+    public long setHourlyRate(int employeeId, BigDecimal hourlyRate) throws IOException {
+        return apply(EmployeeMutation.hourlyRate(employeeId, hourlyRate));
+    }
+
+    /**
+     * @param employeeId   an hourly employee's id
+     * @param monthlyHours new hours
+     * @return the LSN of the logged change
+     * @throws IOException              if the log cannot be written
+     * @throws IllegalArgumentException if there is no hourly employee with that id
+     */
+    public long setMonthlyHours(int employeeId, BigDecimal monthlyHours) throws IOException {
+        return apply(EmployeeMutation.monthlyHours(employeeId, monthlyHours));
+    }
+
+    /**
+     * @param employeeId   a salaried employee's id
+     * @param annualSalary new salary
+     * @return the LSN of the logged change
+     * @throws IOException              if the log cannot be written
+     * @throws IllegalArgumentException if there is no salaried employee with that id
+     */
+    public long setAnnualSalary(int employeeId, BigDecimal annualSalary) throws IOException {
+        return apply(EmployeeMutation.annualSalary(employeeId, annualSalary));
+    }
+
+    /**
+     * @param employeeId an employee's id
+     * @param jobTitle   new job title; may be {@code null}
+     * @return the LSN of the logged change
+     * @throws IOException              if the log cannot be written
+     * @throws IllegalArgumentException if there is no employee with that id
+     */
+    public long setJobTitle(int employeeId, String jobTitle) throws IOException {
+        return apply(EmployeeMutation.jobTitle(employeeId, jobTitle));
+    }
+
+    /**
+     * Logs and applies a mutation, returning once it is durable.
+     *
+     * @param mutation change to make
+     * @return the LSN of the logged change
+     * @throws IOException              if the log cannot be written
+     * @throws IllegalArgumentException if a setter targets a missing employee or one of the wrong type
+     */
+    public long apply(EmployeeMutation mutation) throws IOException {
+        long lsn;
+        EmployeeMutation.Type type = mutation.getType();
+        if (type == EmployeeMutation.Type.PUT || type == EmployeeMutation.Type.REMOVE) {
+            structure.writeLock().lock();
+            try {
+                lsn = log.append(mutation);
+                mutation.applyTo(employees);
+            } finally {
+                structure.writeLock().unlock();
+            }
+        } else {
+            structure.readLock().lock();
+            try {
+                if (!mutation.isApplicable(employees)) {
+                    throw new IllegalArgumentException("Cannot apply " + mutation + ": no such employee of that type");
+                }
+                Employee target = employees.get(mutation.getEmployeeId());
+                // Per-employee lock keeps log order and apply order identical for each employee.
+                synchronized (target) {
+                    lsn = log.append(mutation);
+                    mutation.applyTo(target);
+                }
+            } finally {
+                structure.readLock().unlock();
+            }
+        }
+        log.sync(lsn);
+        return lsn;
+    }
+
+    /**
+     * Logs and applies several mutations as one batch, returning once all are durable. Every
+     * setter is checked before anything is logged, so an invalid batch changes nothing; a setter
+     * on an employee put earlier in the same batch is accepted, and skipped like during recovery if
+     * the type does not match. The batch holds the write lock while it is appended and applied,
+     * and is made durable with one fsync.
+     *
+     * @param mutations changes to make, in order
+     * @return the LSN of the last logged change, or {@link #getLastLsn()} if the batch is empty
+     * @throws IOException              if the log cannot be written
+     * @throws IllegalArgumentException if a setter targets a missing employee or one of the wrong type
+     */
+    public long applyAll(List<EmployeeMutation> mutations) throws IOException {
+        long lsn;
+        structure.writeLock().lock();
+        try {
+            // Tracks the batch's own PUTs and REMOVEs so later setters are checked against them.
+            Set<Integer> present = new HashSet<>();
+            Set<Integer> removed = new HashSet<>();
+            for (EmployeeMutation m : mutations) {
+                int id = m.getEmployeeId();
+                switch (m.getType()) {
+                    case PUT -> {
+                        present.add(id);
+                        removed.remove(id);
+                    }
+                    case REMOVE -> {
+                        present.remove(id);
+                        removed.add(id);
+                    }
+                    default -> {
+                        if (removed.contains(id) || (!present.contains(id) && !m.isApplicable(employees))) {
+                            throw new IllegalArgumentException("Cannot apply " + m + ": no such employee of that type");
+                        }
+                    }
+                }
+            }
+            lsn = log.lastLsn();
+            for (EmployeeMutation m : mutations) {
+                lsn = log.append(m);
+                m.applyTo(employees);
+            }
+        } finally {
+            structure.writeLock().unlock();
+        }
+        log.sync(lsn);
+        return lsn;
+    }
+
+    /**
+     * Durably applies a raise to every employee in the store: the changes are computed in one
+     * parallel pass, logged as one batch and made durable with one fsync. Other writers wait
+     * while the batch is computed and applied; readers do not.
+     *
+     * @param raise rules to apply
+     * @return the changes made
+     * @throws IOException         if the log cannot be written
+     * @throws ArithmeticException if a raised amount does not fit in {@code long} cents; nothing
+     *                             is changed
+     */
+    public BulkRaiseResult raise(BulkRaise raise) throws IOException {
+        BulkRaiseResult result;
+        long lsn;
+        structure.writeLock().lock();
+        try {
+            List<Employee> roster = new ArrayList<>(employees.size());
+            for (Employee e : employees) roster.add(e);
+            result = raise.plan(roster);
+            lsn = log.lastLsn();
+            for (int i = 0; i < result.size(); i++) {
+                int id = result.getEmployeeId(i);
+                EmployeeMutation m = result.getRule(i).getTarget() == RaiseRule.Target.HOURLY_RATE
+                        ? EmployeeMutation.hourlyRate(id, result.getNewValue(i))
+                        : EmployeeMutation.annualSalary(id, result.getNewValue(i));
+                lsn = log.append(m);
+                m.applyTo(employees.get(id));
+            }
+        } finally {
+            structure.writeLock().unlock();
+        }
+        log.sync(lsn);
+        return result;
+    }
+
+    // ---- Snapshots ----------------------------------------------------------
+
+    /**
+     * Writes a snapshot of the current roster and truncates the log it makes redundant.
+     * Writers are blocked only while employee references are copied.
+     *
+     * @return LSN covered by the snapshot (unchanged if nothing was logged since the last one)
+     * @throws IOException if the snapshot cannot be written
+     */
+    public long snapshot() throws IOException {
+        synchronized (snapshotLock) {
+            final long lsn;
+            final List<Employee> copy;
+            structure.writeLock().lock();
+            try {
+                lsn = log.lastLsn();
+                if (lsn == snapshotLsn) return lsn;
+                copy = new ArrayList<>(employees.size());
+                for (Employee e : employees) copy.add(e);
+                log.rollover();
+            } finally {
+                structure.writeLock().unlock();
+            }
+
+            Path partial = directory.resolve(snapshotPath(directory, lsn).getFileName() + PARTIAL_SUFFIX);
+            MappedEmployeeStore.write(partial, copy);
+            // The encoder may have seen updates newer than lsn; make them durable before the
+            // snapshot becomes visible so recovery never shows an update the log has lost.
+            log.sync(log.lastLsn());
+            Files.move(partial, snapshotPath(directory, lsn), StandardCopyOption.ATOMIC_MOVE);
+            // The rename must survive a crash before older snapshots and log segments go.
+            Directories.sync(directory);
+            snapshotLsn = lsn;
+
+            for (long older : snapshotLsns(directory)) {
+                if (older < lsn) Files.deleteIfExists(snapshotPath(directory, older));
+            }
+            log.truncateBefore(lsn + 1);
+            return lsn;
+        }
+    }
+
+    /**
+     * Takes snapshots in the background at a fixed delay. Failures are reported by
+     * {@link #checkSnapshots()} and the next run tries again.
+     *
+     * @param period delay between the end of one snapshot and the start of the next
+     * @param unit   unit of {@code period}
+     * @throws IllegalStateException if snapshots are already scheduled
+     */
+    public synchronized void scheduleSnapshots(long period, TimeUnit unit) {
+        if (snapshotter != null) {
+            throw new IllegalStateException("Snapshots already scheduled");
+        }
+        snapshotter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "employee-snapshot");
+            t.setDaemon(true);
+            return t;
+        });
+        snapshotter.scheduleWithFixedDelay(() -> {
+            try {
+                snapshot();
+                lastSnapshotFailure = null;
+            } catch (IOException ex) {
+                lastSnapshotFailure = ex;
+            }
+        }, period, period, unit);
+    }
+
+    /** @return LSN covered by the newest snapshot, 0 if none */
+    public long getSnapshotLsn() {
+        return snapshotLsn;
+    }
+
+    /**
+     * Reports whether the most recent background snapshot failed.
+     *
+     * @throws IOException wrapping the failure, if the last scheduled snapshot did not complete
+     */
+    public void checkSnapshots() throws IOException {
+        IOException failure = lastSnapshotFailure;
+        if (failure != null) throw new IOException("Background snapshot failed: " + directory, failure);
+    }
+
+    /** @return LSN of the last logged mutation, 0 if none */
+    public long getLastLsn() {
+        return log.lastLsn();
+    }
+
+    /** @return fsyncs issued by the log; logged mutations / syncs is the group-commit batch size */
+    public long getSyncCount() {
+        return log.getSyncCount();
+    }
+
+    /**
+     * Stops background snapshots and closes the log. Every acknowledged mutation is already
+     * durable; no final snapshot is taken.
+     *
+     * @throws IOException if the log cannot be closed cleanly
+     */
+    @Override
+    public void close() throws IOException {
+        ScheduledExecutorService s;
+        synchronized (this) {
+            s = snapshotter;
+            snapshotter = null;
+        }
+        if (s != null) {
+            s.shutdown();
+            try {
+                s.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        log.close();
+    }
+
+    // ---- Helpers ------------------------------------------------------------
+
+    private static Path snapshotPath(Path directory, long lsn) {
+        return directory.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, lsn, SNAPSHOT_SUFFIX));
+    }
+
+    /** LSNs of complete snapshots in the directory, ascending. */
+    private static long[] snapshotLsns(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(p -> String.valueOf(p.getFileName()))
+                    .filter(n -> n.startsWith(SNAPSHOT_PREFIX) && n.endsWith(SNAPSHOT_SUFFIX))
+                    .map(n -> n.substring(SNAPSHOT_PREFIX.length(), n.length() - SNAPSHOT_SUFFIX.length()))
+                    .filter(s -> !s.isEmpty() && s.chars().allMatch(Character::isDigit))
+                    .mapToLong(Long::parseLong)
+                    .sorted()
+                    .toArray();
+        }
+    }
+
+    /** Removes snapshot files a crash left half-written. */
+    private static void deleteLeftovers(Path directory) throws IOException {
+        List<Path> leftovers;
+        try (Stream<Path> files = Files.list(directory)) {
+            leftovers = files.filter(p -> {
+                String n = String.valueOf(p.getFileName());
+                return n.startsWith(SNAPSHOT_PREFIX) && (n.endsWith(PARTIAL_SUFFIX) || n.endsWith(".tmp"));
+            }).toList();
+        }
+        for (Path p : leftovers) Files.deleteIfExists(p);
+    }
+}
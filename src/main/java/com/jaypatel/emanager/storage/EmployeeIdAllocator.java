@@ -0,0 +1,257 @@
+package com.jaypatel.emanager.storage;
+
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.repository.ConcurrentEmployeeRegistry;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32;
+
+/**
+ * Hands out unique employee ids to many threads, without reusing any across restarts.
+ * <p>
+ * Each thread leases a block of {@code blockSize} consecutive ids from a shared
+ * {@link AtomicLong} with one {@code getAndAdd} and then allocates from it with no
+ * synchronization at all, so threads touch shared state once per block rather than once per id.
+ * Before a block is used, its end is covered by the high-water mark in the allocator's file:
+ * the mark is advanced {@value #RESERVED_BLOCKS} blocks at a time, written to a temporary file,
+ * forced and atomically renamed, and the directory is forced, so a run pays two fsyncs per
+ * {@value #RESERVED_BLOCKS} blocks.
+ * {@link #open} resumes at the stored mark, skipping any ids leased but unused before a crash
+ * or shutdown; ids are therefore unique and increasing per thread, but not dense.
+ * </p>
+ * <p>
+ * Ids that did not come from the allocator, e.g. from an import file, should be passed to
+ * {@link #observe(int)} before allocation starts so they are never handed out.
+ * {@link #register(Employee, ConcurrentEmployeeRegistry)} is the safety net for anything missed:
+ * it inserts with {@link ConcurrentEmployeeRegistry#putIfAbsent(Employee)} and takes a new id on
+ * a collision, counting it in {@link #getCollisions()}.
+ * </p>
+ *
+ * <h3>File</h3>
+ * <pre>
+ * long  high-water mark: ids below it may have been handed out
+ * int   CRC32 of the mark
+ * </pre>
+ *
+ * <h3>Example</h3>
+ * <pre>{@code
+ * EmployeeIdAllocator ids = EmployeeIdAllocator.open(dir.resolve("employee-ids"));
+ * // on each import worker
+ * for (Employee e : batch) ids.register(e, registry);
+ * }</pre>
+ *
+ * <p>Instances are safe for concurrent use.</p>
+ */
+public final class EmployeeIdAllocator {
+    /** Ids leased per thread at a time when not specified. */
+    public static final int DEFAULT_BLOCK_SIZE = 1024;
+
+    /** Blocks covered by each write of the high-water mark. */
+    private static final int RESERVED_BLOCKS = 64;
+
+    private static final long FIRST_ID = 1L;
+
+    /** One past the largest id. */
+    private static final long END_OF_IDS = Integer.MAX_VALUE + 1L;
+
+    private static final int FILE_SIZE = 12;
+
+    private static final String PARTIAL_SUFFIX = ".partial";
+
+    private final Path file;
+
+    private final int blockSize;
+
+    /** Next id not yet leased to any thread. */
+    private final AtomicLong unleased;
+
+    /** Durable high-water mark; advanced under {@code reserveLock}. */
+    private volatile long reserved;
+
+    private final Object reserveLock = new Object();
+
+    private final LongAdder collisions = new LongAdder();
+
+    private final ThreadLocal<Block> blocks = ThreadLocal.withInitial(Block::new);
+
+    /** A thread's leased ids {@code [next, end)}; empty when they are equal. */
+    private static final class Block {
+        long next;
+        long end;
+    }
+
+    private EmployeeIdAllocator(Path file, int blockSize, long reserved) {
+        this.file = file;
+        this.blockSize = blockSize;
+        this.reserved = reserved;
+        this.unleased = new AtomicLong(reserved);
+    }
+
+    /**
+     * Opens (or creates) an allocator with {@link #DEFAULT_BLOCK_SIZE}.
+     *
+     * @param file high-water mark file; created on the first lease if missing
+     * @return the allocator, resuming after every id handed out by earlier runs
+     * @throws IOException if the file cannot be read or is corrupt
+     */
+    public static EmployeeIdAllocator open(Path file) throws IOException {
+        return open(file, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Opens (or creates) an allocator. Larger blocks mean less contention between threads and
+     * larger gaps after a restart.
+     *
+     * @param file      high-water mark file; created on the first lease if missing
+     * @param blockSize ids leased per thread at a time (at least 1)
+     * @return the allocator, resuming after every id handed out by earlier runs
+     * @throws IOException              if the file cannot be read or is corrupt
+     * @throws IllegalArgumentException if {@code blockSize} is less than 1
+     */
+    public static EmployeeIdAllocator open(Path file, int blockSize) throws IOException {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("blockSize must be >= 1: " + blockSize);
+        }
+        Files.deleteIfExists(partialPath(file));
+        return new EmployeeIdAllocator(file, blockSize, Files.exists(file) ? readMark(file) : FIRST_ID);
+    }
+
+    /**
+     * Allocates an id from the calling thread's block, leasing a new block when it runs out.
+     *
+     * @return an id never returned before by this allocator or its file's earlier runs
+     * @throws IOException           if the high-water mark cannot be advanced
+     * @throws IllegalStateException if every {@code int} id has been handed out
+     */
+    public int nextId() throws IOException {
+        Block b = blocks.get();
+        if (b.next == b.end) lease(b);
+        return (int) b.next++;
+    }
+
+    /**
+     * Assigns a fresh id to an employee and registers it, retrying with another id if the
+     * registry already holds one, e.g. an imported id that was not {@link #observe observed}.
+     *
+     * @param employee employee to number and register; not yet registered
+     * @param registry registry to insert into
+     * @return the id assigned
+     * @throws IOException           if the high-water mark cannot be advanced
+     * @throws IllegalStateException if every {@code int} id has been handed out
+     */
+    public int register(Employee employee, ConcurrentEmployeeRegistry registry) throws IOException {
+        while (true) {
+            int id = nextId();
+            employee.setEmployeeId(id);
+            if (registry.putIfAbsent(employee)) return id;
+            collisions.increment();
+        }
+    }
+
+    /**
+     * Ensures an externally assigned id and every id below it are never handed out. Blocks
+     * already leased to threads are not affected, so call this before allocating.
+     *
+     * @param employeeId id in use
+     * @throws IOException if the high-water mark cannot be advanced
+     */
+    public void observe(int employeeId) throws IOException {
+        long end = employeeId + 1L;
+        unleased.accumulateAndGet(end, Math::max);
+        if (end > reserved) reserve(end);
+    }
+
+    /** @return number of ids {@link #register} found already taken */
+    public long getCollisions() {
+        return collisions.sum();
+    }
+
+    /** @return durable high-water mark; the next run starts here */
+    public long getHighWaterMark() {
+        return reserved;
+    }
+
+    /** @return ids leased per thread at a time */
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    @Override
+    public String toString() {
+        return "EmployeeIdAllocator{" + file + ", blockSize=" + blockSize + ", highWaterMark=" + reserved
+                + ", collisions=" + getCollisions() + '}';
+    }
+
+    // ---- Helpers ------------------------------------------------------------
+
+    private void lease(Block b) throws IOException {
+        long start = unleased.getAndAdd(blockSize);
+        if (start >= END_OF_IDS) {
+            throw new IllegalStateException("All employee ids have been allocated");
+        }
+        long end = Math.min(start + blockSize, END_OF_IDS);
+        if (end > reserved) reserve(end);
+        b.next = start;
+        b.end = end;
+    }
+
+    /** Durably advances the high-water mark to at least {@code end}. */
+    private void reserve(long end) throws IOException {
+        synchronized (reserveLock) {
+            if (end <= reserved) return;
+            long mark = Math.min(Math.max(end, reserved + (long) blockSize * RESERVED_BLOCKS), END_OF_IDS);
+            writeMark(file, mark);
+            reserved = mark;
+        }
+    }
+
+    private static long readMark(Path file) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        if (bytes.length != FILE_SIZE) {
+            throw new IOException("Corrupt employee id file " + file + ": " + bytes.length + " bytes");
+        }
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+        long mark = buf.getLong();
+        if (buf.getInt() != checksum(bytes) || mark < FIRST_ID) {
+            throw new IOException("Corrupt employee id file " + file);
+        }
+        return mark;
+    }
+
+    /**
+     * Replaces the file atomically, so a crash leaves either the old or the new mark. Returns only
+     * once the rename itself is durable; until then no id above the old mark may be handed out.
+     */
+    private static void writeMark(Path file, long mark) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(FILE_SIZE);
+        buf.putLong(mark);
+        buf.putInt(checksum(buf.array()));
+        buf.flip();
+        Path partial = partialPath(file);
+        try (FileChannel ch = FileChannel.open(partial, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buf.hasRemaining()) ch.write(buf);
+            ch.force(true);
+        }
+        Files.move(partial, file, StandardCopyOption.ATOMIC_MOVE);
+        Directories.sync(file.toAbsolutePath().getParent());
+    }
+
+    private static int checksum(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, 8);
+        return (int) crc.getValue();
+    }
+
+    private static Path partialPath(Path file) {
+        return file.resolveSibling(file.getFileName() + PARTIAL_SUFFIX);
+    }
+}
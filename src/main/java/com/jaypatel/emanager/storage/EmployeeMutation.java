@@ -0,0 +1,276 @@
+package com.jaypatel.emanager.storage;
+
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.model.HourlyEmployee;
+import com.jaypatel.emanager.model.SalaryEmployee;
+import com.jaypatel.emanager.payroll.PayrollMath;
+import com.jaypatel.emanager.repository.EmployeeRepository;
+
+import java.math.BigDecimal;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * One logged change to the employee roster: an insert/replace, a removal, or a single setter.
+ * <p>
+ * Every mutation sets absolute values (no increments), so replaying a mutation over state that
+ * already reflects it leaves the state unchanged. {@link DurableEmployeeStore} relies on this to
+ * take snapshots without stopping writers.
+ * </p>
+ */
+public final class EmployeeMutation {
+    /** Kind of change; the ordinal is part of the on-disk format, so only append new values. */
+    public enum Type {
+        /** Insert or replace a whole employee. */
+        PUT,
+        /** Remove an employee. */
+        REMOVE,
+        /** {@link HourlyEmployee#setHourlyRate(BigDecimal)}. */
+        SET_HOURLY_RATE,
+        /** {@link HourlyEmployee#setMonthlyHours(BigDecimal)}. */
+        SET_MONTHLY_HOURS,
+        /** {@link SalaryEmployee#setAnnualSalary(BigDecimal)}. */
+        SET_ANNUAL_SALARY,
+        /** {@link Employee#setJobTitle(String)}. */
+        SET_JOB_TITLE
+    }
+
+    private static final Type[] TYPES = Type.values();
+
+    private static final int NULL_TEXT = -1;
+
+    private final Type type;
+
+    private final int employeeId;
+
+    /** Amount in cents / centi-hours for the numeric setters. */
+    private final long cents;
+
+    /** Job title for {@link Type#SET_JOB_TITLE}. */
+    private final String text;
+
+    /** {@link EmployeeRecordCodec} record for {@link Type#PUT}. */
+    private final byte[] record;
+
+    private EmployeeMutation(Type type, int employeeId, long cents, String text, byte[] record) {
+        this.type = type;
+        this.employeeId = employeeId;
+        this.cents = cents;
+        this.text = text;
+        this.record = record;
+    }
+
+    /**
+     * Captures the current state of an employee for insertion.
+     *
+     * @param employee an {@link HourlyEmployee} or {@link SalaryEmployee}
+     * @return a {@link Type#PUT} mutation
+     * @throws IllegalArgumentException if the employee type is unsupported
+     */
+    public static EmployeeMutation put(Employee employee) {
+        Objects.requireNonNull(employee, "employee");
+        ByteBuffer buf = ByteBuffer.allocate(4096);
+        while (true) {
+            try {
+                int length = EmployeeRecordCodec.encode(employee, buf);
+                byte[] bytes = new byte[length];
+                buf.get(0, bytes);
+                return new EmployeeMutation(Type.PUT, employee.getEmployeeId(), 0L, null, bytes);
+            } catch (BufferOverflowException tooSmall) {
+                buf = ByteBuffer.allocate(buf.capacity() * 4);
+            }
+        }
+    }
+
+    /**
+     * @param employeeId employee to remove
+     * @return a {@link Type#REMOVE} mutation
+     */
+    public static EmployeeMutation remove(int employeeId) {
+        return new EmployeeMutation(Type.REMOVE, employeeId, 0L, null, null);
+    }
+
+    /**
+     * @param employeeId hourly employee to update
+     * @param hourlyRate new rate; rounded to cents like the setter
+     * @return a {@link Type#SET_HOURLY_RATE} mutation
+     */
+    public static EmployeeMutation hourlyRate(int employeeId, BigDecimal hourlyRate) {
+        return new EmployeeMutation(Type.SET_HOURLY_RATE, employeeId, PayrollMath.toCents(hourlyRate), null, null);
+    }
+
+    /**
+     * @param employeeId   hourly employee to update
+     * @param monthlyHours new hours; rounded to centi-hours like the setter
+     * @return a {@link Type#SET_MONTHLY_HOURS} mutation
+     */
+    public static EmployeeMutation monthlyHours(int employeeId, BigDecimal monthlyHours) {
+        return new EmployeeMutation(Type.SET_MONTHLY_HOURS, employeeId, PayrollMath.toCents(monthlyHours), null, null);
+    }
+
+    /**
+     * @param employeeId   salaried employee to update
+     * @param annualSalary new salary; rounded to cents like the setter
+     * @return a {@link Type#SET_ANNUAL_SALARY} mutation
+     */
+    public static EmployeeMutation annualSalary(int employeeId, BigDecimal annualSalary) {
+        return new EmployeeMutation(Type.SET_ANNUAL_SALARY, employeeId, PayrollMath.toCents(annualSalary), null, null);
+    }
+
+    /**
+     * @param employeeId employee to update
+     * @param jobTitle   new job title; may be {@code null}
+     * @return a {@link Type#SET_JOB_TITLE} mutation
+     */
+    public static EmployeeMutation jobTitle(int employeeId, String jobTitle) {
+        return new EmployeeMutation(Type.SET_JOB_TITLE, employeeId, 0L, jobTitle, null);
+    }
+
+    /** @return the kind of change */
+    public Type getType() {
+        return type;
+    }
+
+    /** @return the affected employee id */
+    public int getEmployeeId() {
+        return employeeId;
+    }
+
+    /**
+     * Checks that the mutation can be applied to a roster, without changing anything.
+     *
+     * @param repository current roster
+     * @return {@code true} if {@link #applyTo(EmployeeRepository)} would change the roster
+     */
+    public boolean isApplicable(EmployeeRepository repository) {
+        return switch (type) {
+            case PUT, REMOVE -> true;
+            case SET_HOURLY_RATE, SET_MONTHLY_HOURS -> repository.get(employeeId) instanceof HourlyEmployee;
+            case SET_ANNUAL_SALARY -> repository.get(employeeId) instanceof SalaryEmployee;
+            case SET_JOB_TITLE -> repository.get(employeeId) != null;
+        };
+    }
+
+    /**
+     * Applies the change through the model setters.
+     * Setters aimed at a missing employee or one of the wrong type are skipped.
+     *
+     * @param repository roster to change
+     * @return {@code true} if the roster changed
+     */
+    public boolean applyTo(EmployeeRepository repository) {
+        switch (type) {
+            case PUT -> {
+                repository.put(EmployeeRecordCodec.decode(ByteBuffer.wrap(record), 0));
+                return true;
+            }
+            case REMOVE -> {
+                return repository.remove(employeeId) != null;
+            }
+            default -> {
+                Employee target = repository.get(employeeId);
+                return target != null && applyTo(target);
+            }
+        }
+    }
+
+    /**
+     * Applies a setter mutation to one employee.
+     *
+     * @param target employee whose id matches {@link #getEmployeeId()}
+     * @return {@code true} if the type matched and the setter ran
+     */
+    public boolean applyTo(Employee target) {
+        switch (type) {
+            case SET_HOURLY_RATE -> {
+                if (!(target instanceof HourlyEmployee he)) return false;
+                he.setHourlyRate(PayrollMath.fromCents(cents));
+            }
+            case SET_MONTHLY_HOURS -> {
+                if (!(target instanceof HourlyEmployee he)) return false;
+                he.setMonthlyHours(PayrollMath.fromCents(cents));
+            }
+            case SET_ANNUAL_SALARY -> {
+                if (!(target instanceof SalaryEmployee se)) return false;
+                se.setAnnualSalary(PayrollMath.fromCents(cents));
+            }
+            case SET_JOB_TITLE -> target.setJobTitle(text);
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return type + "(" + employeeId + ")";
+    }
+
+    // ---- Encoding (used by WriteAheadLog) ----------------------------------
+
+    /** @return bytes written by {@link #encode(ByteBuffer)} */
+    int encodedSize() {
+        int size = 1 + 4;
+        switch (type) {
+            case PUT -> size += record.length;
+            case SET_JOB_TITLE -> size += 4 + (text == null ? 0 : text.getBytes(StandardCharsets.UTF_8).length);
+            case REMOVE -> { }
+            default -> size += 8;
+        }
+        return size;
+    }
+
+    /** Writes type, employee id and payload at the buffer's position. */
+    void encode(ByteBuffer out) {
+        out.put((byte) type.ordinal()).putInt(employeeId);
+        switch (type) {
+            case PUT -> out.put(record);
+            case SET_JOB_TITLE -> {
+                if (text == null) {
+                    out.putInt(NULL_TEXT);
+                } else {
+                    byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+                    out.putInt(bytes.length).put(bytes);
+                }
+            }
+            case REMOVE -> { }
+            default -> out.putLong(cents);
+        }
+    }
+
+    /** Reads a mutation written by {@link #encode(ByteBuffer)}; consumes exactly {@code length} bytes. */
+    static EmployeeMutation decode(ByteBuffer in, int length) {
+        int ordinal = in.get();
+        if (ordinal < 0 || ordinal >= TYPES.length) {
+            throw new IllegalArgumentException("Unknown mutation type " + ordinal);
+        }
+        Type type = TYPES[ordinal];
+        int employeeId = in.getInt();
+        switch (type) {
+            case PUT -> {
+                byte[] bytes = new byte[length - 5];
+                in.get(bytes);
+                return new EmployeeMutation(type, employeeId, 0L, null, bytes);
+            }
+            case SET_JOB_TITLE -> {
+                int n = in.getInt();
+                String title = null;
+                if (n != NULL_TEXT) {
+                    byte[] bytes = new byte[n];
+                    in.get(bytes);
+                    title = new String(bytes, StandardCharsets.UTF_8);
+                }
+                return new EmployeeMutation(type, employeeId, 0L, title, null);
+            }
+            case REMOVE -> {
+                return new EmployeeMutation(type, employeeId, 0L, null, null);
+            }
+            default -> {
+                return new EmployeeMutation(type, employeeId, in.getLong(), null, null);
+            }
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.jaypatel.emanager.storage;
+
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.model.HourlyEmployee;
+import com.jaypatel.emanager.model.ImmutableAddress;
+import com.jaypatel.emanager.model.SalaryEmployee;
+import com.jaypatel.emanager.payroll.ColumnarPayroll;
+import com.jaypatel.emanager.payroll.PayrollMath;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compact binary encoding of one {@link Employee} (with its {@code Person} and address fields).
+ * <p>
+ * A record is a fixed 46-byte header followed by the UTF-8 bytes of its text fields, so the
+ * numeric fields of any record can be read in place with absolute {@link ByteBuffer} reads,
+ * without decoding the rest. All multi-byte values use the buffer's byte order (big-endian
+ * unless the caller changes it).
+ * </p>
+ *
+ * <h3>Layout</h3>
+ * <pre>
+ * offset  size  field
+ *      0     4  record length in bytes, header included
+ *      4     1  kind: {@link ColumnarPayroll#HOURLY} or {@link ColumnarPayroll#SALARIED}
+ *      5     1  flags: bit 0 set when the employee has an address
+ *      6     2  middle initial (char)
+ *      8     4  employeeId
+ *     12     8  hourly rate or annual salary, in cents
+ *     20     8  monthly hours in centi-hours (0 for salaried)
+ *     28  9x2  byte length of each text field, {@code 0xFFFF} for null, in this order:
+ *              lastName, firstName, birthDate, phoneNumber, jobTitle,
+ *              street, city, province, postalCode
+ *     46     n  UTF-8 bytes of the text fields, same order
+ * </pre>
+ */
+public final class EmployeeRecordCodec {
+    /** Text field index of the last name. */
+    public static final int LAST_NAME = 0;
+
+    /** Text field index of the first name. */
+    public static final int FIRST_NAME = 1;
+
+    /** Text field index of the birth date. */
+    public static final int BIRTH_DATE = 2;
+
+    /** Text field index of the phone number. */
+    public static final int PHONE_NUMBER = 3;
+
+    /** Text field index of the job title. */
+    public static final int JOB_TITLE = 4;
+
+    /** Text field index of the street. */
+    public static final int STREET = 5;
+
+    /** Text field index of the city. */
+    public static final int CITY = 6;
+
+    /** Text field index of the province. */
+    public static final int PROVINCE = 7;
+
+    /** Text field index of the postal code. */
+    public static final int POSTAL_CODE = 8;
+
+    /** Size of the fixed part of every record. */
+    public static final int HEADER_SIZE = 46;
+
+    private static final int TEXT_FIELDS = 9;
+
+    private static final int OFF_LENGTH = 0;
+
+    private static final int OFF_KIND = 4;
+
+    private static final int OFF_FLAGS = 5;
+
+    private static final int OFF_MIDDLE = 6;
+
+    private static final int OFF_ID = 8;
+
+    private static final int OFF_AMOUNT = 12;
+
+    private static final int OFF_HOURS = 20;
+
+    private static final int OFF_TEXT_LENGTHS = 28;
+
+    private static final int FLAG_ADDRESS = 1;
+
+    private static final int NULL_LENGTH = 0xFFFF;
+
+    private static final int MAX_TEXT_BYTES = NULL_LENGTH - 1;
+
+    /** Marks a {@code null} text field while encoding; compared by identity, unlike {@code ""}. */
+    private static final byte[] ABSENT = new byte[0];
+
+    private EmployeeRecordCodec() {
+    }
+
+    /**
+     * Encodes an employee at the buffer's position and advances it past the record.
+     * <p>If the record does not fit, the buffer's position is left unchanged.</p>
+     *
+     * @param employee an {@link HourlyEmployee} or {@link SalaryEmployee}
+     * @param out      destination buffer
+     * @return number of bytes written
+     * @throws BufferOverflowException  if {@code out} has too little room; nothing is written
+     * @throws IllegalArgumentException if the employee type is unsupported or a text field is
+     *                                  longer than 65534 UTF-8 bytes
+     * @throws ArithmeticException      if an amount does not fit in {@code long} cents
+     */
+    public static int encode(Employee employee, ByteBuffer out) {
+        final byte kind;
+        final long amount;
+        final long hours;
+        if (employee instanceof HourlyEmployee he) {
+            kind = ColumnarPayroll.HOURLY;
+            amount = PayrollMath.toCents(he.getHourlyRate());
+            hours = PayrollMath.toCents(he.getMonthlyHours());
+        } else if (employee instanceof SalaryEmployee se) {
+            kind = ColumnarPayroll.SALARIED;
+            amount = PayrollMath.toCents(se.getAnnualSalary());
+            hours = 0L;
+        } else {
+            throw new IllegalArgumentException("Unsupported employee type: "
+                    + (employee == null ? "null" : employee.getClass().getName()));
+        }
+
+        ImmutableAddress address = employee.getAddressValue();
+        byte[][] text = {
+                utf8(employee.getLastName()),
+                utf8(employee.getFirstName()),
+                utf8(employee.getBirthDate()),
+                utf8(employee.getPhoneNumber()),
+                utf8(employee.getJobTitle()),
+                address == null ? ABSENT : utf8(address.getStreet()),
+                address == null ? ABSENT : utf8(address.getCity()),
+                address == null ? ABSENT : utf8(address.getProvince()),
+                address == null ? ABSENT : utf8(address.getPostalCode()),
+        };
+        int length = HEADER_SIZE;
+        for (byte[] t : text) {
+            length += t.length;
+        }
+        if (out.remaining() < length) {
+            throw new BufferOverflowException();
+        }
+
+        final int base = out.position();
+        out.putInt(base + OFF_LENGTH, length);
+        out.put(base + OFF_KIND, kind);
+        out.put(base + OFF_FLAGS, (byte) (address == null ? 0 : FLAG_ADDRESS));
+        out.putChar(base + OFF_MIDDLE, employee.getMiddleInit());
+        out.putInt(base + OFF_ID, employee.getEmployeeId());
+        out.putLong(base + OFF_AMOUNT, amount);
+        out.putLong(base + OFF_HOURS, hours);
+        out.position(base + HEADER_SIZE);
+        for (int i = 0; i < TEXT_FIELDS; i++) {
+            byte[] t = text[i];
+            out.putShort(base + OFF_TEXT_LENGTHS + 2 * i, (short) (t == ABSENT ? NULL_LENGTH : t.length));
+            out.put(t);
+        }
+        return length;
+    }
+
+    /**
+     * Decodes the record at {@code offset} into a new model object. The buffer's position is not used.
+     *
+     * @param buf    buffer holding the record
+     * @param offset absolute offset of the record
+     * @return a new {@link HourlyEmployee} or {@link SalaryEmployee}
+     */
+    public static Employee decode(ByteBuffer buf, int offset) {
+        Employee e;
+        if (kind(buf, offset) == ColumnarPayroll.HOURLY) {
+            e = new HourlyEmployee(
+                    text(buf, offset, LAST_NAME), text(buf, offset, FIRST_NAME), middleInit(buf, offset),
+                    text(buf, offset, BIRTH_DATE), text(buf, offset, PHONE_NUMBER), null,
+                    employeeId(buf, offset), text(buf, offset, JOB_TITLE),
+                    PayrollMath.fromCents(monthlyHoursCenti(buf, offset)),
+                    PayrollMath.fromCents(amountCents(buf, offset)));
+        } else {
+            e = new SalaryEmployee(
+                    text(buf, offset, LAST_NAME), text(buf, offset, FIRST_NAME), middleInit(buf, offset),
+                    text(buf, offset, BIRTH_DATE), text(buf, offset, PHONE_NUMBER), null,
+                    employeeId(buf, offset), text(buf, offset, JOB_TITLE),
+                    PayrollMath.fromCents(amountCents(buf, offset)));
+        }
+        e.setAddressValue(address(buf, offset));
+        return e;
+    }
+
+    /**
+     * @param buf    buffer holding the record
+     * @param offset absolute offset of the record
+     * @return total record length in bytes
+     */
+    public static int recordLength(ByteBuffer buf, int offset) {
+        return buf.getInt(offset + OFF_LENGTH);
+    }
+
+    /**
+     * @param buf    buffer holding the record
+     * @param offset absolute offset of the record
+     * @return {@link ColumnarPayroll#HOURLY} or {@link ColumnarPayroll#SALARIED}
+     */
+    public static byte kind(ByteBuffer buf, int offset) {
+        return buf.get(offset + OFF_KIND);
+    }
+
+    /**
+     * @param buf    buffer holding the record
+     * @param offset absolute offset of the record
+     * @return the employee id
+     */
+    public static int employeeId(ByteBuffer buf, int offset) {
+        return buf.getInt(offset + OFF_ID);
+    }
+
+    /**
+     * @param buf    buffer holding the record
+     * @param offset absolute offset of the record
+     * @return the middle initial, {@code '\0'} if none
+     */
+    public static char middleInit(ByteBuffer buf, int offset) {
+        return buf.getChar(offset + OFF_MIDDLE);
+    }
+
+    /**
+     * @param buf    buffer holding the record
+     * @param offset absolute offset of the record
+     * @return hourly rate (hourly records) or annual salary (salaried records), in cents
+     */
+    public static long amountCents(ByteBuffer buf, int offset) {
+        return buf.getLong(offset + OFF_AMOUNT);
+    }
+
+    /**
+     * @param buf    buffer holding the record
+     * @param offset absolute offset of the record
+     * @return monthly hours in centi-hours; 0 for salaried records
+     */
+    public static long monthlyHoursCenti(ByteBuffer buf, int offset) {
+        return buf.getLong(offset + OFF_HOURS);
+    }
+
+    /**
+     * Computes earnings straight from the record, with the same rounding as the model.
+     *
+     * @param buf    buffer holding the record
+     * @param offset absolute offset of the record
+     * @return monthly earnings in cents
+     */
+    public static long earningsCents(ByteBuffer buf, int offset) {
+        return kind(buf, offset) == ColumnarPayroll.HOURLY
+                ? PayrollMath.hourlyEarningsCents(amountCents(buf, offset), monthlyHoursCenti(buf, offset))
+                : PayrollMath.monthlyEarningsCents(amountCents(buf, offset));
+    }
+
+    /**
+     * Decodes one text field.
+     *
+     * @param buf    buffer holding the record
+     * @param offset absolute offset of the record
+     * @param field  field index, e.g. {@link #LAST_NAME}
+     * @return the field value, or {@code null} if absent
+     */
+    public static String text(ByteBuffer buf, int offset, int field) {
+        int position = offset + HEADER_SIZE;
+        for (int i = 0; i < field; i++) {
+            int len = textLength(buf, offset, i);
+            if (len != NULL_LENGTH) position += len;
+        }
+        int len = textLength(buf, offset, field);
+        if (len == NULL_LENGTH) return null;
+        byte[] bytes = new byte[len];
+        buf.get(position, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decodes the address fields, returning the pooled {@link ImmutableAddress}.
+     *
+     * @param buf    buffer holding the record
+     * @param offset absolute offset of the record
+     * @return the address, or {@code null} if the employee has none
+     */
+    public static ImmutableAddress address(ByteBuffer buf, int offset) {
+        if ((buf.get(offset + OFF_FLAGS) & FLAG_ADDRESS) == 0) return null;
+        return ImmutableAddress.of(text(buf, offset, STREET), text(buf, offset, CITY),
+                text(buf, offset, PROVINCE), text(buf, offset, POSTAL_CODE));
+    }
+
+    // ---- Helpers ------------------------------------------------------------
+
+    private static int textLength(ByteBuffer buf, int offset, int field) {
+        return Short.toUnsignedInt(buf.getShort(offset + OFF_TEXT_LENGTHS + 2 * field));
+    }
+
+    private static byte[] utf8(String value) {
+        if (value == null) return ABSENT;
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_TEXT_BYTES) {
+            throw new IllegalArgumentException("Text field longer than " + MAX_TEXT_BYTES + " bytes");
+        }
+        return bytes;
+    }
+}
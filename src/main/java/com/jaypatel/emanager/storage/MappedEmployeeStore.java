@@ -0,0 +1,276 @@
+package com.jaypatel.emanager.storage;
+
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.payroll.ColumnarPayroll;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Read-only employee store that memory-maps a file written by {@link #write(Path, Iterable)}.
+ * <p>
+ * Opening a store maps the file and checks its header; nothing is deserialized up front, so a
+ * multi-million-employee roster opens in constant time and the OS pages data in on demand.
+ * {@link #get(int)} binary-searches a sorted id index stored in the file and decodes a single
+ * record; {@link #forEach(Consumer)} and {@link #toPayroll()} scan records in file order.
+ * </p>
+ *
+ * <h3>File layout</h3>
+ * <pre>
+ * header  32 bytes: magic "EMPS", version, record count, index offset, reserved
+ * records {@link EmployeeRecordCodec} records, back to back
+ * index   record count x (int employeeId, int record offset), sorted by employeeId
+ * </pre>
+ *
+ * <p>Files are limited to 2 GiB (a single mapping), which holds well over 5M typical records.
+ * Instances are safe for concurrent readers.</p>
+ */
+public final class MappedEmployeeStore implements AutoCloseable {
+    private static final int MAGIC = 0x454D5053; // "EMPS"
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 32;
+
+    private static final int INDEX_ENTRY_SIZE = 8;
+
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+
+    private final Path file;
+
+    private final ByteBuffer data;
+
+    private final int count;
+
+    private final int indexOffset;
+
+    private volatile boolean closed;
+
+    private MappedEmployeeStore(Path file, ByteBuffer data) throws IOException {
+        if (data.limit() < HEADER_SIZE || data.getInt(0) != MAGIC) {
+            throw new IOException("Not an employee store: " + file);
+        }
+        if (data.getInt(4) != VERSION) {
+            throw new IOException("Unsupported employee store version " + data.getInt(4) + ": " + file);
+        }
+        this.file = file;
+        this.data = data;
+        this.count = data.getInt(8);
+        this.indexOffset = data.getInt(12);
+        if (count < 0 || indexOffset < HEADER_SIZE || (long) indexOffset + (long) count * INDEX_ENTRY_SIZE > data.limit()) {
+            throw new IOException("Corrupt employee store header: " + file);
+        }
+    }
+
+    /**
+     * Writes employees to a new store file, replacing any existing file atomically
+     * and durably: the rename is forced to disk before this method returns.
+     *
+     * @param file      destination path
+     * @param employees hourly and salaried employees; ids must be unique
+     * @return number of employees written
+     * @throws IOException              if the file cannot be written
+     * @throws IllegalArgumentException if two employees share an id, an employee type is
+     *                                  unsupported, or the file would exceed 2 GiB
+     */
+    public static int write(Path file, Iterable<? extends Employee> employees) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        long[] index = new long[1024];
+        int n = 0;
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buf = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+            long position = HEADER_SIZE;
+            ch.position(HEADER_SIZE);
+            for (Employee e : employees) {
+                int length;
+                try {
+                    length = EmployeeRecordCodec.encode(e, buf);
+                } catch (BufferOverflowException full) {
+                    drain(ch, buf);
+                    length = EmployeeRecordCodec.encode(e, buf); // a single record always fits in 1 MiB
+                }
+                if (n == index.length) index = Arrays.copyOf(index, n * 2);
+                index[n++] = ((long) e.getEmployeeId() << 32) | position;
+                position += length;
+                checkSize(position, file);
+            }
+            drain(ch, buf);
+
+            // Sorting (id << 32 | offset) orders by signed id; offsets fit in the low 32 bits.
+            Arrays.sort(index, 0, n);
+            long indexOffset = position;
+            checkSize(indexOffset + (long) n * INDEX_ENTRY_SIZE, file);
+            for (int i = 0; i < n; i++) {
+                if (i > 0 && (int) (index[i] >> 32) == (int) (index[i - 1] >> 32)) {
+                    throw new IllegalArgumentException("Duplicate employeeId " + (int) (index[i] >> 32));
+                }
+                if (buf.remaining() < INDEX_ENTRY_SIZE) drain(ch, buf);
+                buf.putInt((int) (index[i] >> 32)).putInt((int) index[i]);
+            }
+            drain(ch, buf);
+
+            buf.putInt(MAGIC).putInt(VERSION).putInt(n).putInt((int) indexOffset).putLong(0L).putLong(0L);
+            ch.position(0);
+            drain(ch, buf);
+            ch.force(true);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(tmp);
+            throw ex;
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Directories.sync(file.toAbsolutePath().getParent());
+        return n;
+    }
+
+    /**
+     * Maps an existing store file read-only.
+     *
+     * @param file store written by {@link #write(Path, Iterable)}
+     * @return the open store
+     * @throws IOException if the file cannot be mapped or is not a valid store
+     */
+    public static MappedEmployeeStore open(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Employee store larger than 2 GiB: " + file);
+            }
+            MappedByteBuffer mapped = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return new MappedEmployeeStore(file, mapped);
+        }
+    }
+
+    /** @return the mapped file */
+    public Path getFile() {
+        return file;
+    }
+
+    /** @return number of employees in the store */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @param employeeId employee id
+     * @return {@code true} if the store holds that id
+     */
+    public boolean contains(int employeeId) {
+        return offsetOf(employeeId) >= 0;
+    }
+
+    /**
+     * Decodes one employee by id.
+     *
+     * @param employeeId employee id
+     * @return a new model object, or {@code null} if the id is not in the store
+     */
+    public Employee get(int employeeId) {
+        int offset = offsetOf(employeeId);
+        return offset < 0 ? null : EmployeeRecordCodec.decode(data, offset);
+    }
+
+    /**
+     * Finds the record of an employee, for callers that read fields in place with
+     * {@link EmployeeRecordCodec} accessors.
+     *
+     * @param employeeId employee id
+     * @return the record's absolute offset in {@link #buffer()}, or {@code -1} if absent
+     */
+    public int offsetOf(int employeeId) {
+        ensureOpen();
+        int lo = 0;
+        int hi = count - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int id = data.getInt(indexOffset + mid * INDEX_ENTRY_SIZE);
+            if (id < employeeId) {
+                lo = mid + 1;
+            } else if (id > employeeId) {
+                hi = mid - 1;
+            } else {
+                return data.getInt(indexOffset + mid * INDEX_ENTRY_SIZE + 4);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Read-only view of the mapped file, for in-place reads with {@link EmployeeRecordCodec}.
+     *
+     * @return a new read-only buffer over the mapping
+     */
+    public ByteBuffer buffer() {
+        ensureOpen();
+        return data.asReadOnlyBuffer();
+    }
+
+    /**
+     * Decodes every employee in file order.
+     *
+     * @param action receives each employee
+     */
+    public void forEach(Consumer<? super Employee> action) {
+        ensureOpen();
+        for (int offset = HEADER_SIZE; offset < indexOffset; offset += EmployeeRecordCodec.recordLength(data, offset)) {
+            action.accept(EmployeeRecordCodec.decode(data, offset));
+        }
+    }
+
+    /**
+     * Loads every record's pay fields into a payroll engine straight from the mapping,
+     * without decoding text fields or creating model objects.
+     *
+     * @return a new payroll engine with one row per record, in file order
+     */
+    public ColumnarPayroll toPayroll() {
+        ensureOpen();
+        ColumnarPayroll payroll = new ColumnarPayroll(count);
+        for (int offset = HEADER_SIZE; offset < indexOffset; offset += EmployeeRecordCodec.recordLength(data, offset)) {
+            int id = EmployeeRecordCodec.employeeId(data, offset);
+            long amount = EmployeeRecordCodec.amountCents(data, offset);
+            if (EmployeeRecordCodec.kind(data, offset) == ColumnarPayroll.HOURLY) {
+                payroll.addHourly(id, amount, EmployeeRecordCodec.monthlyHoursCenti(data, offset));
+            } else {
+                payroll.addSalaried(id, amount);
+            }
+        }
+        return payroll;
+    }
+
+    /**
+     * Marks the store closed. The mapping itself is released when it is garbage collected;
+     * the JDK offers no supported way to unmap it eagerly.
+     */
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    // ---- Helpers ------------------------------------------------------------
+
+    private void ensureOpen() {
+        if (closed) throw new IllegalStateException("Store is closed: " + file);
+    }
+
+    private static void drain(FileChannel ch, ByteBuffer buf) throws IOException {
+        buf.flip();
+        while (buf.hasRemaining()) ch.write(buf);
+        buf.clear();
+    }
+
+    private static void checkSize(long size, Path file) {
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Employee store larger than 2 GiB: " + file);
+        }
+    }
+}
@@ -0,0 +1,417 @@
+package com.jaypatel.emanager.storage;
+
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.payroll.ColumnarPayroll;
+import com.jaypatel.emanager.repository.EmployeeRepository;
+import com.jaypatel.emanager.util.IntLongHashMap;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Employee repository that keeps records outside the Java heap, in direct {@link ByteBuffer}
+ * chunks, and hands out read-only flyweight views over them.
+ * <p>
+ * A heap {@link com.jaypatel.emanager.model.HourlyEmployee} is a graph of a dozen or more
+ * objects (strings, {@code BigDecimal}s, the address). Here each employee is one
+ * {@link EmployeeRecordCodec} record, typically 100–150 bytes, appended to a chunk the garbage
+ * collector never scans; the heap holds only an {@link IntLongHashMap} from id to record address,
+ * about 12–24 bytes per employee in two flat arrays. Ten million employees cost roughly 1.3 GB of
+ * native memory and 200 MB of heap, and old-generation collections have almost nothing to trace.
+ * </p>
+ * <p>
+ * {@link #get(int)} returns an {@link HourlyEmployeeView} or {@link SalaryEmployeeView}, so code
+ * that reads getters or dispatches on {@code instanceof HourlyEmployee} keeps working. Views are
+ * immutable snapshots: {@link #put(Employee)} appends a new record rather than overwriting the
+ * old one, so a view obtained earlier keeps showing the values it was created with. Space left
+ * behind by replaced and removed records is reclaimed by {@link #compact()}.
+ * </p>
+ * <p>
+ * Direct memory counts against {@code -XX:MaxDirectMemorySize} (by default the maximum heap
+ * size) and is released when the chunk buffers are garbage collected, i.e. once the store is
+ * closed or compacted and no view of the old chunks remains reachable. Views therefore stay
+ * safe to read after either operation.
+ * </p>
+ *
+ * <h3>Example</h3>
+ * <pre>{@code
+ * try (OffHeapEmployeeStore store = new OffHeapEmployeeStore()) {
+ *     EmployeeCsvImporter.csv().importInto(csv, store); // heap objects become garbage per batch
+ *     Employee e = store.get(42);                       // a view; reads bytes on demand
+ *     store.forEachView(v -> total.add(v.getEarnings()));
+ * }
+ * }</pre>
+ *
+ * <p>Instances are safe for concurrent use; reads run in parallel with each other.</p>
+ */
+public final class OffHeapEmployeeStore implements EmployeeRepository, AutoCloseable {
+    /** Default chunk size: 16 MiB. */
+    public static final int DEFAULT_CHUNK_SIZE = 16 << 20;
+
+    /** Smallest chunk size; any single record fits in it. */
+    public static final int MIN_CHUNK_SIZE = 1 << 20;
+
+    private final int chunkSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Writable chunks; the last one receives appends at its position. */
+    private ByteBuffer[] chunks = new ByteBuffer[4];
+
+    /** One duplicate per chunk for readers, so appends never move a buffer that views use. */
+    private ByteBuffer[] readers = new ByteBuffer[4];
+
+    private int chunkCount;
+
+    /** Employee id to record address: chunk number in the high 32 bits, offset in the low 32. */
+    private IntLongHashMap index = new IntLongHashMap();
+
+    private long liveBytes;
+
+    private boolean closed;
+
+    /** Creates an empty store with {@link #DEFAULT_CHUNK_SIZE} chunks. */
+    public OffHeapEmployeeStore() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates an empty store. Larger chunks mean fewer allocations; smaller ones waste less
+     * memory at the end of the last chunk.
+     *
+     * @param chunkSize bytes per direct buffer
+     * @throws IllegalArgumentException if {@code chunkSize} is below {@link #MIN_CHUNK_SIZE}
+     */
+    public OffHeapEmployeeStore(int chunkSize) {
+        if (chunkSize < MIN_CHUNK_SIZE) {
+            throw new IllegalArgumentException("chunkSize must be >= " + MIN_CHUNK_SIZE + ": " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Copies an employee into native memory, replacing any employee with the same id.
+     * Later changes to {@code employee} are not reflected in the store.
+     *
+     * @param employee an {@link com.jaypatel.emanager.model.HourlyEmployee} or
+     *                 {@link com.jaypatel.emanager.model.SalaryEmployee} (views included)
+     * @return a view of the replaced record, or {@code null} if the id was not present
+     * @throws NullPointerException     if {@code employee} is null
+     * @throws IllegalArgumentException if the employee cannot be encoded
+     *                                  (see {@link EmployeeRecordCodec#encode})
+     * @throws IllegalStateException    if the store is closed
+     */
+    @Override
+    public Employee put(Employee employee) {
+        Objects.requireNonNull(employee, "employee");
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            long address = append(employee);
+            liveBytes += recordLength(address);
+            long previous = index.put(employee.getEmployeeId(), address);
+            if (previous == IntLongHashMap.NO_VALUE) return null;
+            liveBytes -= recordLength(previous);
+            return view(previous);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Looks up an employee by id.
+     *
+     * @param employeeId employee id
+     * @return a new read-only view of the record, or {@code null} if none is stored under that id
+     */
+    @Override
+    public Employee get(int employeeId) {
+        lock.readLock().lock();
+        try {
+            ensureOpen();
+            long address = index.get(employeeId);
+            return address == IntLongHashMap.NO_VALUE ? null : view(address);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Removes an employee by id. Its bytes stay allocated until {@link #compact()}.
+     *
+     * @param employeeId employee id
+     * @return a view of the removed record, or {@code null} if none was stored under that id
+     */
+    @Override
+    public Employee remove(int employeeId) {
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            long address = index.remove(employeeId);
+            if (address == IntLongHashMap.NO_VALUE) return null;
+            liveBytes -= recordLength(address);
+            return view(address);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean contains(int employeeId) {
+        lock.readLock().lock();
+        try {
+            ensureOpen();
+            return index.containsKey(employeeId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Passes every employee to {@code action} through two reused flyweights (one hourly, one
+     * salaried), so a full scan allocates no per-employee view. The view is only valid inside
+     * the callback; keep {@link HourlyEmployeeView#toEmployee()} or the id, not the view itself.
+     * Writers wait until the scan finishes.
+     *
+     * @param action receives each employee, in no particular order
+     */
+    public void forEachView(Consumer<? super Employee> action) {
+        lock.readLock().lock();
+        try {
+            ensureOpen();
+            final ByteBuffer[] buffers = readers;
+            final HourlyEmployeeView hourly = new HourlyEmployeeView(null, 0);
+            final SalaryEmployeeView salaried = new SalaryEmployeeView(null, 0);
+            index.forEachEntry((id, address) -> {
+                ByteBuffer buf = buffers[(int) (address >>> 32)];
+                int offset = (int) address;
+                if (EmployeeRecordCodec.kind(buf, offset) == ColumnarPayroll.HOURLY) {
+                    hourly.moveTo(buf, offset);
+                    action.accept(hourly);
+                } else {
+                    salaried.moveTo(buf, offset);
+                    action.accept(salaried);
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Iterates over a snapshot of the stored records, creating one view per employee.
+     * The snapshot costs 8 bytes of heap per employee; prefer {@link #forEachView(Consumer)}
+     * for full scans.
+     *
+     * @return an iterator of read-only views, in no particular order
+     */
+    @Override
+    public Iterator<Employee> iterator() {
+        final long[] addresses;
+        final ByteBuffer[] buffers;
+        lock.readLock().lock();
+        try {
+            ensureOpen();
+            addresses = index.values();
+            buffers = readers;
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new SnapshotIterator(buffers, addresses);
+    }
+
+    /**
+     * Loads every record's pay fields into a payroll engine straight from native memory,
+     * without decoding text fields or creating views.
+     *
+     * @return a new payroll engine with one row per employee
+     */
+    public ColumnarPayroll toPayroll() {
+        lock.readLock().lock();
+        try {
+            ensureOpen();
+            final ByteBuffer[] buffers = readers;
+            ColumnarPayroll payroll = new ColumnarPayroll(index.size());
+            index.forEachEntry((id, address) -> {
+                ByteBuffer buf = buffers[(int) (address >>> 32)];
+                int offset = (int) address;
+                long amount = EmployeeRecordCodec.amountCents(buf, offset);
+                if (EmployeeRecordCodec.kind(buf, offset) == ColumnarPayroll.HOURLY) {
+                    payroll.addHourly(id, amount, EmployeeRecordCodec.monthlyHoursCenti(buf, offset));
+                } else {
+                    payroll.addSalaried(id, amount);
+                }
+            });
+            return payroll;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Copies live records into fresh chunks and drops the old ones, reclaiming the space of
+     * replaced and removed records. Existing views keep the old chunks alive until they are
+     * unreachable.
+     *
+     * @return number of bytes reclaimed
+     */
+    public long compact() {
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            final long before = allocatedBytesLocked();
+            final ByteBuffer[] oldReaders = readers;
+            final IntLongHashMap oldIndex = index;
+            chunks = new ByteBuffer[4];
+            readers = new ByteBuffer[4];
+            chunkCount = 0;
+            index = new IntLongHashMap(oldIndex.size());
+            oldIndex.forEachEntry((id, address) -> {
+                ByteBuffer src = oldReaders[(int) (address >>> 32)];
+                int offset = (int) address;
+                int length = EmployeeRecordCodec.recordLength(src, offset);
+                if (chunkCount == 0 || chunks[chunkCount - 1].remaining() < length) newChunk();
+                ByteBuffer dst = chunks[chunkCount - 1];
+                int position = dst.position();
+                dst.put(position, src, offset, length);
+                dst.position(position + length);
+                index.put(id, ((long) (chunkCount - 1) << 32) | position);
+            });
+            return before - allocatedBytesLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** @return bytes of native memory held by the chunks */
+    public long allocatedBytes() {
+        lock.readLock().lock();
+        try {
+            return allocatedBytesLocked();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** @return bytes used by the records of stored employees */
+    public long liveBytes() {
+        lock.readLock().lock();
+        try {
+            return liveBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Drops the store's chunks and index. Native memory is freed once outstanding views are
+     * unreachable. Further calls other than {@link #size()} and {@code close()} throw
+     * {@link IllegalStateException}.
+     */
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            closed = true;
+            chunks = new ByteBuffer[0];
+            readers = new ByteBuffer[0];
+            chunkCount = 0;
+            index = new IntLongHashMap();
+            liveBytes = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ---- Helpers ------------------------------------------------------------
+
+    private void ensureOpen() {
+        if (closed) throw new IllegalStateException("Off-heap employee store is closed");
+    }
+
+    /** Encodes at the end of the last chunk, starting a new chunk when it is full. */
+    private long append(Employee employee) {
+        if (chunkCount == 0) newChunk();
+        ByteBuffer chunk = chunks[chunkCount - 1];
+        int offset = chunk.position();
+        try {
+            EmployeeRecordCodec.encode(employee, chunk);
+        } catch (BufferOverflowException full) {
+            chunk = newChunk();
+            offset = chunk.position();
+            EmployeeRecordCodec.encode(employee, chunk); // a single record always fits in MIN_CHUNK_SIZE
+        }
+        return ((long) (chunkCount - 1) << 32) | offset;
+    }
+
+    private ByteBuffer newChunk() {
+        if (chunkCount == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunkCount * 2);
+            readers = Arrays.copyOf(readers, chunkCount * 2);
+        }
+        ByteBuffer chunk = ByteBuffer.allocateDirect(chunkSize);
+        chunks[chunkCount] = chunk;
+        readers[chunkCount] = chunk.duplicate();
+        chunkCount++;
+        return chunk;
+    }
+
+    private long allocatedBytesLocked() {
+        return (long) chunkCount * chunkSize;
+    }
+
+    private int recordLength(long address) {
+        return EmployeeRecordCodec.recordLength(readers[(int) (address >>> 32)], (int) address);
+    }
+
+    private Employee view(long address) {
+        return view(readers, address);
+    }
+
+    private static Employee view(ByteBuffer[] buffers, long address) {
+        ByteBuffer buf = buffers[(int) (address >>> 32)];
+        int offset = (int) address;
+        return EmployeeRecordCodec.kind(buf, offset) == ColumnarPayroll.HOURLY
+                ? new HourlyEmployeeView(buf, offset)
+                : new SalaryEmployeeView(buf, offset);
+    }
+
+    /** Iterates views over addresses captured at creation. */
+    private static final class SnapshotIterator implements Iterator<Employee> {
+        private final ByteBuffer[] buffers;
+        private final long[] addresses;
+        private int next;
+
+        SnapshotIterator(ByteBuffer[] buffers, long[] addresses) {
+            this.buffers = buffers;
+            this.addresses = addresses;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < addresses.length;
+        }
+
+        @Override
+        public Employee next() {
+            if (next >= addresses.length) throw new NoSuchElementException();
+            return view(buffers, addresses[next++]);
+        }
+    }
+}
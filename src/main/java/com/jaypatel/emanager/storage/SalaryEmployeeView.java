@@ -0,0 +1,181 @@
+package com.jaypatel.emanager.storage;
+
+import com.jaypatel.emanager.model.Address;
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.model.SalaryEmployee;
+import com.jaypatel.emanager.model.ImmutableAddress;
+import com.jaypatel.emanager.payroll.PayrollMath;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+
+/**
+ * Read-only {@link SalaryEmployee} over an {@link EmployeeRecordCodec} record held by an
+ * {@link OffHeapEmployeeStore}.
+ * <p>
+ * The view owns no field values: every getter reads the record bytes. Numeric getters are a
+ * single buffer read; text getters decode a new {@code String} on each call, so cache the result
+ * if you need it repeatedly. Setters throw {@link UnsupportedOperationException}; to change the
+ * employee, {@link OffHeapEmployeeStore#put(Employee) put} an updated copy from
+ * {@link #toEmployee()}. Change listeners may be registered but are never called.
+ * </p>
+ */
+public final class SalaryEmployeeView extends SalaryEmployee {
+    private ByteBuffer buffer;
+
+    private int offset;
+
+    SalaryEmployeeView(ByteBuffer buffer, int offset) {
+        moveTo(buffer, offset);
+    }
+
+    /** Points this view at another salaried record; used to reuse one view across a scan. */
+    void moveTo(ByteBuffer buffer, int offset) {
+        this.buffer = buffer;
+        this.offset = offset;
+    }
+
+    /** @return a new heap {@link SalaryEmployee} with this record's values */
+    public SalaryEmployee toEmployee() {
+        return (SalaryEmployee) EmployeeRecordCodec.decode(buffer, offset);
+    }
+
+    @Override
+    public String getLastName() {
+        return EmployeeRecordCodec.text(buffer, offset, EmployeeRecordCodec.LAST_NAME);
+    }
+
+    @Override
+    public String getFirstName() {
+        return EmployeeRecordCodec.text(buffer, offset, EmployeeRecordCodec.FIRST_NAME);
+    }
+
+    @Override
+    public char getMiddleInit() {
+        return EmployeeRecordCodec.middleInit(buffer, offset);
+    }
+
+    @Override
+    public String getBirthDate() {
+        return EmployeeRecordCodec.text(buffer, offset, EmployeeRecordCodec.BIRTH_DATE);
+    }
+
+    @Override
+    public int getBirthEpochDay() {
+        return parseEpochDay(getBirthDate());
+    }
+
+    @Override
+    public String getPhoneNumber() {
+        return EmployeeRecordCodec.text(buffer, offset, EmployeeRecordCodec.PHONE_NUMBER);
+    }
+
+    @Override
+    public long getPhoneKey() {
+        return parsePhoneKey(getPhoneNumber());
+    }
+
+    @Override
+    public Address getAddress() {
+        ImmutableAddress address = getAddressValue();
+        return address == null ? null : address.toAddress();
+    }
+
+    @Override
+    public ImmutableAddress getAddressValue() {
+        return EmployeeRecordCodec.address(buffer, offset);
+    }
+
+    @Override
+    public int getEmployeeId() {
+        return EmployeeRecordCodec.employeeId(buffer, offset);
+    }
+
+    @Override
+    public String getJobTitle() {
+        return EmployeeRecordCodec.text(buffer, offset, EmployeeRecordCodec.JOB_TITLE);
+    }
+
+    @Override
+    public BigDecimal getAnnualSalary() {
+        return PayrollMath.fromCents(EmployeeRecordCodec.amountCents(buffer, offset));
+    }
+
+    @Override
+    public BigDecimal getEarnings() {
+        return PayrollMath.fromCents(getEarningsCents());
+    }
+
+    @Override
+    public long getEarningsCents() {
+        return EmployeeRecordCodec.earningsCents(buffer, offset);
+    }
+
+    // ---- Read-only ----------------------------------------------------------
+
+    /** @throws UnsupportedOperationException always; views are read-only */
+    @Override
+    public void setLastName(String lastName) {
+        throw readOnly();
+    }
+
+    /** @throws UnsupportedOperationException always; views are read-only */
+    @Override
+    public void setFirstName(String firstName) {
+        throw readOnly();
+    }
+
+    /** @throws UnsupportedOperationException always; views are read-only */
+    @Override
+    public void setMiddleInit(char middleInit) {
+        throw readOnly();
+    }
+
+    /** @throws UnsupportedOperationException always; views are read-only */
+    @Override
+    public void setBirthDate(String birthDate) {
+        throw readOnly();
+    }
+
+    /** @throws UnsupportedOperationException always; views are read-only */
+    @Override
+    public void setPhoneNumber(String phoneNumber) {
+        throw readOnly();
+    }
+
+    /** @throws UnsupportedOperationException always; views are read-only */
+    @Override
+    public void setAddress(Address address) {
+        throw readOnly();
+    }
+
+    /** @throws UnsupportedOperationException always; views are read-only */
+    @Override
+    public void setAddressValue(ImmutableAddress address) {
+        throw readOnly();
+    }
+
+    /** @throws UnsupportedOperationException always; views are read-only */
+    @Override
+    public void setEmployeeId(int employeeId) {
+        throw readOnly();
+    }
+
+    /** @throws UnsupportedOperationException always; views are read-only */
+    @Override
+    public void setJobTitle(String jobTitle) {
+        throw readOnly();
+    }
+
+    /** @throws UnsupportedOperationException always; views are read-only */
+    @Override
+    public void setAnnualSalary(BigDecimal annualSalary) {
+        throw readOnly();
+    }
+
+    // ---- Helpers ------------------------------------------------------------
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("Off-heap employee views are read-only");
+    }
+}
@@ -0,0 +1,473 @@
+package com.jaypatel.emanager.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, segmented log of {@link EmployeeMutation}s with group commit.
+ * <p>
+ * {@link #append(EmployeeMutation)} assigns the next log sequence number (LSN) and buffers the
+ * record in memory; {@link #sync(long)} makes it durable. Concurrent callers of {@code sync}
+ * share fsyncs: the first becomes the leader, writes everything buffered so far and calls
+ * {@link FileChannel#force(boolean)} once, while the others wait and are released together.
+ * Records appended while an fsync is in flight go out with the next one, so the number of
+ * fsyncs per second stays bounded by the disk while throughput grows with the number of writers.
+ * </p>
+ *
+ * <h3>Files</h3>
+ * <p>The log is a series of segment files {@code wal-<first LSN>.log} in one directory.
+ * {@link #rollover()} starts a new segment and {@link #truncateBefore(long)} deletes segments
+ * that only hold older records, e.g. once a snapshot covers them. Each record is framed as:</p>
+ * <pre>
+ * int   body length
+ * int   CRC32 of LSN + body
+ * long  LSN
+ * byte[] body (see EmployeeMutation)
+ * </pre>
+ * <p>On {@link #open} every segment is scanned; a torn or corrupt record at the end of the last
+ * segment (an append cut short by a crash) is truncated away. New segments are made durable in
+ * the directory before any record is written to them.</p>
+ *
+ * <p>Instances are safe for concurrent use.</p>
+ */
+public final class WriteAheadLog implements AutoCloseable {
+    private static final String SEGMENT_PREFIX = "wal-";
+
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private static final int FRAME_HEADER = 16;
+
+    /** Smallest body: type byte + employee id. */
+    private static final int MIN_BODY = 5;
+
+    private static final int MAX_BODY = 1 << 20;
+
+    private static final int READ_BUFFER_SIZE = 2 * MAX_BODY;
+
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+
+    private final Path directory;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition synced = lock.newCondition();
+
+    private final CRC32 crc = new CRC32();
+
+    /** Records appended but not yet handed to a sync; guarded by {@code lock}. */
+    private ByteBuffer pending = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+
+    /** Buffer being written by the current sync leader; swapped with {@code pending}. */
+    private ByteBuffer spare = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+
+    private FileChannel channel;
+
+    private long nextLsn;
+
+    private long syncedLsn;
+
+    private boolean syncing;
+
+    private boolean closed;
+
+    private IOException failure;
+
+    private long syncCount;
+
+    private WriteAheadLog(Path directory, FileChannel channel, long nextLsn) {
+        this.directory = directory;
+        this.channel = channel;
+        this.nextLsn = nextLsn;
+        this.syncedLsn = nextLsn - 1;
+    }
+
+    /**
+     * Opens (or creates) the log in a directory without replaying it.
+     *
+     * @param directory log directory; created if missing
+     * @return the open log, positioned after its last valid record
+     * @throws IOException if the log cannot be read or a segment other than the last is corrupt
+     */
+    public static WriteAheadLog open(Path directory) throws IOException {
+        return open(directory, 0L, null);
+    }
+
+    /**
+     * Opens (or creates) the log in a directory, replaying records newer than {@code afterLsn}.
+     * New records are numbered after both the last logged record and {@code afterLsn}.
+     *
+     * @param directory log directory; created if missing
+     * @param afterLsn  LSN already reflected by the caller's state, e.g. a snapshot's; 0 for none
+     * @param replay    receives each newer mutation in LSN order; {@code null} to skip replay
+     * @return the open log, positioned after its last valid record
+     * @throws IOException if the log cannot be read or a segment other than the last is corrupt
+     */
+    public static WriteAheadLog open(Path directory, long afterLsn, Consumer<? super EmployeeMutation> replay)
+            throws IOException {
+        Files.createDirectories(directory);
+        long[] starts = segmentStarts(directory);
+        long last = 0L;
+        for (int i = 0; i < starts.length; i++) {
+            if (starts[i] <= last) {
+                throw new IOException("Overlapping write-ahead log segments in " + directory);
+            }
+            Path segment = segmentPath(directory, starts[i]);
+            Scan scan = scan(segment, starts[i], afterLsn, replay);
+            if (scan.torn) {
+                if (i < starts.length - 1) {
+                    throw new IOException("Corrupt write-ahead log segment " + segment + " at byte " + scan.validBytes);
+                }
+                try (FileChannel ch = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+                    ch.truncate(scan.validBytes);
+                    ch.force(true);
+                }
+            }
+            last = scan.lastLsn;
+        }
+
+        long next = Math.max(last, afterLsn) + 1;
+        Path active = starts.length > 0 && next == last + 1
+                ? segmentPath(directory, starts[starts.length - 1])
+                : segmentPath(directory, next);
+        boolean created = !Files.exists(active);
+        FileChannel ch = FileChannel.open(active, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (created) {
+            try {
+                Directories.sync(directory);
+            } catch (IOException ex) {
+                ch.close();
+                throw ex;
+            }
+        }
+        ch.position(ch.size());
+        return new WriteAheadLog(directory, ch, next);
+    }
+
+    /**
+     * Buffers a mutation and assigns its LSN. The record is not durable until {@link #sync(long)}
+     * returns for this LSN or a later one.
+     *
+     * @param mutation change to log
+     * @return the record's LSN
+     * @throws IOException              if an earlier write to the log failed
+     * @throws IllegalStateException    if the log is closed
+     * @throws IllegalArgumentException if the encoded record exceeds 1 MiB
+     */
+    public long append(EmployeeMutation mutation) throws IOException {
+        int bodyLength = mutation.encodedSize();
+        if (bodyLength > MAX_BODY) {
+            throw new IllegalArgumentException("Log record larger than " + MAX_BODY + " bytes: " + mutation);
+        }
+        lock.lock();
+        try {
+            ensureWritable();
+            if (pending.remaining() < FRAME_HEADER + bodyLength) {
+                pending = grow(pending, FRAME_HEADER + bodyLength);
+            }
+            long lsn = nextLsn++;
+            int start = pending.position();
+            pending.putInt(bodyLength).putInt(0).putLong(lsn);
+            mutation.encode(pending);
+            crc.reset();
+            crc.update(pending.array(), pending.arrayOffset() + start + 8, 8 + bodyLength);
+            pending.putInt(start + 4, (int) crc.getValue());
+            return lsn;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Blocks until every record up to {@code lsn} is on disk, joining or leading a group commit.
+     *
+     * @param lsn LSN returned by {@link #append(EmployeeMutation)}
+     * @throws IOException if writing or forcing the log failed; the log accepts no further records
+     */
+    public void sync(long lsn) throws IOException {
+        lock.lock();
+        try {
+            while (syncedLsn < lsn) {
+                checkFailure();
+                if (syncing) {
+                    synced.awaitUninterruptibly();
+                } else {
+                    flushLocked();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends a mutation and waits until it is durable.
+     *
+     * @param mutation change to log
+     * @return the record's LSN
+     * @throws IOException if the log cannot be written
+     */
+    public long appendAndSync(EmployeeMutation mutation) throws IOException {
+        long lsn = append(mutation);
+        sync(lsn);
+        return lsn;
+    }
+
+    /**
+     * Makes all buffered records durable and starts a new segment for subsequent records.
+     *
+     * @return the first LSN of the new segment
+     * @throws IOException if the log cannot be written
+     */
+    public long rollover() throws IOException {
+        lock.lock();
+        try {
+            ensureWritable();
+            drainLocked();
+            if (channel.size() > 0) {
+                FileChannel next = FileChannel.open(segmentPath(directory, nextLsn),
+                        StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+                try {
+                    Directories.sync(directory);
+                } catch (IOException ex) {
+                    next.close();
+                    throw ex;
+                }
+                channel.close();
+                channel = next;
+            }
+            return nextLsn;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Deletes segments whose records all have LSNs below {@code lsn}. The active segment is kept.
+     *
+     * @param lsn first LSN that must stay in the log
+     * @return number of segments deleted
+     * @throws IOException if a segment cannot be deleted
+     */
+    public int truncateBefore(long lsn) throws IOException {
+        long[] starts = segmentStarts(directory);
+        int deleted = 0;
+        for (int i = 0; i + 1 < starts.length && starts[i + 1] <= lsn; i++) {
+            Files.deleteIfExists(segmentPath(directory, starts[i]));
+            deleted++;
+        }
+        return deleted;
+    }
+
+    /** @return LSN of the last appended record, 0 if none */
+    public long lastLsn() {
+        lock.lock();
+        try {
+            return nextLsn - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** @return LSN up to which records are known to be on disk */
+    public long syncedLsn() {
+        lock.lock();
+        try {
+            return syncedLsn;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** @return number of fsyncs issued so far; appended records / syncs is the group-commit batch size */
+    public long getSyncCount() {
+        lock.lock();
+        try {
+            return syncCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** @return the log directory */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Makes buffered records durable and closes the active segment. Further appends throw
+     * {@link IllegalStateException}.
+     *
+     * @throws IOException if the final sync fails
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) return;
+            try {
+                drainLocked();
+            } finally {
+                closed = true;
+                channel.close();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ---- Helpers ------------------------------------------------------------
+
+    /**
+     * Writes and forces everything buffered so far, releasing the lock during I/O so other
+     * threads keep appending. Called with the lock held and no sync in flight.
+     */
+    private void flushLocked() {
+        syncing = true;
+        ByteBuffer batch = pending;
+        pending = spare;
+        spare = batch;
+        long upTo = nextLsn - 1;
+        FileChannel ch = channel;
+        IOException error = null;
+        lock.unlock();
+        try {
+            batch.flip();
+            while (batch.hasRemaining()) ch.write(batch);
+            ch.force(false);
+        } catch (IOException ex) {
+            error = ex;
+        } finally {
+            batch.clear();
+            lock.lock();
+        }
+        syncing = false;
+        if (error != null) {
+            failure = error;
+        } else {
+            syncedLsn = upTo;
+            syncCount++;
+        }
+        synced.signalAll();
+    }
+
+    /**
+     * Returns with the lock held, no sync in flight and nothing buffered, so the caller can
+     * switch segments without records landing in the wrong one.
+     */
+    private void drainLocked() throws IOException {
+        while (syncing || syncedLsn < nextLsn - 1) {
+            checkFailure();
+            if (syncing) {
+                synced.awaitUninterruptibly();
+            } else {
+                flushLocked();
+            }
+        }
+        checkFailure();
+    }
+
+    private void ensureWritable() throws IOException {
+        if (closed) throw new IllegalStateException("Write-ahead log is closed: " + directory);
+        checkFailure();
+    }
+
+    private void checkFailure() throws IOException {
+        if (failure != null) throw new IOException("Write-ahead log failed: " + directory, failure);
+    }
+
+    private static ByteBuffer grow(ByteBuffer buf, int needed) {
+        int capacity = buf.capacity();
+        while (capacity - buf.position() < needed) capacity *= 2;
+        ByteBuffer bigger = ByteBuffer.allocate(capacity);
+        buf.flip();
+        bigger.put(buf);
+        return bigger;
+    }
+
+    private static Path segmentPath(Path directory, long startLsn) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, startLsn, SEGMENT_SUFFIX));
+    }
+
+    /** First LSN of each segment in the directory, ascending. */
+    private static long[] segmentStarts(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(p -> String.valueOf(p.getFileName()))
+                    .filter(n -> n.startsWith(SEGMENT_PREFIX) && n.endsWith(SEGMENT_SUFFIX))
+                    .map(n -> n.substring(SEGMENT_PREFIX.length(), n.length() - SEGMENT_SUFFIX.length()))
+                    .filter(s -> !s.isEmpty() && s.chars().allMatch(Character::isDigit))
+                    .mapToLong(Long::parseLong)
+                    .sorted()
+                    .toArray();
+        }
+    }
+
+    /** Result of scanning one segment. */
+    private static final class Scan {
+        final long lastLsn;
+        final long validBytes;
+        final boolean torn;
+
+        Scan(long lastLsn, long validBytes, boolean torn) {
+            this.lastLsn = lastLsn;
+            this.validBytes = validBytes;
+            this.torn = torn;
+        }
+    }
+
+    /** Reads a segment's records in order, stopping at the first invalid frame. */
+    private static Scan scan(Path segment, long startLsn, long afterLsn, Consumer<? super EmployeeMutation> replay)
+            throws IOException {
+        try (FileChannel ch = FileChannel.open(segment, StandardOpenOption.READ)) {
+            ByteBuffer buf = ByteBuffer.allocate(READ_BUFFER_SIZE);
+            buf.flip();
+            CRC32 crc = new CRC32();
+            long expected = startLsn;
+            long valid = 0L;
+            while (fill(ch, buf, FRAME_HEADER)) {
+                int p = buf.position();
+                int length = buf.getInt(p);
+                int checksum = buf.getInt(p + 4);
+                long lsn = buf.getLong(p + 8);
+                if (length < MIN_BODY || length > MAX_BODY || lsn != expected) break;
+                if (!fill(ch, buf, FRAME_HEADER + length)) break;
+                p = buf.position();
+                crc.reset();
+                crc.update(buf.array(), buf.arrayOffset() + p + 8, 8 + length);
+                if ((int) crc.getValue() != checksum) break;
+                if (replay != null && lsn > afterLsn) {
+                    EmployeeMutation mutation;
+                    try {
+                        mutation = EmployeeMutation.decode(buf.slice(p + FRAME_HEADER, length), length);
+                    } catch (RuntimeException ex) {
+                        throw new IOException("Undecodable write-ahead log record " + lsn + " in " + segment, ex);
+                    }
+                    replay.accept(mutation);
+                }
+                buf.position(p + FRAME_HEADER + length);
+                valid += FRAME_HEADER + length;
+                expected++;
+            }
+            return new Scan(expected - 1, valid, valid < ch.size());
+        }
+    }
+
+    /** Ensures at least {@code needed} bytes are readable; {@code false} at end of file. */
+    private static boolean fill(FileChannel ch, ByteBuffer buf, int needed) throws IOException {
+        if (buf.remaining() >= needed) return true;
+        buf.compact();
+        while (buf.position() < needed) {
+            if (ch.read(buf) < 0) break;
+        }
+        buf.flip();
+        return buf.remaining() >= needed;
+    }
+}
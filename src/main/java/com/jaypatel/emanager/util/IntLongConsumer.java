@@ -0,0 +1,16 @@
+package com.jaypatel.emanager.util;
+
+/**
+ * Callback receiving a primitive {@code int} key and its primitive {@code long} value, so
+ * iteration boxes neither.
+ */
+@FunctionalInterface
+public interface IntLongConsumer {
+    /**
+     * Performs this operation on one entry.
+     *
+     * @param key   the entry key
+     * @param value the entry value
+     */
+    void accept(int key, long value);
+}
@@ -0,0 +1,17 @@
+package com.jaypatel.emanager.util;
+
+/**
+ * Callback receiving a primitive {@code int} key and its value, so iteration does not box keys.
+ *
+ * @param <V> value type
+ */
+@FunctionalInterface
+public interface IntObjectConsumer<V> {
+    /**
+     * Performs this operation on one entry.
+     *
+     * @param key   the entry key
+     * @param value the entry value (never {@code null})
+     */
+    void accept(int key, V value);
+}
@@ -0,0 +1,307 @@
+package com.jaypatel.emanager.util;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Open-addressing hash map from primitive {@code int} keys to non-null values.
+ * <p>
+ * Keys and values live in two parallel arrays whose length is a power of two; collisions are
+ * resolved by linear probing and removals use backward-shift deletion, so there are no
+ * tombstones and probe sequences stay short after heavy churn. A slot is empty when its value
+ * is {@code null}, which is why {@code null} values are rejected. Every {@code int}, including
+ * {@code 0} and negatives, is a valid key, and no key is ever boxed.
+ * </p>
+ *
+ * <h3>Cost</h3>
+ * <ul>
+ *   <li><b>Memory:</b> one {@code int} plus one reference per slot, i.e. 8 bytes with compressed
+ *       oops (12 bytes without). The table is kept between 35% and 70% full, so the index costs
+ *       roughly 11–23 bytes per entry; 10M entries fit in a 2<sup>24</sup>-slot table (~128 MB).
+ *       Size the map up front with {@link #IntObjectHashMap(int)} to skip rehashing.</li>
+ *   <li><b>Lookup:</b> a hit is one hash, usually one or two adjacent slot probes and the value
+ *       dereference. On tables far larger than the CPU cache this is dominated by one or two cache
+ *       misses, about 50–100 ns for random ids over 10M entries; small tables answer in a few
+ *       nanoseconds.</li>
+ * </ul>
+ *
+ * <p><b>Note:</b> instances are not thread-safe.</p>
+ *
+ * @param <V> value type
+ */
+public final class IntObjectHashMap<V> implements Iterable<V> {
+    /** Largest power-of-two table length an array can hold. */
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private static final int MIN_CAPACITY = 16;
+
+    /** Resize once the table is more than 70% full. */
+    private static final float LOAD_FACTOR = 0.7f;
+
+    private int[] keys;
+
+    private Object[] values;
+
+    private int mask;
+
+    private int size;
+
+    private int resizeThreshold;
+
+    /** Creates an empty map with a small initial table. */
+    public IntObjectHashMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Creates an empty map sized to hold {@code expectedSize} entries without rehashing.
+     *
+     * @param expectedSize anticipated number of entries
+     * @throws IllegalArgumentException if {@code expectedSize} is negative or too large
+     */
+    public IntObjectHashMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize must be >= 0: " + expectedSize);
+        }
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    /** @return number of entries */
+    public int size() {
+        return size;
+    }
+
+    /** @return {@code true} if the map holds no entries */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param key key to look up
+     * @return the mapped value, or {@code null} if absent
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        final int[] k = keys;
+        final Object[] v = values;
+        final int m = mask;
+        for (int i = hash(key) & m; ; i = (i + 1) & m) {
+            Object candidate = v[i];
+            if (candidate == null) return null;
+            if (k[i] == key) return (V) candidate;
+        }
+    }
+
+    /**
+     * @param key key to look up
+     * @return {@code true} if the key is mapped
+     */
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Maps {@code key} to {@code value}, replacing any previous mapping.
+     *
+     * @param key   key
+     * @param value non-null value
+     * @return the previous value, or {@code null} if the key was absent
+     * @throws NullPointerException if {@code value} is null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        Objects.requireNonNull(value, "value");
+        int i = hash(key) & mask;
+        while (values[i] != null) {
+            if (keys[i] == key) {
+                V previous = (V) values[i];
+                values[i] = value;
+                return previous;
+            }
+            i = (i + 1) & mask;
+        }
+        insertAt(i, key, value);
+        return null;
+    }
+
+    /**
+     * Maps {@code key} to {@code value} only if the key is not already mapped.
+     *
+     * @param key   key
+     * @param value non-null value
+     * @return the existing value (and nothing is changed), or {@code null} if the value was inserted
+     * @throws NullPointerException if {@code value} is null
+     */
+    @SuppressWarnings("unchecked")
+    public V putIfAbsent(int key, V value) {
+        Objects.requireNonNull(value, "value");
+        int i = hash(key) & mask;
+        while (values[i] != null) {
+            if (keys[i] == key) return (V) values[i];
+            i = (i + 1) & mask;
+        }
+        insertAt(i, key, value);
+        return null;
+    }
+
+    /**
+     * Removes the mapping for {@code key}.
+     *
+     * @param key key to remove
+     * @return the removed value, or {@code null} if the key was absent
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int i = hash(key) & mask;
+        while (values[i] != null) {
+            if (keys[i] == key) {
+                V previous = (V) values[i];
+                shiftBack(i);
+                size--;
+                return previous;
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    /** Removes all entries, keeping the current table. */
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Visits every entry in table order without boxing keys.
+     * <p>The map must not be modified during iteration.</p>
+     *
+     * @param action callback receiving each key and value
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachEntry(IntObjectConsumer<? super V> action) {
+        final int[] k = keys;
+        final Object[] v = values;
+        for (int i = 0; i < v.length; i++) {
+            if (v[i] != null) action.accept(k[i], (V) v[i]);
+        }
+    }
+
+    /**
+     * Copies all keys into a new array, in table order.
+     *
+     * @return the keys
+     */
+    public int[] keys() {
+        int[] out = new int[size];
+        int n = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) out[n++] = keys[i];
+        }
+        return out;
+    }
+
+    /**
+     * Iterates over values in table order. The map must not be modified during iteration.
+     *
+     * @return a value iterator
+     */
+    @Override
+    public Iterator<V> iterator() {
+        return new Iterator<>() {
+            private final Object[] table = values;
+            private int next = advance(0);
+
+            private int advance(int from) {
+                int i = from;
+                while (i < table.length && table[i] == null) i++;
+                return i;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next < table.length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public V next() {
+                if (next >= table.length) throw new NoSuchElementException();
+                V value = (V) table[next];
+                next = advance(next + 1);
+                return value;
+            }
+        };
+    }
+
+    // ---- Helpers ------------------------------------------------------------
+
+    /** Spreads key bits so sequential ids do not cluster (Fibonacci hashing). */
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        long needed = (long) Math.ceil(expectedSize / (double) LOAD_FACTOR) + 1;
+        if (needed > MAX_CAPACITY) {
+            throw new IllegalArgumentException("expectedSize too large: " + expectedSize);
+        }
+        int capacity = MIN_CAPACITY;
+        while (capacity < needed) capacity <<= 1;
+        return capacity;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void insertAt(int slot, int key, V value) {
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeThreshold) {
+            rehash(values.length << 1);
+        }
+    }
+
+    private void rehash(int capacity) {
+        if (capacity > MAX_CAPACITY || capacity <= 0) {
+            throw new IllegalStateException("IntObjectHashMap cannot grow beyond " + MAX_CAPACITY + " slots");
+        }
+        final int[] oldKeys = keys;
+        final Object[] oldValues = values;
+        allocate(capacity);
+        for (int j = 0; j < oldValues.length; j++) {
+            if (oldValues[j] == null) continue;
+            int i = hash(oldKeys[j]) & mask;
+            while (values[i] != null) i = (i + 1) & mask;
+            keys[i] = oldKeys[j];
+            values[i] = oldValues[j];
+        }
+    }
+
+    /**
+     * Backward-shift deletion: pulls later entries of the same probe run into the freed slot
+     * so that every remaining key is still reachable from its home slot.
+     */
+    private void shiftBack(int freed) {
+        int gap = freed;
+        int i = freed;
+        while (true) {
+            i = (i + 1) & mask;
+            if (values[i] == null) break;
+            int home = hash(keys[i]) & mask;
+            // Move the entry if its home slot is not within (gap, i] cyclically.
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        values[gap] = null;
+    }
+}
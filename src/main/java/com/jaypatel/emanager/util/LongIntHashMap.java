@@ -0,0 +1,231 @@
+package com.jaypatel.emanager.util;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from primitive {@code long} keys to primitive {@code int} values,
+ * e.g. phone numbers to employee ids.
+ * <p>
+ * The mirror image of {@link IntLongHashMap}: parallel power-of-two arrays, linear probing and
+ * backward-shift deletion. A slot is empty when its value is {@link #NO_VALUE}, so that one
+ * value is reserved; lookups of absent keys return it instead of {@code null}.
+ * </p>
+ * <p>
+ * Each slot costs 12 bytes and holds no references, so even a table of tens of millions of
+ * entries is two flat arrays that the garbage collector never has to trace.
+ * </p>
+ *
+ * <p><b>Note:</b> instances are not thread-safe.</p>
+ */
+public final class LongIntHashMap {
+    /** Returned for absent keys; cannot be stored. */
+    public static final int NO_VALUE = Integer.MIN_VALUE;
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private static final float LOAD_FACTOR = 0.7f;
+
+    private long[] keys;
+
+    private int[] values;
+
+    private int mask;
+
+    private int size;
+
+    private int resizeThreshold;
+
+    /** Creates an empty map with a small initial table. */
+    public LongIntHashMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Creates an empty map sized to hold {@code expectedSize} entries without rehashing.
+     *
+     * @param expectedSize anticipated number of entries
+     * @throws IllegalArgumentException if {@code expectedSize} is negative or too large
+     */
+    public LongIntHashMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize must be >= 0: " + expectedSize);
+        }
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    /** @return number of entries */
+    public int size() {
+        return size;
+    }
+
+    /** @return {@code true} if the map holds no entries */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param key key to look up
+     * @return the mapped value, or {@link #NO_VALUE} if absent
+     */
+    public int get(long key) {
+        final long[] k = keys;
+        final int[] v = values;
+        final int m = mask;
+        for (int i = hash(key) & m; ; i = (i + 1) & m) {
+            int candidate = v[i];
+            if (candidate == NO_VALUE) return NO_VALUE;
+            if (k[i] == key) return candidate;
+        }
+    }
+
+    /**
+     * @param key key to look up
+     * @return {@code true} if the key is mapped
+     */
+    public boolean containsKey(long key) {
+        return get(key) != NO_VALUE;
+    }
+
+    /**
+     * Maps {@code key} to {@code value}, replacing any previous mapping.
+     *
+     * @param key   key
+     * @param value any value except {@link #NO_VALUE}
+     * @return the previous value, or {@link #NO_VALUE} if the key was absent
+     * @throws IllegalArgumentException if {@code value} is {@link #NO_VALUE}
+     */
+    public int put(long key, int value) {
+        checkValue(value);
+        int i = hash(key) & mask;
+        while (values[i] != NO_VALUE) {
+            if (keys[i] == key) {
+                int previous = values[i];
+                values[i] = value;
+                return previous;
+            }
+            i = (i + 1) & mask;
+        }
+        insertAt(i, key, value);
+        return NO_VALUE;
+    }
+
+    /**
+     * Maps {@code key} to {@code value} only if the key is not already mapped.
+     *
+     * @param key   key
+     * @param value any value except {@link #NO_VALUE}
+     * @return the existing value (and nothing is changed), or {@link #NO_VALUE} if the value was inserted
+     * @throws IllegalArgumentException if {@code value} is {@link #NO_VALUE}
+     */
+    public int putIfAbsent(long key, int value) {
+        checkValue(value);
+        int i = hash(key) & mask;
+        while (values[i] != NO_VALUE) {
+            if (keys[i] == key) return values[i];
+            i = (i + 1) & mask;
+        }
+        insertAt(i, key, value);
+        return NO_VALUE;
+    }
+
+    /**
+     * Removes the mapping for {@code key}.
+     *
+     * @param key key to remove
+     * @return the removed value, or {@link #NO_VALUE} if the key was absent
+     */
+    public int remove(long key) {
+        int i = hash(key) & mask;
+        while (values[i] != NO_VALUE) {
+            if (keys[i] == key) {
+                int previous = values[i];
+                shiftBack(i);
+                size--;
+                return previous;
+            }
+            i = (i + 1) & mask;
+        }
+        return NO_VALUE;
+    }
+
+    /** Removes all entries, keeping the current table. */
+    public void clear() {
+        Arrays.fill(values, NO_VALUE);
+        size = 0;
+    }
+
+    // ---- Helpers ------------------------------------------------------------
+
+    /** Spreads key bits so sequential ids do not cluster (Fibonacci hashing). */
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static void checkValue(int value) {
+        if (value == NO_VALUE) {
+            throw new IllegalArgumentException("NO_VALUE cannot be stored");
+        }
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        long needed = (long) Math.ceil(expectedSize / (double) LOAD_FACTOR) + 1;
+        if (needed > MAX_CAPACITY) {
+            throw new IllegalArgumentException("expectedSize too large: " + expectedSize);
+        }
+        int capacity = MIN_CAPACITY;
+        while (capacity < needed) capacity <<= 1;
+        return capacity;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, NO_VALUE);
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void insertAt(int slot, long key, int value) {
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeThreshold) {
+            rehash(values.length << 1);
+        }
+    }
+
+    private void rehash(int capacity) {
+        if (capacity > MAX_CAPACITY || capacity <= 0) {
+            throw new IllegalStateException("LongIntHashMap cannot grow beyond " + MAX_CAPACITY + " slots");
+        }
+        final long[] oldKeys = keys;
+        final int[] oldValues = values;
+        allocate(capacity);
+        for (int j = 0; j < oldValues.length; j++) {
+            if (oldValues[j] == NO_VALUE) continue;
+            int i = hash(oldKeys[j]) & mask;
+            while (values[i] != NO_VALUE) i = (i + 1) & mask;
+            keys[i] = oldKeys[j];
+            values[i] = oldValues[j];
+        }
+    }
+
+    /** Backward-shift deletion, as in {@link IntLongHashMap}. */
+    private void shiftBack(int freed) {
+        int gap = freed;
+        int i = freed;
+        while (true) {
+            i = (i + 1) & mask;
+            if (values[i] == NO_VALUE) break;
+            int home = hash(keys[i]) & mask;
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        values[gap] = NO_VALUE;
+    }
+}
@@ -0,0 +1,84 @@
+package com.jaypatel.emanager.dedupe;
+
+import com.jaypatel.emanager.model.Address;
+import com.jaypatel.emanager.model.Person;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DuplicateDetectorTest {
+    private static Person person(String last, String first, String birthDate, String street, String postalCode,
+                                 String phone) {
+        return new Person(last, first, '\0', birthDate, phone, new Address(street, "Saskatoon", "SK", postalCode));
+    }
+
+    @Test
+    void findsReformattedPeopleAndIgnoresNamesakes() {
+        List<Person> people = List.of(
+                person("Lévesque", "Jean", "1980-03-04", "12 Spadina Cres E", "S7K 3G9", "306-555-0101"),
+                person("LEVESQUE", "J.", "1980-03-04", "400 Broadway Ave", "S7N 1B7", null),
+                person("Smith", "Jonathan", "1975-11-20", "7 Main Street", "S7N 1A1", "306 555 0199"),
+                person("Smyth", "Jonathon", "1975-11-02", "7 Main St.", "s7n1a1", "+1 306 555 0199"),
+                person("Levesque", "Marie", "1980-03-04", "98 Avenue H S", "S7M 1X1", null),
+                person("Nguyen", "Anh", "1990-01-01", "1 College Dr", "S7N 5C9", null));
+
+        try (DuplicateDetector detector = new DuplicateDetector(0.85, 1)) {
+            DuplicateReport report = detector.run(people);
+            Set<String> pairs = new HashSet<>();
+            for (DuplicateCandidate c : report.getCandidates()) pairs.add(c.getFirst() + "~" + c.getSecond());
+            assertEquals(Set.of("0~1", "2~3"), pairs, report.getCandidates().toString());
+            // Lévesque/LEVESQUE/Levesque share a block; Smith/Smyth share the postal block.
+            assertEquals(4, report.getComparisons());
+        }
+        assertTrue(DuplicateDetector.score(people.get(0), people.get(4)) < 0.85);
+    }
+
+    @Test
+    void parallelRunMatchesSequentialAndFindsInjectedDuplicates() {
+        Random random = new Random(5);
+        String[] lastNames = {"Patel", "Singh", "Smith", "Brown", "Tremblay", "Roy", "Wilson", "Martin", "Lee", "Chen"};
+        String[] firstNames = {"Jay", "Priya", "John", "Mary", "Luc", "Anne", "Wei", "Omar", "Sara", "Ravi"};
+        List<Person> people = new ArrayList<>();
+        long firstDay = LocalDate.of(1950, 1, 1).toEpochDay();
+        for (int i = 0; i < 20_000; i++) {
+            people.add(person(lastNames[random.nextInt(lastNames.length)] + (char) ('a' + random.nextInt(26)) + i,
+                    firstNames[random.nextInt(firstNames.length)],
+                    LocalDate.ofEpochDay(firstDay + random.nextInt(50 * 365)).toString(),
+                    random.nextInt(999) + " Main St", "S7N " + random.nextInt(10) + "A" + random.nextInt(10), null));
+        }
+        Set<String> injected = new HashSet<>();
+        for (int k = 0; k < 200; k++) {
+            int original = random.nextInt(20_000);
+            Person p = people.get(original);
+            // Upper-cased last name and a moved address: found through name + birth date.
+            people.add(person(p.getLastName().toUpperCase(), p.getFirstName(), p.getBirthDate(),
+                    "1 Other Rd", "S4P 3Y2", null));
+            injected.add(original + "~" + (people.size() - 1));
+        }
+
+        DuplicateReport sequential;
+        DuplicateReport parallel;
+        try (DuplicateDetector detector = new DuplicateDetector(0.85, 1)) {
+            sequential = detector.run(people);
+        }
+        try (DuplicateDetector detector = new DuplicateDetector(0.85, 4)) {
+            parallel = detector.run(people);
+        }
+        assertEquals(sequential.getCandidates().toString(), parallel.getCandidates().toString());
+        assertEquals(sequential.getComparisons(), parallel.getComparisons());
+
+        Set<String> found = new HashSet<>();
+        for (DuplicateCandidate c : parallel.getCandidates()) found.add(c.getFirst() + "~" + c.getSecond());
+        assertTrue(found.containsAll(injected));
+        long n = people.size();
+        assertTrue(parallel.getComparisons() < n * (n - 1) / 2 / 100, parallel.toString());
+    }
+}
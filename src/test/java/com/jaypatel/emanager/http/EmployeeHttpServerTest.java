@@ -0,0 +1,125 @@
+package com.jaypatel.emanager.http;
+
+import com.jaypatel.emanager.index.NameIndex;
+import com.jaypatel.emanager.model.Address;
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.model.HourlyEmployee;
+import com.jaypatel.emanager.model.SalaryEmployee;
+import com.jaypatel.emanager.payroll.PayrollAggregates;
+import com.jaypatel.emanager.repository.ConcurrentEmployeeRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EmployeeHttpServerTest {
+    private final ConcurrentEmployeeRegistry registry = new ConcurrentEmployeeRegistry();
+
+    private final NameIndex names = new NameIndex();
+
+    private final PayrollAggregates payroll = new PayrollAggregates();
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private EmployeeHttpServer server;
+
+    @BeforeEach
+    void start() throws IOException {
+        add(new HourlyEmployee("Patel", "Jay", 'M', null, null,
+                new Address("12 Main St", "Saskatoon", "SK", "S7N 1A1"), 1, "Developer",
+                new BigDecimal("160"), new BigDecimal("25.50")));
+        add(new SalaryEmployee("Patterson", "Zoë \"Z\"", '\0', null, null,
+                new Address(null, "Regina", "SK", null), 2, "Manager", new BigDecimal("60000")));
+        add(new SalaryEmployee("Tremblay", "Luc", '\0', null, null, null, 3, null, new BigDecimal("48000")));
+        server = new EmployeeHttpServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                ServerExecutors.boundedPool(2), registry, names, payroll);
+    }
+
+    @AfterEach
+    void stop() {
+        server.close();
+    }
+
+    private void add(Employee e) {
+        registry.put(e);
+        names.add(e);
+        payroll.add(e);
+    }
+
+    private URI uri(String pathAndQuery) {
+        return URI.create("http://127.0.0.1:" + server.getPort() + pathAndQuery);
+    }
+
+    private HttpResponse<String> get(String pathAndQuery) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(uri(pathAndQuery)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void servesEmployeesSearchAndTotals() throws IOException, InterruptedException {
+        HttpResponse<String> one = get("/employees/1");
+        assertEquals(200, one.statusCode());
+        assertEquals("{\"id\":1,\"type\":\"HOURLY\",\"displayName\":\"Patel, Jay M\",\"lastName\":\"Patel\","
+                + "\"firstName\":\"Jay\",\"jobTitle\":\"Developer\",\"address\":\"12 Main St, Saskatoon, SK S7N 1A1\","
+                + "\"earnings\":4080.00}", one.body());
+        assertTrue(one.headers().firstValue("Content-Type").orElse("").startsWith("application/json"));
+
+        String search = get("/employees?q=pat&limit=10").body();
+        assertTrue(search.startsWith("[{\"id\":1,") && search.contains("\"firstName\":\"Zoë \\\"Z\\\"\""), search);
+        assertTrue(get("/employees?q=tremblya&fuzzy=2").body().startsWith("[{\"id\":3,"));
+        assertEquals("[]", get("/employees?q=nobody").body());
+
+        assertEquals("{\"count\":3,\"total\":13080.00,\"average\":4360.00}", get("/payroll/total").body());
+        assertEquals("{\"count\":2,\"total\":9080.00,\"average\":4540.00}", get("/payroll/total?province=SK").body());
+        registry.update(1, e -> ((HourlyEmployee) e).setMonthlyHours(new BigDecimal("100")));
+        assertEquals("{\"count\":1,\"total\":2550.00,\"average\":2550.00}",
+                get("/payroll/total?jobTitle=Developer").body());
+    }
+
+    @Test
+    void reportsClientErrors() throws IOException, InterruptedException {
+        assertEquals(404, get("/employees/99").statusCode());
+        assertEquals(404, get("/nothing").statusCode());
+        assertEquals(400, get("/employees/abc").statusCode());
+        assertEquals(400, get("/employees?q=pat&limit=-1").statusCode());
+        assertEquals(400, get("/payroll/total?province=SK&jobTitle=x").statusCode());
+        HttpResponse<String> post = client.send(HttpRequest.newBuilder(uri("/employees/1"))
+                .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(405, post.statusCode());
+        assertEquals("{\"error\":\"Only GET is supported\"}", post.body());
+    }
+
+    @Test
+    void loadGeneratorMeasuresLatency() throws InterruptedException {
+        LoadGenerator.Result result = new LoadGenerator(
+                List.of(uri("/employees/1"), uri("/employees?q=pat"), uri("/payroll/total")), 4)
+                .run(Duration.ofMillis(300));
+        assertTrue(result.getRequests() > 0, result.toString());
+        assertEquals(0, result.getErrors());
+        assertTrue(result.getP50Micros() > 0 && result.getP50Micros() <= result.getP99Micros());
+        assertTrue(result.getRequestsPerSecond() > 0);
+        assertThrows(IllegalArgumentException.class, () -> result.getPercentileMicros(0));
+    }
+
+    @Test
+    void virtualThreadsRequireJdk21() {
+        if (ServerExecutors.virtualThreadsSupported()) {
+            ServerExecutors.virtualThreads().shutdown();
+        } else {
+            assertThrows(UnsupportedOperationException.class, ServerExecutors::virtualThreads);
+        }
+    }
+}
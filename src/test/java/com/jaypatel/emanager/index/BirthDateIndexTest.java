@@ -0,0 +1,121 @@
+package com.jaypatel.emanager.index;
+
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.model.SalaryEmployee;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BirthDateIndexTest {
+    private static Employee born(int id, String birthDate) {
+        return new SalaryEmployee("Doe", "Jane", '\0', birthDate, null, null, id, "Clerk", new BigDecimal("50000"));
+    }
+
+    private static List<Employee> roster(int n, long seed) {
+        Random random = new Random(seed);
+        List<Employee> roster = new ArrayList<>();
+        long first = LocalDate.of(1950, 1, 1).toEpochDay();
+        for (int id = 0; id < n; id++) {
+            roster.add(born(id, LocalDate.ofEpochDay(first + random.nextInt(60 * 365)).toString()));
+        }
+        // Leap-day births exercise the February 29 rules.
+        roster.add(born(n, "1960-02-29"));
+        roster.add(born(n + 1, "2000-02-29"));
+        return roster;
+    }
+
+    /** Ids matching {@code test}, ordered by birthdate then id, as the index returns them. */
+    private static int[] expected(List<Employee> roster, Predicate<LocalDate> test) {
+        return roster.stream()
+                .filter(e -> test.test(e.getBirthLocalDate()))
+                .sorted(Comparator.comparing(Employee::getBirthLocalDate).thenComparingInt(Employee::getEmployeeId))
+                .mapToInt(Employee::getEmployeeId)
+                .toArray();
+    }
+
+    @Test
+    void unparseableBirthDatesAreReportedNotIndexed() {
+        BirthDateIndex index = BirthDateIndex.of(List.of(
+                born(1, "1990-01-15"), born(2, "15/01/1990"), born(3, null), born(4, "1990-02-30")));
+        assertEquals(1, index.size());
+        assertEquals(Map.of(2, "15/01/1990", 4, "1990-02-30"), index.getUnparseable());
+        assertArrayEquals(new int[] {1}, index.bornBetween(LocalDate.of(1990, 1, 1), LocalDate.of(1990, 12, 31)));
+    }
+
+    @Test
+    void rangeQueriesMatchPeriodArithmetic() {
+        List<Employee> roster = roster(5_000, 42);
+        BirthDateIndex index = BirthDateIndex.of(roster);
+        for (LocalDate asOf : List.of(LocalDate.of(2024, 2, 28), LocalDate.of(2024, 2, 29),
+                LocalDate.of(2025, 2, 28), LocalDate.of(2025, 3, 1), LocalDate.of(2025, 7, 14))) {
+            assertArrayEquals(expected(roster, b -> {
+                int age = Period.between(b, asOf).getYears();
+                return !b.isAfter(asOf) && age >= 25 && age <= 30;
+            }), index.aged(25, 30, asOf), "aged " + asOf);
+
+            LocalDate end = asOf.plusMonths(3).minusDays(1);
+            assertArrayEquals(expected(roster, b -> Period.between(b, asOf.minusDays(1)).getYears() < 65
+                    && Period.between(b, end).getYears() >= 65), index.turning(65, asOf, end), "turning " + asOf);
+        }
+        LocalDate from = LocalDate.of(1970, 1, 1);
+        LocalDate to = LocalDate.of(1979, 12, 31);
+        int[] seventies = index.bornBetween(from, to);
+        assertArrayEquals(expected(roster, b -> !b.isBefore(from) && !b.isAfter(to)), seventies);
+        assertEquals(seventies.length, index.countBornBetween(from, to));
+        assertEquals(0, index.bornBetween(to, from).length);
+        assertThrows(IllegalArgumentException.class, () -> index.aged(30, 25, from));
+    }
+
+    @Test
+    void upcomingBirthdaysWrapTheYearAndHandleLeapDays() {
+        List<Employee> roster = roster(5_000, 7);
+        BirthDateIndex index = BirthDateIndex.of(roster);
+        for (LocalDate from : List.of(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 2, 20), LocalDate.of(2025, 3, 1),
+                LocalDate.of(2024, 2, 29), LocalDate.of(2025, 12, 20), LocalDate.of(2024, 3, 2))) {
+            for (int days : new int[] {1, 7, 30, 365}) {
+                List<int[]> expected = new ArrayList<>();
+                for (Employee e : roster) {
+                    LocalDate next = nextBirthday(e.getBirthLocalDate(), from);
+                    if (next.isBefore(from.plusDays(days))) {
+                        expected.add(new int[] {(int) next.toEpochDay(), e.getEmployeeId()});
+                    }
+                }
+                int[] ids = index.upcomingBirthdays(from, days);
+                assertEquals(expected.size(), ids.length, from + " +" + days);
+                // Soonest first.
+                Map<Integer, Integer> dateOf = new HashMap<>();
+                for (int[] x : expected) dateOf.put(x[1], x[0]);
+                for (int i = 1; i < ids.length; i++) {
+                    assertTrue(dateOf.get(ids[i - 1]) <= dateOf.get(ids[i]), from + " +" + days);
+                }
+            }
+        }
+        assertEquals(0, index.upcomingBirthdays(LocalDate.of(2025, 1, 1), 0).length);
+        assertThrows(IllegalArgumentException.class, () -> index.upcomingBirthdays(LocalDate.of(2025, 1, 1), 366));
+    }
+
+    /** First date on or after {@code from} on which a person born on {@code birth} has a birthday. */
+    private static LocalDate nextBirthday(LocalDate birth, LocalDate from) {
+        for (int year = from.getYear(); ; year++) {
+            MonthDay md = MonthDay.from(birth);
+            // Period.between ages turn over on March 1 for February 29 births in common years.
+            LocalDate d = md.isValidYear(year) ? md.atYear(year) : LocalDate.of(year, 3, 1);
+            if (!d.isBefore(from)) return d;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.jaypatel.emanager.index;
+
+import com.jaypatel.emanager.model.Address;
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.model.HourlyEmployee;
+import com.jaypatel.emanager.model.SalaryEmployee;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EmployeeIndexesTest {
+    private static Employee hourly(int id, String title, Address address) {
+        return new HourlyEmployee("Patel", "Jay", '\0', null, null, address, id, title,
+                new BigDecimal("160"), new BigDecimal("25"));
+    }
+
+    private static Employee salaried(int id, String title, Address address) {
+        return new SalaryEmployee("Doe", "Jane", '\0', null, null, address, id, title, new BigDecimal("72000"));
+    }
+
+    private static final Address SASKATOON = new Address("1 Main St", "Saskatoon", "SK", "S7N 1A1");
+
+    private static final Address REGINA = new Address("2 Albert St", "Regina", "SK", "S4P 3Y2");
+
+    private static final Address CALGARY = new Address("3 Centre St", "Calgary", "AB", "T2P 1J9");
+
+    @Test
+    void lookupsAreCaseInsensitiveAndCombine() {
+        EmployeeIndexes indexes = new EmployeeIndexes();
+        indexes.addAll(List.of(
+                hourly(1, "Technician", SASKATOON),
+                hourly(2, "technician ", REGINA),
+                salaried(3, "Manager", SASKATOON),
+                salaried(4, "Manager", CALGARY),
+                hourly(5, null, null)));
+
+        assertArrayEquals(new int[]{1, 2}, indexes.jobTitle("TECHNICIAN").toArray());
+        assertArrayEquals(new int[]{1, 2, 3}, indexes.province("sk").toArray());
+        assertArrayEquals(new int[]{1, 3}, indexes.city("Saskatoon").toArray());
+        assertArrayEquals(new int[]{1, 3}, indexes.postalPrefix("s7n 9z9").toArray());
+        assertArrayEquals(new int[]{3},
+                IntBitmap.and(indexes.jobTitle("Manager"), indexes.province("SK")).toArray());
+        assertArrayEquals(new int[]{1, 2, 4},
+                IntBitmap.or(indexes.jobTitle("Technician"), indexes.province("AB")).toArray());
+        assertEquals(0, indexes.jobTitle("Director").getCardinality());
+        assertEquals(2, indexes.count(EmployeeIndexes.Field.JOB_TITLE, "manager"));
+        assertEquals(List.of("ab", "sk"), indexes.values(EmployeeIndexes.Field.PROVINCE));
+    }
+
+    @Test
+    void settersKeepIndexesCurrent() {
+        EmployeeIndexes indexes = new EmployeeIndexes();
+        Employee e = hourly(1, "Technician", SASKATOON);
+        indexes.add(e);
+
+        e.setJobTitle("Lead");
+        assertTrue(indexes.jobTitle("Technician").isEmpty());
+        assertArrayEquals(new int[]{1}, indexes.jobTitle("lead").toArray());
+
+        e.setAddress(CALGARY);
+        assertTrue(indexes.city("Saskatoon").isEmpty());
+        assertArrayEquals(new int[]{1}, indexes.postalPrefix("T2P").toArray());
+        assertEquals(List.of("ab"), indexes.values(EmployeeIndexes.Field.PROVINCE));
+
+        e.setEmployeeId(77);
+        assertArrayEquals(new int[]{77}, indexes.province("AB").toArray());
+        assertArrayEquals(new int[]{77}, indexes.jobTitle("Lead").toArray());
+
+        indexes.remove(e);
+        e.setJobTitle("Manager");
+        assertTrue(indexes.jobTitle("Lead").isEmpty());
+        assertTrue(indexes.jobTitle("Manager").isEmpty());
+    }
+
+    @Test
+    void lookupResultsAreCopies() {
+        EmployeeIndexes indexes = new EmployeeIndexes();
+        indexes.add(salaried(9, "Manager", REGINA));
+        indexes.jobTitle("Manager").add(10);
+        assertArrayEquals(new int[]{9}, indexes.jobTitle("Manager").toArray());
+    }
+}
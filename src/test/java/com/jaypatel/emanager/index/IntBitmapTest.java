@@ -0,0 +1,96 @@
+package com.jaypatel.emanager.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IntBitmapTest {
+    /** Expected contents in the bitmap's unsigned order. */
+    private static int[] unsignedSorted(TreeSet<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue)
+                .map(v -> v ^ Integer.MIN_VALUE).sorted().map(v -> v ^ Integer.MIN_VALUE).toArray();
+    }
+
+    /** Mixes sparse values, a dense run that needs a bitmap container, and negatives. */
+    private static TreeSet<Integer> randomSet(Random random, int denseStart) {
+        TreeSet<Integer> set = new TreeSet<>();
+        for (int i = 0; i < 3_000; i++) set.add(random.nextInt(1 << 22) - (1 << 20));
+        for (int i = 0; i < 9_000; i++) set.add(denseStart + random.nextInt(12_000));
+        return set;
+    }
+
+    @Test
+    void addRemoveAndContainsMatchASortedSet() {
+        Random random = new Random(42);
+        IntBitmap bitmap = new IntBitmap();
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < 200_000; i++) {
+            int v = random.nextBoolean() ? random.nextInt(70_000) : random.nextInt();
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(v), bitmap.remove(v));
+            } else {
+                assertEquals(expected.add(v), bitmap.add(v));
+            }
+        }
+        assertEquals(expected.size(), bitmap.getCardinality());
+        assertArrayEquals(unsignedSorted(expected), bitmap.toArray());
+        for (int i = 0; i < 10_000; i++) {
+            int v = random.nextInt(70_000);
+            assertEquals(expected.contains(v), bitmap.contains(v));
+        }
+    }
+
+    @Test
+    void denseContainersConvertBackWhenEmptied() {
+        IntBitmap bitmap = new IntBitmap();
+        for (int v = 0; v < 10_000; v++) bitmap.add(v);
+        assertTrue(bitmap.sizeInBytes() < 10_000);
+        for (int v = 0; v < 10_000; v++) assertTrue(bitmap.remove(v));
+        assertTrue(bitmap.isEmpty());
+        assertFalse(bitmap.contains(5));
+        assertEquals(0, bitmap.toArray().length);
+    }
+
+    @Test
+    void setOperationsMatchSortedSets() {
+        Random random = new Random(7);
+        TreeSet<Integer> a = randomSet(random, 0);
+        TreeSet<Integer> b = randomSet(random, 4_000);
+        IntBitmap x = new IntBitmap();
+        IntBitmap y = new IntBitmap();
+        a.forEach(x::add);
+        b.forEach(y::add);
+
+        TreeSet<Integer> and = new TreeSet<>(a);
+        and.retainAll(b);
+        TreeSet<Integer> or = new TreeSet<>(a);
+        or.addAll(b);
+        TreeSet<Integer> andNot = new TreeSet<>(a);
+        andNot.removeAll(b);
+
+        assertArrayEquals(unsignedSorted(and), IntBitmap.and(x, y).toArray());
+        assertArrayEquals(unsignedSorted(or), IntBitmap.or(x, y).toArray());
+        assertArrayEquals(unsignedSorted(andNot), IntBitmap.andNot(x, y).toArray());
+        assertEquals(or.size(), IntBitmap.or(x, y).getCardinality());
+        assertEquals(x, x.copy());
+        assertEquals(a.size(), x.getCardinality());
+    }
+
+    @Test
+    void operationResultsAreIndependentOfOperands() {
+        IntBitmap a = IntBitmap.of(1, 2, 3);
+        IntBitmap b = IntBitmap.of(3, 4);
+        IntBitmap union = IntBitmap.or(a, b);
+        union.add(99);
+        union.remove(1);
+        assertArrayEquals(new int[]{1, 2, 3}, a.toArray());
+        assertArrayEquals(new int[]{3, 4}, b.toArray());
+        assertArrayEquals(new int[]{2, 3, 4, 99}, union.toArray());
+    }
+}
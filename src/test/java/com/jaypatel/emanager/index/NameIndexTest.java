@@ -0,0 +1,100 @@
+package com.jaypatel.emanager.index;
+
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.model.SalaryEmployee;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class NameIndexTest {
+    private static Employee employee(int id, String last, String first) {
+        return new SalaryEmployee(last, first, 'K', null, null, null, id, null, BigDecimal.TEN);
+    }
+
+    private static NameIndex index() {
+        NameIndex names = new NameIndex();
+        names.addAll(List.of(
+                employee(1, "Patterson", "Amy"),
+                employee(2, "Patel", "Jay"),
+                employee(3, "Patel", "Jayden"),
+                employee(4, "Lévesque", "Zoë"),
+                employee(5, "Shah", "Pat"),
+                employee(6, "Smith", "Patricia")));
+        return names;
+    }
+
+    @Test
+    void prefixSearchRanksShorterNamesFirst() {
+        NameIndex names = index();
+        assertArrayEquals(new int[]{5, 2, 3, 6, 1}, names.prefixSearch("PAT", 10));
+        assertArrayEquals(new int[]{5, 2}, names.prefixSearch("pat", 2));
+        assertArrayEquals(new int[]{4}, names.prefixSearch("leves", 10));
+        assertArrayEquals(new int[]{4}, names.prefixSearch("ZOE", 10));
+        assertArrayEquals(new int[0], names.prefixSearch("xyz", 10));
+        assertArrayEquals(new int[0], names.prefixSearch("  ", 10));
+        assertEquals(6, names.size());
+    }
+
+    @Test
+    void displayNameQueriesMatchExactLastAndFirstPrefix() {
+        NameIndex names = index();
+        assertArrayEquals(new int[]{2, 3}, names.prefixSearch("Patel, Ja", 10));
+        assertArrayEquals(new int[]{3}, names.prefixSearch("patel, jayd", 10));
+        assertArrayEquals(new int[]{2, 3}, names.prefixSearch("Patel, Jay K", 10));
+        assertArrayEquals(new int[]{2, 3}, names.prefixSearch("Patel,", 10));
+        assertArrayEquals(new int[0], names.prefixSearch("Pate, Jay", 10));
+    }
+
+    @Test
+    void fuzzySearchFindsTyposClosestFirst() {
+        NameIndex names = index();
+        assertArrayEquals(new int[]{2, 3}, names.fuzzySearch("patel", 0, 10));
+        assertArrayEquals(new int[]{2, 3}, names.fuzzySearch("ptel", 1, 10));
+        assertArrayEquals(new int[]{2, 3, 5}, names.fuzzySearch("pate", 1, 10));
+        assertArrayEquals(new int[]{6}, names.fuzzySearch("smiht", 2, 10));
+        assertArrayEquals(new int[]{4}, names.fuzzySearch("levesqe", 1, 10));
+        assertArrayEquals(new int[]{6}, names.fuzzySearch("smiht", 2, 1, 10));
+        assertArrayEquals(new int[0], names.fuzzySearch("xmith", 2, 1, 10));
+        assertThrows(IllegalArgumentException.class, () -> names.fuzzySearch("patel", 3, 10));
+    }
+
+    @Test
+    void settersKeepTheIndexCurrent() {
+        NameIndex names = new NameIndex();
+        Employee e = employee(1, "Patel", "Jay");
+        names.add(e);
+        names.add(e);
+        assertEquals(1, names.size());
+
+        e.setLastName("Shah");
+        assertArrayEquals(new int[0], names.prefixSearch("patel", 10));
+        assertArrayEquals(new int[]{1}, names.prefixSearch("Shah, J", 10));
+
+        e.setEmployeeId(9);
+        assertArrayEquals(new int[]{9}, names.prefixSearch("jay", 10));
+        assertEquals(1, names.size());
+
+        names.remove(e);
+        e.setFirstName("Raj");
+        assertArrayEquals(new int[0], names.prefixSearch("raj", 10));
+        assertArrayEquals(new int[0], names.prefixSearch("shah", 10));
+        assertEquals(0, names.size());
+    }
+
+    @Test
+    void searchesStayBoundedOnLargeIndexes() {
+        NameIndex names = new NameIndex();
+        String[] syllables = {"ka", "lo", "mi", "ne", "sa", "tu", "ri", "vo"};
+        for (int id = 0; id < 100_000; id++) {
+            String last = syllables[id % 8] + syllables[(id / 8) % 8] + syllables[(id / 64) % 8] + (id / 512);
+            names.add(employee(id, last, syllables[(id / 7) % 8] + "na"));
+        }
+        assertEquals(25, names.prefixSearch("ka", 25).length);
+        assertEquals(5, names.fuzzySearch("kalomi1", 1, 5).length);
+    }
+}
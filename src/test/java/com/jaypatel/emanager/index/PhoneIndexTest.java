@@ -0,0 +1,62 @@
+package com.jaypatel.emanager.index;
+
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.model.HourlyEmployee;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PhoneIndexTest {
+    private static Employee withPhone(int id, String phoneNumber) {
+        return new HourlyEmployee("Patel", "Jay", '\0', null, phoneNumber, null, id, "Agent",
+                new BigDecimal("160"), new BigDecimal("25"));
+    }
+
+    @Test
+    void callerIdInAnyFormatFindsTheEmployee() {
+        PhoneIndex phones = new PhoneIndex();
+        phones.addAll(List.of(
+                withPhone(1, "(306) 555-1234"),
+                withPhone(2, "+44 20 7946 0958"),
+                withPhone(3, "call me"),
+                withPhone(4, null)));
+
+        assertEquals(2, phones.size());
+        assertEquals(1, phones.lookup("+1 306 555 1234"));
+        assertEquals(1, phones.lookup("13065551234"));
+        assertEquals(1, phones.lookup("306.555.1234 x22"));
+        assertEquals(2, phones.lookup("011 44 20 7946 0958"));
+        assertEquals(PhoneIndex.NOT_FOUND, phones.lookup("306-555-9999"));
+        assertEquals(PhoneIndex.NOT_FOUND, phones.lookup("call me"));
+    }
+
+    @Test
+    void followsChangesAndSharedNumbers() {
+        PhoneIndex phones = new PhoneIndex();
+        Employee desk = withPhone(10, "306-555-0100");
+        Employee other = withPhone(11, "306 555 0100");
+        Employee moving = withPhone(12, "306-555-0199");
+        phones.addAll(List.of(desk, other, moving));
+
+        assertEquals(10, phones.lookup("3065550100"));
+        assertArrayEquals(new int[] {10, 11}, phones.lookupAll("3065550100"));
+
+        moving.setPhoneNumber("639-555-0123");
+        assertEquals(PhoneIndex.NOT_FOUND, phones.lookup("306-555-0199"));
+        assertEquals(12, phones.lookup("639-555-0123"));
+
+        desk.setEmployeeId(20);
+        assertArrayEquals(new int[] {11, 20}, phones.lookupAll("3065550100"));
+
+        phones.remove(other);
+        assertEquals(20, phones.lookup("3065550100"));
+        assertEquals(2, phones.size());
+
+        moving.setPhoneNumber(null);
+        assertEquals(1, phones.size());
+    }
+}
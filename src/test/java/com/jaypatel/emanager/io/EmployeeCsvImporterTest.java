@@ -0,0 +1,162 @@
+package com.jaypatel.emanager.io;
+
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.model.HourlyEmployee;
+import com.jaypatel.emanager.model.SalaryEmployee;
+import com.jaypatel.emanager.repository.InMemoryEmployeeRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EmployeeCsvImporterTest {
+    private static final String HEADER = "type,employee_id,lastName,firstName,middleInit,birthDate,phoneNumber,"
+            + "street,city,province,postalCode,jobTitle,hourlyRate,monthlyHours,annualSalary\n";
+
+    private static List<Employee> importAll(EmployeeCsvImporter importer, String text, List<ImportResult> result)
+            throws IOException {
+        List<Employee> out = new ArrayList<>();
+        result.add(importer.importFrom(
+                Channels.newChannel(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8))), out::addAll));
+        return out;
+    }
+
+    @Test
+    void parsesHourlyAndSalaryRows_withModelNormalization() throws IOException {
+        String csv = "\uFEFF" + HEADER
+                + "HOURLY,1,  Patel ,Jay,M,1998-05-12,306-555-1234,123 Main St,Saskatoon,SK,S7J 4M3,Developer,20.00,160,\r\n"
+                + "salary,2,Shah,\"Ana, B.\",,,,  ,Regina,SK,,  ,,,60000\r\n";
+
+        List<ImportResult> results = new ArrayList<>();
+        List<Employee> employees = importAll(EmployeeCsvImporter.csv(), csv, results);
+
+        assertEquals(2, employees.size());
+        HourlyEmployee he = assertInstanceOf(HourlyEmployee.class, employees.get(0));
+        SalaryEmployee se = assertInstanceOf(SalaryEmployee.class, employees.get(1));
+        assertAll(
+                () -> assertEquals("Patel", he.getLastName()),
+                () -> assertEquals('M', he.getMiddleInit()),
+                () -> assertEquals("123 Main St, Saskatoon, SK S7J 4M3", he.getAddressValue().displayAddress()),
+                () -> assertEquals(new BigDecimal("3200.00"), he.getEarnings()),
+                () -> assertEquals("Ana, B.", se.getFirstName()),
+                () -> assertEquals('\0', se.getMiddleInit()),
+                () -> assertNull(se.getBirthDate()),
+                () -> assertNull(se.getJobTitle()),
+                () -> assertNull(se.getAddressValue().getStreet()),
+                () -> assertEquals(new BigDecimal("5000.00"), se.getEarnings()),
+                () -> assertEquals(0, results.get(0).getErrorCount())
+        );
+    }
+
+    @Test
+    void badRowsAreCollected_andImportContinues() throws IOException {
+        String csv = "type,employeeId,hourlyRate,monthlyHours\n"
+                + "HOURLY,1,10,10\n"
+                + "HOURLY,abc,10,10\n"
+                + "CONTRACT,3,10,10\n"
+                + "HOURLY,4,ten,10\n"
+                + "HOURLY,5,10\n"
+                + "\n"
+                + "HOURLY,6,10,10\n";
+
+        List<ImportResult> results = new ArrayList<>();
+        List<Employee> employees = importAll(EmployeeCsvImporter.csv(), csv, results);
+        ImportResult result = results.get(0);
+
+        assertEquals(2, employees.size());
+        assertEquals(6, result.getRowsRead());
+        assertEquals(2, result.getRowsImported());
+        assertEquals(4, result.getErrorCount());
+        assertEquals(List.of(3L, 4L, 5L, 6L), result.getErrors().stream().map(ImportError::getLine).toList());
+        assertTrue(result.getErrors().get(0).getMessage().contains("employeeId"));
+    }
+
+    @Test
+    void quotedFieldsMaySpanLinesAndEscapeQuotes() throws IOException {
+        String tsv = "type\temployeeId\tstreet\tjobTitle\n"
+                + "HOURLY\t1\t\"Unit 5\n100 Main St\"\t\"The \"\"Boss\"\"\"\n"
+                + "HOURLY\t2\t\t\n";
+
+        List<ImportResult> results = new ArrayList<>();
+        List<Employee> employees = importAll(EmployeeCsvImporter.tsv(), tsv, results);
+
+        assertEquals(2, employees.size());
+        assertEquals("Unit 5\n100 Main St", employees.get(0).getAddressValue().getStreet());
+        assertEquals("The \"Boss\"", employees.get(0).getJobTitle());
+        assertNull(employees.get(1).getAddressValue());
+    }
+
+    @Test
+    void lastRowWithoutTrailingNewline_isImported() throws IOException {
+        String csv = "type,employeeId,lastName\n"
+                + "HOURLY,1,Shah\n"
+                + "HOURLY,2,Patel";
+
+        List<ImportResult> results = new ArrayList<>();
+        List<Employee> employees = importAll(EmployeeCsvImporter.csv(), csv, results);
+
+        assertEquals(2, employees.size());
+        assertEquals("Patel", employees.get(1).getLastName());
+        assertEquals(0, results.get(0).getErrorCount());
+    }
+
+    @Test
+    void lastRowEndingInQuotedFieldWithoutTrailingNewline_isImported() throws IOException {
+        String csv = "type,employeeId,lastName\n"
+                + "HOURLY,1,\"Patel\"";
+
+        List<ImportResult> results = new ArrayList<>();
+        List<Employee> employees = importAll(EmployeeCsvImporter.csv(), csv, results);
+
+        assertEquals(1, employees.size());
+        assertEquals("Patel", employees.get(0).getLastName());
+        assertEquals(0, results.get(0).getErrorCount());
+    }
+
+    @Test
+    void largeFileStreamsInBatches(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("employees.csv");
+        StringBuilder csv = new StringBuilder("type,employeeId,lastName,annualSalary\n");
+        int rows = 25_000;
+        for (int id = 0; id < rows; id++) {
+            csv.append("SALARY,").append(id).append(",Émile-").append(id).append(",120000\n");
+        }
+        Files.writeString(file, csv, StandardCharsets.UTF_8);
+
+        List<Integer> batchSizes = new ArrayList<>();
+        EmployeeCsvImporter importer = new EmployeeCsvImporter(',', 4_096, 10);
+        ImportResult result = importer.importFile(file, batch -> batchSizes.add(batch.size()));
+
+        assertEquals(rows, result.getRowsImported());
+        assertEquals(7, batchSizes.size());
+        assertEquals(4_096, batchSizes.get(0));
+        assertEquals(rows % 4_096, batchSizes.get(6));
+        assertTrue(result.getRowsPerSecond() > 0);
+
+        InMemoryEmployeeRepository repo = new InMemoryEmployeeRepository();
+        importer.importInto(file, repo);
+        assertEquals(rows, repo.size());
+        assertEquals("Émile-24999", repo.get(24_999).getLastName());
+    }
+
+    @Test
+    void headerWithoutRequiredColumns_isRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> importAll(EmployeeCsvImporter.csv(), "lastName,firstName\nPatel,Jay\n", new ArrayList<>()));
+    }
+}
@@ -0,0 +1,116 @@
+package com.jaypatel.emanager.io;
+
+import com.jaypatel.emanager.model.Address;
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.model.HourlyEmployee;
+import com.jaypatel.emanager.model.SalaryEmployee;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PayrollReportWriterTest {
+    @TempDir
+    Path dir;
+
+    private static List<Employee> roster() {
+        List<Employee> employees = new ArrayList<>();
+        employees.add(new HourlyEmployee("Patel", "Jay", 'M', null, null,
+                new Address("12 Main St", "Saskatoon", "SK", "S7N 1A1"), 1, "Developer",
+                new BigDecimal("160"), new BigDecimal("25.50")));
+        employees.add(new SalaryEmployee("Lévesque", "Zoë", '\0', null, null,
+                new Address(" ", "Montréal", null, "H2X 1Y4"), 2, "Directrice générale", new BigDecimal("100000.05")));
+        employees.add(new SalaryEmployee(null, "Solo", 'É', null, null, null, 3, null, new BigDecimal("0.04")));
+        employees.add(new HourlyEmployee("Only", null, 'Q', null, null,
+                new Address(null, null, null, "S4P"), 4, "Chef 🍳 \uD800", BigDecimal.ZERO, BigDecimal.ONE));
+        employees.add(new SalaryEmployee(null, null, '\0', null, null,
+                new Address("1 Rue", null, "QC", null), 5, "", new BigDecimal("123456789012.34")));
+        return employees;
+    }
+
+    private static String expected(List<Employee> employees, char delimiter) {
+        StringBuilder sb = new StringBuilder();
+        for (Employee e : employees) sb.append(PayrollReportWriter.formatLine(e, delimiter));
+        // Round-trip through UTF-8 so unpaired surrogates compare as the '?' they encode to.
+        return new String(sb.toString().getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void outputMatchesTheStringMethodsEvenWhenFieldsSpanFlushes() throws IOException {
+        List<Employee> employees = roster();
+        for (int bufferSize : new int[]{32, 33, 37, 64, PayrollReportWriter.DEFAULT_BUFFER_SIZE}) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (PayrollReportWriter writer = new PayrollReportWriter(Channels.newChannel(out), bufferSize, ',')) {
+                assertEquals(employees.size(), writer.writeAll(employees));
+            }
+            assertEquals(expected(employees, ','), out.toString(StandardCharsets.UTF_8), "bufferSize " + bufferSize);
+        }
+    }
+
+    @Test
+    void writesAFile() throws IOException {
+        List<Employee> employees = roster();
+        Path file = dir.resolve("payroll.tsv");
+        long bytes;
+        try (PayrollReportWriter writer = PayrollReportWriter.open(file)) {
+            writer.writeAll(employees);
+            writer.flush();
+            bytes = writer.getBytesWritten();
+            assertEquals(employees.size(), writer.getRowCount());
+        }
+        byte[] expected = expected(employees, '\t').getBytes(StandardCharsets.UTF_8);
+        assertEquals(expected.length, bytes);
+        assertEquals(new String(expected, StandardCharsets.UTF_8), Files.readString(file));
+        assertEquals("Patel, Jay M\t12 Main St, Saskatoon, SK S7N 1A1\tDeveloper\t4080.00", Files.readAllLines(file).get(0));
+    }
+
+    @Test
+    void rowsAllocateAlmostNothing() throws IOException {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads)
+                || !threads.isThreadAllocatedMemorySupported()) {
+            return;
+        }
+        List<Employee> employees = roster();
+        WritableByteChannel discard = new WritableByteChannel() {
+            @Override
+            public int write(ByteBuffer src) {
+                int n = src.remaining();
+                src.position(src.limit());
+                return n;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        try (PayrollReportWriter writer = new PayrollReportWriter(discard)) {
+            for (int i = 0; i < 20_000; i++) writer.writeAll(employees); // warm up
+            long tid = Thread.currentThread().getId();
+            long before = threads.getThreadAllocatedBytes(tid);
+            int rows = 0;
+            for (int i = 0; i < 20_000; i++) rows += (int) writer.writeAll(employees);
+            long perRow = (threads.getThreadAllocatedBytes(tid) - before) / rows;
+            // The iterator over the list is the only per-call allocation.
+            assertTrue(perRow < 16, "allocated " + perRow + " bytes per row");
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.jaypatel.emanager.metrics;
+
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.model.SalaryEmployee;
+import com.jaypatel.emanager.payroll.PayrollRunner;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/** Runs in its own surefire execution so {@link Metrics} is loaded here for the first time. */
+public class MetricsStartupTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void recordingStartedAfterLoadWithoutSetEnabled_receivesEvents() throws IOException {
+        assertFalse(Metrics.isEnabled());
+
+        Path file = dir.resolve("ops.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.jaypatel.emanager.Operation").withoutThreshold();
+            recording.start();
+            List<Employee> roster = List.of(
+                    new SalaryEmployee("L", "F", '\0', null, null, null, 1, null, BigDecimal.valueOf(60_000)));
+            new PayrollRunner().run(roster);
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertEquals(1, events.size());
+        assertEquals("PAYROLL_RUN", events.get(0).getString("operation"));
+    }
+}
@@ -0,0 +1,157 @@
+package com.jaypatel.emanager.metrics;
+
+import com.jaypatel.emanager.io.EmployeeCsvImporter;
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.model.SalaryEmployee;
+import com.jaypatel.emanager.payroll.PayrollRunner;
+import com.jaypatel.emanager.repository.EmployeeRepository;
+import com.jaypatel.emanager.repository.InMemoryEmployeeRepository;
+import com.jaypatel.emanager.repository.MeteredEmployeeRepository;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MetricsTest {
+    @TempDir
+    Path dir;
+
+    @AfterEach
+    void tearDown() {
+        Metrics.setEnabled(false);
+        Metrics.reset();
+    }
+
+    private static List<Employee> roster(int size) {
+        List<Employee> employees = new ArrayList<>();
+        for (int id = 0; id < size; id++) {
+            employees.add(new SalaryEmployee("L", "F", '\0', null, null, null, id, null, BigDecimal.valueOf(60_000)));
+        }
+        return employees;
+    }
+
+    @Test
+    void histogramPercentilesAreWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentile(99));
+        Random random = new Random(1);
+        long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(random.nextDouble() * 30);
+            histogram.record(values[i]);
+        }
+        histogram.record(-5);
+        Arrays.sort(values);
+        for (double p : new double[]{1, 50, 90, 99, 99.9}) {
+            long exact = values[(int) Math.ceil(p / 100 * (values.length + 1)) - 2];
+            long reported = histogram.getPercentile(p);
+            assertTrue(reported >= exact && reported <= exact + exact / 128 + 1, p + ": " + exact + " vs " + reported);
+        }
+        assertEquals(values[values.length - 1], histogram.getMax());
+        assertEquals(values[values.length - 1], histogram.getPercentile(100));
+        assertEquals(values.length + 1, histogram.getCount());
+        for (long v : new long[]{0, 1, 255, 256, 257, 1L << 40, Long.MAX_VALUE}) {
+            int i = LatencyHistogram.index(v);
+            assertTrue(LatencyHistogram.highestInBucket(i) >= v && (i == 0 || LatencyHistogram.highestInBucket(i - 1) < v), "v=" + v);
+        }
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertThrows(IllegalArgumentException.class, () -> histogram.getPercentile(101));
+    }
+
+    @Test
+    void disabledMetricsRecordNothing() {
+        Metrics.setEnabled(false);
+        assertSame(Metrics.Span.NOOP, Metrics.start(Operation.PAYROLL_RUN));
+        new PayrollRunner().run(roster(10));
+        assertEquals(0, Metrics.getCount(Operation.PAYROLL_RUN));
+    }
+
+    @Test
+    void instrumentedPathsReportCountsAndItems() throws IOException {
+        Metrics.setEnabled(true);
+        new PayrollRunner().run(roster(2_500));
+
+        StringBuilder csv = new StringBuilder("type,employeeId,annualSalary\n");
+        for (int id = 0; id < 25; id++) csv.append("SALARY,").append(id).append(",1000\n");
+        new EmployeeCsvImporter(',', 10, 10).importFrom(
+                Channels.newChannel(new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8))),
+                batch -> { });
+
+        EmployeeRepository repository = new MeteredEmployeeRepository(new InMemoryEmployeeRepository());
+        repository.put(roster(1).get(0));
+        assertNotNull(repository.get(0));
+        assertNull(repository.get(1));
+
+        assertEquals(1, Metrics.getCount(Operation.PAYROLL_RUN));
+        assertEquals(2_500, Metrics.getItems(Operation.PAYROLL_RUN));
+        assertEquals(3, Metrics.getCount(Operation.IMPORT_BATCH));
+        assertEquals(25, Metrics.getItems(Operation.IMPORT_BATCH));
+        assertEquals(2, Metrics.getCount(Operation.LOOKUP));
+        assertEquals(1, Metrics.getItems(Operation.LOOKUP));
+        assertTrue(Metrics.getLatency(Operation.PAYROLL_RUN).getMax() > 0);
+
+        String dump = Metrics.dump();
+        assertTrue(dump.startsWith("metrics enabled=true\n"), dump);
+        assertTrue(dump.contains("PAYROLL_RUN employees=2500 count=1 "), dump);
+        assertTrue(dump.contains("LOOKUP hits=1 count=2 "), dump);
+    }
+
+    @Test
+    void exposedThroughJmx() throws Exception {
+        Metrics.registerMBean();
+        Metrics.registerMBean();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(Metrics.OBJECT_NAME);
+        server.setAttribute(name, new Attribute("Enabled", true));
+        assertTrue(Metrics.isEnabled());
+        new PayrollRunner().run(roster(10));
+        TabularData counts = (TabularData) server.getAttribute(name, "Counts");
+        assertEquals(1L, counts.get(new Object[]{"PAYROLL_RUN"}).get("value"));
+        assertTrue(((String) server.invoke(name, "dump", null, null)).contains("PAYROLL_RUN employees=10"));
+        server.invoke(name, "reset", null, null);
+        assertEquals(0, Metrics.getCount(Operation.PAYROLL_RUN));
+    }
+
+    @Test
+    void flightRecorderEventsAreEmittedWhileMetricsAreOff() throws IOException {
+        Path file = dir.resolve("ops.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.jaypatel.emanager.Operation").withoutThreshold();
+            recording.start();
+            new PayrollRunner().run(roster(100));
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertEquals(1, events.size());
+        assertEquals("PAYROLL_RUN", events.get(0).getString("operation"));
+        assertEquals(100, events.get(0).getLong("items"));
+        assertEquals(0, Metrics.getCount(Operation.PAYROLL_RUN));
+    }
+}
@@ -4,8 +4,12 @@ import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 public class HourlyEmployeeTest {
     @Test
@@ -68,4 +72,56 @@ public class HourlyEmployeeTest {
         // also verify null -> 0 clamping via getter compare
         assertEquals(0, he.getHourlyRate().compareTo(BigDecimal.ZERO));
     }
+
+    @Test
+    void earningsAreCachedUntilASetterRuns() {
+        HourlyEmployee he = new HourlyEmployee();
+        he.setHourlyRate(new BigDecimal("20.00"));
+        he.setMonthlyHours(new BigDecimal("160"));
+
+        BigDecimal first = he.getEarnings();
+        assertSame(first, he.getEarnings());
+
+        he.setMonthlyHours(new BigDecimal("10"));
+        assertEquals(new BigDecimal("200.00"), he.getEarnings());
+        he.setHourlyRate(new BigDecimal("1.50"));
+        assertEquals(new BigDecimal("15.00"), he.getEarnings());
+    }
+
+    /**
+     * Readers fill the cache while the writer changes rate and hours. Whatever a racing reader
+     * caches, the writer's own next read must match its inputs.
+     */
+    @Test
+    void racingReadersNeverLeaveStaleEarningsCached() throws InterruptedException {
+        HourlyEmployee he = new HourlyEmployee();
+        he.setHourlyRate(BigDecimal.ONE);
+        he.setMonthlyHours(BigDecimal.ONE);
+        AtomicBoolean stop = new AtomicBoolean();
+        List<Thread> readers = new ArrayList<>();
+        for (int t = 0; t < 3; t++) {
+            Thread reader = new Thread(() -> {
+                while (!stop.get()) {
+                    he.getEarnings();
+                    he.getEarningsCents();
+                }
+            });
+            reader.start();
+            readers.add(reader);
+        }
+        try {
+            for (int i = 1; i <= 50_000; i++) {
+                BigDecimal rate = BigDecimal.valueOf(i % 997, 2);
+                BigDecimal hours = BigDecimal.valueOf(i % 211);
+                he.setHourlyRate(rate);
+                he.setMonthlyHours(hours);
+                BigDecimal expected = rate.multiply(hours).setScale(2, RoundingMode.HALF_UP);
+                assertEquals(expected, he.getEarnings(), "step " + i);
+                assertEquals(expected.unscaledValue().longValueExact(), he.getEarningsCents(), "step " + i);
+            }
+        } finally {
+            stop.set(true);
+            for (Thread reader : readers) reader.join();
+        }
+    }
 }
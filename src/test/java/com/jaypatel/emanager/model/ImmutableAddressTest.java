@@ -0,0 +1,66 @@
+package com.jaypatel.emanager.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ImmutableAddressTest {
+    @Test
+    void equalAddressesShareOneInstance() {
+        ImmutableAddress a = ImmutableAddress.of("123 Main St", "Saskatoon", "SK", "S7J 4M3");
+        ImmutableAddress b = ImmutableAddress.of(" 123 Main St ", "Saskatoon", "SK", "S7J 4M3 ");
+        ImmutableAddress c = ImmutableAddress.from(new Address("123 Main St", "Saskatoon", "SK", "S7J 4M3"));
+
+        assertSame(a, b);
+        assertSame(a, c);
+    }
+
+    @Test
+    void normalizesAndFormatsLikeAddress() {
+        ImmutableAddress value = ImmutableAddress.of("  ", " Saskatoon ", "SK", "");
+        Address mutable = new Address("  ", " Saskatoon ", "SK", "");
+
+        assertAll(
+                () -> assertNull(value.getStreet()),
+                () -> assertEquals("Saskatoon", value.getCity()),
+                () -> assertNull(value.getPostalCode()),
+                () -> assertEquals(mutable.displayAddress(), value.displayAddress()),
+                () -> assertEquals("Saskatoon, SK", value.toString())
+        );
+    }
+
+    @Test
+    void personHandsOutSharedValueWithoutCopying() {
+        Address office = new Address("1 Office Rd", "Regina", "SK", "S4P 3Y2");
+        Person first = new Person("Patel", "Jay", 'M', null, null, office);
+        Person second = new Person("Shah", "Ana", '\0', null, null, office);
+
+        assertSame(first.getAddressValue(), second.getAddressValue());
+        assertSame(first.getAddressValue(), first.getAddressValue());
+    }
+
+    @Test
+    void mutableAddressStillBehavesAsDefensiveCopy() {
+        Address original = new Address("1 Office Rd", "Regina", "SK", "S4P 3Y2");
+        Person p = new Person("Patel", "Jay", 'M', null, null, original);
+
+        original.setCity("Saskatoon");                // caller's copy changes...
+        Address read = p.getAddress();
+        read.setProvince("AB");                       // ...and so does the returned copy
+
+        assertEquals("1 Office Rd, Regina, SK S4P 3Y2", p.getAddressValue().displayAddress());
+        assertNotSame(read, p.getAddress());
+        assertEquals("SK", p.getAddress().getProvince());
+    }
+
+    @Test
+    void nullAddressStaysNull() {
+        Person p = new Person("Patel", "Jay", 'M', null, null, null);
+        assertNull(p.getAddress());
+        assertNull(p.getAddressValue());
+    }
+}
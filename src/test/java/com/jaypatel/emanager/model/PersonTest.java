@@ -1,7 +1,13 @@
 package com.jaypatel.emanager.model;
 
 import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 public class PersonTest {
     @Test
@@ -33,4 +39,85 @@ public class PersonTest {
         Person p = new Person(null, null, 'M', null, null, null);
         assertEquals("", p.getDisplayName());
     }
-}
\ No newline at end of file
+
+    @Test
+    void listenersSeeOldValueAfterSetterRuns() {
+        Person p = new Person("Patel", "Jay", 'M', null, null, new Address("1 Main St", "Regina", "SK", null));
+        List<String> events = new ArrayList<>();
+        ModelChangeListener listener = (source, property, oldValue) ->
+                events.add(property + ":" + oldValue + "->" + source.getDisplayName());
+        p.addChangeListener(listener);
+        p.addChangeListener(listener); // duplicate registration is ignored
+
+        p.setLastName("Shah");
+        p.setMiddleInit('K');
+        p.setAddress(null);
+        p.removeChangeListener(listener);
+        p.setFirstName("Raj");
+
+        assertEquals(List.of(
+                "LAST_NAME:Patel->Shah, Jay M",
+                "MIDDLE_INIT:M->Shah, Jay K",
+                "ADDRESS:1 Main St, Regina, SK->Shah, Jay K"), events);
+    }
+
+    @Test
+    void birthDateIsParsedWhenSet() {
+        Person p = new Person("Patel", "Jay", 'M', " 1998-05-12 ", null, null);
+        assertEquals(LocalDate.of(1998, 5, 12).toEpochDay(), p.getBirthEpochDay());
+        assertEquals(LocalDate.of(1998, 5, 12), p.getBirthLocalDate());
+
+        p.setBirthDate("12/05/1998");
+        assertEquals("12/05/1998", p.getBirthDate());
+        assertEquals(Person.NO_BIRTH_DATE, p.getBirthEpochDay());
+        assertNull(p.getBirthLocalDate());
+
+        p.setBirthDate(null);
+        assertEquals(Person.NO_BIRTH_DATE, p.getBirthEpochDay());
+    }
+
+    @Test
+    void parseEpochDayMatchesLocalDate() {
+        for (LocalDate d = LocalDate.of(1, 1, 1); d.getYear() < 2200; d = d.plusDays(37)) {
+            assertEquals(d.toEpochDay(), Person.parseEpochDay(d.toString()), d.toString());
+        }
+        assertEquals(LocalDate.of(2000, 2, 29).toEpochDay(), Person.parseEpochDay("2000-02-29"));
+        for (String bad : new String[] {"1900-02-29", "2023-04-31", "2023-13-01", "2023-00-10",
+                "2023-1-01", "2023/01/01", "20x3-01-01", "", "1998-05-12T00:00"}) {
+            assertEquals(Person.NO_BIRTH_DATE, Person.parseEpochDay(bad), bad);
+        }
+    }
+
+    @Test
+    void phoneNumberIsNormalizedWhenSet() {
+        Person p = new Person("Patel", "Jay", 'M', null, " (306) 555-1234 ", null);
+        assertEquals("(306) 555-1234", p.getPhoneNumber());
+        assertEquals(13065551234L, p.getPhoneKey());
+
+        p.setPhoneNumber("ask reception");
+        assertEquals(Person.NO_PHONE_KEY, p.getPhoneKey());
+
+        String[][] cases = {
+                {"306-555-1234", "13065551234"},
+                {"1 306 555 1234", "13065551234"},
+                {"+1 (306) 555-1234", "13065551234"},
+                {"306.555.1234 ext. 42", "13065551234"},
+                {"306/555-1234x42", "13065551234"},
+                {"+44 20 7946 0958", "442079460958"},
+                {"0044 20 7946 0958", "442079460958"},
+                {"011 44 20 7946 0958", "442079460958"},
+                {"555-1234", "0"},
+                {"106-555-1234", "0"},
+                {"2 306 555 1234", "0"},
+                {"+0 20 7946 0958", "0"},
+                {"+44 20", "0"},
+                {"+1234567890123456", "0"},
+                {"306-555-1234 x", "0"},
+                {"306-555-CALL", "0"},
+                {"+1 306 +555 1234", "0"},
+        };
+        for (String[] c : cases) {
+            assertEquals(Long.parseLong(c[1]), Person.parsePhoneKey(c[0]), c[0]);
+        }
+    }
+}
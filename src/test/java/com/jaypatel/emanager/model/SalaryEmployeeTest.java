@@ -4,6 +4,7 @@ import java.math.BigDecimal;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class SalaryEmployeeTest {
@@ -50,4 +51,14 @@ public class SalaryEmployeeTest {
         // also true for earnings:
         assertEquals(2, e.getEarnings().scale());
     }
+
+    @Test
+    void earningsAreCachedUntilTheSalaryChanges() {
+        SalaryEmployee e = newEmp(new BigDecimal("1200"));
+        BigDecimal first = e.getEarnings();
+        assertSame(first, e.getEarnings());
+
+        e.setAnnualSalary(new BigDecimal("2400"));
+        assertEquals(new BigDecimal("200.00"), e.getEarnings());
+    }
 }
@@ -0,0 +1,136 @@
+package com.jaypatel.emanager.payroll;
+
+import com.jaypatel.emanager.model.Address;
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.model.HourlyEmployee;
+import com.jaypatel.emanager.model.SalaryEmployee;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BulkRaiseTest {
+    private static final String[] TITLES = {"Developer", "Manager", "Analyst", null};
+    private static final String[] PROVINCES = {"SK", "AB", "ON"};
+
+    private static List<Employee> roster(int size) {
+        Random random = new Random(11);
+        List<Employee> employees = new ArrayList<>();
+        for (int id = 0; id < size; id++) {
+            String title = TITLES[random.nextInt(TITLES.length)];
+            Address address = new Address(null, null, PROVINCES[random.nextInt(PROVINCES.length)], null);
+            if (random.nextBoolean()) {
+                employees.add(new HourlyEmployee("L" + id, "F" + id, '\0', null, null, address, id, title,
+                        BigDecimal.valueOf(random.nextInt(20_000), 2), BigDecimal.valueOf(random.nextInt(9_000), 2)));
+            } else {
+                employees.add(new SalaryEmployee("L" + id, "F" + id, '\0', null, null, address, id, title,
+                        BigDecimal.valueOf(random.nextInt(20_000_000), 2)));
+            }
+        }
+        return employees;
+    }
+
+    private static BigDecimal raised(BigDecimal amount, String percent) {
+        BigDecimal factor = BigDecimal.ONE.add(new BigDecimal(percent).movePointLeft(2));
+        return amount.multiply(factor).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    @Test
+    void appliesFirstMatchingRuleLikeTheSetters() {
+        List<Employee> employees = roster(20_000);
+        List<Employee> expected = roster(20_000);
+        RaiseRule developers = RaiseRule.hourlyRate(new BigDecimal("3")).whereJobTitle("Developer");
+        RaiseRule saskatchewan = RaiseRule.annualSalary(new BigDecimal("2.5")).whereProvince("SK");
+        RaiseRule managers = RaiseRule.annualSalary(new BigDecimal("-1.125")).whereJobTitle("Manager");
+        int changed = 0;
+        for (Employee e : expected) {
+            if (e instanceof HourlyEmployee h && "Developer".equals(h.getJobTitle())) {
+                BigDecimal rate = raised(h.getHourlyRate(), "3");
+                if (rate.compareTo(h.getHourlyRate()) != 0) changed++;
+                h.setHourlyRate(rate);
+            } else if (e instanceof SalaryEmployee s && "SK".equals(s.getAddressValue().getProvince())) {
+                BigDecimal salary = raised(s.getAnnualSalary(), "2.5");
+                if (salary.compareTo(s.getAnnualSalary()) != 0) changed++;
+                s.setAnnualSalary(salary);
+            } else if (e instanceof SalaryEmployee s && "Manager".equals(s.getJobTitle())) {
+                BigDecimal salary = raised(s.getAnnualSalary(), "-1.125");
+                if (salary.compareTo(s.getAnnualSalary()) != 0) changed++;
+                s.setAnnualSalary(salary);
+            }
+        }
+
+        BulkRaiseResult result;
+        try (BulkRaise raise = new BulkRaise(List.of(developers, saskatchewan, managers), 4)) {
+            result = raise.apply(employees);
+        }
+        assertEquals(changed, result.size());
+        assertEquals(result.size(), result.getChangedCount(developers) + result.getChangedCount(saskatchewan)
+                + result.getChangedCount(managers));
+        for (int i = 0; i < employees.size(); i++) {
+            assertEquals(expected.get(i).getEarnings(), employees.get(i).getEarnings());
+        }
+        int previous = -1;
+        for (int i = 0; i < result.size(); i++) {
+            assertTrue(result.getEmployeeId(i) > previous, "roster order");
+            previous = result.getEmployeeId(i);
+        }
+    }
+
+    @Test
+    void planChangesNothingAndMatchesApplyAtAnyParallelism() {
+        List<Employee> employees = roster(50_000);
+        List<RaiseRule> rules = List.of(RaiseRule.hourlyRate(new BigDecimal("0.5")),
+                RaiseRule.annualSalary(new BigDecimal("7")).whereJobTitle("Analyst").whereProvince("AB"));
+        BulkRaiseResult planned;
+        BulkRaiseResult applied;
+        try (BulkRaise one = new BulkRaise(rules, 1); BulkRaise many = new BulkRaise(rules, 8)) {
+            BigDecimal before = employees.get(0).getEarnings();
+            planned = one.plan(employees);
+            assertEquals(before, employees.get(0).getEarnings());
+            applied = many.apply(employees);
+        }
+        assertEquals(planned.size(), applied.size());
+        assertEquals(planned.getMatchedCount(), applied.getMatchedCount());
+        for (int i = 0; i < planned.size(); i++) {
+            assertEquals(planned.getEmployeeId(i), applied.getEmployeeId(i));
+            assertEquals(planned.getNewValue(i), applied.getNewValue(i));
+            assertEquals(planned.getRule(i), applied.getRule(i));
+        }
+        // Applied again on the raised roster, the old values are the first pass's new values.
+        BulkRaiseResult again = new BulkRaise(rules).plan(employees);
+        assertEquals(applied.getNewValue(0), again.getOldValue(0));
+    }
+
+    @Test
+    void unchangedEmployeesAreNotWritten() {
+        SalaryEmployee zero = new SalaryEmployee("Z", "Z", '\0', null, null, null, 1, null, BigDecimal.ZERO);
+        HourlyEmployee hourly = new HourlyEmployee("H", "H", '\0', null, null, null, 2, null,
+                BigDecimal.TEN, new BigDecimal("0.01"));
+        AtomicInteger calls = new AtomicInteger();
+        zero.addChangeListener((source, property, oldValue) -> calls.incrementAndGet());
+        hourly.addChangeListener((source, property, oldValue) -> calls.incrementAndGet());
+
+        BulkRaiseResult result = new BulkRaise(List.of(RaiseRule.annualSalary(new BigDecimal("10")),
+                RaiseRule.hourlyRate(new BigDecimal("10")))).apply(List.of(zero, hourly));
+        assertEquals(2, result.getMatchedCount());
+        assertEquals(0, result.size());
+        assertEquals(0, calls.get());
+        assertEquals(new BigDecimal("0.01"), hourly.getHourlyRate());
+
+        BulkRaiseResult cut = new BulkRaise(List.of(RaiseRule.hourlyRate(new BigDecimal("-100")))).apply(List.of(hourly));
+        assertEquals(1, cut.size());
+        assertEquals(new BigDecimal("0.00"), hourly.getHourlyRate());
+        assertEquals(1, calls.get());
+        assertEquals("HOURLY_RATE -100%", cut.getRule(0).toString());
+        assertThrows(IndexOutOfBoundsException.class, () -> cut.getEmployeeId(1));
+        assertThrows(IllegalArgumentException.class, () -> RaiseRule.annualSalary(new BigDecimal("-100.01")));
+    }
+}
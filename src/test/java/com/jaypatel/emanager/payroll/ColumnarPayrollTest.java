@@ -0,0 +1,113 @@
+package com.jaypatel.emanager.payroll;
+
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.model.HourlyEmployee;
+import com.jaypatel.emanager.model.SalaryEmployee;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ColumnarPayrollTest {
+    private static HourlyEmployee hourly(int id, String rate, String hours) {
+        return new HourlyEmployee("Patel", "Jay", 'M', null, null, null, id, "Developer",
+                new BigDecimal(hours), new BigDecimal(rate));
+    }
+
+    private static SalaryEmployee salaried(int id, String annual) {
+        return new SalaryEmployee("Patel", "Jay", 'M', null, null, null, id, "Manager",
+                new BigDecimal(annual));
+    }
+
+    @Test
+    void earningsMatchModel_forRoundingEdgeCases() {
+        List<Employee> employees = List.of(
+                hourly(1, "19.99", "173.33"),
+                hourly(2, "0.05", "0.10"),     // 0.0050 -> 0.01 (half up)
+                hourly(3, "0.04", "0.11"),     // 0.0044 -> 0.00
+                hourly(4, "-10.00", "5"),      // clamped rate
+                salaried(5, "1000.05"),        // 83.3375 -> 83.34
+                salaried(6, "0.06"),           // 0.005 -> 0.01
+                salaried(7, "0.05"));          // 0.0041.. -> 0.00
+
+        ColumnarPayroll payroll = ColumnarPayroll.of(employees);
+        long total = payroll.computeEarnings();
+
+        BigDecimal expectedTotal = BigDecimal.ZERO.setScale(2);
+        for (int row = 0; row < employees.size(); row++) {
+            BigDecimal expected = employees.get(row).getEarnings();
+            assertEquals(expected, payroll.getEarnings(row));
+            expectedTotal = expectedTotal.add(expected);
+        }
+        assertEquals(expectedTotal, PayrollMath.fromCents(total));
+    }
+
+    @Test
+    void earningsMatchModel_forRandomValues() {
+        Random random = new Random(42);
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            if (random.nextBoolean()) {
+                employees.add(hourly(i, cents(random, 50_000), cents(random, 40_000)));
+            } else {
+                employees.add(salaried(i, cents(random, 100_000_000)));
+            }
+        }
+
+        ColumnarPayroll payroll = ColumnarPayroll.of(employees);
+        payroll.computeEarnings();
+
+        for (int row = 0; row < employees.size(); row++) {
+            assertEquals(employees.get(row).getEarnings(), payroll.getEarnings(row));
+        }
+    }
+
+    @Test
+    void overflowingProduct_fallsBackToExactArithmetic() {
+        long rate = 9_000_000_000L;      // $90,000,000.00 per hour
+        long hours = 2_000_000_000L;     // 20,000,000.00 hours
+        BigDecimal expected = PayrollMath.fromCents(rate).multiply(PayrollMath.fromCents(hours))
+                .setScale(2, RoundingMode.HALF_UP);
+
+        assertEquals(expected, PayrollMath.fromCents(PayrollMath.hourlyEarningsCents(rate, hours)));
+    }
+
+    @Test
+    void rowsRoundTripBackToModelObjects() {
+        ColumnarPayroll payroll = ColumnarPayroll.of(List.of(hourly(10, "20.00", "160"), salaried(11, "1200")));
+
+        Employee first = payroll.toEmployee(0);
+        Employee second = payroll.toEmployee(1);
+
+        HourlyEmployee he = assertInstanceOf(HourlyEmployee.class, first);
+        assertEquals(10, he.getEmployeeId());
+        assertEquals(new BigDecimal("20.00"), he.getHourlyRate());
+        assertEquals(new BigDecimal("160.00"), he.getMonthlyHours());
+
+        SalaryEmployee se = assertInstanceOf(SalaryEmployee.class, second);
+        assertEquals(11, se.getEmployeeId());
+        assertEquals(new BigDecimal("1200.00"), se.getAnnualSalary());
+        assertThrows(IllegalArgumentException.class, () -> payroll.copyTo(0, new SalaryEmployee()));
+    }
+
+    @Test
+    void earningsBeforeCompute_throws() {
+        ColumnarPayroll payroll = new ColumnarPayroll();
+        payroll.addSalaried(1, 120_000);
+
+        assertThrows(IllegalStateException.class, () -> payroll.getEarningsCents(0));
+        payroll.computeEarnings();
+        assertEquals(10_000, payroll.getEarningsCents(0));
+    }
+
+    private static String cents(Random random, int maxWholeUnits) {
+        return BigDecimal.valueOf(random.nextInt(maxWholeUnits * 100), 2).toPlainString();
+    }
+}
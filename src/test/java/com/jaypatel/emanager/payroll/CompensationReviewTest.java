@@ -0,0 +1,108 @@
+package com.jaypatel.emanager.payroll;
+
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.model.HourlyEmployee;
+import com.jaypatel.emanager.model.SalaryEmployee;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompensationReviewTest {
+    private static final String[] TITLES = {"Developer", "Manager", "Analyst", null};
+
+    private static List<Employee> roster(int size) {
+        Random random = new Random(11);
+        List<Employee> employees = new ArrayList<>();
+        for (int id = 0; id < size; id++) {
+            String title = TITLES[random.nextInt(TITLES.length)];
+            if (random.nextBoolean()) {
+                // Coarse rates make ties common, exercising the id tie-break.
+                employees.add(new HourlyEmployee("L" + id, "F" + id, '\0', null, null, null, id, title,
+                        BigDecimal.valueOf(random.nextInt(200)), BigDecimal.valueOf(random.nextInt(60))));
+            } else {
+                employees.add(new SalaryEmployee("L" + id, "F" + id, '\0', null, null, null, id, title,
+                        BigDecimal.valueOf(random.nextInt(20_000_000), 2)));
+            }
+        }
+        return employees;
+    }
+
+    @Test
+    void topEarnersMatchAFullSort() {
+        List<Employee> employees = roster(20_000);
+        List<Employee> sorted = new ArrayList<>(employees);
+        sorted.sort(Comparator.comparing(Employee::getEarnings).reversed()
+                .thenComparingInt(Employee::getEmployeeId));
+
+        try (CompensationReview review = new CompensationReview(100, 0.01, 4)) {
+            TopEarners top = review.run(employees).getTopEarners();
+            assertEquals(100, top.size());
+            int[] ids = top.employeeIds();
+            BigDecimal[] earnings = top.earnings();
+            for (int i = 0; i < 100; i++) {
+                assertEquals(sorted.get(i).getEmployeeId(), ids[i]);
+                assertEquals(sorted.get(i).getEarnings(), earnings[i]);
+            }
+        }
+
+        TopEarners few = new TopEarners(5);
+        few.add(employees.get(0));
+        few.offer(-1, 10);
+        assertArrayEquals(new int[]{0, -1}, few.employeeIds());
+        assertArrayEquals(new long[]{employees.get(0).getEarningsCents(), 10}, few.earningsCents());
+        assertThrows(IllegalArgumentException.class, () -> new TopEarners(0));
+    }
+
+    @Test
+    void resultsAreIdenticalRegardlessOfParallelism() {
+        List<Employee> employees = roster(50_000);
+
+        CompensationReviewResult sequential;
+        CompensationReviewResult parallel;
+        try (CompensationReview one = new CompensationReview(50, 0.01, 1);
+             CompensationReview many = new CompensationReview(50, 0.01, 8)) {
+            sequential = one.run(employees);
+            parallel = many.run(employees);
+        }
+
+        assertArrayEquals(sequential.getTopEarners().employeeIds(), parallel.getTopEarners().employeeIds());
+        assertEquals(sequential.getOverall().toString(), parallel.getOverall().toString());
+        assertEquals(sequential.getJobTitles(), parallel.getJobTitles());
+        assertEquals(TITLES.length, parallel.getJobTitles().size());
+        assertNull(parallel.getJobTitles().first());
+        for (String title : TITLES) {
+            EarningsSketch sketch = parallel.getSketch(title);
+            assertEquals(sequential.getSketch(title).toString(), sketch.toString());
+            long[] exact = employees.stream().filter(e -> Objects.equals(e.getJobTitle(), title))
+                    .mapToLong(Employee::getEarningsCents).sorted().toArray();
+            assertEquals(exact.length, sketch.getCount());
+            for (double q : new double[]{0.5, 0.9, 0.99}) {
+                long expected = exact[(int) (q * (exact.length - 1))];
+                double estimate = sketch.getQuantile(q).movePointRight(2).doubleValue();
+                assertTrue(Math.abs(estimate - expected) <= expected * 0.01 + 0.5, title + " q=" + q);
+            }
+        }
+        assertNull(parallel.getSketch("Nobody"));
+    }
+
+    @Test
+    void emptyRoster_hasNoEarners() {
+        CompensationReviewResult result = new CompensationReview(10, 0.01).run(List.of());
+        assertEquals(0, result.getTopEarners().size());
+        assertEquals(0, result.getOverall().getCount());
+        assertTrue(result.getJobTitles().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new CompensationReview(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new CompensationReview(10, 0.01, 0));
+    }
+}
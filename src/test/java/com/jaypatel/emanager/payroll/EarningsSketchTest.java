@@ -0,0 +1,88 @@
+package com.jaypatel.emanager.payroll;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EarningsSketchTest {
+    private static final double[] QUANTILES = {0, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 0.999, 1};
+
+    private static void assertWithinAccuracy(long[] sorted, EarningsSketch sketch, double accuracy) {
+        for (double q : QUANTILES) {
+            long exact = sorted[(int) (q * (sorted.length - 1))];
+            double estimate = sketch.getQuantile(q).movePointRight(2).doubleValue();
+            // The bucket midpoint is within the accuracy; rounding to cents adds at most half a cent.
+            assertTrue(Math.abs(estimate - exact) <= Math.abs(exact) * accuracy + 0.5,
+                    "q=" + q + " exact=" + exact + " estimate=" + estimate);
+        }
+    }
+
+    @Test
+    void quantilesAreWithinRelativeAccuracy() {
+        Random random = new Random(3);
+        for (double accuracy : new double[]{0.05, 0.01, 0.001}) {
+            long[] values = new long[100_000];
+            EarningsSketch sketch = new EarningsSketch(accuracy);
+            for (int i = 0; i < values.length; i++) {
+                // Log-normal around $5,000 with a long tail, plus some zero and negative corrections.
+                long v = Math.round(Math.exp(13 + random.nextGaussian()));
+                if (i % 97 == 0) v = 0;
+                if (i % 89 == 0) v = -v;
+                values[i] = v;
+                sketch.add(v);
+            }
+            Arrays.sort(values);
+            assertEquals(values.length, sketch.getCount());
+            assertWithinAccuracy(values, sketch, accuracy);
+            assertEquals(BigDecimal.valueOf(values[0], 2), sketch.getMin());
+            assertEquals(BigDecimal.valueOf(values[values.length - 1], 2), sketch.getMax());
+        }
+    }
+
+    @Test
+    void mergedPartitionsMatchOnePass() {
+        Random random = new Random(5);
+        EarningsSketch whole = new EarningsSketch(0.01);
+        EarningsSketch[] parts = new EarningsSketch[4];
+        for (int p = 0; p < parts.length; p++) parts[p] = new EarningsSketch(0.01);
+        for (int i = 0; i < 20_000; i++) {
+            // Partitions with disjoint ranges force the stores to grow in both directions.
+            int p = i % parts.length;
+            long v = (long) (random.nextDouble() * Math.pow(100, p + 1)) + 1;
+            whole.add(v);
+            parts[p].add(v);
+        }
+        EarningsSketch merged = new EarningsSketch(parts[3]);
+        merged.merge(parts[1]).merge(parts[0]).merge(parts[2]).merge(new EarningsSketch(0.01));
+        assertEquals(whole.getCount(), merged.getCount());
+        for (double q : QUANTILES) assertEquals(whole.getQuantile(q), merged.getQuantile(q), "q=" + q);
+        assertEquals(whole.toString(), merged.toString());
+        assertEquals(5_000, parts[3].getCount());
+    }
+
+    @Test
+    void edgeCases() {
+        EarningsSketch sketch = new EarningsSketch(0.02);
+        assertNull(sketch.getQuantile(0.5));
+        assertNull(sketch.getMin());
+        sketch.add(123_456);
+        assertEquals(new BigDecimal("1234.56"), sketch.getQuantile(0.5));
+        sketch.add(Long.MIN_VALUE);
+        sketch.add(Long.MAX_VALUE);
+        assertEquals(PayrollMath.fromCents(Long.MIN_VALUE), sketch.getQuantile(0));
+        assertEquals(PayrollMath.fromCents(Long.MAX_VALUE), sketch.getQuantile(1));
+
+        assertThrows(IllegalArgumentException.class, () -> new EarningsSketch(0));
+        assertThrows(IllegalArgumentException.class, () -> new EarningsSketch(1));
+        assertThrows(IllegalArgumentException.class, () -> new EarningsSketch(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> sketch.getQuantile(1.5));
+        assertThrows(IllegalArgumentException.class, () -> sketch.merge(new EarningsSketch(0.01)));
+    }
+}
@@ -0,0 +1,105 @@
+package com.jaypatel.emanager.payroll;
+
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.model.HourlyEmployee;
+import com.jaypatel.emanager.model.SalaryEmployee;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HoursHistoryTest {
+    private static HourlyEmployee hourly(int id, String hours, String rate) {
+        return new HourlyEmployee("Patel", "Jay", '\0', null, null, null, id, "Technician",
+                new BigDecimal(hours), new BigDecimal(rate));
+    }
+
+    @Test
+    void rangesMatchPerMonthModelEarnings() {
+        Random random = new Random(3);
+        HoursHistory history = new HoursHistory();
+        List<YearMonth> months = new ArrayList<>();
+        List<BigDecimal> earnings = new ArrayList<>();
+        HourlyEmployee e = hourly(1, "0", "0");
+        YearMonth month = YearMonth.of(2015, 1);
+        BigDecimal rate = new BigDecimal("21.37");
+        for (int i = 0; i < 120; i++) {
+            if (random.nextInt(12) == 0) rate = rate.add(new BigDecimal("0.85"));
+            // Fractional hours exercise the HALF_UP rounding of each month.
+            BigDecimal hours = BigDecimal.valueOf(12_000 + random.nextInt(8_000), 2);
+            e.setMonthlyHours(hours);
+            e.setHourlyRate(rate);
+            history.record(month, e);
+            months.add(month);
+            earnings.add(e.getEarnings());
+            // Every fifth year has a gap of one month.
+            month = month.plusMonths(i % 60 == 59 ? 2 : 1);
+        }
+
+        assertEquals(120, history.size());
+        assertEquals(YearMonth.of(2015, 1), history.getFirstMonth());
+        assertTrue(history.sizeInBytes() < 120 * 6, history.toString());
+        for (int trial = 0; trial < 500; trial++) {
+            int a = random.nextInt(months.size());
+            int b = a + random.nextInt(months.size() - a);
+            BigDecimal expected = BigDecimal.ZERO.setScale(2);
+            for (int i = a; i <= b; i++) expected = expected.add(earnings.get(i));
+            assertEquals(expected, history.getEarnings(months.get(a), months.get(b)));
+        }
+        assertEquals(earnings.get(37), history.getEarnings(months.get(37)));
+        assertEquals(new BigDecimal("0.00"), history.getEarnings(YearMonth.of(2020, 1)));
+        assertNull(history.getHours(YearMonth.of(2020, 1)));
+        assertEquals(new BigDecimal("0.00"), history.getEarnings(YearMonth.of(2030, 1), YearMonth.of(2031, 1)));
+
+        BigDecimal ytd = BigDecimal.ZERO.setScale(2);
+        for (int i = 0; i < months.size(); i++) {
+            if (months.get(i).getYear() == 2019 && months.get(i).getMonthValue() <= 6) ytd = ytd.add(earnings.get(i));
+        }
+        assertEquals(ytd, history.getYearToDateEarnings(YearMonth.of(2019, 6)));
+    }
+
+    @Test
+    void lastMonthCanBeCorrectedButNotEarlierOnes() {
+        HoursHistory history = new HoursHistory();
+        history.record(YearMonth.of(2025, 1), new BigDecimal("160"), new BigDecimal("25.50"));
+        history.record(YearMonth.of(2025, 2), new BigDecimal("152.5"), new BigDecimal("26.00"));
+        assertEquals(new BigDecimal("8045.00"), history.getYearToDateEarnings(YearMonth.of(2025, 2)));
+
+        history.record(YearMonth.of(2025, 2), new BigDecimal("-3"), null);
+        assertEquals(2, history.size());
+        assertEquals(new BigDecimal("0.00"), history.getHours(YearMonth.of(2025, 2)));
+        assertEquals(new BigDecimal("25.50"), history.getHourlyRate(YearMonth.of(2025, 1)));
+        assertEquals(new BigDecimal("160.00"),
+                history.getTotalHours(YearMonth.of(2024, 1), YearMonth.of(2025, 12)));
+        assertThrows(IllegalArgumentException.class,
+                () -> history.record(YearMonth.of(2025, 1), BigDecimal.ONE, BigDecimal.ONE));
+    }
+
+    @Test
+    void ledgerClosesMonthsForHourlyEmployees() {
+        HourlyEmployee a = hourly(1, "160", "25.00");
+        HourlyEmployee b = hourly(2, "100", "30.00");
+        Employee salaried = new SalaryEmployee("Doe", "Jane", '\0', null, null, null, 3, "Manager",
+                new BigDecimal("72000"));
+        List<Employee> roster = List.of(a, b, salaried);
+        HoursLedger ledger = new HoursLedger();
+
+        assertEquals(2, ledger.closeMonth(YearMonth.of(2025, 1), roster));
+        a.setMonthlyHours(new BigDecimal("150"));
+        ledger.closeMonth(YearMonth.of(2025, 2), roster);
+
+        assertEquals(2, ledger.size());
+        assertEquals(new BigDecimal("7750.00"), ledger.getYearToDateEarnings(1, YearMonth.of(2025, 2)));
+        assertEquals(new BigDecimal("6000.00"), ledger.getYearToDateEarnings(2, YearMonth.of(2025, 12)));
+        assertEquals(new BigDecimal("0.00"), ledger.getYearToDateEarnings(3, YearMonth.of(2025, 2)));
+        assertNull(ledger.get(3));
+    }
+}
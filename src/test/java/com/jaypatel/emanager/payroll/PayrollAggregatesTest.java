@@ -0,0 +1,173 @@
+package com.jaypatel.emanager.payroll;
+
+import com.jaypatel.emanager.model.Address;
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.model.HourlyEmployee;
+import com.jaypatel.emanager.model.SalaryEmployee;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class PayrollAggregatesTest {
+    private static final String[] TITLES = {"Developer", "Manager", "Analyst", null};
+
+    private static final String[] PROVINCES = {"SK", "AB", "MB"};
+
+    private static List<Employee> roster(int size, Random random) {
+        List<Employee> employees = new ArrayList<>();
+        for (int id = 0; id < size; id++) {
+            String title = TITLES[random.nextInt(TITLES.length)];
+            Address address = id % 7 == 0 ? null
+                    : new Address("1 Main St", "Town", PROVINCES[random.nextInt(PROVINCES.length)], "S7J 4M3");
+            if (random.nextBoolean()) {
+                employees.add(new HourlyEmployee("L" + id, "F" + id, '\0', null, null, address, id, title,
+                        BigDecimal.valueOf(random.nextInt(9_000), 2), BigDecimal.valueOf(random.nextInt(20_000), 2)));
+            } else {
+                employees.add(new SalaryEmployee("L" + id, "F" + id, '\0', null, null, address, id, title,
+                        BigDecimal.valueOf(random.nextInt(20_000_000), 2)));
+            }
+        }
+        return employees;
+    }
+
+    @Test
+    void randomEditsMatchAFullRecompute() {
+        Random random = new Random(3);
+        List<Employee> employees = roster(2_000, random);
+        PayrollAggregates aggregates = new PayrollAggregates();
+        aggregates.addAll(employees);
+
+        for (int step = 0; step < 20_000; step++) {
+            Employee e = employees.get(random.nextInt(employees.size()));
+            switch (random.nextInt(4)) {
+                case 0 -> e.setJobTitle(TITLES[random.nextInt(TITLES.length)]);
+                case 1 -> e.setAddress(random.nextInt(5) == 0 ? null
+                        : new Address("2 Main St", "Town", PROVINCES[random.nextInt(PROVINCES.length)], "S7J 4M3"));
+                default -> {
+                    BigDecimal amount = BigDecimal.valueOf(random.nextInt(20_000_000), 3);
+                    if (e instanceof HourlyEmployee he) {
+                        if (random.nextBoolean()) he.setHourlyRate(amount); else he.setMonthlyHours(amount);
+                    } else {
+                        ((SalaryEmployee) e).setAnnualSalary(amount);
+                    }
+                }
+            }
+        }
+        aggregates.remove(employees.get(0));
+        List<Employee> counted = employees.subList(1, employees.size());
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (Employee e : counted) total = total.add(e.getEarnings());
+        assertEquals(total, aggregates.total().getTotal());
+        assertEquals(counted.size(), aggregates.total().getCount());
+
+        for (String title : TITLES) {
+            BigDecimal sum = BigDecimal.ZERO;
+            long count = 0;
+            for (Employee e : counted) {
+                if (title == null ? e.getJobTitle() == null : title.equals(e.getJobTitle())) {
+                    sum = sum.add(e.getEarnings());
+                    count++;
+                }
+            }
+            assertEquals(sum, aggregates.byJobTitle(title).getTotal(), String.valueOf(title));
+            assertEquals(count, aggregates.byJobTitle(title).getCount());
+        }
+        try (PayrollRunner runner = new PayrollRunner(1)) {
+            Map<String, BigDecimal> expected = runner.run(counted).getSubtotalsByJobTitle();
+            aggregates.jobTitles().forEach((title, a) -> assertEquals(expected.get(title), a.getTotal()));
+        }
+        long provinceCount = aggregates.provinces().values().stream().mapToLong(PayrollAggregates.Aggregate::getCount).sum();
+        assertEquals(counted.size(), provinceCount);
+    }
+
+    @Test
+    void averagesAndEmptyGroups() {
+        PayrollAggregates aggregates = new PayrollAggregates();
+        Address sk = new Address("1 Main St", "Regina", "SK", "S4P 1A1");
+        SalaryEmployee a = new SalaryEmployee("A", "A", '\0', null, null, sk, 1, "Lead", new BigDecimal("12000.00"));
+        SalaryEmployee b = new SalaryEmployee("B", "B", '\0', null, null, sk, 2, "Lead", new BigDecimal("24000.01"));
+        aggregates.add(a);
+        aggregates.add(b);
+
+        assertEquals(new BigDecimal("1500.00"), aggregates.byProvince("SK").getAverage());
+        a.setJobTitle("Manager");
+        assertEquals(1, aggregates.byJobTitle("Lead").getCount());
+        assertEquals(new BigDecimal("1000.00"), aggregates.byJobTitle("Manager").getTotal());
+        b.setAnnualSalary(BigDecimal.ZERO);
+        assertEquals(new BigDecimal("0.00"), aggregates.byJobTitle("Lead").getAverage());
+        assertEquals(0, aggregates.byJobTitle("Nobody").getCount());
+
+        aggregates.remove(b);
+        b.setAnnualSalary(new BigDecimal("99999.00"));
+        assertFalse(aggregates.jobTitles().containsKey("Lead"));
+        assertEquals(new BigDecimal("1000.00"), aggregates.total().getTotal());
+    }
+
+    @Test
+    void addingOrRemovingTwiceCountsOnce() {
+        PayrollAggregates aggregates = new PayrollAggregates();
+        Address sk = new Address("1 Main St", "Regina", "SK", "S4P 1A1");
+        HourlyEmployee e = new HourlyEmployee("A", "A", '\0', null, null, sk, 1, "Lead",
+                new BigDecimal("100"), new BigDecimal("20.00"));
+        aggregates.add(e);
+        aggregates.add(e);
+        assertEquals(1, aggregates.total().getCount());
+
+        e.setHourlyRate(new BigDecimal("30.00"));
+        e.setJobTitle("Manager");
+        e.setAddress(new Address("2 Main St", "Calgary", "AB", "T2P 1A1"));
+        assertEquals(new BigDecimal("3000.00"), aggregates.total().getTotal());
+        assertEquals(1, aggregates.byJobTitle("Manager").getCount());
+        assertEquals(new BigDecimal("3000.00"), aggregates.byProvince("AB").getTotal());
+        assertFalse(aggregates.jobTitles().containsKey("Lead"));
+        assertFalse(aggregates.provinces().containsKey("SK"));
+        try (PayrollRunner runner = new PayrollRunner(1)) {
+            assertEquals(runner.run(List.of(e)).getTotal(), aggregates.total().getTotal());
+        }
+
+        aggregates.remove(e);
+        aggregates.remove(e);
+        assertEquals(0, aggregates.total().getCount());
+        assertEquals(0, aggregates.total().getTotalCents());
+    }
+
+    @Test
+    void optimisticReadersSeeConsistentCountsDuringWrites() throws InterruptedException {
+        List<Employee> employees = roster(200, new Random(5));
+        PayrollAggregates aggregates = new PayrollAggregates();
+        aggregates.addAll(employees);
+        long count = aggregates.byProvince(null).getCount();
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<String> failure = new AtomicReference<>();
+
+        Thread writer = new Thread(() -> {
+            Random random = new Random(9);
+            for (int i = 0; i < 50_000; i++) {
+                Employee e = employees.get(random.nextInt(employees.size()));
+                // Moving employees between titles never changes the total count.
+                e.setJobTitle(TITLES[random.nextInt(TITLES.length)]);
+            }
+            done.set(true);
+        });
+        writer.start();
+        while (!done.get()) {
+            long titles = 0;
+            for (PayrollAggregates.Aggregate a : aggregates.jobTitles().values()) titles += a.getCount();
+            if (titles != employees.size()) failure.set("titles summed to " + titles);
+            if (aggregates.byProvince(null).getCount() != count) failure.set("province count changed");
+        }
+        writer.join();
+        assertNull(failure.get());
+    }
+}
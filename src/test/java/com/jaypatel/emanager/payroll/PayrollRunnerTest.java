@@ -0,0 +1,75 @@
+package com.jaypatel.emanager.payroll;
+
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.model.HourlyEmployee;
+import com.jaypatel.emanager.model.SalaryEmployee;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PayrollRunnerTest {
+    private static final String[] TITLES = {"Developer", "Manager", "Analyst", null};
+
+    private static List<Employee> roster(int size) {
+        Random random = new Random(11);
+        List<Employee> employees = new ArrayList<>();
+        for (int id = 0; id < size; id++) {
+            String title = TITLES[random.nextInt(TITLES.length)];
+            if (random.nextBoolean()) {
+                employees.add(new HourlyEmployee("L" + id, "F" + id, '\0', null, null, null, id, title,
+                        BigDecimal.valueOf(random.nextInt(20_000), 2), BigDecimal.valueOf(random.nextInt(9_000), 2)));
+            } else {
+                employees.add(new SalaryEmployee("L" + id, "F" + id, '\0', null, null, null, id, title,
+                        BigDecimal.valueOf(random.nextInt(20_000_000), 2)));
+            }
+        }
+        return employees;
+    }
+
+    @Test
+    void perEmployeeResultsFollowInputOrder() {
+        List<Employee> employees = roster(5_000);
+        try (PayrollRunner runner = new PayrollRunner(4)) {
+            PayrollResult result = runner.run(employees);
+
+            assertEquals(employees.size(), result.size());
+            for (int i = 0; i < employees.size(); i++) {
+                assertEquals(employees.get(i).getEmployeeId(), result.getEmployeeId(i));
+                assertEquals(employees.get(i).getEarnings(), result.getEarnings(i));
+            }
+        }
+    }
+
+    @Test
+    void totalsAreIdenticalRegardlessOfParallelism() {
+        List<Employee> employees = roster(50_000);
+
+        PayrollResult sequential;
+        PayrollResult parallel;
+        try (PayrollRunner one = new PayrollRunner(1); PayrollRunner many = new PayrollRunner(8)) {
+            sequential = one.run(employees);
+            parallel = many.run(employees);
+        }
+
+        BigDecimal expected = BigDecimal.ZERO;
+        for (Employee e : employees) {
+            expected = expected.add(e.getEarnings());
+        }
+        assertEquals(expected, sequential.getTotal());
+        assertEquals(sequential.getTotal(), parallel.getTotal());
+        assertEquals(sequential.getSubtotalsByJobTitle(), parallel.getSubtotalsByJobTitle());
+        assertEquals(TITLES.length, parallel.getSubtotalsByJobTitle().size());
+    }
+
+    @Test
+    void emptyRoster_hasZeroTotal() {
+        PayrollResult result = new PayrollRunner().run(List.of());
+        assertEquals(new BigDecimal("0.00"), result.getTotal());
+        assertEquals(0, result.getSubtotalsByJobTitle().size());
+    }
+}
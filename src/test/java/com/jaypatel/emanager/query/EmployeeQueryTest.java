@@ -0,0 +1,157 @@
+package com.jaypatel.emanager.query;
+
+import com.jaypatel.emanager.index.EmployeeIndexes;
+import com.jaypatel.emanager.model.Address;
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.model.HourlyEmployee;
+import com.jaypatel.emanager.model.SalaryEmployee;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EmployeeQueryTest {
+    private static final String[] TITLES = {"Engineer", "Engineering Manager", "Analyst", "Clerk", null};
+    private static final String[] PROVINCES = {"SK", "AB", "BC", "ON", null};
+    private static final String[] CITIES = {"Regina", "Saskatoon", "Calgary", "O'Leary"};
+    private static final String[] NAMES = {"Patel", "Singh", "Smith", "Tremblay", "O'Brien"};
+
+    private static List<Employee> roster(int size) {
+        Random random = new Random(7);
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            int id = random.nextInt(size * 4) - size; // unsorted, some negative
+            String title = TITLES[random.nextInt(TITLES.length)];
+            Address address = random.nextInt(10) == 0 ? null : new Address(null,
+                    CITIES[random.nextInt(CITIES.length)], PROVINCES[random.nextInt(PROVINCES.length)], null);
+            String last = NAMES[random.nextInt(NAMES.length)];
+            if (random.nextBoolean()) {
+                employees.add(new HourlyEmployee(last, "F", '\0', null, null, address, id, title,
+                        BigDecimal.valueOf(100 + random.nextInt(10_000), 2).add(BigDecimal.valueOf(100)),
+                        BigDecimal.valueOf(1500 + random.nextInt(3000), 2)));
+            } else {
+                employees.add(new SalaryEmployee(last, "F", '\0', null, null, address, id, title,
+                        BigDecimal.valueOf(3_000_000 + random.nextInt(9_000_000), 2)));
+            }
+        }
+        return employees;
+    }
+
+    private static String province(Employee e) {
+        return e.getAddressValue() == null ? null : e.getAddressValue().getProvince();
+    }
+
+    private static String city(Employee e) {
+        return e.getAddressValue() == null ? null : e.getAddressValue().getCity();
+    }
+
+    private static int[] expected(List<Employee> employees, Predicate<Employee> predicate) {
+        return employees.stream().filter(predicate).mapToInt(Employee::getEmployeeId).sorted().toArray();
+    }
+
+    @Test
+    void matchesObjectEvaluationWithAndWithoutIndexes() {
+        List<Employee> employees = roster(5_000);
+        EmployeeTable table = EmployeeTable.of(employees);
+        EmployeeIndexes indexes = new EmployeeIndexes();
+        indexes.addAll(employees);
+        BigDecimal sixThousand = new BigDecimal("6000");
+
+        Object[][] cases = {
+            {"province = 'SK' AND earnings > 6000 AND jobTitle LIKE 'Eng%'", (Predicate<Employee>) e ->
+                    "SK".equals(province(e)) && e.getEarnings().compareTo(sixThousand) > 0
+                            && e.getJobTitle() != null && e.getJobTitle().startsWith("Eng")},
+            {"type = 'HOURLY' AND (hourlyRate >= 30 OR monthlyHours > 30.005)", (Predicate<Employee>) e ->
+                    e instanceof HourlyEmployee h && (h.getHourlyRate().compareTo(new BigDecimal("30")) >= 0
+                            || h.getMonthlyHours().compareTo(new BigDecimal("30.005")) > 0)},
+            {"lastName IN ('Patel', 'O''Brien') and not city = 'Regina'", (Predicate<Employee>) e ->
+                    ("Patel".equals(e.getLastName()) || "O'Brien".equals(e.getLastName())) && !"Regina".equals(city(e))},
+            {"province IS NULL OR employee_id < 0", (Predicate<Employee>) e ->
+                    province(e) == null || e.getEmployeeId() < 0},
+            {"annualSalary <= 50000.999 AND jobTitle != 'Clerk' AND city = 'O''Leary'", (Predicate<Employee>) e ->
+                    e instanceof SalaryEmployee s && s.getAnnualSalary().compareTo(new BigDecimal("50000.999")) <= 0
+                            && e.getJobTitle() != null && !"Clerk".equals(e.getJobTitle()) && "O'Leary".equals(city(e))},
+            {"jobTitle = 'Analyst' AND province = 'AB' AND employeeId NOT IN (1, 2, 3.5)", (Predicate<Employee>) e ->
+                    "Analyst".equals(e.getJobTitle()) && "AB".equals(province(e))},
+            {"earnings = 6000.001 OR hourlyRate IS NULL AND city NOT LIKE '%a_'", (Predicate<Employee>) e ->
+                    e instanceof SalaryEmployee && city(e) != null && !city(e).matches(".*a.")},
+            {"NOT (province = 'SK' OR province = 'AB')", (Predicate<Employee>) e ->
+                    !"SK".equals(province(e)) && !"AB".equals(province(e))},
+        };
+        for (Object[] c : cases) {
+            @SuppressWarnings("unchecked")
+            Predicate<Employee> predicate = (Predicate<Employee>) c[1];
+            int[] expected = expected(employees, predicate);
+            EmployeeQuery query = EmployeeQuery.compile((String) c[0]);
+            assertArrayEquals(expected, query.employeeIds(table), query.toString());
+            assertArrayEquals(expected, query.employeeIds(table, indexes), query + " (indexed)");
+            assertTrue(expected.length > 0, query + " should match something");
+        }
+    }
+
+    @Test
+    void selectiveIndexesNarrowTheScanButRowsAreStillChecked() {
+        List<Employee> employees = new ArrayList<>(roster(5_000));
+        for (int i = 0; i < 20; i++) {
+            employees.add(new SalaryEmployee("H", "F", '\0', null, null, new Address(null, "Hamlet", "SK", null),
+                    i % 2 == 0 ? -100_000 - i : 100_000 + i, "Clerk", new BigDecimal("90000")));
+        }
+        EmployeeTable table = EmployeeTable.of(employees);
+        EmployeeIndexes indexes = new EmployeeIndexes();
+        indexes.addAll(employees);
+        EmployeeQuery query = EmployeeQuery.compile("city = 'Hamlet' AND province = 'SK' AND earnings > 7000");
+        int[] expected = expected(employees, e -> "Hamlet".equals(city(e)));
+        assertEquals(20, expected.length);
+        assertArrayEquals(expected, query.employeeIds(table, indexes));
+
+        // Changes after the snapshot: the index gains an id the table lacks and moves one away.
+        Employee extra = new SalaryEmployee("X", "F", '\0', null, null, new Address(null, "Hamlet", "SK", null),
+                500_000, null, new BigDecimal("90000"));
+        indexes.add(extra);
+        employees.get(employees.size() - 1).setAddress(new Address(null, "Regina", "SK", null));
+        int[] stale = query.employeeIds(table, indexes);
+        assertEquals(19, stale.length);
+        assertTrue(Arrays.stream(stale).allMatch(id -> Arrays.binarySearch(expected, id) >= 0));
+        assertArrayEquals(expected, query.employeeIds(table));
+    }
+
+    @Test
+    void projectsFields() {
+        List<Employee> employees = List.of(
+                new HourlyEmployee("Patel", "Jay", '\0', null, null, new Address(null, null, "SK", null), 7, "Engineer",
+                        new BigDecimal("160"), new BigDecimal("40")),
+                new SalaryEmployee("Singh", "Ana", '\0', null, null, null, 3, null, new BigDecimal("120000")));
+        EmployeeTable table = EmployeeTable.of(employees);
+        List<Object[]> rows = EmployeeQuery.compile("earnings >= 0")
+                .project(table, null, Column.EMPLOYEE_ID, Column.LAST_NAME, Column.EARNINGS, Column.HOURLY_RATE, Column.PROVINCE);
+        assertEquals(2, rows.size());
+        assertArrayEquals(new Object[]{3, "Singh", new BigDecimal("10000.00"), null, null}, rows.get(0));
+        assertArrayEquals(new Object[]{7, "Patel", new BigDecimal("6400.00"), new BigDecimal("40.00"), "SK"}, rows.get(1));
+        assertEquals(1, EmployeeQuery.compile("type = 'SALARY'").count(table, null));
+        assertNull(table.getValue(0, Column.MONTHLY_HOURS));
+    }
+
+    @Test
+    void rejectsInvalidQueries() {
+        for (String bad : new String[]{"", "salary > 5", "earnings > 'x'", "province = 5", "earnings LIKE '1%'",
+                "province = 'SK' AND", "(province = 'SK'", "province = 'SK", "province 'SK'", "city NOT = 'x'",
+                "province = 'SK' extra"}) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> EmployeeQuery.compile(bad), bad);
+            assertTrue(e.getMessage().contains("position"), e.getMessage());
+        }
+        assertEquals(0, EmployeeQuery.compile("earnings > 1e400".replace("1e400", "9".repeat(40)))
+                .count(EmployeeTable.of(roster(10)), null));
+        assertEquals(Arrays.toString(new int[0]),
+                Arrays.toString(EmployeeQuery.compile("province = 'SK'").employeeIds(EmployeeTable.of(List.of()))));
+    }
+}
@@ -0,0 +1,155 @@
+package com.jaypatel.emanager.repository;
+
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.model.HourlyEmployee;
+import com.jaypatel.emanager.model.SalaryEmployee;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrentEmployeeRegistryTest {
+    private static HourlyEmployee hourly(int id, long value) {
+        BigDecimal v = BigDecimal.valueOf(value, 2);
+        return new HourlyEmployee("L" + id, "F" + id, '\0', null, null, null, id, "Tech", v, v);
+    }
+
+    @Test
+    void basicOperations() {
+        ConcurrentEmployeeRegistry registry = new ConcurrentEmployeeRegistry(1);
+        assertFalse(registry.put(hourly(1, 100)));
+        assertTrue(registry.put(hourly(1, 200)));
+        registry.put(new SalaryEmployee("S", "S", '\0', null, null, null, 2, null, new BigDecimal("1200")));
+
+        assertEquals(2, registry.size());
+        assertTrue(registry.update(1, e -> e.setJobTitle("Lead")));
+        assertFalse(registry.update(3, e -> e.setJobTitle("Nobody")));
+        assertEquals("Lead", registry.read(1, Employee::getJobTitle));
+        assertNull(registry.read(3, e -> e == null ? null : e.getJobTitle()));
+        assertEquals(new BigDecimal("100.00"), registry.read(2, Employee::getEarnings));
+        assertThrows(IllegalStateException.class, () -> registry.update(2, e -> e.setEmployeeId(9)));
+        assertEquals(2, registry.read(2, Employee::getEmployeeId));
+        assertEquals(2, registry.remove(2).getEmployeeId());
+        assertFalse(registry.contains(2));
+        assertThrows(ArithmeticException.class, () -> registry.read(1, e -> {
+            throw new ArithmeticException();
+        }));
+    }
+
+    /**
+     * Writers keep every hourly employee's rate equal to its hours, changing both in one update;
+     * readers check that they never see the two differ. Readers also call the memoizing
+     * {@code getEarnings()}, whose cache writes survive failed optimistic passes, and every cached
+     * value must still match the final rate and hours. A churn thread adds and removes other
+     * employees so optimistic readers also race map resizes.
+     */
+    @Test
+    void readersNeverSeeTornUpdatesUnderContention() throws InterruptedException {
+        final int employees = 256;
+        final int writers = 4;
+        final int readers = 4;
+        ConcurrentEmployeeRegistry registry = new ConcurrentEmployeeRegistry(8);
+        for (int id = 0; id < employees; id++) registry.put(hourly(id, id));
+
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicLong reads = new AtomicLong();
+        AtomicLong updates = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int w = 0; w < writers; w++) {
+            final long seed = w;
+            threads.add(new Thread(() -> {
+                Random random = new Random(seed);
+                await(start);
+                while (!stop.get()) {
+                    int id = random.nextInt(employees);
+                    BigDecimal v = BigDecimal.valueOf(random.nextInt(1_000_000), 2);
+                    registry.update(id, e -> {
+                        HourlyEmployee he = (HourlyEmployee) e;
+                        he.setHourlyRate(v);
+                        Thread.onSpinWait(); // widen the window between the two fields
+                        he.setMonthlyHours(v);
+                    });
+                    updates.incrementAndGet();
+                }
+            }));
+        }
+        for (int r = 0; r < readers; r++) {
+            final long seed = 100 + r;
+            threads.add(new Thread(() -> {
+                Random random = new Random(seed);
+                await(start);
+                while (!stop.get()) {
+                    int id = random.nextInt(employees);
+                    BigDecimal[] pair = registry.read(id, e -> {
+                        HourlyEmployee he = (HourlyEmployee) e;
+                        return new BigDecimal[]{he.getHourlyRate(), he.getMonthlyHours(), he.getEarnings()};
+                    });
+                    if (pair[0].compareTo(pair[1]) != 0) {
+                        failure.compareAndSet(null, new AssertionError("torn read of " + id + ": " + pair[0] + " / " + pair[1]));
+                    } else if (!pair[2].equals(earnings(pair[0], pair[1]))) {
+                        failure.compareAndSet(null, new AssertionError("earnings of " + id + ": " + pair[2]));
+                    }
+                    reads.incrementAndGet();
+                }
+            }));
+        }
+        threads.add(new Thread(() -> {
+            await(start);
+            int next = employees;
+            while (!stop.get()) {
+                registry.put(hourly(next, next));
+                if (next - employees >= 5_000) registry.remove(next - 5_000);
+                next++;
+            }
+        }));
+
+        for (Thread t : threads) {
+            t.setUncaughtExceptionHandler((thread, e) -> failure.compareAndSet(null, e));
+            t.start();
+        }
+        start.countDown();
+        TimeUnit.SECONDS.sleep(2);
+        stop.set(true);
+        for (Thread t : threads) t.join();
+
+        assertNull(failure.get());
+        assertTrue(reads.get() > 0 && updates.get() > 0);
+        long[] checked = {0};
+        registry.forEach(e -> {
+            HourlyEmployee he = (HourlyEmployee) e;
+            assertEquals(0, he.getHourlyRate().compareTo(he.getMonthlyHours()));
+            assertEquals(earnings(he.getHourlyRate(), he.getMonthlyHours()), he.getEarnings());
+            checked[0]++;
+        });
+        assertEquals(registry.size(), checked[0]);
+    }
+
+    private static BigDecimal earnings(BigDecimal rate, BigDecimal hours) {
+        return rate.multiply(hours).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
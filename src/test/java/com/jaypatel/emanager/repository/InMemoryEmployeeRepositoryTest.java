@@ -0,0 +1,73 @@
+package com.jaypatel.emanager.repository;
+
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.model.HourlyEmployee;
+import com.jaypatel.emanager.model.SalaryEmployee;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InMemoryEmployeeRepositoryTest {
+    private static Employee employee(int id) {
+        return new SalaryEmployee("Patel", "Jay", 'M', null, null, null, id, "Developer",
+                new BigDecimal("60000"));
+    }
+
+    @Test
+    void putGetRemove_byEmployeeId() {
+        EmployeeRepository repo = new InMemoryEmployeeRepository();
+        Employee e = employee(42);
+
+        assertNull(repo.put(e));
+        assertSame(e, repo.get(42));
+        assertTrue(repo.contains(42));
+
+        assertSame(e, repo.remove(42));
+        assertNull(repo.get(42));
+        assertFalse(repo.contains(42));
+        assertEquals(0, repo.size());
+    }
+
+    @Test
+    void put_replacesEmployeeWithSameId() {
+        EmployeeRepository repo = new InMemoryEmployeeRepository();
+        Employee first = employee(1);
+        Employee second = new HourlyEmployee();
+        second.setEmployeeId(1);
+
+        repo.put(first);
+        assertSame(first, repo.put(second));
+        assertSame(second, repo.get(1));
+        assertEquals(1, repo.size());
+    }
+
+    @Test
+    void iteratesOverEveryEmployee() {
+        InMemoryEmployeeRepository repo = new InMemoryEmployeeRepository(1_000);
+        for (int id = 0; id < 1_000; id++) {
+            repo.put(employee(id));
+        }
+
+        Set<Integer> seen = new HashSet<>();
+        for (Employee e : repo) {
+            seen.add(e.getEmployeeId());
+        }
+        assertEquals(1_000, seen.size());
+
+        Set<Integer> entryIds = new HashSet<>();
+        repo.forEachEntry((id, e) -> {
+            assertEquals(id, e.getEmployeeId());
+            entryIds.add(id);
+        });
+        assertEquals(seen, entryIds);
+        assertEquals(1_000, repo.ids().length);
+    }
+}
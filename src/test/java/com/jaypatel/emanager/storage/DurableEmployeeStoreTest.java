@@ -0,0 +1,222 @@
+package com.jaypatel.emanager.storage;
+
+import com.jaypatel.emanager.model.Address;
+import com.jaypatel.emanager.model.HourlyEmployee;
+import com.jaypatel.emanager.model.SalaryEmployee;
+import com.jaypatel.emanager.payroll.BulkRaise;
+import com.jaypatel.emanager.payroll.BulkRaiseResult;
+import com.jaypatel.emanager.payroll.RaiseRule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DurableEmployeeStoreTest {
+    @TempDir
+    Path dir;
+
+    private static HourlyEmployee hourly(int id) {
+        return new HourlyEmployee("Patel", "Jay", 'K', "1990-01-01", "306-555-0101",
+                new Address("123 Main St", "Saskatoon", "SK", "S7J 4M3"), id, "Technician",
+                new BigDecimal("160.00"), new BigDecimal("25.00"));
+    }
+
+    private static SalaryEmployee salaried(int id) {
+        return new SalaryEmployee("Doe", "Jane", '\0', null, null, null, id, "Manager", new BigDecimal("72000.00"));
+    }
+
+    private long files(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.getFileName().toString().startsWith(prefix)).count();
+        }
+    }
+
+    @Test
+    void mutationsSurviveReopen() throws IOException {
+        HourlyEmployee original = hourly(1);
+        try (DurableEmployeeStore store = DurableEmployeeStore.open(dir)) {
+            store.put(original);
+            store.put(salaried(2));
+            store.put(hourly(3));
+            store.setHourlyRate(1, new BigDecimal("31.255"));
+            store.setMonthlyHours(1, new BigDecimal("120.5"));
+            store.setAnnualSalary(2, new BigDecimal("84000"));
+            store.setJobTitle(2, "Director");
+            store.setJobTitle(1, null);
+            store.remove(3);
+            assertNotSame(original, store.get(1));
+        }
+
+        try (DurableEmployeeStore store = DurableEmployeeStore.open(dir)) {
+            assertEquals(2, store.size());
+            HourlyEmployee he = assertInstanceOf(HourlyEmployee.class, store.get(1));
+            assertEquals(new BigDecimal("31.26"), he.getHourlyRate());
+            assertEquals(new BigDecimal("120.50"), he.getMonthlyHours());
+            assertNull(he.getJobTitle());
+            assertEquals("123 Main St, Saskatoon, SK S7J 4M3", he.getAddressValue().displayAddress());
+            SalaryEmployee se = assertInstanceOf(SalaryEmployee.class, store.get(2));
+            assertEquals(new BigDecimal("84000.00"), se.getAnnualSalary());
+            assertEquals("Director", se.getJobTitle());
+            assertFalse(store.contains(3));
+            assertEquals(9, store.getLastLsn());
+        }
+    }
+
+    @Test
+    void settersRejectMissingOrMismatchedEmployees() throws IOException {
+        try (DurableEmployeeStore store = DurableEmployeeStore.open(dir)) {
+            store.put(salaried(2));
+            assertThrows(IllegalArgumentException.class, () -> store.setHourlyRate(2, BigDecimal.ONE));
+            assertThrows(IllegalArgumentException.class, () -> store.setJobTitle(99, "Ghost"));
+            assertEquals(1, store.getLastLsn());
+        }
+    }
+
+    @Test
+    void snapshotTruncatesLogAndRecoveryReplaysOnlyTheTail() throws IOException {
+        try (DurableEmployeeStore store = DurableEmployeeStore.open(dir)) {
+            for (int id = 1; id <= 100; id++) store.put(hourly(id));
+            assertEquals(100, store.snapshot());
+            store.setHourlyRate(7, new BigDecimal("99.99"));
+            store.remove(8);
+            assertEquals(100, store.getSnapshotLsn());
+            assertEquals(1, files("snapshot-"));
+            assertEquals(1, files("wal-"));
+
+            assertEquals(102, store.snapshot());
+            assertEquals(102, store.snapshot());
+            assertEquals(1, files("snapshot-"));
+            store.setHourlyRate(9, new BigDecimal("11.00"));
+        }
+
+        try (DurableEmployeeStore store = DurableEmployeeStore.open(dir)) {
+            assertEquals(102, store.getSnapshotLsn());
+            assertEquals(99, store.size());
+            assertEquals(new BigDecimal("99.99"), ((HourlyEmployee) store.get(7)).getHourlyRate());
+            assertEquals(new BigDecimal("11.00"), ((HourlyEmployee) store.get(9)).getHourlyRate());
+            assertNull(store.get(8));
+            assertEquals(104, store.setHourlyRate(10, BigDecimal.TEN));
+        }
+    }
+
+    @Test
+    void tornTailIsDiscardedOnRecovery() throws IOException {
+        try (DurableEmployeeStore store = DurableEmployeeStore.open(dir)) {
+            store.put(hourly(1));
+            store.setHourlyRate(1, new BigDecimal("40.00"));
+        }
+        Path segment;
+        try (Stream<Path> files = Files.list(dir)) {
+            segment = files.filter(p -> p.getFileName().toString().startsWith("wal-")).findFirst().orElseThrow();
+        }
+        long intact = Files.size(segment);
+        try (FileChannel ch = FileChannel.open(segment, StandardOpenOption.APPEND)) {
+            // A record header promising more bytes than were written, as after a crash mid-append.
+            ch.write(ByteBuffer.allocate(20).putInt(13).putInt(0).putLong(3L).putInt(0).flip());
+        }
+
+        try (DurableEmployeeStore store = DurableEmployeeStore.open(dir)) {
+            assertEquals(intact, Files.size(segment));
+            assertEquals(new BigDecimal("40.00"), ((HourlyEmployee) store.get(1)).getHourlyRate());
+            assertEquals(3, store.setHourlyRate(1, new BigDecimal("41.00")));
+        }
+        try (DurableEmployeeStore store = DurableEmployeeStore.open(dir)) {
+            assertEquals(new BigDecimal("41.00"), ((HourlyEmployee) store.get(1)).getHourlyRate());
+        }
+    }
+
+    @Test
+    void concurrentWritersAndSnapshotsLoseNothing() throws Exception {
+        final int threads = 8;
+        final int updates = 250;
+        try (DurableEmployeeStore store = DurableEmployeeStore.open(dir)) {
+            for (int id = 0; id < threads; id++) store.put(hourly(id));
+            List<Thread> writers = new ArrayList<>();
+            List<Throwable> failures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final int id = t;
+                writers.add(new Thread(() -> {
+                    try {
+                        for (int i = 1; i <= updates; i++) {
+                            store.setMonthlyHours(id, BigDecimal.valueOf(i));
+                            if (i == updates / 2 && id == 0) store.snapshot();
+                        }
+                    } catch (Throwable ex) {
+                        synchronized (failures) {
+                            failures.add(ex);
+                        }
+                    }
+                }));
+            }
+            writers.forEach(Thread::start);
+            for (Thread w : writers) w.join();
+            assertTrue(failures.isEmpty(), failures::toString);
+        }
+
+        try (DurableEmployeeStore store = DurableEmployeeStore.open(dir)) {
+            for (int id = 0; id < threads; id++) {
+                assertEquals(new BigDecimal("250.00"), ((HourlyEmployee) store.get(id)).getMonthlyHours());
+            }
+            assertEquals(threads + (long) threads * updates, store.getLastLsn());
+        }
+    }
+
+    @Test
+    void bulkRaiseIsOneLoggedBatchThatSurvivesReopen() throws IOException {
+        try (DurableEmployeeStore store = DurableEmployeeStore.open(dir)) {
+            List<EmployeeMutation> puts = new ArrayList<>();
+            for (int id = 1; id <= 1_000; id++) puts.add(EmployeeMutation.put(id % 2 == 0 ? salaried(id) : hourly(id)));
+            assertEquals(1_000, store.applyAll(puts));
+            long syncs = store.getSyncCount();
+
+            BulkRaise raise = new BulkRaise(List.of(
+                    RaiseRule.hourlyRate(new BigDecimal("3")).whereJobTitle("Technician"),
+                    RaiseRule.annualSalary(new BigDecimal("2.5")).whereProvince("SK"),
+                    RaiseRule.annualSalary(new BigDecimal("1"))));
+            BulkRaiseResult result = store.raise(raise);
+            assertEquals(1_000, result.size());
+            assertEquals(1, store.getSyncCount() - syncs);
+            assertEquals(2_000, store.getLastLsn());
+        }
+
+        try (DurableEmployeeStore store = DurableEmployeeStore.open(dir)) {
+            assertEquals(new BigDecimal("25.75"), ((HourlyEmployee) store.get(1)).getHourlyRate());
+            // Salaried employees have no address, so the province rule misses and the catch-all applies.
+            assertEquals(new BigDecimal("72720.00"), ((SalaryEmployee) store.get(2)).getAnnualSalary());
+        }
+    }
+
+    @Test
+    void invalidBatchChangesNothing() throws IOException {
+        try (DurableEmployeeStore store = DurableEmployeeStore.open(dir)) {
+            store.put(salaried(2));
+            assertThrows(IllegalArgumentException.class, () -> store.applyAll(List.of(
+                    EmployeeMutation.annualSalary(2, BigDecimal.ONE), EmployeeMutation.hourlyRate(2, BigDecimal.ONE))));
+            assertThrows(IllegalArgumentException.class, () -> store.applyAll(List.of(
+                    EmployeeMutation.remove(2), EmployeeMutation.jobTitle(2, "Ghost"))));
+            assertEquals(1, store.getLastLsn());
+            assertEquals(new BigDecimal("72000.00"), ((SalaryEmployee) store.get(2)).getAnnualSalary());
+
+            assertEquals(3, store.applyAll(List.of(EmployeeMutation.put(hourly(5)), EmployeeMutation.hourlyRate(5, BigDecimal.ONE))));
+            assertEquals(new BigDecimal("1.00"), ((HourlyEmployee) store.get(5)).getHourlyRate());
+            assertEquals(3, store.applyAll(List.of()));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.jaypatel.emanager.storage;
+
+import com.jaypatel.emanager.model.HourlyEmployee;
+import com.jaypatel.emanager.repository.ConcurrentEmployeeRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EmployeeIdAllocatorTest {
+    @TempDir
+    Path dir;
+
+    private static HourlyEmployee hourly(int id) {
+        return new HourlyEmployee("L" + id, "F" + id, '\0', null, null, null, id, "Tech",
+                BigDecimal.ONE, BigDecimal.ONE);
+    }
+
+    @Test
+    void threadsNeverShareAnIdAndRestartsNeverReuseOne() throws Exception {
+        Path file = dir.resolve("ids");
+        final int threads = 4;
+        final int perThread = 100_000;
+        EmployeeIdAllocator ids = EmployeeIdAllocator.open(file, 256);
+        int[][] seen = new int[threads][perThread];
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int[] out = seen[t];
+            workers.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < perThread; i++) out[i] = ids.nextId();
+                } catch (Throwable ex) {
+                    failure.compareAndSet(null, ex);
+                }
+            }));
+        }
+        for (Thread w : workers) w.start();
+        for (Thread w : workers) w.join();
+        assertNull(failure.get());
+
+        BitSet used = new BitSet();
+        int max = 0;
+        for (int[] out : seen) {
+            for (int id : out) {
+                assertTrue(id >= 1);
+                assertFalse(used.get(id), "id handed out twice: " + id);
+                used.set(id);
+                max = Math.max(max, id);
+            }
+        }
+        assertTrue(ids.getHighWaterMark() > max);
+
+        EmployeeIdAllocator restarted = EmployeeIdAllocator.open(file, 256);
+        assertEquals(ids.getHighWaterMark(), restarted.getHighWaterMark());
+        assertTrue(restarted.nextId() > max);
+    }
+
+    @Test
+    void observedAndRegisteredIdsAreNotHandedOut() throws IOException {
+        EmployeeIdAllocator ids = EmployeeIdAllocator.open(dir.resolve("ids"), 4);
+        ids.observe(10);
+        assertEquals(11, ids.nextId());
+        assertTrue(EmployeeIdAllocator.open(dir.resolve("ids")).nextId() > 11);
+
+        ConcurrentEmployeeRegistry registry = new ConcurrentEmployeeRegistry(4);
+        assertTrue(registry.putIfAbsent(hourly(12)));
+        assertTrue(registry.putIfAbsent(hourly(13)));
+        assertFalse(registry.putIfAbsent(hourly(13)));
+
+        HourlyEmployee e = hourly(0);
+        assertEquals(14, ids.register(e, registry));
+        assertEquals(14, e.getEmployeeId());
+        assertEquals(2, ids.getCollisions());
+        assertEquals(3, registry.size());
+    }
+
+    @Test
+    void exhaustionAndCorruptionAreReported() throws IOException {
+        Path file = dir.resolve("ids");
+        EmployeeIdAllocator ids = EmployeeIdAllocator.open(file, 8);
+        ids.observe(Integer.MAX_VALUE - 2);
+        assertEquals(Integer.MAX_VALUE - 1, ids.nextId());
+        assertEquals(Integer.MAX_VALUE, ids.nextId());
+        assertThrows(IllegalStateException.class, ids::nextId);
+        assertThrows(IllegalStateException.class, () -> EmployeeIdAllocator.open(file).nextId());
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[3] ^= 1;
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> EmployeeIdAllocator.open(file));
+        assertThrows(IllegalArgumentException.class, () -> EmployeeIdAllocator.open(dir.resolve("other"), 0));
+    }
+}
@@ -0,0 +1,114 @@
+package com.jaypatel.emanager.storage;
+
+import com.jaypatel.emanager.model.Address;
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.model.HourlyEmployee;
+import com.jaypatel.emanager.model.SalaryEmployee;
+import com.jaypatel.emanager.payroll.ColumnarPayroll;
+import com.jaypatel.emanager.payroll.PayrollMath;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MappedEmployeeStoreTest {
+    @TempDir
+    Path dir;
+
+    private static List<Employee> roster(int size) {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            int id = size - i * 7; // unsorted, includes negatives
+            Address address = i % 5 == 0 ? null : new Address(i + " Main St", "Saskatoon", "SK", "S7J 4M3");
+            if (i % 2 == 0) {
+                employees.add(new HourlyEmployee("Lévesque" + i, "Zoë", 'Q', "1990-01-0" + (i % 9 + 1), null,
+                        address, id, "Technician", new BigDecimal("151.25"), BigDecimal.valueOf(1_000 + i, 2)));
+            } else {
+                employees.add(new SalaryEmployee("Patel" + i, null, '\0', null, "306-555-" + i,
+                        address, id, null, BigDecimal.valueOf(5_000_000L + i, 2)));
+            }
+        }
+        return employees;
+    }
+
+    @Test
+    void everyEmployeeRoundTrips() throws IOException {
+        List<Employee> employees = roster(2_000);
+        Path file = dir.resolve("roster.emps");
+        assertEquals(employees.size(), MappedEmployeeStore.write(file, employees));
+
+        try (MappedEmployeeStore store = MappedEmployeeStore.open(file)) {
+            assertEquals(employees.size(), store.size());
+            for (Employee expected : employees) {
+                Employee actual = store.get(expected.getEmployeeId());
+                assertSame(expected.getClass(), actual.getClass());
+                assertAll(
+                        () -> assertEquals(expected.getDisplayName(), actual.getDisplayName()),
+                        () -> assertEquals(expected.getBirthDate(), actual.getBirthDate()),
+                        () -> assertEquals(expected.getPhoneNumber(), actual.getPhoneNumber()),
+                        () -> assertEquals(expected.getJobTitle(), actual.getJobTitle()),
+                        () -> assertSame(expected.getAddressValue(), actual.getAddressValue()),
+                        () -> assertEquals(expected.getEarnings(), actual.getEarnings())
+                );
+            }
+            assertNull(store.get(Integer.MAX_VALUE));
+            assertFalse(store.contains(Integer.MIN_VALUE));
+        }
+    }
+
+    @Test
+    void sequentialScanAndPayrollReadTheMapping() throws IOException {
+        List<Employee> employees = roster(500);
+        Path file = dir.resolve("roster.emps");
+        MappedEmployeeStore.write(file, employees);
+
+        try (MappedEmployeeStore store = MappedEmployeeStore.open(file)) {
+            List<Integer> scanned = new ArrayList<>();
+            store.forEach(e -> scanned.add(e.getEmployeeId()));
+            assertEquals(employees.stream().map(Employee::getEmployeeId).toList(), scanned);
+
+            ColumnarPayroll payroll = store.toPayroll();
+            BigDecimal expected = employees.stream().map(Employee::getEarnings).reduce(BigDecimal.ZERO, BigDecimal::add);
+            assertEquals(expected, PayrollMath.fromCents(payroll.computeEarnings()));
+
+            int offset = store.offsetOf(employees.get(1).getEmployeeId());
+            assertEquals(PayrollMath.toCents(employees.get(1).getEarnings()),
+                    EmployeeRecordCodec.earningsCents(store.buffer(), offset));
+        }
+    }
+
+    @Test
+    void duplicateIdsAreRejected_andNoFileIsLeftBehind() {
+        Path file = dir.resolve("dupes.emps");
+        List<Employee> employees = List.of(roster(1).get(0), roster(1).get(0));
+
+        assertThrows(IllegalArgumentException.class, () -> MappedEmployeeStore.write(file, employees));
+        assertFalse(Files.exists(file));
+        assertFalse(Files.exists(dir.resolve("dupes.emps.tmp")));
+    }
+
+    @Test
+    void closedStoreRejectsReads() throws IOException {
+        Path file = dir.resolve("roster.emps");
+        MappedEmployeeStore.write(file, roster(3));
+        MappedEmployeeStore store = MappedEmployeeStore.open(file);
+        store.close();
+
+        assertThrows(IllegalStateException.class, () -> store.get(3));
+        assertInstanceOf(IOException.class, assertThrows(IOException.class,
+                () -> MappedEmployeeStore.open(Files.writeString(dir.resolve("junk"), "not a store"))));
+    }
+}
@@ -0,0 +1,148 @@
+package com.jaypatel.emanager.storage;
+
+import com.jaypatel.emanager.model.Address;
+import com.jaypatel.emanager.model.Employee;
+import com.jaypatel.emanager.model.HourlyEmployee;
+import com.jaypatel.emanager.model.SalaryEmployee;
+import com.jaypatel.emanager.payroll.ColumnarPayroll;
+import com.jaypatel.emanager.payroll.PayrollMath;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OffHeapEmployeeStoreTest {
+    private static List<Employee> roster(int size) {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Address address = i % 5 == 0 ? null : new Address(i + " Main St", "Saskatoon", "SK", "S7J 4M3");
+            if (i % 2 == 0) {
+                employees.add(new HourlyEmployee("Lévesque" + i, "Zoë", 'Q', "1990-01-0" + (i % 9 + 1), null,
+                        address, i, "Technician", new BigDecimal("151.25"), BigDecimal.valueOf(1_000 + i, 2)));
+            } else {
+                employees.add(new SalaryEmployee("Patel" + i, null, '\0', null, "306-555-" + i,
+                        address, i, null, BigDecimal.valueOf(5_000_000L + i, 2)));
+            }
+        }
+        return employees;
+    }
+
+    @Test
+    void viewsReadEveryFieldAcrossChunks() {
+        List<Employee> employees = roster(20_000); // > 2 MiB of records
+        try (OffHeapEmployeeStore store = new OffHeapEmployeeStore(OffHeapEmployeeStore.MIN_CHUNK_SIZE)) {
+            employees.forEach(store::put);
+            assertEquals(employees.size(), store.size());
+            assertTrue(store.allocatedBytes() > OffHeapEmployeeStore.MIN_CHUNK_SIZE);
+
+            for (Employee expected : employees) {
+                Employee actual = store.get(expected.getEmployeeId());
+                if (expected instanceof HourlyEmployee he) {
+                    HourlyEmployeeView view = assertInstanceOf(HourlyEmployeeView.class, actual);
+                    assertEquals(he.getHourlyRate(), view.getHourlyRate());
+                    assertEquals(he.getMonthlyHours(), view.getMonthlyHours());
+                } else {
+                    SalaryEmployeeView view = assertInstanceOf(SalaryEmployeeView.class, actual);
+                    assertEquals(((SalaryEmployee) expected).getAnnualSalary(), view.getAnnualSalary());
+                }
+                assertAll(
+                        () -> assertEquals(expected.toString(), actual.toString()),
+                        () -> assertEquals(expected.getBirthDate(), actual.getBirthDate()),
+                        () -> assertEquals(expected.getPhoneNumber(), actual.getPhoneNumber()),
+                        () -> assertEquals(expected.getJobTitle(), actual.getJobTitle()),
+                        () -> assertSame(expected.getAddressValue(), actual.getAddressValue()),
+                        () -> assertEquals(expected.getEarnings(), actual.getEarnings())
+                );
+            }
+            assertNull(store.get(-1));
+        }
+    }
+
+    @Test
+    void viewsAreReadOnlySnapshots() {
+        try (OffHeapEmployeeStore store = new OffHeapEmployeeStore()) {
+            HourlyEmployee original = (HourlyEmployee) roster(1).get(0);
+            store.put(original);
+            HourlyEmployeeView before = (HourlyEmployeeView) store.get(0);
+            assertThrows(UnsupportedOperationException.class, () -> before.setHourlyRate(BigDecimal.ONE));
+            assertThrows(UnsupportedOperationException.class, () -> before.setLastName("X"));
+
+            HourlyEmployee changed = before.toEmployee();
+            changed.setHourlyRate(new BigDecimal("99.99"));
+            assertSame(before.getClass(), store.put(changed).getClass());
+
+            assertEquals(new BigDecimal("10.00"), before.getHourlyRate());
+            assertEquals(new BigDecimal("99.99"), ((HourlyEmployee) store.get(0)).getHourlyRate());
+            original.setHourlyRate(BigDecimal.ZERO);
+            assertEquals(new BigDecimal("99.99"), ((HourlyEmployee) store.get(0)).getHourlyRate());
+        }
+    }
+
+    @Test
+    void compactReclaimsReplacedAndRemovedRecords() {
+        List<Employee> employees = roster(20_000);
+        try (OffHeapEmployeeStore store = new OffHeapEmployeeStore(OffHeapEmployeeStore.MIN_CHUNK_SIZE)) {
+            employees.forEach(store::put);
+            Employee kept = store.get(1);
+            for (int id = 0; id < 20_000; id += 2) store.remove(id);
+            for (int id = 1; id < 20_000; id += 4) store.put(employees.get(id));
+            long live = store.liveBytes();
+
+            assertTrue(store.compact() > 0);
+            assertEquals(live, store.liveBytes());
+            assertTrue(store.allocatedBytes() < 2L * OffHeapEmployeeStore.MIN_CHUNK_SIZE);
+            assertEquals(10_000, store.size());
+            assertFalse(store.contains(0));
+            assertEquals(employees.get(3).getDisplayName(), store.get(3).getDisplayName());
+            assertEquals(employees.get(1).getDisplayName(), kept.getDisplayName());
+        }
+    }
+
+    @Test
+    void scansMatchTheStoredEmployees() {
+        List<Employee> employees = roster(500);
+        try (OffHeapEmployeeStore store = new OffHeapEmployeeStore()) {
+            employees.forEach(store::put);
+
+            Set<Integer> viewed = new HashSet<>();
+            BigDecimal[] total = {BigDecimal.ZERO};
+            store.forEachView(e -> {
+                viewed.add(e.getEmployeeId());
+                total[0] = total[0].add(e.getEarnings());
+            });
+            Set<Integer> iterated = new HashSet<>();
+            for (Employee e : store) iterated.add(e.getEmployeeId());
+
+            BigDecimal expected = employees.stream().map(Employee::getEarnings).reduce(BigDecimal.ZERO, BigDecimal::add);
+            assertEquals(500, viewed.size());
+            assertEquals(viewed, iterated);
+            assertEquals(expected, total[0]);
+            ColumnarPayroll payroll = store.toPayroll();
+            assertEquals(500, payroll.size());
+            assertEquals(PayrollMath.toCents(expected), payroll.computeEarnings());
+        }
+    }
+
+    @Test
+    void closedStoreRejectsAccess() {
+        OffHeapEmployeeStore store = new OffHeapEmployeeStore();
+        store.put(roster(1).get(0));
+        Employee view = store.get(0);
+        store.close();
+        assertThrows(IllegalStateException.class, () -> store.get(0));
+        assertEquals("Lévesque0", view.getLastName());
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapEmployeeStore(1024));
+    }
+}
@@ -0,0 +1,51 @@
+package com.jaypatel.emanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class IntLongHashMapTest {
+    @Test
+    void absentKeysReturnNoValue() {
+        IntLongHashMap map = new IntLongHashMap();
+        map.put(0, 0L);
+        map.put(-1, -1L);
+
+        assertEquals(0L, map.get(0));
+        assertEquals(-1L, map.get(-1));
+        assertEquals(IntLongHashMap.NO_VALUE, map.get(1));
+        assertFalse(map.containsKey(Integer.MIN_VALUE));
+        assertEquals(0L, map.putIfAbsent(0, 9L));
+        assertThrows(IllegalArgumentException.class, () -> map.put(2, IntLongHashMap.NO_VALUE));
+    }
+
+    @Test
+    void randomChurn_matchesHashMap() {
+        IntLongHashMap map = new IntLongHashMap();
+        Map<Integer, Long> expected = new HashMap<>();
+        Random random = new Random(11);
+
+        for (int step = 0; step < 200_000; step++) {
+            int key = random.nextInt(4_000) - 2_000;
+            long value = random.nextLong() >>> 1;
+            if (random.nextInt(3) == 0) {
+                Long removed = expected.remove(key);
+                assertEquals(removed == null ? IntLongHashMap.NO_VALUE : removed, map.remove(key));
+            } else {
+                Long previous = expected.put(key, value);
+                assertEquals(previous == null ? IntLongHashMap.NO_VALUE : previous, map.put(key, value));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected.size(), map.values().length);
+        expected.forEach((k, v) -> assertEquals((long) v, map.get(k)));
+        map.forEachEntry((k, v) -> assertEquals((long) expected.get(k), v));
+    }
+}
@@ -0,0 +1,66 @@
+package com.jaypatel.emanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IntObjectHashMapTest {
+    @Test
+    void zeroAndNegativeKeysAreOrdinaryKeys() {
+        IntObjectHashMap<String> map = new IntObjectHashMap<>();
+        map.put(0, "zero");
+        map.put(-1, "minus one");
+        map.put(Integer.MIN_VALUE, "min");
+
+        assertEquals("zero", map.get(0));
+        assertEquals("minus one", map.get(-1));
+        assertEquals("min", map.get(Integer.MIN_VALUE));
+        assertNull(map.get(1));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    void putIfAbsent_keepsExistingValue() {
+        IntObjectHashMap<String> map = new IntObjectHashMap<>();
+        assertNull(map.putIfAbsent(7, "first"));
+        assertEquals("first", map.putIfAbsent(7, "second"));
+        assertEquals("first", map.get(7));
+    }
+
+    @Test
+    void nullValuesAreRejected() {
+        IntObjectHashMap<String> map = new IntObjectHashMap<>();
+        assertThrows(NullPointerException.class, () -> map.put(1, null));
+    }
+
+    @Test
+    void randomChurn_matchesHashMap() {
+        // Small key range forces long probe runs, exercising backward-shift deletion.
+        IntObjectHashMap<Integer> map = new IntObjectHashMap<>();
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(7);
+
+        for (int step = 0; step < 200_000; step++) {
+            int key = random.nextInt(4_000) - 2_000;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, step), map.put(key, step));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        expected.forEach((k, v) -> assertEquals(v, map.get(k)));
+        map.forEachEntry((k, v) -> assertEquals(expected.get(k), v));
+        for (int key : map.keys()) {
+            assertTrue(expected.containsKey(key));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.jaypatel.emanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class LongIntHashMapTest {
+    @Test
+    void absentKeysReturnNoValue() {
+        LongIntHashMap map = new LongIntHashMap();
+        map.put(0L, 0);
+        map.put(-1L, -1);
+        map.put(13065551234L, 7);
+
+        assertEquals(0, map.get(0L));
+        assertEquals(-1, map.get(-1L));
+        assertEquals(7, map.get(13065551234L));
+        assertEquals(LongIntHashMap.NO_VALUE, map.get(1L));
+        assertFalse(map.containsKey(Long.MIN_VALUE));
+        assertEquals(7, map.putIfAbsent(13065551234L, 9));
+        assertThrows(IllegalArgumentException.class, () -> map.put(2L, LongIntHashMap.NO_VALUE));
+    }
+
+    @Test
+    void randomChurn_matchesHashMap() {
+        LongIntHashMap map = new LongIntHashMap();
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(11);
+
+        for (int step = 0; step < 200_000; step++) {
+            // Keys spaced like phone numbers: a common prefix and a small varying tail.
+            long key = 13_065_550_000L + random.nextInt(4_000) * 1_000L;
+            int value = random.nextInt() >>> 1;
+            if (random.nextInt(3) == 0) {
+                Integer removed = expected.remove(key);
+                assertEquals(removed == null ? LongIntHashMap.NO_VALUE : removed, map.remove(key));
+            } else {
+                Integer previous = expected.put(key, value);
+                assertEquals(previous == null ? LongIntHashMap.NO_VALUE : previous, map.put(key, value));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        expected.forEach((k, v) -> assertEquals((int) v, map.get(k)));
+    }
+}